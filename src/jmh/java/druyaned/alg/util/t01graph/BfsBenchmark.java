@@ -0,0 +1,96 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full breadth-first searches: the direction-optimizing {@link BfsEngine}
+ * against a plain queue BFS on one random {@link CsrGraph}
+ * and {@link GridBfs} on an open cube of {@code side^3} cells.
+ *
+ * @author druyaned
+ * @see DeltaSteppingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BfsBenchmark {
+    
+    @Param({"1000000"})
+    public int n;
+    
+    @Param({"16"})
+    public int degree;
+    
+    @Param({"200"})
+    public int side;
+    
+    CsrGraph graph;
+    BfsEngine bfs;
+    GridBfs grid;
+    int[] dist;
+    int[] queue;
+    int source;
+    
+    @Setup(Level.Trial) public void build() {
+        Random random = new Random(n);
+        final int m = n * degree;
+        int[] from = new int[m], to = new int[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = random.nextInt(n);
+            to[i] = random.nextInt(n);
+        }
+        graph = CsrGraph.directed(n, from, to, null);
+        bfs = new BfsEngine(graph);
+        grid = new GridBfs(side, side, side, GridBfs.faceMoves(3));
+        dist = new int[n];
+        queue = new int[n];
+        source = random.nextInt(n);
+    }
+    
+    @Benchmark public int queueBfs() {
+        final int[] offsets = graph.offsets();
+        final int[] targets = graph.targets();
+        Arrays.fill(dist, -1);
+        int head = 0, tail = 0;
+        dist[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int arc = offsets[v]; arc < offsets[v + 1]; arc++) {
+                int w = targets[arc];
+                if (dist[w] == -1) {
+                    dist[w] = dist[v] + 1;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return dist[0];
+    }
+    
+    @Benchmark public int bfsEngine() {
+        bfs.run(source);
+        return bfs.distance(0);
+    }
+    
+    @Benchmark public int gridBfs() {
+        return grid.run(0);
+    }
+
+}
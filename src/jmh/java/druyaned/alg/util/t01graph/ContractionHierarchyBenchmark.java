@@ -0,0 +1,96 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Queries on a road-like grid of {@code side * side} vertices against
+ * its {@link ContractionHierarchy} built once per trial: single s-t distances
+ * compared with the bidirectional search of the {@link PointToPointEngine}
+ * and a distance table of {@code tableSize * tableSize} pairs.
+ *
+ * @author druyaned
+ * @see PointToPointBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ContractionHierarchyBenchmark {
+    
+    private static final int SCALE = 100; // distance between neighbors
+    
+    @Param({"100"})
+    public int side;
+    
+    @Param({"100"})
+    public int tableSize;
+    
+    PointToPointEngine engine;
+    ContractionHierarchy hierarchy;
+    int[] sources;
+    int[] targets;
+    Random random;
+    
+    @Setup(Level.Trial) public void build() {
+        random = new Random(side);
+        final int n = side * side;
+        int m = 2 * side * (side - 1);
+        int[] from = new int[m], to = new int[m];
+        long[] weights = new long[m];
+        int i = 0;
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int v = r * side + c;
+                if (c + 1 < side) {
+                    from[i] = v;
+                    to[i] = v + 1;
+                    weights[i++] = SCALE + random.nextInt(SCALE);
+                }
+                if (r + 1 < side) {
+                    from[i] = v;
+                    to[i] = v + side;
+                    weights[i++] = SCALE + random.nextInt(SCALE);
+                }
+            }
+        }
+        CsrGraph graph = CsrGraph.undirected(n, from, to, weights);
+        engine = new PointToPointEngine(graph);
+        hierarchy = ContractionHierarchy.build(graph);
+        sources = new int[tableSize];
+        targets = new int[tableSize];
+        for (int j = 0; j < tableSize; j++) {
+            sources[j] = random.nextInt(n);
+            targets[j] = random.nextInt(n);
+        }
+    }
+    
+    @Benchmark public long bidirectional() {
+        int s = random.nextInt(side * side), t = random.nextInt(side * side);
+        return engine.bidirectional(s, t);
+    }
+    
+    @Benchmark public long hierarchyDistance() {
+        int s = random.nextInt(side * side), t = random.nextInt(side * side);
+        return hierarchy.distance(s, t);
+    }
+    
+    @Benchmark public long[][] hierarchyTable() {
+        return hierarchy.distanceTable(sources, targets);
+    }
+
+}
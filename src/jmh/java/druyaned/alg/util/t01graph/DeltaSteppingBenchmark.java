@@ -0,0 +1,75 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full single-source searches on one random {@link CsrGraph}:
+ * the sequential {@link DijkstraEngine} against the parallel
+ * {@link DeltaStepping} in the common pool with several deltas,
+ * {@code 0} stands for {@link DeltaStepping#defaultDelta}.
+ *
+ * @author druyaned
+ * @see ShortestPathBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DeltaSteppingBenchmark {
+    
+    @Param({"1000000"})
+    public int n;
+    
+    @Param({"8"})
+    public int degree;
+    
+    @Param({"0", "100", "10000"})
+    public long delta;
+    
+    DijkstraEngine dijkstra;
+    DeltaStepping deltaStepping;
+    int source;
+    
+    @Setup(Level.Trial) public void build() {
+        Random random = new Random(n);
+        final int m = n * degree;
+        int[] from = new int[m], to = new int[m];
+        long[] weights = new long[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = random.nextInt(n);
+            to[i] = random.nextInt(n);
+            weights[i] = 1 + random.nextInt(10_000);
+        }
+        CsrGraph graph = CsrGraph.directed(n, from, to, weights);
+        dijkstra = new DijkstraEngine(graph);
+        deltaStepping = new DeltaStepping(graph,
+                delta > 0L ? delta : DeltaStepping.defaultDelta(graph));
+        source = random.nextInt(n);
+    }
+    
+    @Benchmark public long dijkstraEngine() {
+        dijkstra.run(source);
+        return dijkstra.distance(0);
+    }
+    
+    @Benchmark public long deltaStepping() {
+        deltaStepping.run(source);
+        return deltaStepping.distance(0);
+    }
+
+}
@@ -0,0 +1,94 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Random s-t queries on a road-like grid of {@code side * side} vertices
+ * with weights not less than the Euclidean distance: the whole graph
+ * settled by the {@link DijkstraEngine} against the early stop,
+ * the bidirectional search and A* of the {@link PointToPointEngine}.
+ *
+ * @author druyaned
+ * @see ShortestPathBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PointToPointBenchmark {
+    
+    private static final int SCALE = 100; // distance between neighbors
+    
+    @Param({"500"})
+    public int side;
+    
+    DijkstraEngine dijkstra;
+    PointToPointEngine engine;
+    Random random;
+    
+    @Setup(Level.Trial) public void build() {
+        random = new Random(side);
+        final int n = side * side;
+        int m = 2 * side * (side - 1);
+        int[] from = new int[m], to = new int[m];
+        long[] weights = new long[m];
+        int i = 0;
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int v = r * side + c;
+                if (c + 1 < side) {
+                    from[i] = v;
+                    to[i] = v + 1;
+                    weights[i++] = SCALE + random.nextInt(SCALE);
+                }
+                if (r + 1 < side) {
+                    from[i] = v;
+                    to[i] = v + side;
+                    weights[i++] = SCALE + random.nextInt(SCALE);
+                }
+            }
+        }
+        CsrGraph graph = CsrGraph.undirected(n, from, to, weights);
+        dijkstra = new DijkstraEngine(graph);
+        engine = new PointToPointEngine(graph);
+    }
+    
+    @Benchmark public long fullDijkstra() {
+        int s = random.nextInt(side * side), t = random.nextInt(side * side);
+        dijkstra.run(s);
+        return dijkstra.distance(t);
+    }
+    
+    @Benchmark public long earlyStop() {
+        int s = random.nextInt(side * side), t = random.nextInt(side * side);
+        return dijkstra.run(s, t);
+    }
+    
+    @Benchmark public long bidirectional() {
+        int s = random.nextInt(side * side), t = random.nextInt(side * side);
+        return engine.bidirectional(s, t);
+    }
+    
+    @Benchmark public long aStar() {
+        int s = random.nextInt(side * side), t = random.nextInt(side * side);
+        final int tr = t / side, tc = t % side;
+        return engine.aStar(s, t,
+                v -> (long)(SCALE * Math.hypot(v / side - tr, v % side - tc)));
+    }
+
+}
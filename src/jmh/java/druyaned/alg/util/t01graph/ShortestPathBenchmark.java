@@ -0,0 +1,92 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full single-source searches on one random sparse {@link CsrGraph}:
+ * the {@link DijkstraEngine} against the {@link ShortestPathEngine}
+ * in each {@link PathAlgebra}.
+ *
+ * @author druyaned
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ShortestPathBenchmark {
+    
+    @Param({"100000"})
+    public int n;
+    
+    @Param({"4"})
+    public int degree;
+    
+    DijkstraEngine dijkstra;
+    ShortestPathEngine minPlus;
+    ShortestPathEngine maxMin;
+    ShortestPathEngine earliestArrival;
+    ShortestPathEngine freeArc;
+    int source;
+    
+    @Setup(Level.Trial) public void build() {
+        Random random = new Random(n);
+        final int m = n * degree;
+        int[] from = new int[m], to = new int[m];
+        long[] weights = new long[m], departures = new long[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = random.nextInt(n);
+            to[i] = random.nextInt(n);
+            departures[i] = random.nextInt(1_000_000);
+            weights[i] = departures[i] + 1 + random.nextInt(1_000);
+        }
+        CsrGraph graph = CsrGraph.directed(n, from, to, weights);
+        dijkstra = new DijkstraEngine(graph);
+        minPlus = new ShortestPathEngine(graph, PathAlgebra.minPlus());
+        maxMin = new ShortestPathEngine(graph, PathAlgebra.maxMin());
+        earliestArrival = new ShortestPathEngine(graph,
+                PathAlgebra.earliestArrival(graph.arcValues(from, departures), 0L));
+        freeArc = new ShortestPathEngine(graph, PathAlgebra.minPlusWithFreeArcs(), 2, false);
+        source = random.nextInt(n);
+    }
+    
+    @Benchmark public long dijkstraEngine() {
+        dijkstra.run(source);
+        return dijkstra.distance(0);
+    }
+    
+    @Benchmark public long minPlus() {
+        minPlus.run(source);
+        return minPlus.value(0);
+    }
+    
+    @Benchmark public long maxMin() {
+        maxMin.run(source);
+        return maxMin.value(0);
+    }
+    
+    @Benchmark public long earliestArrival() {
+        earliestArrival.run(source);
+        return earliestArrival.value(0);
+    }
+    
+    @Benchmark public long freeArc() {
+        freeArc.run(source);
+        return freeArc.value(0);
+    }
+
+}
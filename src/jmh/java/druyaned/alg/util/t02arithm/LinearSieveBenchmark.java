@@ -0,0 +1,65 @@
+package druyaned.alg.util.t02arithm;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Factorization of all numbers up to {@code limit}: trial division by
+ * {@link SieveOfEratosthene#getMultipliers} against the smallest prime factors
+ * of {@link LinearSieve}.
+ *
+ * @author druyaned
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class LinearSieveBenchmark {
+    
+    @Param({"1000000"})
+    public int limit;
+    
+    int[] shortSieve;
+    LinearSieve sieve;
+    final int[] factors = new int[LinearSieve.MAX_DISTINCT_PRIMES];
+    final int[] exponents = new int[LinearSieve.MAX_DISTINCT_PRIMES];
+    
+    @Setup(Level.Trial) public void setup() {
+        shortSieve = SieveOfEratosthene.shortSieveOfEratosthenes(limit);
+        sieve = new LinearSieve(limit);
+    }
+    
+    @Benchmark public long trialDivision() {
+        long sum = 0L;
+        for (int n = 2; n <= limit; n++) {
+            sum += SieveOfEratosthene.getMultipliers(shortSieve, n).length;
+        }
+        return sum;
+    }
+    
+    @Benchmark public long smallestFactors() {
+        long sum = 0L;
+        for (int n = 2; n <= limit; n++) {
+            sum += sieve.factorize(n, factors, exponents);
+        }
+        return sum;
+    }
+    
+    @Benchmark public LinearSieve build() {
+        return new LinearSieve(limit);
+    }
+
+}
@@ -0,0 +1,92 @@
+package druyaned.alg.util.t02arithm;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Prefix polynomial hashes of a text of {@code length} bytes:
+ * {@code %} of the modulus against the reducers of {@link ModArith}.
+ * The JIT turns {@code %} of a constant into multiplications by itself,
+ * {@code %} of a variable modulus is the division.
+ *
+ * @author druyaned
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ModArithBenchmark {
+    
+    static final long MODULO = 1_000_000_007L;
+    static final long BASE = 257L;
+    
+    @Param({"10000000"})
+    public int length;
+    
+    byte[] text;
+    long[] hashes;
+    long modulo = MODULO; // not a constant, as MODULO[c] of the hashing solutions
+    final ModArith montgomery = ModArith.of(MODULO);
+    final ModArith barrett = ModArith.barrett(MODULO);
+    final ModArith mersenne = ModArith.mersenne61();
+    
+    @Setup(Level.Trial) public void setup() {
+        text = new byte[length];
+        new Random(1L).nextBytes(text);
+        hashes = new long[length + 1];
+    }
+    
+    @Benchmark public long remainder() {
+        final long m = modulo;
+        for (int i = 0; i < length; i++) {
+            hashes[i + 1] = (hashes[i] * BASE + (text[i] & 0xFF)) % m;
+        }
+        return hashes[length];
+    }
+    
+    @Benchmark public long constantRemainder() {
+        for (int i = 0; i < length; i++) {
+            hashes[i + 1] = (hashes[i] * BASE + (text[i] & 0xFF)) % MODULO;
+        }
+        return hashes[length];
+    }
+    
+    @Benchmark public long montgomery() {
+        return hash(montgomery);
+    }
+    
+    @Benchmark public long barrett() {
+        return hash(barrett);
+    }
+    
+    @Benchmark public long mersenne61() {
+        return hash(mersenne);
+    }
+    
+    private long hash(ModArith mod) {
+        final long base = mod.toForm(BASE);
+        long[] letters = new long[256];
+        for (int c = 0; c < letters.length; c++) {
+            letters[c] = mod.toForm(c);
+        }
+        for (int i = 0; i < length; i++) {
+            hashes[i + 1] = mod.add(mod.mul(hashes[i], base), letters[text[i] & 0xFF]);
+        }
+        return hashes[length];
+    }
+
+}
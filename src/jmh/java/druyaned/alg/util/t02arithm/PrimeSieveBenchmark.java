@@ -0,0 +1,58 @@
+package druyaned.alg.util.t02arithm;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Primes up to {@code limit}: the plain boolean sieve against
+ * the segmented wheel {@link PrimeSieve} counting and streaming them.
+ *
+ * @author druyaned
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PrimeSieveBenchmark {
+    
+    @Param({"100000000"})
+    public int limit;
+    
+    final PrimeSieve sieve = new PrimeSieve();
+    
+    @Benchmark public int booleanSieve() {
+        boolean[] composite = new boolean[limit + 1];
+        int count = 0;
+        for (int p = 2; p <= limit; p++) {
+            if (!composite[p]) {
+                count++;
+                for (long f = (long)p * p; f <= limit; f += p) {
+                    composite[(int)f] = true;
+                }
+            }
+        }
+        return count;
+    }
+    
+    @Benchmark public long count() {
+        return sieve.count(0, limit);
+    }
+    
+    @Benchmark public long forEachPrime() {
+        long[] sum = {0L};
+        sieve.forEachPrime(0, limit, p -> sum[0] += p);
+        return sum[0];
+    }
+
+}
@@ -0,0 +1,263 @@
+package druyaned.alg.util.t03bintree;
+
+import druyaned.alg.util.t03bintree.cbt.CBTree;
+import druyaned.alg.util.t03bintree.cbt.CBTree.CBMTree;
+import druyaned.alg.util.t03bintree.cbt.CBTree.CBSTree;
+import druyaned.alg.util.t03bintree.cbt.CBTreeInt;
+import druyaned.alg.util.t03bintree.cbt.CBTreeInt.CBSTreeInt;
+import druyaned.alg.util.t03bintree.cbt.CBTreeInt.IteratorInt;
+import druyaned.alg.util.t03bintree.rbt.RBTree;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Common face of the compared ordered sets and the key streams
+ * used to fill them in the benchmarks.
+ *
+ * @author druyaned
+ */
+public class BenchTrees {
+    
+    /**
+     * Order in which keys come to the tree.
+     */
+    public static enum KeyStream {
+        /** Shuffled keys. */
+        RANDOM,
+        /** Ascending keys, the worst case for naive BSTs. */
+        SORTED,
+        /** Keys taken from both ends in turn: 0, n-1, 1, n-2, ... */
+        ADVERSARIAL;
+    
+        /**
+         * Returns a permutation of {@code [0, n)} in the order of the stream.
+         * @param n amount of keys
+         * @param seed of the shuffle
+         * @return permutation of {@code [0, n)} in the order of the stream
+         */
+        public int[] make(int n, long seed) {
+            int[] keys = new int[n];
+            switch (this) {
+                case RANDOM -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < n; i++) {
+                        keys[i] = i;
+                    }
+                    for (int i = n - 1; i > 0; i--) {
+                        int j = random.nextInt(i + 1);
+                        int swap = keys[i];
+                        keys[i] = keys[j];
+                        keys[j] = swap;
+                    }
+                }
+                case SORTED -> {
+                    for (int i = 0; i < n; i++) {
+                        keys[i] = i;
+                    }
+                }
+                case ADVERSARIAL -> {
+                    for (int i = 0, lo = 0, hi = n - 1; i < n; i++) {
+                        keys[i] = (i & 1) == 0 ? lo++ : hi--;
+                    }
+                }
+            }
+            return keys;
+        }
+    }
+    
+    /**
+     * Minimal ordered-set operations shared by the compared trees.
+     * Index operations are not supported by the {@code TreeSet}.
+     */
+    public static interface BenchTree {
+        boolean add(int key);
+        boolean remove(int key);
+        boolean contains(int key);
+        default int getAt(int index) {
+            throw new UnsupportedOperationException("no index operations");
+        }
+        default int getIndexLess(int key) {
+            throw new UnsupportedOperationException("no index operations");
+        }
+        /**
+         * Iterates over the count of keys starting at the index
+         * and returns their sum to be consumed.
+         * @param fromIndex index of the first key
+         * @param count of keys, must not exceed the rest of the tree
+         * @return sum of the keys
+         */
+        default long scan(int fromIndex, int count) {
+            throw new UnsupportedOperationException("no index operations");
+        }
+        /**
+         * Iterates over all keys and returns their sum to be consumed.
+         * @return sum of all keys
+         */
+        long iterate();
+        /**
+         * Returns height of the tree or {@code -1} if it is unknown.
+         * @return height of the tree or {@code -1} if it is unknown
+         */
+        int height();
+    }
+    
+    /**
+     * Creates an empty tree by its benchmark name:
+     * {@code CBSTree}, {@code CBMTree}, {@code CBTreeInt},
+     * {@code RBTree} or {@code TreeSet}.
+     *
+     * @param name of the tree
+     * @return new empty tree
+     */
+    public static BenchTree newTree(String name) {
+        return switch (name) {
+            case "CBSTree" -> new CB(new CBSTree<>(Integer::compare));
+            case "CBMTree" -> new CB(new CBMTree<>(Integer::compare));
+            case "CBTreeInt" -> new CBInt(new CBSTreeInt(Integer::compare));
+            case "RBTree" -> new RB(new RBTree<>(Integer::compare));
+            case "TreeSet" -> new JavaTreeSet(new TreeSet<>());
+            default -> throw new IllegalArgumentException("unknown tree: " + name);
+        };
+    }
+    
+    private static record CB(CBTree<Integer> tree) implements BenchTree {
+        @Override public boolean add(int key) {
+            return tree.add(key);
+        }
+        @Override public boolean remove(int key) {
+            return tree.remove(key);
+        }
+        @Override public boolean contains(int key) {
+            return tree.contains(key);
+        }
+        @Override public int getAt(int index) {
+            return tree.getAt(index);
+        }
+        @Override public int getIndexLess(int key) {
+            return tree.getIndexLess(key);
+        }
+        @Override public long scan(int fromIndex, int count) {
+            long sum = 0L;
+            Iterator<Integer> iter = tree.iterator(fromIndex);
+            for (int i = 0; i < count; i++) {
+                sum += iter.next();
+            }
+            return sum;
+        }
+        @Override public long iterate() {
+            long sum = 0L;
+            for (Iterator<Integer> iter = tree.iterator(); iter.hasNext(); ) {
+                sum += iter.next();
+            }
+            return sum;
+        }
+        @Override public int height() {
+            return height(tree.root());
+        }
+        private static int height(CBTree.Node<Integer> node) {
+            return node == null ? 0 : 1 + Math.max(height(node.left()), height(node.right()));
+        }
+    }
+    
+    private static record CBInt(CBTreeInt tree) implements BenchTree {
+        @Override public boolean add(int key) {
+            return tree.add(key);
+        }
+        @Override public boolean remove(int key) {
+            return tree.remove(key);
+        }
+        @Override public boolean contains(int key) {
+            return tree.contains(key);
+        }
+        @Override public int getAt(int index) {
+            return tree.getNodeAt(index).value();
+        }
+        @Override public int getIndexLess(int key) {
+            return tree.getIndexLess(key);
+        }
+        @Override public long scan(int fromIndex, int count) {
+            long sum = 0L;
+            IteratorInt iter = tree.iterator(fromIndex);
+            for (int i = 0; i < count; i++) {
+                sum += iter.next();
+            }
+            return sum;
+        }
+        @Override public long iterate() {
+            long sum = 0L;
+            for (IteratorInt iter = tree.iterator(); iter.hasNext(); ) {
+                sum += iter.next();
+            }
+            return sum;
+        }
+        @Override public int height() {
+            return height(tree.root());
+        }
+        private static int height(CBTreeInt.Node node) {
+            return node == null ? 0 : 1 + Math.max(height(node.left()), height(node.right()));
+        }
+    }
+    
+    private static record RB(RBTree<Integer> tree) implements BenchTree {
+        @Override public boolean add(int key) {
+            return tree.add(key);
+        }
+        @Override public boolean remove(int key) {
+            return tree.remove(key);
+        }
+        @Override public boolean contains(int key) {
+            return tree.contains(key);
+        }
+        @Override public int getAt(int index) {
+            return tree.getAt(index);
+        }
+        @Override public int getIndexLess(int key) {
+            return tree.countLess(key) - 1;
+        }
+        @Override public long scan(int fromIndex, int count) {
+            long sum = 0L;
+            Iterator<Integer> iter = tree.iterator(fromIndex);
+            for (int i = 0; i < count; i++) {
+                sum += iter.next();
+            }
+            return sum;
+        }
+        @Override public long iterate() {
+            long sum = 0L;
+            for (Integer value : tree) {
+                sum += value;
+            }
+            return sum;
+        }
+        @Override public int height() {
+            return height(tree.root());
+        }
+        private static int height(RBTree.Node<Integer> node) {
+            return node == null ? 0 : 1 + Math.max(height(node.left()), height(node.right()));
+        }
+    }
+    
+    private static record JavaTreeSet(TreeSet<Integer> tree) implements BenchTree {
+        @Override public boolean add(int key) {
+            return tree.add(key);
+        }
+        @Override public boolean remove(int key) {
+            return tree.remove(key);
+        }
+        @Override public boolean contains(int key) {
+            return tree.contains(key);
+        }
+        @Override public long iterate() {
+            long sum = 0L;
+            for (Integer value : tree) {
+                sum += value;
+            }
+            return sum;
+        }
+        @Override public int height() {
+            return -1; // the nodes of TreeMap are not accessible
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package druyaned.alg.util.t03bintree;
+
+import druyaned.alg.util.t03bintree.cbt.CBTree.CBSTree;
+import druyaned.alg.util.t03bintree.cbt.ConcurrentCBTree;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rank queries mixed with writes on a shared tree: the {@link ConcurrentCBTree}
+ * against a {@code CBSTree} guarded by a global {@code synchronized} block.
+ * Run with a number of threads, e.g. {@code -t 32}.
+ *
+ * @author druyaned
+ * @see TreeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ConcurrentTreeBenchmark {
+    
+    @Param({"ConcurrentCBTree", "synchronized"})
+    public String guard;
+    
+    @Param({"1000000"})
+    public int size;
+    
+    @Param({"95"})
+    public int readPercent;
+    
+    ConcurrentCBTree<Integer> concurrent;
+    CBSTree<Integer> synchronizedTree;
+    
+    @Setup(Level.Trial) public void fill() {
+        CBSTree<Integer> tree = new CBSTree<>(Integer::compare);
+        for (int key = 0; key < size; key++) {
+            tree.add(2 * key);
+        }
+        concurrent = new ConcurrentCBTree<>(tree);
+        synchronizedTree = tree;
+    }
+    
+    @Benchmark public int mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int key = random.nextInt(2 * size);
+        boolean read = random.nextInt(100) < readPercent;
+        if (guard.equals("synchronized")) {
+            synchronized (synchronizedTree) {
+                if (read) {
+                    return synchronizedTree.getIndexLess(key);
+                }
+                return modify(synchronizedTree.add(key) || synchronizedTree.remove(key));
+            }
+        }
+        if (read) {
+            return concurrent.getIndexLess(key);
+        }
+        return modify(concurrent.add(key) || concurrent.remove(key));
+    }
+    
+    private static int modify(boolean changed) {
+        return changed ? 1 : 0;
+    }
+
+}
@@ -0,0 +1,104 @@
+package druyaned.alg.util.t03bintree;
+
+import druyaned.alg.util.t03bintree.BenchTrees.BenchTree;
+import druyaned.alg.util.t03bintree.BenchTrees.KeyStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@code CBSTree}, {@code CBMTree}, {@code CBTreeInt}, {@code RBTree}
+ * and {@link java.util.TreeSet} on the common ordered-set operations.
+ * The tree holds even keys {@code 2*k} inserted in the order of the
+ * {@link KeyStream}, the probes walk the same order, so the inserted
+ * and removed keys are odd ones and are always absent before the call.
+ *
+ * <P>
+ * The height of the tree is reported as the {@code height} secondary result,
+ * the allocation rate is given by the GC profiler:
+ * {@code java -jar target/benchmarks.jar TreeBenchmark -prof gc}.
+ *
+ * @author druyaned
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TreeBenchmark {
+    
+    @Param({"CBSTree", "CBMTree", "CBTreeInt", "RBTree", "TreeSet"})
+    public String tree;
+    
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+    
+    @Param({"RANDOM", "SORTED", "ADVERSARIAL"})
+    public KeyStream keys;
+    
+    BenchTree set;
+    int[] order;
+    int cursor;
+    
+    @Setup(Level.Trial) public void fill() {
+        set = BenchTrees.newTree(tree);
+        order = keys.make(size, 42L);
+        for (int key : order) {
+            set.add(2 * key);
+        }
+        cursor = 0;
+    }
+    
+    /**
+     * Height of the tree at the end of each iteration, {@code -1} for the {@code TreeSet}.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Shape {
+        public int height;
+    
+        @TearDown(Level.Iteration) public void measure(TreeBenchmark benchmark) {
+            height = benchmark.set.height();
+        }
+    }
+    
+    private int nextKey() {
+        int key = order[cursor];
+        if (++cursor == order.length) {
+            cursor = 0;
+        }
+        return key;
+    }
+    
+    @Benchmark public boolean addRemove(Shape shape) {
+        int key = 2 * nextKey() + 1;
+        return set.add(key) & set.remove(key);
+    }
+    
+    @Benchmark public boolean containsPresent(Shape shape) {
+        return set.contains(2 * nextKey());
+    }
+    
+    @Benchmark public boolean containsAbsent(Shape shape) {
+        return set.contains(2 * nextKey() + 1);
+    }
+    
+    @Benchmark @OutputTimeUnit(TimeUnit.SECONDS)
+    public long iterate(Shape shape) {
+        return set.iterate();
+    }
+
+}
@@ -0,0 +1,83 @@
+package druyaned.alg.util.t03bintree;
+
+import druyaned.alg.util.t03bintree.BenchTrees.BenchTree;
+import druyaned.alg.util.t03bintree.BenchTrees.KeyStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Index operations of the count-balance trees and of the {@code RBTree}
+ * with subtree sizes, which have no counterpart in {@link java.util.TreeSet}.
+ *
+ * @author druyaned
+ * @see TreeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TreeIndexBenchmark {
+    
+    private static final int SCAN_COUNT = 100;
+    
+    @Param({"CBSTree", "CBMTree", "CBTreeInt", "RBTree"})
+    public String tree;
+    
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+    
+    @Param({"RANDOM", "SORTED", "ADVERSARIAL"})
+    public KeyStream keys;
+    
+    BenchTree set;
+    int[] order;
+    int cursor;
+    
+    @Setup(Level.Trial) public void fill() {
+        set = BenchTrees.newTree(tree);
+        order = keys.make(size, 42L);
+        for (int key : order) {
+            set.add(2 * key);
+        }
+        cursor = 0;
+    }
+    
+    private int nextKey() {
+        int key = order[cursor];
+        if (++cursor == order.length) {
+            cursor = 0;
+        }
+        return key;
+    }
+    
+    @Benchmark public int getAt() {
+        return set.getAt(nextKey());
+    }
+    
+    @Benchmark public int getIndexLess() {
+        return set.getIndexLess(2 * nextKey() + 1);
+    }
+
+    /**
+     * Scans 100 keys from a random index; iterators walk by parent links,
+     * so the cost doesn't depend on the size of the tree beyond the search.
+     * @return sum of the scanned keys
+     */
+    @Benchmark public long scan100() {
+        return set.scan(nextKey() % (size - SCAN_COUNT), SCAN_COUNT);
+    }
+
+}
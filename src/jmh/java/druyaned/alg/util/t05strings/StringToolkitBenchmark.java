@@ -0,0 +1,78 @@
+package druyaned.alg.util.t05strings;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Linear algorithms of {@link StringToolkit} and {@link KmpMatcher} on a text
+ * of {@code length} random letters against the Z-function
+ * by hashes and the binary search, as the string solutions did.
+ *
+ * @author druyaned
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class StringToolkitBenchmark {
+    
+    @Param({"10000000"})
+    public int length;
+    
+    @Param({"2", "26"})
+    public int alphabet;
+    
+    byte[] text;
+    
+    @Setup(Level.Trial) public void setup() {
+        text = new byte[length];
+        Random random = new Random(1L);
+        for (int i = 0; i < length; i++) {
+            text[i] = (byte)('a' + random.nextInt(alphabet));
+        }
+    }
+    
+    @Benchmark public int[] hashedZFunction() {
+        SubstringHasher hasher = new SubstringHasher(text);
+        int[] z = new int[length];
+        for (int i = 1; i < length; i++) {
+            z[i] = hasher.lcp(0, i);
+        }
+        return z;
+    }
+    
+    @Benchmark public int[] zFunction() {
+        return StringToolkit.zFunction(text);
+    }
+    
+    @Benchmark public int[] prefixFunction() {
+        return StringToolkit.prefixFunction(text);
+    }
+    
+    @Benchmark public long countPalindromes() {
+        return StringToolkit.countPalindromes(text);
+    }
+    
+    @Benchmark public long streamedMatches() {
+        KmpMatcher matcher = new KmpMatcher("abbaab");
+        for (int from = 0; from < length; from += 1 << 16) {
+            matcher.feed(text, from, Math.min(length, from + (1 << 16)), null);
+        }
+        return matcher.matchCount();
+    }
+
+}
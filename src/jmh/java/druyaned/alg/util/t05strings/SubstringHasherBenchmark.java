@@ -0,0 +1,64 @@
+package druyaned.alg.util.t05strings;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hashing of a text of {@code length} bytes: two moduli near {@code 10^9}
+ * in {@code long[2][n + 1]} arrays, as the string solutions did,
+ * against {@link SubstringHasher} modulo {@code 2^61 - 1}.
+ *
+ * @author druyaned
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SubstringHasherBenchmark {
+    
+    static final int CALC_SIZE = 2;
+    static final long MODULO[] = {(int)1e9 + 7, (int)1e9 + 9};
+    static final long ARG[] = {257, 263};
+    
+    @Param({"10000000"})
+    public int length;
+    
+    byte[] text;
+    
+    @Setup(Level.Trial) public void setup() {
+        text = new byte[length];
+        new Random(1L).nextBytes(text);
+    }
+    
+    @Benchmark public long doubleHash() {
+        long[][] x = new long[CALC_SIZE][length + 1];
+        long[][] h = new long[CALC_SIZE][length + 1];
+        for (int c = 0; c < CALC_SIZE; ++c) {
+            x[c][0] = 1;
+            for (int i = 1; i <= length; ++i) {
+                x[c][i] = (x[c][i - 1] * ARG[c]) % MODULO[c];
+                h[c][i] = (h[c][i - 1] * ARG[c] + (text[i - 1] & 0xFF)) % MODULO[c];
+            }
+        }
+        return h[0][length] ^ h[1][length] ^ x[0][length] ^ x[1][length];
+    }
+    
+    @Benchmark public long mersenne61() {
+        return new SubstringHasher(text).hash(0, length);
+    }
+
+}
@@ -0,0 +1,111 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parallel direction-optimizing breadth-first search over a {@link CsrGraph},
+ * weights are ignored. Bottom-up levels scan incoming arcs,
+ * so a directed graph is reversed once on the creation.
+ *
+ * <P><i>Example</i>:<br><code>
+ * BfsEngine bfs = new BfsEngine(graph);<br>
+ * bfs.run(source);<br>
+ * int dist = bfs.distance(v);
+ * </code>
+ *
+ * @author druyaned
+ * @see DirectionOptimizingBfs
+ */
+public class BfsEngine extends DirectionOptimizingBfs {
+    
+    private final CsrGraph graph;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] reverseOffsets;
+    private final int[] reverseTargets;
+    private final int[] dist;
+    
+    /**
+     * Creates the search in the common pool.
+     * @param graph to be searched
+     */
+    public BfsEngine(CsrGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Creates the search in the given pool.
+     * @param graph to be searched
+     * @param pool to expand levels in
+     */
+    public BfsEngine(CsrGraph graph, ForkJoinPool pool) {
+        this(graph, pool, GRAIN);
+    }
+    
+    BfsEngine(CsrGraph graph, ForkJoinPool pool, int grain) {
+        super(graph.vertexCount(), null, pool, grain);
+        this.graph = graph;
+        offsets = graph.offsets();
+        targets = graph.targets();
+        CsrGraph reverse = graph.reverse();
+        reverseOffsets = reverse.offsets();
+        reverseTargets = reverse.targets();
+        dist = new int[graph.vertexCount()];
+    }
+    
+    //-Getters-------------------------------------------------------------------------------------
+    
+    public CsrGraph graph() {
+        return graph;
+    }
+    
+    /**
+     * Returns distance found by the last run.
+     * @param v the vertex
+     * @return amount of arcs from the source to the vertex or {@link #UNREACHED}
+     */
+    public int distance(int v) {
+        return dist[v];
+    }
+    
+    //-Search--------------------------------------------------------------------------------------
+    
+    @Override public int run(int source) {
+        Arrays.fill(dist, UNREACHED);
+        return super.run(source);
+    }
+    
+    @Override public int run(int source, int target) {
+        Arrays.fill(dist, UNREACHED);
+        return super.run(source, target);
+    }
+    
+    @Override protected long arcCount() {
+        return targets.length;
+    }
+    
+    @Override protected int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+    
+    @Override protected void expand(int v, Level next) {
+        for (int arc = offsets[v], end = offsets[v + 1]; arc < end; arc++) {
+            next.claim(targets[arc]);
+        }
+    }
+    
+    @Override protected boolean hasParentIn(int v, long[] frontier) {
+        for (int arc = reverseOffsets[v], end = reverseOffsets[v + 1]; arc < end; arc++) {
+            if (contains(frontier, reverseTargets[arc])) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override protected void reached(int v, int distance) {
+        dist[v] = distance;
+    }
+
+}
@@ -0,0 +1,526 @@
+package druyaned.alg.util.t01graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Contraction hierarchy of a static {@link CsrGraph} with non-negative weights
+ * for fast distance queries. The preprocessing contracts vertices one by one
+ * in the order of the edge difference (lazily updated): a contracted vertex
+ * gets the next rank and each path {@code u -> v -> x} through it gets
+ * a shortcut {@code u -> x} unless a limited witness search finds
+ * a path not longer without it. The hierarchy keeps the arcs to higher ranks
+ * as the upward graph and the reversed arcs from higher ranks as the downward
+ * graph, so a query is two small upward searches, which meet at the vertex
+ * of the highest rank on the shortest path.
+ *
+ * <P>Distance tables are computed by buckets: the upward searches
+ * from the targets leave their distances in buckets of the reached
+ * vertices, and the upward search from each source scans the buckets.
+ * The hierarchy can be written to a stream and read back,
+ * so the preprocessing is done once per graph.
+ * Queries reuse the arrays of the hierarchy, so it is not thread-safe.
+ *
+ * <P><i>Example</i>:<br><code>
+ * ContractionHierarchy ch = ContractionHierarchy.build(CsrGraph.read(in, true));<br>
+ * ch.save(Path.of("graph.ch"));<br>
+ * long dist = ContractionHierarchy.load(Path.of("graph.ch")).distance(s, t);
+ * </code>
+ *
+ * @author druyaned
+ * @see PointToPointEngine
+ */
+public class ContractionHierarchy {
+    
+    private static final int MAGIC = 0x43480001; // "CH" and the version 1
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+    
+    private final int n;
+    private final int[] ranks;
+    private final CsrGraph up; // arcs u -> x with ranks[u] < ranks[x]
+    private final CsrGraph down; // reversed arcs x -> u of u -> x with ranks[u] > ranks[x]
+    private final Search forward;
+    private final Search backward;
+    
+    private ContractionHierarchy(int[] ranks, CsrGraph up, CsrGraph down) {
+        n = ranks.length;
+        this.ranks = ranks;
+        this.up = up;
+        this.down = down;
+        forward = new Search(up);
+        backward = new Search(down);
+    }
+    
+    //-Preprocessing-------------------------------------------------------------------------------
+    
+    /**
+     * Builds the hierarchy of the graph.
+     * @param graph with non-negative weights
+     * @return the hierarchy of the graph
+     * @throws IllegalArgumentException if there is a negative weight
+     */
+    public static ContractionHierarchy build(CsrGraph graph) {
+        graph.requireNonNegativeWeights();
+        final int n = graph.vertexCount();
+        Arcs out = new Arcs(n);
+        Arcs in = new Arcs(n);
+        for (int v = 0; v < n; v++) {
+            for (int arc = graph.begin(v); arc < graph.end(v); arc++) {
+                int x = graph.target(arc);
+                long weight = graph.weight(arc);
+                if (x != v) {
+                    out.addOrDecrease(v, x, weight);
+                    in.addOrDecrease(x, v, weight);
+                }
+            }
+        }
+        ArcList upArcs = new ArcList();
+        ArcList downArcs = new ArcList();
+        Contractor contractor = new Contractor(n, out, in);
+        IndexedLongHeap queue = new IndexedLongHeap(n);
+        for (int v = 0; v < n; v++) {
+            queue.push(v, contractor.priority(v));
+        }
+        int[] ranks = new int[n];
+        for (int rank = 0; !queue.isEmpty(); ) {
+            int v = queue.pop();
+            long priority = contractor.priority(v);
+            if (!queue.isEmpty() && priority > queue.peekPriority()) {
+                queue.push(v, priority); // lazy update
+                continue;
+            }
+            contractor.contract(v, upArcs, downArcs);
+            ranks[v] = rank++;
+        }
+        return new ContractionHierarchy(ranks, upArcs.toGraph(n), downArcs.toGraph(n));
+    }
+    
+    //-Getters-------------------------------------------------------------------------------------
+    
+    public int vertexCount() {
+        return n;
+    }
+    
+    /**
+     * Returns the order of contraction of the vertex.
+     * @param v the vertex
+     * @return the rank of the vertex in {@code [0, n)}
+     */
+    public int rank(int v) {
+        return ranks[v];
+    }
+    
+    /**
+     * Returns amount of arcs of the hierarchy including shortcuts.
+     * @return amount of arcs of the hierarchy
+     */
+    public int arcCount() {
+        return up.arcCount() + down.arcCount();
+    }
+    
+    //-Queries-------------------------------------------------------------------------------------
+    
+    /**
+     * Finds the distance by two upward searches, that are grown alternately
+     * and stop when their radii are not less than the best meeting.
+     *
+     * @param source of the path
+     * @param target of the path
+     * @return distance from the source to the target or {@link CsrGraph#INFINITY}
+     */
+    public long distance(int source, int target) {
+        forward.start(source);
+        backward.start(target);
+        long best = CsrGraph.INFINITY;
+        boolean forwardTurn = true;
+        while (!forward.heap.isEmpty() || !backward.heap.isEmpty()) {
+            Search search = forwardTurn && !forward.heap.isEmpty() || backward.heap.isEmpty()
+                    ? forward
+                    : backward;
+            Search other = search == forward ? backward : forward;
+            forwardTurn = !forwardTurn;
+            if (search.heap.peekPriority() >= best) {
+                search.heap.clear();
+                continue;
+            }
+            int v = search.settle();
+            if (other.dist[v] != CsrGraph.INFINITY) {
+                best = Math.min(best, search.dist[v] + other.dist[v]);
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Computes distances between all sources and all targets
+     * with one upward search per source and per target.
+     *
+     * @param sources of the paths
+     * @param targets of the paths
+     * @return {@code table[i][j]} is the distance from {@code sources[i]}
+     *      to {@code targets[j]} or {@link CsrGraph#INFINITY}
+     */
+    public long[][] distanceTable(int[] sources, int[] targets) {
+        // the buckets of vertices keep target indices and distances up to the vertices
+        ArcList entries = new ArcList();
+        for (int j = 0; j < targets.length; j++) {
+            backward.start(targets[j]);
+            while (!backward.heap.isEmpty()) {
+                int v = backward.settle();
+                entries.add(v, j, backward.dist[v]);
+            }
+        }
+        int[] offsets = new int[n + 1];
+        for (int e = 0; e < entries.size; e++) {
+            offsets[entries.from[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] cursors = Arrays.copyOf(offsets, n);
+        int[] bucketTargets = new int[entries.size];
+        long[] bucketDists = new long[entries.size];
+        for (int e = 0; e < entries.size; e++) {
+            int position = cursors[entries.from[e]]++;
+            bucketTargets[position] = entries.to[e];
+            bucketDists[position] = entries.weights[e];
+        }
+        long[][] table = new long[sources.length][targets.length];
+        for (int i = 0; i < sources.length; i++) {
+            long[] row = table[i];
+            Arrays.fill(row, CsrGraph.INFINITY);
+            forward.start(sources[i]);
+            while (!forward.heap.isEmpty()) {
+                int v = forward.settle();
+                long d = forward.dist[v];
+                for (int e = offsets[v], end = offsets[v + 1]; e < end; e++) {
+                    int j = bucketTargets[e];
+                    if (d + bucketDists[e] < row[j]) {
+                        row[j] = d + bucketDists[e];
+                    }
+                }
+            }
+        }
+        return table;
+    }
+    
+    //-Serialization-------------------------------------------------------------------------------
+    
+    /**
+     * Writes the hierarchy to the stream, which is not closed.
+     * @param out the stream
+     * @throws IOException if the stream can't be written
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(n);
+        for (int v = 0; v < n; v++) {
+            data.writeInt(ranks[v]);
+        }
+        writeGraph(data, up);
+        writeGraph(data, down);
+        data.flush();
+    }
+    
+    /**
+     * Reads the hierarchy written by {@link #write}; the stream is not closed
+     * and is read up to the end of the hierarchy, so it isn't buffered here.
+     *
+     * @param in the stream, preferably a buffered one
+     * @return the read hierarchy
+     * @throws IOException if the stream can't be read, has another format
+     *      or contains a broken hierarchy
+     */
+    public static ContractionHierarchy read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("the stream doesn't contain a contraction hierarchy");
+        }
+        final int n = data.readInt();
+        if (n < 0) {
+            throw new IOException("the stream contains a broken vertex count n=" + n);
+        }
+        int[] ranks = new int[n];
+        boolean[] ranked = new boolean[n];
+        for (int v = 0; v < n; v++) {
+            int rank = data.readInt();
+            if (rank < 0 || n <= rank || ranked[rank]) {
+                throw new IOException("the stream contains a broken rank=" + rank);
+            }
+            ranks[v] = rank;
+            ranked[rank] = true;
+        }
+        CsrGraph up = readGraph(data, ranks);
+        CsrGraph down = readGraph(data, ranks);
+        return new ContractionHierarchy(ranks, up, down);
+    }
+    
+    /**
+     * Writes the hierarchy to the file.
+     * @param path of the file
+     * @throws IOException if the file can't be written
+     */
+    public void save(Path path) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            write(out);
+        }
+    }
+    
+    /**
+     * Reads the hierarchy from the file.
+     * @param path of the file
+     * @return the read hierarchy
+     * @throws IOException if the file can't be read or has another format
+     */
+    public static ContractionHierarchy load(Path path) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            return read(in);
+        }
+    }
+    
+    private static void writeGraph(DataOutputStream data, CsrGraph graph) throws IOException {
+        data.writeInt(graph.arcCount());
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            for (int arc = graph.begin(v); arc < graph.end(v); arc++) {
+                data.writeInt(v);
+                data.writeInt(graph.target(arc));
+                data.writeLong(graph.weight(arc));
+            }
+        }
+    }
+    
+    // both graphs have arcs to higher ranks only, at most one arc per pair of vertices
+    private static CsrGraph readGraph(DataInputStream data, int[] ranks) throws IOException {
+        final int n = ranks.length;
+        final int m = data.readInt();
+        if (m < 0 || (long)n * (n - 1) / 2L < m) {
+            throw new IOException("the stream contains a broken arc count m=" + m
+                    + " for n=" + n);
+        }
+        int[] from = new int[m];
+        int[] to = new int[m];
+        long[] weights = new long[m];
+        for (int i = 0; i < m; i++) {
+            int u = data.readInt();
+            int x = data.readInt();
+            long weight = data.readLong();
+            if (u < 0 || n <= u || x < 0 || n <= x || ranks[x] <= ranks[u] || weight < 0L) {
+                throw new IOException("the stream contains a broken arc " + u + " -> " + x
+                        + " of weight=" + weight);
+            }
+            from[i] = u;
+            to[i] = x;
+            weights[i] = weight;
+        }
+        return CsrGraph.directed(n, from, to, weights);
+    }
+    
+    //-Private-classes-----------------------------------------------------------------------------
+    
+    // upward Dijkstra's search, that resets only reached vertices
+    private static class Search {
+        final CsrGraph graph;
+        final SearchLabels labels;
+        final long[] dist;
+        final IndexedLongHeap heap;
+        Search(CsrGraph graph) {
+            final int n = graph.vertexCount();
+            this.graph = graph;
+            labels = new SearchLabels(n, CsrGraph.INFINITY, false);
+            dist = labels.values;
+            heap = new IndexedLongHeap(n);
+        }
+        void start(int source) {
+            labels.reset();
+            heap.clear();
+            reach(source, 0L);
+        }
+        // settles the least vertex, relaxes its arcs and returns it
+        int settle() {
+            final int[] offsets = graph.offsets();
+            final int[] targets = graph.targets();
+            final long[] weights = graph.weights();
+            int v = heap.pop();
+            long d = dist[v];
+            for (int arc = offsets[v], end = offsets[v + 1]; arc < end; arc++) {
+                int next = targets[arc];
+                long nextDist = d + weights[arc];
+                if (nextDist < dist[next]) {
+                    reach(next, nextDist);
+                }
+            }
+            return v;
+        }
+        void reach(int v, long d) {
+            labels.reach(v, d, SearchLabels.NO_PARENT);
+            heap.pushOrDecrease(v, d);
+        }
+    }
+    
+    // growable adjacency lists of the remaining graph
+    private static class Arcs {
+        final int[][] heads;
+        final long[][] weights;
+        final int[] sizes;
+        Arcs(int n) {
+            heads = new int[n][];
+            weights = new long[n][];
+            sizes = new int[n];
+            Arrays.fill(heads, new int[0]);
+            Arrays.fill(weights, new long[0]);
+        }
+        // keeps the lightest of parallel arcs
+        void addOrDecrease(int u, int x, long weight) {
+            for (int i = 0; i < sizes[u]; i++) {
+                if (heads[u][i] == x) {
+                    weights[u][i] = Math.min(weights[u][i], weight);
+                    return;
+                }
+            }
+            if (sizes[u] == heads[u].length) {
+                int capacity = Math.max(4, 2 * sizes[u]);
+                heads[u] = Arrays.copyOf(heads[u], capacity);
+                weights[u] = Arrays.copyOf(weights[u], capacity);
+            }
+            heads[u][sizes[u]] = x;
+            weights[u][sizes[u]++] = weight;
+        }
+        void remove(int u, int x) {
+            for (int i = 0; i < sizes[u]; i++) {
+                if (heads[u][i] == x) {
+                    int last = --sizes[u];
+                    heads[u][i] = heads[u][last];
+                    weights[u][i] = weights[u][last];
+                    return;
+                }
+            }
+        }
+    }
+    
+    // growable arrays of arcs to build a CsrGraph
+    private static class ArcList {
+        int[] from = new int[16];
+        int[] to = new int[16];
+        long[] weights = new long[16];
+        int size = 0;
+        void add(int u, int x, long weight) {
+            if (size == from.length) {
+                from = Arrays.copyOf(from, 2 * size);
+                to = Arrays.copyOf(to, 2 * size);
+                weights = Arrays.copyOf(weights, 2 * size);
+            }
+            from[size] = u;
+            to[size] = x;
+            weights[size++] = weight;
+        }
+        CsrGraph toGraph(int n) {
+            return CsrGraph.directed(n, Arrays.copyOf(from, size), Arrays.copyOf(to, size),
+                    Arrays.copyOf(weights, size));
+        }
+    }
+    
+    // contracts vertices and runs witness searches in the remaining graph
+    private static class Contractor {
+        final Arcs out;
+        final Arcs in;
+        final int[] contractedNeighbors;
+        final int[] levels;
+        final SearchLabels labels;
+        final long[] dist;
+        final IndexedLongHeap heap;
+        Contractor(int n, Arcs out, Arcs in) {
+            this.out = out;
+            this.in = in;
+            contractedNeighbors = new int[n];
+            levels = new int[n];
+            labels = new SearchLabels(n, CsrGraph.INFINITY, false);
+            dist = labels.values;
+            heap = new IndexedLongHeap(n);
+        }
+        // the edge difference, contracted neighbors and the level in the hierarchy
+        long priority(int v) {
+            int degree = out.sizes[v] + in.sizes[v];
+            return 2L * (shortcuts(v, false) - degree) + contractedNeighbors[v] + levels[v];
+        }
+        // adds shortcuts and moves the arcs of v from the remaining graph to the hierarchy
+        void contract(int v, ArcList upArcs, ArcList downArcs) {
+            shortcuts(v, true);
+            for (int i = 0; i < out.sizes[v]; i++) {
+                int x = out.heads[v][i];
+                upArcs.add(v, x, out.weights[v][i]);
+                in.remove(x, v);
+                neighborContracted(v, x);
+            }
+            for (int i = 0; i < in.sizes[v]; i++) {
+                int u = in.heads[v][i];
+                downArcs.add(v, u, in.weights[v][i]);
+                out.remove(u, v);
+                neighborContracted(v, u);
+            }
+        }
+        void neighborContracted(int v, int x) {
+            contractedNeighbors[x]++;
+            levels[x] = Math.max(levels[x], levels[v] + 1);
+        }
+        // counts or adds shortcuts u -> x for paths u -> v -> x without a witness
+        int shortcuts(int v, boolean add) {
+            int count = 0;
+            for (int i = 0; i < in.sizes[v]; i++) {
+                int u = in.heads[v][i];
+                long toV = in.weights[v][i];
+                long limit = 0L;
+                for (int j = 0; j < out.sizes[v]; j++) {
+                    limit = Math.max(limit, toV + out.weights[v][j]);
+                }
+                witnessSearch(u, v, limit);
+                for (int j = 0; j < out.sizes[v]; j++) {
+                    int x = out.heads[v][j];
+                    long through = toV + out.weights[v][j];
+                    if (x == u || dist[x] <= through) {
+                        continue;
+                    }
+                    count++;
+                    if (add) {
+                        out.addOrDecrease(u, x, through);
+                        in.addOrDecrease(x, u, through);
+                    }
+                }
+            }
+            return count;
+        }
+        // Dijkstra's search from u in the remaining graph avoiding v
+        void witnessSearch(int u, int v, long limit) {
+            labels.reset();
+            heap.clear();
+            reach(u, 0L);
+            for (int settled = 0; !heap.isEmpty() && settled < WITNESS_SETTLE_LIMIT; settled++) {
+                if (heap.peekPriority() > limit) {
+                    break;
+                }
+                int w = heap.pop();
+                long d = dist[w];
+                for (int i = 0; i < out.sizes[w]; i++) {
+                    int next = out.heads[w][i];
+                    long nextDist = d + out.weights[w][i];
+                    if (next != v && nextDist < dist[next]) {
+                        reach(next, nextDist);
+                    }
+                }
+            }
+        }
+        void reach(int w, long d) {
+            labels.reach(w, d, SearchLabels.NO_PARENT);
+            heap.pushOrDecrease(w, d);
+        }
+    }
+
+}
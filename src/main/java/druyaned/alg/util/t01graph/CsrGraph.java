@@ -0,0 +1,358 @@
+package druyaned.alg.util.t01graph;
+
+import druyaned.alg.util.t04io.FastInput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Graph in the compressed sparse row format: arcs of the vertex {@code v}
+ * are stored at indices {@code [offsets[v], offsets[v + 1])} of the flat
+ * {@code targets} and {@code weights} arrays, so a graph of {@code n}
+ * vertices and {@code m} arcs takes {@code 4(n + 1) + 12m} bytes
+ * and no object per vertex or per edge.
+ * An undirected edge is stored as two arcs.
+ *
+ * <P>The graph is built from edge arrays in two counting passes
+ * (degrees and then arcs) and is immutable afterwards.
+ * Arcs of a vertex keep the order of the edges.
+ *
+ * <P><i>Example</i>:<br><code>
+ * CsrGraph graph = CsrGraph.directed(n, from, to, weights);<br>
+ * for (int arc = graph.begin(v); arc &lt; graph.end(v); arc++) {<br>
+ * &nbsp;&nbsp;relax(graph.target(arc), graph.weight(arc));<br>
+ * }</code>
+ *
+ * @author druyaned
+ */
+public class CsrGraph {
+    
+    /**
+     * Distance to an unreachable vertex, that the engines of shortest paths return.
+     */
+    public static final long INFINITY = Long.MAX_VALUE;
+    
+    private final int n;
+    private final boolean directed;
+    private final int[] offsets;
+    private final int[] targets;
+    private final long[] weights; // null if the graph is unweighted
+    
+    private CsrGraph(int n, boolean directed, int[] offsets, int[] targets, long[] weights) {
+        this.n = n;
+        this.directed = directed;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+    
+    //-Building------------------------------------------------------------------------------------
+    
+    /**
+     * Builds the directed graph with arcs {@code from[i] -> to[i]}.
+     *
+     * @param n amount of vertices {@code 0..n-1}
+     * @param from tails of the arcs
+     * @param to heads of the arcs
+     * @param weights of the arcs or {@code null} for an unweighted graph
+     * @return the directed graph
+     * @throws IllegalArgumentException if lengths of the arrays differ
+     *      or a vertex is out of {@code [0, n)}
+     */
+    public static CsrGraph directed(int n, int[] from, int[] to, long[] weights) {
+        return build(n, from, to, weights, true);
+    }
+    
+    /**
+     * Builds the undirected graph with edges {@code from[i] - to[i]},
+     * each of them is stored as two arcs.
+     *
+     * @param n amount of vertices {@code 0..n-1}
+     * @param from ends of the edges
+     * @param to other ends of the edges
+     * @param weights of the edges or {@code null} for an unweighted graph
+     * @return the undirected graph
+     * @throws IllegalArgumentException if lengths of the arrays differ
+     *      or a vertex is out of {@code [0, n)}
+     */
+    public static CsrGraph undirected(int n, int[] from, int[] to, long[] weights) {
+        return build(n, from, to, weights, false);
+    }
+    
+    /**
+     * Builds the graph from edges like {@code {from, to}}
+     * or {@code {from, to, weight}}; the graph is weighted
+     * if the first edge has a weight.
+     *
+     * @param n amount of vertices {@code 0..n-1}
+     * @param edges {@code edges[i] = {from, to}} or {@code {from, to, weight}}
+     * @param directed {@code true} for a directed graph
+     * @return the graph of the edges
+     */
+    public static CsrGraph of(int n, int[][] edges, boolean directed) {
+        final int m = edges.length;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        long[] weights = m > 0 && edges[0].length > 2 ? new long[m] : null;
+        for (int i = 0; i < m; i++) {
+            from[i] = edges[i][0];
+            to[i] = edges[i][1];
+            if (weights != null) {
+                weights[i] = edges[i][2];
+            }
+        }
+        return build(n, from, to, weights, directed);
+    }
+    
+    /**
+     * Reads the weighted graph in the format of the contest problems:
+     * {@code n k} and then {@code k} triples {@code from to weight}
+     * with vertices {@code 1..n}, which become {@code 0..n-1}.
+     *
+     * @param in the input
+     * @param directed {@code true} for a directed graph
+     * @return the read graph
+     * @throws IOException if the input can't be read
+     */
+    public static CsrGraph read(FastInput in, boolean directed) throws IOException {
+        final int n = in.readInt();
+        final int k = in.readInt();
+        int[] from = new int[k];
+        int[] to = new int[k];
+        long[] weights = new long[k];
+        for (int i = 0; i < k; i++) {
+            from[i] = in.readInt() - 1;
+            to[i] = in.readInt() - 1;
+            weights[i] = in.readLong();
+        }
+        return build(n, from, to, weights, directed);
+    }
+    
+    private static CsrGraph build(int n, int[] from, int[] to, long[] weights,
+            boolean directed) {
+        final int m = from.length;
+        if (to.length != m || weights != null && weights.length != m) {
+            throw new IllegalArgumentException("lengths of edge arrays differ");
+        }
+        int arcCount = directed ? m : 2 * m;
+        // the first pass counts degrees
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            checkVertex(n, from[i]);
+            checkVertex(n, to[i]);
+            offsets[from[i] + 1]++;
+            if (!directed) {
+                offsets[to[i] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        // the second pass puts arcs by cursors
+        int[] cursors = Arrays.copyOf(offsets, n);
+        int[] targets = new int[arcCount];
+        long[] arcWeights = weights != null ? new long[arcCount] : null;
+        for (int i = 0; i < m; i++) {
+            int arc = cursors[from[i]]++;
+            targets[arc] = to[i];
+            if (weights != null) {
+                arcWeights[arc] = weights[i];
+            }
+            if (!directed) {
+                arc = cursors[to[i]]++;
+                targets[arc] = from[i];
+                if (weights != null) {
+                    arcWeights[arc] = weights[i];
+                }
+            }
+        }
+        return new CsrGraph(n, directed, offsets, targets, arcWeights);
+    }
+    
+    private static void checkVertex(int n, int v) {
+        if (v < 0 || n <= v) {
+            throw new IllegalArgumentException("vertex=" + v + " is out of [0, " + n + ")");
+        }
+    }
+    
+    /**
+     * Puts values of the edges in the arc order of the directed graph,
+     * that was built from the same tails, e.g. departure times of buses.
+     *
+     * @param from tails of the edges the graph was built from
+     * @param edgeValues values of the edges
+     * @return values of the arcs, {@code arcValues[arc]} belongs to the arc
+     * @throws IllegalStateException if the graph is undirected
+     * @throws IllegalArgumentException if lengths of the arrays differ from amount of arcs
+     */
+    public long[] arcValues(int[] from, long[] edgeValues) {
+        if (!directed) {
+            throw new IllegalStateException("arcValues is defined for a directed graph");
+        }
+        if (from.length != targets.length || edgeValues.length != targets.length) {
+            throw new IllegalArgumentException("lengths of edge arrays differ from arcCount="
+                    + targets.length);
+        }
+        int[] cursors = Arrays.copyOf(offsets, n);
+        long[] arcValues = new long[targets.length];
+        for (int i = 0; i < from.length; i++) {
+            arcValues[cursors[from[i]]++] = edgeValues[i];
+        }
+        return arcValues;
+    }
+    
+    /**
+     * Returns the graph with reversed arcs; the undirected graph is returned as is.
+     * @return the graph with reversed arcs
+     */
+    public CsrGraph reverse() {
+        if (!directed) {
+            return this;
+        }
+        int[] reversedOffsets = new int[n + 1];
+        for (int target : targets) {
+            reversedOffsets[target + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            reversedOffsets[v + 1] += reversedOffsets[v];
+        }
+        int[] cursors = Arrays.copyOf(reversedOffsets, n);
+        int[] reversedTargets = new int[targets.length];
+        long[] reversedWeights = weights != null ? new long[weights.length] : null;
+        for (int v = 0; v < n; v++) {
+            for (int arc = offsets[v]; arc < offsets[v + 1]; arc++) {
+                int reversedArc = cursors[targets[arc]]++;
+                reversedTargets[reversedArc] = v;
+                if (weights != null) {
+                    reversedWeights[reversedArc] = weights[arc];
+                }
+            }
+        }
+        return new CsrGraph(n, true, reversedOffsets, reversedTargets, reversedWeights);
+    }
+    
+    /**
+     * Checks the graph for the engines of shortest paths,
+     * that settle each vertex once.
+     *
+     * @return this graph
+     * @throws IllegalArgumentException if there is a negative weight
+     */
+    public CsrGraph requireNonNegativeWeights() {
+        if (weights != null) {
+            for (int arc = 0; arc < weights.length; arc++) {
+                if (weights[arc] < 0L) {
+                    throw new IllegalArgumentException("weight=" + weights[arc]
+                            + " of the arc " + arc + " is negative");
+                }
+            }
+        }
+        return this;
+    }
+    
+    //-Getters-------------------------------------------------------------------------------------
+    
+    public int vertexCount() {
+        return n;
+    }
+    
+    /**
+     * Returns amount of stored arcs, that is twice the amount of edges
+     * for an undirected graph.
+     * @return amount of stored arcs
+     */
+    public int arcCount() {
+        return targets.length;
+    }
+    
+    public boolean isDirected() {
+        return directed;
+    }
+    
+    public boolean isWeighted() {
+        return weights != null;
+    }
+    
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+    
+    /**
+     * Returns index of the first arc of the vertex.
+     * @param v the vertex
+     * @return index of the first arc of the vertex
+     */
+    public int begin(int v) {
+        return offsets[v];
+    }
+    
+    /**
+     * Returns index after the last arc of the vertex.
+     * @param v the vertex
+     * @return index after the last arc of the vertex
+     */
+    public int end(int v) {
+        return offsets[v + 1];
+    }
+    
+    public int target(int arc) {
+        return targets[arc];
+    }
+    
+    /**
+     * Returns weight of the arc or {@code 1} if the graph is unweighted.
+     * @param arc index of the arc
+     * @return weight of the arc or {@code 1} if the graph is unweighted
+     */
+    public long weight(int arc) {
+        return weights != null ? weights[arc] : 1L;
+    }
+    
+    /**
+     * Returns the inner array of {@code n + 1} offsets for hot loops;
+     * it must not be modified.
+     * @return the inner array of offsets
+     */
+    public int[] offsets() {
+        return offsets;
+    }
+    
+    /**
+     * Returns the inner array of arc targets for hot loops;
+     * it must not be modified.
+     * @return the inner array of arc targets
+     */
+    public int[] targets() {
+        return targets;
+    }
+    
+    /**
+     * Returns the inner array of arc weights for hot loops or {@code null}
+     * if the graph is unweighted; it must not be modified.
+     * @return the inner array of arc weights or {@code null}
+     */
+    public long[] weights() {
+        return weights;
+    }
+    
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(directed ? "CsrGraph{directed" : "CsrGraph{undirected")
+                .append(", n=").append(n)
+                .append(", arcs=").append(targets.length);
+        for (int v = 0; v < n; v++) {
+            sb.append("\n  ").append(v).append(": [");
+            for (int arc = offsets[v]; arc < offsets[v + 1]; arc++) {
+                if (arc != offsets[v]) {
+                    sb.append(", ");
+                }
+                sb.append(targets[arc]);
+                if (weights != null) {
+                    sb.append('(').append(weights[arc]).append(')');
+                }
+            }
+            sb.append(']');
+        }
+        return sb.append("\n}").toString();
+    }
+
+}
@@ -1,8 +1,6 @@
 package druyaned.alg.util.t01graph;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 
 /**
  * Depth-first search.
@@ -38,94 +36,41 @@ public class DFS {
     
     private static final int HAS_CYCLE = (int)2e9;
     
-    private int n; // amount of vertices
-    private int[] values; // values for each vertex
-    private int[][] graph; // vertex to descendants
-    private int[] visit; // 1 -> in process, 2 -> passed
-    private int[] paths; // length of pathes for each vertex
-    private final List<String> list = new ArrayList<>(128);//TODO:show
-    private final StringBuilder sb = new StringBuilder();//TODO:show
-    
+    /**
+     * Finds the maximum sum of values along a path of the directed graph
+     * by the iterative {@link DfsEngine}, so deep graphs don't overflow the stack.
+     *
+     * @param values for each vertex
+     * @param edges {@code edges[i] = {from, to}}
+     * @return the maximum sum or {@code 2e9} if the graph has a cycle
+     */
     public int longestPath(int[] values, int[][] edges) {
-        // Initialization
-        n = values.length;
-        this.values = values;
-        graph = makeGraph(n, edges);
-        visit = new int[n];
-        paths = new int[n];
-        // Depth-first search
-        int maxPath = 0;
-        for (int i = 0; i < n && maxPath != HAS_CYCLE; i++)
-            maxPath = Math.max(maxPath, dfs(i));
-        System.out.println("paths:");//TODO:show
-        for (int i = 0; i < n; i++)//TODO:show
-            System.out.printf("  %d[%02d]=%d\n", values[i], i, paths[i]);//TODO:show
-        return maxPath;
-    }
-    
-    private int[][] makeGraph(int n, int[][] edges) {
-        final int m = edges.length;
-        int[][] g = new int[n][];
-        int[] sizes = new int[n];
-        for (int i = 0; i < m; i++)
-            sizes[edges[i][0]]++;
-        for (int i = 0; i < n; i++)
-            g[i] = new int[sizes[i]];
-        Arrays.fill(sizes, 0);
-        for (int i = 0; i < m; i++) {
-            int start = edges[i][0];
-            g[start][sizes[start]++] = edges[i][1];
-        }
-        sb.setLength(0);//TODO:show
-        sb.append("graph:\n");//TODO:show
-        for (int i = 0; i < n; i++) {//TODO:show
-            sb.append(String.format("  %d[%02d]={", values[i], i));//TODO:show
-            if (g[i].length > 0)//TODO:show
-                sb.append(g[i][0]);//TODO:show
-            for (int j = 1; j < g[i].length; j++)//TODO:show
-                sb.append(", ").append(g[i][j]);//TODO:show
-            sb.append("}\n");//TODO:show
-        }//TODO:show
-        System.out.print(sb.toString());//TODO:show
-        return g;
-    }
-    
-    private int dfs(int node) {
-        list.add(Integer.toString(node));//TODO:show
-        if (visit[node] == 1)//TODO:show
-            list.remove(list.size() - 1);//TODO:show
-        if (visit[node] == 1)
+        final int n = values.length;
+        final int[] paths = new int[n]; // the longest path from each vertex
+        final DfsEngine dfs = new DfsEngine(CsrGraph.of(n, edges, true));
+        boolean acyclic = dfs.runAll(new DfsEngine.Visitor() {
+            @Override public void nonTreeArc(int v, int w) {
+                if (dfs.isActive(w)) {
+                    dfs.stop();
+                } else {
+                    paths[v] = Math.max(paths[v], paths[w]);
+                }
+            }
+            @Override public void exit(int v, int parent) {
+                paths[v] += values[v];
+                if (parent != -1) {
+                    paths[parent] = Math.max(paths[parent], paths[v]);
+                }
+            }
+        });
+        if (!acyclic) {
             return HAS_CYCLE;
-        if (visit[node] == 2) {//TODO:show
-            printTraverse();//TODO:show
-            list.remove(list.size() - 1);//TODO:show
-        }//TODO:show
-        if (visit[node] == 2)
-            return paths[node];
-        visit[node] = 1;
-        int maxChildPath = 0;
-        for (int child : graph[node]) {
-            int childPath = dfs(child);
-            if (maxChildPath < childPath)
-                maxChildPath = childPath;
         }
-        visit[node] = 2;
-        if (graph[node].length == 0)//TODO:show
-            printTraverse();//TODO:show
-        //TODO:show
-        list.remove(list.size() - 1);//TODO:show
-        return paths[node] = maxChildPath + values[node];
+        int maxPath = 0;
+        for (int path : paths) {
+            maxPath = Math.max(maxPath, path);
+        }
+        return maxPath;
     }
-    //TODO:show
-    private void printTraverse() {//TODO:show
-        sb.setLength(0);//TODO:show
-        sb.append("traverse={");//TODO:show
-        if (!list.isEmpty())//TODO:show
-            sb.append(list.get(0));//TODO:show
-        for (int i = 1; i < list.size(); i++)//TODO:show
-            sb.append(", ").append(list.get(i));//TODO:show
-        sb.append("}\n");//TODO:show
-        System.out.print(sb.toString());//TODO:show
-    }//TODO:show
     
 }
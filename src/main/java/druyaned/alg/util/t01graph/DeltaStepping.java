@@ -0,0 +1,288 @@
+package druyaned.alg.util.t01graph;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel single-source shortest paths by delta-stepping over a {@link CsrGraph}
+ * with non-negative weights. Vertices are kept in buckets of width {@code delta}
+ * by their tentative distances; the least bucket is emptied by rounds of
+ * light arcs ({@code weight <= delta}), whose relaxations may put vertices
+ * back to the same bucket, and then the heavy arcs of its settled vertices
+ * are relaxed once. The arcs of a round are relaxed in parallel by tasks
+ * of the {@link ForkJoinPool}, each relaxation is an atomic min-update
+ * of the distance array by compare-and-set.
+ *
+ * <P>Distances are the same as the ones of {@link DijkstraEngine}
+ * for any {@code delta}: {@code delta = 1} works like Dijkstra's algorithm
+ * with buckets and a huge delta works like the parallel Bellman-Ford algorithm.
+ * {@link #defaultDelta} is a start for tuning. Runs are not thread-safe.
+ *
+ * <P><i>Example</i>:<br><code>
+ * DeltaStepping sssp = new DeltaStepping(graph, DeltaStepping.defaultDelta(graph));<br>
+ * sssp.run(source);<br>
+ * long dist = sssp.distance(v);
+ * </code>
+ *
+ * @author druyaned
+ * @see DijkstraEngine
+ */
+public class DeltaStepping {
+    
+    private static final VarHandle DIST = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int GRAIN = 1024; // vertices of the least task
+    
+    private final CsrGraph graph;
+    private final long delta;
+    private final ForkJoinPool pool;
+    private final int grain;
+    private final long[] dist;
+    private final long[] relaxedAt; // distance at which light arcs were relaxed
+    private final boolean[] settled;
+    
+    /**
+     * Creates the search in the common pool.
+     * @param graph with non-negative weights
+     * @param delta width of a bucket
+     * @throws IllegalArgumentException if there is a negative weight
+     *      or {@code delta < 1}
+     */
+    public DeltaStepping(CsrGraph graph, long delta) {
+        this(graph, delta, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Creates the search in the given pool.
+     *
+     * @param graph with non-negative weights
+     * @param delta width of a bucket
+     * @param pool to relax arcs in
+     * @throws IllegalArgumentException if there is a negative weight
+     *      or {@code delta < 1}
+     */
+    public DeltaStepping(CsrGraph graph, long delta, ForkJoinPool pool) {
+        this(graph, delta, pool, GRAIN);
+    }
+    
+    DeltaStepping(CsrGraph graph, long delta, ForkJoinPool pool, int grain) {
+        if (delta < 1L) {
+            throw new IllegalArgumentException("delta=" + delta);
+        }
+        final int n = graph.vertexCount();
+        this.graph = graph.requireNonNegativeWeights();
+        this.delta = delta;
+        this.pool = pool;
+        this.grain = grain;
+        dist = new long[n];
+        relaxedAt = new long[n];
+        settled = new boolean[n];
+    }
+    
+    /**
+     * Suggests the delta as the average weight times the amount of vertices
+     * divided by the amount of arcs, so a bucket holds about a vertex
+     * per arc of its vertices.
+     *
+     * @param graph to be searched
+     * @return the suggested delta, not less than {@code 1}
+     */
+    public static long defaultDelta(CsrGraph graph) {
+        final int m = graph.arcCount();
+        if (m == 0) {
+            return 1L;
+        }
+        double sum = 0.0;
+        for (int arc = 0; arc < m; arc++) {
+            sum += graph.weight(arc);
+        }
+        double averageDegree = (double)m / Math.max(1, graph.vertexCount());
+        return Math.max(1L, (long)(sum / m / averageDegree));
+    }
+    
+    //-Getters-------------------------------------------------------------------------------------
+    
+    public CsrGraph graph() {
+        return graph;
+    }
+    
+    public long delta() {
+        return delta;
+    }
+    
+    /**
+     * Returns distance found by the last run.
+     * @param v the vertex
+     * @return distance from the source to the vertex or {@link CsrGraph#INFINITY}
+     */
+    public long distance(int v) {
+        return dist[v];
+    }
+    
+    //-Search--------------------------------------------------------------------------------------
+    
+    /**
+     * Finds distances from the source to all vertices.
+     * @param source of the paths
+     */
+    public void run(int source) {
+        Arrays.fill(dist, CsrGraph.INFINITY);
+        Arrays.fill(relaxedAt, CsrGraph.INFINITY);
+        Arrays.fill(settled, false);
+        dist[source] = 0L;
+        TreeMap<Long, IntList> buckets = new TreeMap<>();
+        IntList first = new IntList();
+        first.add(source);
+        buckets.put(0L, first);
+        IntList frontier = new IntList();
+        IntList bucketVertices = new IntList();
+        while (!buckets.isEmpty()) {
+            Map.Entry<Long, IntList> entry = buckets.pollFirstEntry();
+            final long bucket = entry.getKey();
+            frontier.clear();
+            collect(entry.getValue(), bucket, frontier);
+            bucketVertices.clear();
+            // light arcs may put vertices back to the bucket
+            while (frontier.size > 0) {
+                IntList updated = relax(frontier, true);
+                bucketVertices.addAll(frontier);
+                frontier.clear();
+                distribute(updated, bucket, frontier, buckets);
+            }
+            // vertices of the bucket are settled, their heavy arcs lead to later buckets
+            IntList heavy = new IntList();
+            for (int i = 0; i < bucketVertices.size; i++) {
+                int v = bucketVertices.items[i];
+                if (!settled[v]) {
+                    settled[v] = true;
+                    heavy.add(v);
+                }
+            }
+            distribute(relax(heavy, false), bucket, frontier, buckets);
+        }
+    }
+    
+    //-Private-methods-----------------------------------------------------------------------------
+    
+    // puts vertices of the bucket, which light arcs are not relaxed yet, to the frontier
+    private void collect(IntList candidates, long bucket, IntList frontier) {
+        for (int i = 0; i < candidates.size; i++) {
+            int v = candidates.items[i];
+            long d = dist[v];
+            if (d / delta == bucket && relaxedAt[v] != d) {
+                relaxedAt[v] = d;
+                frontier.add(v);
+            }
+        }
+    }
+    
+    private void distribute(IntList updated, long bucket, IntList frontier,
+            TreeMap<Long, IntList> buckets) {
+        for (int i = 0; i < updated.size; i++) {
+            int v = updated.items[i];
+            long b = dist[v] / delta;
+            if (b == bucket) {
+                long d = dist[v];
+                if (relaxedAt[v] != d) {
+                    relaxedAt[v] = d;
+                    frontier.add(v);
+                }
+            } else {
+                buckets.computeIfAbsent(b, key -> new IntList()).add(v);
+            }
+        }
+    }
+    
+    private IntList relax(IntList vertices, boolean light) {
+        if (vertices.size <= grain) {
+            return relax(vertices.items, 0, vertices.size, light);
+        }
+        return pool.invoke(new Relaxation(vertices.items, 0, vertices.size, light));
+    }
+    
+    // relaxes light or heavy arcs of the vertices and returns the improved heads
+    private IntList relax(int[] vertices, int from, int to, boolean light) {
+        final int[] offsets = graph.offsets();
+        final int[] targets = graph.targets();
+        final long[] weights = graph.weights();
+        IntList updated = new IntList();
+        for (int i = from; i < to; i++) {
+            int v = vertices[i];
+            long d = (long)DIST.getVolatile(dist, v);
+            for (int arc = offsets[v], end = offsets[v + 1]; arc < end; arc++) {
+                long weight = weights != null ? weights[arc] : 1L;
+                if (weight <= delta != light) {
+                    continue;
+                }
+                long nextDist = d + weight;
+                if (nextDist < 0L) {
+                    continue; // overflow
+                }
+                int next = targets[arc];
+                long current = (long)DIST.getVolatile(dist, next);
+                while (nextDist < current) {
+                    long witness = (long)DIST.compareAndExchange(dist, next, current, nextDist);
+                    if (witness == current) {
+                        updated.add(next);
+                        break;
+                    }
+                    current = witness;
+                }
+            }
+        }
+        return updated;
+    }
+    
+    private class Relaxation extends RecursiveTask<IntList> {
+        private static final long serialVersionUID = 1L;
+        private final int[] vertices;
+        private final int from;
+        private final int to;
+        private final boolean light;
+        Relaxation(int[] vertices, int from, int to, boolean light) {
+            this.vertices = vertices;
+            this.from = from;
+            this.to = to;
+            this.light = light;
+        }
+        @Override protected IntList compute() {
+            if (to - from <= grain) {
+                return relax(vertices, from, to, light);
+            }
+            int middle = (from + to) >>> 1;
+            Relaxation left = new Relaxation(vertices, from, middle, light);
+            left.fork();
+            IntList right = new Relaxation(vertices, middle, to, light).compute();
+            IntList result = left.join();
+            result.addAll(right);
+            return result;
+        }
+    }
+    
+    // growable array of ints
+    private static class IntList {
+        int[] items = new int[8];
+        int size = 0;
+        void add(int item) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, 2 * size);
+            }
+            items[size++] = item;
+        }
+        void addAll(IntList other) {
+            if (size + other.size > items.length) {
+                items = Arrays.copyOf(items, Math.max(2 * items.length, size + other.size));
+            }
+            System.arraycopy(other.items, 0, items, size, other.size);
+            size += other.size;
+        }
+        void clear() {
+            size = 0;
+        }
+    }
+
+}
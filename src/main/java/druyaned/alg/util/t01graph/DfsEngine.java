@@ -0,0 +1,185 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Arrays;
+
+/**
+ * Iterative depth-first search over a {@link CsrGraph} with an explicit
+ * stack of {@code n} vertices and a cursor of the next arc per vertex,
+ * so a path graph of millions of vertices is walked without
+ * {@link StackOverflowError} and no memory is allocated per vertex.
+ * A {@link Visitor} gets the entering and the exit of each vertex
+ * and each arc to an already visited vertex.
+ *
+ * <P>Visited vertices are remembered between runs until {@link #reset()},
+ * so {@link #runAll} walks the forest of all vertices.
+ *
+ * <P><i>Example</i>:<br><code>
+ * DfsEngine dfs = new DfsEngine(graph);<br>
+ * dfs.runAll(new DfsEngine.Visitor() {<br>
+ * &nbsp;&nbsp;@Override public void exit(int v, int parent) {<br>
+ * &nbsp;&nbsp;&nbsp;&nbsp;postorder.add(v);<br>
+ * &nbsp;&nbsp;}<br>
+ * });</code>
+ *
+ * @author druyaned
+ * @see DfsToolkit
+ */
+public class DfsEngine {
+    
+    /**
+     * Callbacks of the search, each of them does nothing by default.
+     */
+    public interface Visitor {
+    
+        /**
+         * Called when the vertex is entered by a tree arc or as a root.
+         * @param v the entered vertex
+         * @param parent the previous vertex or {@code -1} for a root
+         */
+        default void enter(int v, int parent) {}
+    
+        /**
+         * Called for an arc to an already visited vertex:
+         * the back arc to an active vertex or the forward or cross arc
+         * to a finished one, see {@link DfsEngine#isActive}.
+         *
+         * @param v tail of the arc, which is the current vertex
+         * @param w head of the arc
+         */
+        default void nonTreeArc(int v, int w) {}
+    
+        /**
+         * Called when all arcs of the vertex are passed.
+         * @param v the finished vertex
+         * @param parent the previous vertex or {@code -1} for a root
+         */
+        default void exit(int v, int parent) {}
+    }
+    
+    private static final byte NEW = 0;
+    private static final byte ACTIVE = 1;
+    private static final byte FINISHED = 2;
+    
+    private final CsrGraph graph;
+    private final byte[] states;
+    private final int[] stack;
+    private final int[] cursors; // the next arc of each active vertex
+    private int size = 0;
+    private boolean stopped = false;
+    
+    public DfsEngine(CsrGraph graph) {
+        final int n = graph.vertexCount();
+        this.graph = graph;
+        states = new byte[n];
+        stack = new int[n];
+        cursors = new int[n];
+    }
+    
+    //-Getters-------------------------------------------------------------------------------------
+    
+    public CsrGraph graph() {
+        return graph;
+    }
+    
+    public boolean isVisited(int v) {
+        return states[v] != NEW;
+    }
+    
+    /**
+     * Returns {@code true} if the vertex is entered and not finished,
+     * that is on the current path from the root.
+     * @param v the vertex
+     * @return {@code true} if the vertex is on the current path
+     */
+    public boolean isActive(int v) {
+        return states[v] == ACTIVE;
+    }
+    
+    /**
+     * Returns the current path from the given active vertex
+     * to the current vertex, e.g. the cycle closed by a back arc.
+     *
+     * @param from an active vertex
+     * @return vertices of the path from the given one to the current one
+     * @throws IllegalArgumentException if the vertex is not active
+     */
+    public int[] activePath(int from) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (stack[i] == from) {
+                return Arrays.copyOfRange(stack, i, size);
+            }
+        }
+        throw new IllegalArgumentException("vertex=" + from + " is not active");
+    }
+    
+    //-Search--------------------------------------------------------------------------------------
+    
+    /**
+     * Walks vertices reachable from the root, that are not visited yet.
+     * @param root of the search
+     * @param visitor of the search
+     * @return {@code false} if the search was stopped by {@link #stop()}
+     */
+    public boolean run(int root, Visitor visitor) {
+        if (states[root] != NEW) {
+            return !stopped;
+        }
+        final int[] offsets = graph.offsets();
+        final int[] targets = graph.targets();
+        push(root, -1, visitor);
+        while (size > 0 && !stopped) {
+            int v = stack[size - 1];
+            if (cursors[v] < offsets[v + 1]) {
+                int w = targets[cursors[v]++];
+                if (states[w] == NEW) {
+                    push(w, v, visitor);
+                } else {
+                    visitor.nonTreeArc(v, w);
+                }
+            } else {
+                states[v] = FINISHED;
+                size--;
+                visitor.exit(v, size > 0 ? stack[size - 1] : -1);
+            }
+        }
+        return !stopped;
+    }
+    
+    /**
+     * Walks all vertices, that are not visited yet, taking roots
+     * in the ascending order.
+     * @param visitor of the search
+     * @return {@code false} if the search was stopped by {@link #stop()}
+     */
+    public boolean runAll(Visitor visitor) {
+        for (int root = 0; root < states.length && !stopped; root++) {
+            run(root, visitor);
+        }
+        return !stopped;
+    }
+    
+    /**
+     * Stops the current run after the current callback,
+     * e.g. when a cycle is found.
+     */
+    public void stop() {
+        stopped = true;
+    }
+    
+    /**
+     * Forgets visited vertices and the stop.
+     */
+    public void reset() {
+        Arrays.fill(states, NEW);
+        size = 0;
+        stopped = false;
+    }
+    
+    private void push(int v, int parent, Visitor visitor) {
+        states[v] = ACTIVE;
+        cursors[v] = graph.begin(v);
+        stack[size++] = v;
+        visitor.enter(v, parent);
+    }
+
+}
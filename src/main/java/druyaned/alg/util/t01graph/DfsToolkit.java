@@ -0,0 +1,373 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Arrays;
+
+/**
+ * Classic depth-first search algorithms on top of {@link DfsEngine},
+ * so none of them recurses and each takes
+ * <code><b>O(n + m)</b></code> time and <code><b>O(n)</b></code> extra memory
+ * (the Euler tour takes <code><b>O(n + m)</b></code> memory).
+ *
+ * <P>In an undirected graph a vertex skips the arc back to its parent
+ * only once, so parallel edges make a cycle and are never bridges.
+ *
+ * <P><i>Example</i>:<br><code>
+ * int[] components = DfsToolkit.stronglyConnectedComponents(graph);<br>
+ * int[] order = DfsToolkit.topologicalOrder(graph); // null on a cycle
+ * </code>
+ *
+ * @author druyaned
+ * @see DfsEngine
+ */
+public class DfsToolkit {
+    
+    private DfsToolkit() {}
+    
+    //-Components----------------------------------------------------------------------------------
+    
+    /**
+     * Finds strongly connected components by Tarjan's algorithm.
+     * Components are numbered in the reversed topological order
+     * of the condensation: an arc between components goes from
+     * the greater id to the less one.
+     *
+     * @param graph directed graph
+     * @return {@code components[v]} is id of the component of the vertex
+     */
+    public static int[] stronglyConnectedComponents(CsrGraph graph) {
+        final int n = graph.vertexCount();
+        final int[] index = new int[n];
+        final int[] low = new int[n];
+        final int[] components = new int[n];
+        final int[] stack = new int[n];
+        Arrays.fill(components, -1);
+        new DfsEngine(graph).runAll(new DfsEngine.Visitor() {
+            int counter = 0;
+            int size = 0;
+            int componentCount = 0;
+            @Override public void enter(int v, int parent) {
+                index[v] = low[v] = counter++;
+                stack[size++] = v;
+            }
+            @Override public void nonTreeArc(int v, int w) {
+                if (components[w] == -1) { // w is on the stack
+                    low[v] = Math.min(low[v], index[w]);
+                }
+            }
+            @Override public void exit(int v, int parent) {
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--size];
+                        components[w] = componentCount;
+                    } while (w != v);
+                    componentCount++;
+                }
+                if (parent != -1) {
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+            }
+        });
+        return components;
+    }
+    
+    /**
+     * Finds bridges of the undirected graph: edges,
+     * which removal increases amount of connected components.
+     *
+     * @param graph undirected graph
+     * @return {@code bridges[i] = {parent, child}} of the DFS-tree
+     * @throws IllegalArgumentException if the graph is directed
+     */
+    public static int[][] bridges(CsrGraph graph) {
+        LowLink lowLink = new LowLink(graph);
+        return Arrays.copyOf(lowLink.bridges, lowLink.bridgeCount);
+    }
+    
+    /**
+     * Finds articulation points of the undirected graph: vertices,
+     * which removal increases amount of connected components.
+     *
+     * @param graph undirected graph
+     * @return {@code cut[v]} is {@code true} if the vertex is an articulation point
+     * @throws IllegalArgumentException if the graph is directed
+     */
+    public static boolean[] articulationPoints(CsrGraph graph) {
+        return new LowLink(graph).cut;
+    }
+    
+    //-Cycles-and-orders---------------------------------------------------------------------------
+    
+    /**
+     * Finds a cycle of the directed or undirected graph.
+     * @param graph to be searched
+     * @return vertices of the cycle in the order of the arcs
+     *      or the empty array if the graph is acyclic
+     */
+    public static int[] findCycle(CsrGraph graph) {
+        final int n = graph.vertexCount();
+        final boolean directed = graph.isDirected();
+        final int[] parents = new int[n];
+        final boolean[] skippedParent = new boolean[n];
+        final DfsEngine dfs = new DfsEngine(graph);
+        final int[][] cycle = {new int[0]};
+        dfs.runAll(new DfsEngine.Visitor() {
+            @Override public void enter(int v, int parent) {
+                parents[v] = parent;
+            }
+            @Override public void nonTreeArc(int v, int w) {
+                if (!directed && w == parents[v] && !skippedParent[v]) {
+                    skippedParent[v] = true;
+                    return;
+                }
+                if (dfs.isActive(w)) {
+                    cycle[0] = dfs.activePath(w);
+                    dfs.stop();
+                }
+            }
+        });
+        return cycle[0];
+    }
+    
+    /**
+     * Finds the topological order of the directed graph:
+     * each arc goes from an earlier vertex to a later one.
+     *
+     * @param graph directed graph
+     * @return vertices in the topological order or {@code null} if there is a cycle
+     * @throws IllegalArgumentException if the graph is undirected
+     */
+    public static int[] topologicalOrder(CsrGraph graph) {
+        requireDirected(graph, true);
+        final int[] order = new int[graph.vertexCount()];
+        final DfsEngine dfs = new DfsEngine(graph);
+        boolean acyclic = dfs.runAll(new DfsEngine.Visitor() {
+            int position = order.length;
+            @Override public void nonTreeArc(int v, int w) {
+                if (dfs.isActive(w)) {
+                    dfs.stop();
+                }
+            }
+            @Override public void exit(int v, int parent) {
+                order[--position] = v;
+            }
+        });
+        return acyclic ? order : null;
+    }
+    
+    /**
+     * Finds the Euler trail, that passes each edge exactly once,
+     * by Hierholzer's algorithm with an explicit stack.
+     * The trail is closed if all degrees are even
+     * (all in-degrees are equal to out-degrees for the directed graph).
+     *
+     * @param graph directed or undirected graph
+     * @return vertices of the trail, {@code edgeCount + 1} of them,
+     *      the empty array if there are no edges
+     *      or {@code null} if there is no Euler trail
+     */
+    public static int[] eulerTrail(CsrGraph graph) {
+        final int n = graph.vertexCount();
+        final int[] offsets = graph.offsets();
+        final int[] targets = graph.targets();
+        final boolean directed = graph.isDirected();
+        final int edgeCount = directed ? targets.length : targets.length / 2;
+        if (edgeCount == 0) {
+            return new int[0];
+        }
+        int start = eulerStart(graph);
+        if (start == -1) {
+            return null;
+        }
+        int[] twins = directed ? null : twinArcs(graph);
+        boolean[] used = new boolean[targets.length];
+        int[] cursors = Arrays.copyOf(offsets, n);
+        int[] stack = new int[edgeCount + 1];
+        int[] trail = new int[edgeCount + 1];
+        int size = 0;
+        int length = edgeCount + 1;
+        stack[size++] = start;
+        while (size > 0) {
+            int v = stack[size - 1];
+            while (cursors[v] < offsets[v + 1] && used[cursors[v]]) {
+                cursors[v]++;
+            }
+            if (cursors[v] < offsets[v + 1]) {
+                int arc = cursors[v]++;
+                used[arc] = true;
+                if (twins != null) {
+                    used[twins[arc]] = true;
+                }
+                stack[size++] = targets[arc];
+            } else {
+                trail[--length] = stack[--size];
+            }
+        }
+        // edges out of the reach of the start are not passed
+        return length == 0 ? trail : null;
+    }
+    
+    //-Private-methods-----------------------------------------------------------------------------
+    
+    // returns the start vertex of an Euler trail by degrees or -1
+    private static int eulerStart(CsrGraph graph) {
+        final int n = graph.vertexCount();
+        int start = -1;
+        if (graph.isDirected()) {
+            int[] balance = new int[n]; // out-degree minus in-degree
+            for (int v = 0; v < n; v++) {
+                balance[v] += graph.degree(v);
+            }
+            for (int target : graph.targets()) {
+                balance[target]--;
+            }
+            int sources = 0, sinks = 0;
+            for (int v = 0; v < n; v++) {
+                if (balance[v] == 1) {
+                    sources++;
+                    start = v;
+                } else if (balance[v] == -1) {
+                    sinks++;
+                } else if (balance[v] != 0) {
+                    return -1;
+                }
+            }
+            if (sources > 1 || sources != sinks) {
+                return -1;
+            }
+        } else {
+            int odd = 0;
+            for (int v = 0; v < n; v++) {
+                if ((graph.degree(v) & 1) == 1) {
+                    odd++;
+                    start = v;
+                }
+            }
+            if (odd != 0 && odd != 2) {
+                return -1;
+            }
+        }
+        if (start == -1) {
+            for (int v = 0; start == -1; v++) {
+                if (graph.degree(v) > 0) {
+                    start = v;
+                }
+            }
+        }
+        return start;
+    }
+    
+    /*
+     * Matches two arcs of each undirected edge: arcs are grouped by
+     * the pair of their ends with two stable counting sorts, then the first
+     * half of a group is u -> v and the second half is v -> u.
+     */
+    private static int[] twinArcs(CsrGraph graph) {
+        final int n = graph.vertexCount();
+        final int[] offsets = graph.offsets();
+        final int[] targets = graph.targets();
+        final int m = targets.length;
+        int[] tails = new int[m];
+        for (int v = 0; v < n; v++) {
+            Arrays.fill(tails, offsets[v], offsets[v + 1], v);
+        }
+        int[] byMax = new int[m];
+        int[] counts = new int[n + 1];
+        for (int arc = 0; arc < m; arc++) {
+            counts[Math.max(tails[arc], targets[arc]) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            counts[v + 1] += counts[v];
+        }
+        for (int arc = 0; arc < m; arc++) {
+            byMax[counts[Math.max(tails[arc], targets[arc])]++] = arc;
+        }
+        int[] grouped = new int[m];
+        Arrays.fill(counts, 0);
+        for (int arc = 0; arc < m; arc++) {
+            counts[Math.min(tails[arc], targets[arc]) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            counts[v + 1] += counts[v];
+        }
+        for (int arc : byMax) {
+            grouped[counts[Math.min(tails[arc], targets[arc])]++] = arc;
+        }
+        int[] twins = new int[m];
+        for (int from = 0, to; from < m; from = to) {
+            int a = grouped[from];
+            int u = Math.min(tails[a], targets[a]), v = Math.max(tails[a], targets[a]);
+            to = from + 1;
+            while (to < m && Math.min(tails[grouped[to]], targets[grouped[to]]) == u
+                    && Math.max(tails[grouped[to]], targets[grouped[to]]) == v) {
+                to++;
+            }
+            int half = (to - from) >>> 1;
+            for (int i = from; i < from + half; i++) {
+                twins[grouped[i]] = grouped[i + half];
+                twins[grouped[i + half]] = grouped[i];
+            }
+        }
+        return twins;
+    }
+    
+    private static void requireDirected(CsrGraph graph, boolean directed) {
+        if (graph.isDirected() != directed) {
+            throw new IllegalArgumentException("the graph must be "
+                    + (directed ? "directed" : "undirected"));
+        }
+    }
+    
+    // low-links of an undirected graph for bridges and articulation points
+    private static class LowLink implements DfsEngine.Visitor {
+        final int[] index;
+        final int[] low;
+        final int[] parents;
+        final int[] children;
+        final boolean[] skippedParent;
+        final boolean[] cut;
+        int[][] bridges = new int[8][];
+        int bridgeCount = 0;
+        int counter = 0;
+        LowLink(CsrGraph graph) {
+            requireDirected(graph, false);
+            final int n = graph.vertexCount();
+            index = new int[n];
+            low = new int[n];
+            parents = new int[n];
+            children = new int[n];
+            skippedParent = new boolean[n];
+            cut = new boolean[n];
+            new DfsEngine(graph).runAll(this);
+        }
+        @Override public void enter(int v, int parent) {
+            index[v] = low[v] = counter++;
+            parents[v] = parent;
+        }
+        @Override public void nonTreeArc(int v, int w) {
+            if (w == parents[v] && !skippedParent[v]) {
+                skippedParent[v] = true;
+            } else {
+                low[v] = Math.min(low[v], index[w]);
+            }
+        }
+        @Override public void exit(int v, int parent) {
+            if (parent == -1) {
+                cut[v] = children[v] > 1;
+                return;
+            }
+            children[parent]++;
+            low[parent] = Math.min(low[parent], low[v]);
+            if (low[v] > index[parent]) {
+                if (bridgeCount == bridges.length) {
+                    bridges = Arrays.copyOf(bridges, 2 * bridgeCount);
+                }
+                bridges[bridgeCount++] = new int[] {parent, v};
+            }
+            if (parents[parent] != -1 && low[v] >= index[parent]) {
+                cut[parent] = true;
+            }
+        }
+    }
+
+}
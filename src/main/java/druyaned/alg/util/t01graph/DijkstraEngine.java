@@ -0,0 +1,101 @@
+package druyaned.alg.util.t01graph;
+
+/**
+ * Dijkstra's algorithm over a {@link CsrGraph} with non-negative weights:
+ * the {@link ShortestPathEngine} of one layer in the (min,+) algebra
+ * with predecessors, named by distances. Vertices wait in an
+ * {@link IndexedLongHeap}, so each of them is in the heap at most once
+ * and a relaxation is a decrease-key without any allocation.
+ * The engine keeps its arrays between runs and resets only the vertices
+ * reached by the previous run, so many queries on one graph are cheap.
+ *
+ * <P><i>Example</i>:<br><code>
+ * DijkstraEngine engine = new DijkstraEngine(graph);<br>
+ * long dist = engine.run(source, target);<br>
+ * int[] path = engine.path(target);
+ * </code>
+ *
+ * @author druyaned
+ * @see Dijkstra
+ */
+public class DijkstraEngine {
+    
+    private final ShortestPathEngine engine;
+    private final int[] parents;
+    
+    /**
+     * Creates the engine for the graph.
+     * @param graph with non-negative weights
+     * @throws IllegalArgumentException if there is a negative weight
+     */
+    public DijkstraEngine(CsrGraph graph) {
+        engine = new ShortestPathEngine(graph, PathAlgebra.minPlus(), 1, true);
+        parents = engine.parents();
+    }
+    
+    public CsrGraph graph() {
+        return engine.graph();
+    }
+    
+    /**
+     * Finds distances from the source to all vertices.
+     * @param source of the paths
+     */
+    public void run(int source) {
+        engine.run(source);
+    }
+    
+    /**
+     * Finds distances from the source until the target is settled,
+     * so the distances are final only for vertices closer than the target.
+     *
+     * @param source of the paths
+     * @param target to stop at
+     * @return distance from the source to the target or {@link CsrGraph#INFINITY}
+     */
+    public long run(int source, int target) {
+        return engine.run(source, target);
+    }
+    
+    /**
+     * Finds distances from the nearest of the sources to all vertices,
+     * as if an extra vertex had arcs of zero weight to each source.
+     *
+     * @param sources of the paths
+     */
+    public void run(int[] sources) {
+        engine.run(sources);
+    }
+    
+    //-Getters-------------------------------------------------------------------------------------
+    
+    /**
+     * Returns distance found by the last run.
+     * @param v the vertex
+     * @return distance from the source to the vertex or {@link CsrGraph#INFINITY}
+     */
+    public long distance(int v) {
+        return engine.value(v);
+    }
+    
+    /**
+     * Returns previous vertex on the shortest path found by the last run.
+     * @param v the vertex
+     * @return previous vertex on the shortest path or {@code -1}
+     *      for the source and unreachable vertices
+     */
+    public int parent(int v) {
+        return parents[v];
+    }
+    
+    /**
+     * Returns the shortest path found by the last run.
+     * @param target of the path
+     * @return vertices of the path from the (nearest) source to the target
+     *      or an empty array if the target is unreachable
+     */
+    public int[] path(int target) {
+        return engine.path(target);
+    }
+
+}
@@ -0,0 +1,408 @@
+package druyaned.alg.util.t01graph;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel direction-optimizing breadth-first search of Beamer et al.
+ * over vertices {@code 0..n-1}, which arcs are given by a subclass.
+ * Visited vertices and the frontier are bitsets, so the search itself takes
+ * about {@code 3n} bits besides the queue of a small frontier.
+ *
+ * <P>A level is expanded either top-down: each vertex of the frontier claims
+ * its unvisited successors by an atomic bitwise-or, or bottom-up: each unvisited
+ * vertex looks for a predecessor in the frontier and stops at the first one.
+ * The search goes bottom-up when arcs of the frontier exceed the arcs of unvisited
+ * vertices divided by {@code 14} and goes back when the frontier shrinks
+ * below {@code n / 24}. Both directions split the work into tasks of
+ * the {@link ForkJoinPool}: chunks of the frontier queue or ranges
+ * of bitset words, so a bottom-up task writes only its own words.
+ * Runs are not thread-safe.
+ *
+ * <P><i>Example</i>:<br><code>
+ * BfsEngine bfs = new BfsEngine(graph);<br>
+ * int eccentricity = bfs.run(source);<br>
+ * int dist = bfs.distance(v);
+ * </code>
+ *
+ * @author druyaned
+ * @see BfsEngine
+ * @see GridBfs
+ */
+public abstract class DirectionOptimizingBfs {
+    
+    /**
+     * Distance to an unreachable vertex.
+     */
+    public static final int UNREACHED = -1;
+    
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    static final int GRAIN = 1024; // vertices or words of the least task
+    
+    private final int n;
+    private final ForkJoinPool pool;
+    private final int grain;
+    private final long[] blocked; // null if there are no blocked vertices
+    private final long[] visited;
+    private long[] frontier;
+    private long[] next;
+    private int[] queue = new int[16]; // the frontier of a top-down level
+    private int queueSize = 0;
+    private long reachedCount = 0L;
+    private int bottomUpLevels = 0;
+    
+    /**
+     * Creates the search of {@code n} vertices.
+     *
+     * @param n amount of vertices
+     * @param blocked bitset of vertices, that are never reached, or {@code null}
+     * @param pool to expand levels in
+     * @param grain vertices of the least top-down task and words of the least bottom-up one
+     */
+    protected DirectionOptimizingBfs(int n, long[] blocked, ForkJoinPool pool, int grain) {
+        final int words = (n + 63) >>> 6;
+        if (blocked != null && blocked.length != words) {
+            throw new IllegalArgumentException("blocked.length=" + blocked.length
+                    + " differs from " + words + " words");
+        }
+        this.n = n;
+        this.blocked = blocked;
+        this.pool = pool;
+        this.grain = grain;
+        visited = new long[words];
+        frontier = new long[words];
+        next = new long[words];
+    }
+    
+    /**
+     * Creates the search of {@code n} vertices in the pool.
+     *
+     * @param n amount of vertices
+     * @param blocked bitset of vertices, that are never reached, or {@code null}
+     * @param pool to expand levels in
+     */
+    protected DirectionOptimizingBfs(int n, long[] blocked, ForkJoinPool pool) {
+        this(n, blocked, pool, GRAIN);
+    }
+    
+    //-Graph---------------------------------------------------------------------------------------
+    
+    /**
+     * Returns amount of arcs, it may be an upper bound.
+     * @return amount of arcs
+     */
+    protected abstract long arcCount();
+    
+    /**
+     * Returns amount of arcs of the vertex, it may be an upper bound.
+     * @param v the vertex
+     * @return amount of arcs of the vertex
+     */
+    protected abstract int degree(int v);
+    
+    /**
+     * Claims successors of the vertex by {@link Level#claim}.
+     * Called concurrently for different vertices.
+     *
+     * @param v a vertex of the frontier
+     * @param next level to claim successors to
+     */
+    protected abstract void expand(int v, Level next);
+    
+    /**
+     * Returns {@code true} if there is a predecessor of the vertex in the frontier,
+     * see {@link #contains}. Called concurrently for different vertices.
+     *
+     * @param v an unvisited vertex
+     * @param frontier bitset of the frontier
+     * @return {@code true} if there is a predecessor in the frontier
+     */
+    protected abstract boolean hasParentIn(int v, long[] frontier);
+    
+    /**
+     * Called once for each reached vertex, concurrently for different vertices.
+     * @param v the reached vertex
+     * @param distance from the source
+     */
+    protected void reached(int v, int distance) {}
+    
+    /**
+     * Returns {@code true} if the bitset contains the vertex.
+     * @param bits the bitset
+     * @param v the vertex
+     * @return {@code true} if the bit of the vertex is set
+     */
+    protected static boolean contains(long[] bits, int v) {
+        return (bits[v >>> 6] & 1L << v) != 0L;
+    }
+    
+    //-Getters-------------------------------------------------------------------------------------
+    
+    public int vertexCount() {
+        return n;
+    }
+    
+    /**
+     * Returns {@code true} if the last run reached the vertex.
+     * @param v the vertex
+     * @return {@code true} if the vertex was reached
+     */
+    public boolean isReached(int v) {
+        return reachedCount > 0L && contains(visited, v)
+                && (blocked == null || !contains(blocked, v));
+    }
+    
+    public long reachedCount() {
+        return reachedCount;
+    }
+    
+    /**
+     * Returns amount of levels of the last run, that were expanded bottom-up.
+     * @return amount of bottom-up levels
+     */
+    public int bottomUpLevels() {
+        return bottomUpLevels;
+    }
+    
+    //-Search--------------------------------------------------------------------------------------
+    
+    /**
+     * Reaches all vertices, that are reachable from the source.
+     * @param source of the search
+     * @return the greatest distance to a reached vertex
+     *      or {@link #UNREACHED} if the source is blocked
+     */
+    public int run(int source) {
+        return search(source, -1);
+    }
+    
+    /**
+     * Searches until the target is reached.
+     * @param source of the search
+     * @param target of the search
+     * @return distance from the source to the target or {@link #UNREACHED}
+     */
+    public int run(int source, int target) {
+        if (target < 0 || n <= target) {
+            throw new IndexOutOfBoundsException("target=" + target);
+        }
+        return search(source, target);
+    }
+    
+    //-Private-methods-----------------------------------------------------------------------------
+    
+    private int search(int source, int target) {
+        if (source < 0 || n <= source) {
+            throw new IndexOutOfBoundsException("source=" + source);
+        }
+        if (blocked != null) {
+            System.arraycopy(blocked, 0, visited, 0, visited.length);
+        } else {
+            Arrays.fill(visited, 0L);
+        }
+        if ((n & 63) != 0) {
+            visited[visited.length - 1] |= -1L << n; // bits after the last vertex
+        }
+        reachedCount = 0L;
+        bottomUpLevels = 0;
+        if (contains(visited, source) || target >= 0 && contains(visited, target)) {
+            return UNREACHED; // a blocked source or target
+        }
+        visited[source >>> 6] |= 1L << source;
+        reached(source, 0);
+        reachedCount = 1L;
+        queue[0] = source;
+        queueSize = 1;
+        long frontierSize = 1L;
+        long previousSize = 0L;
+        long frontierArcs = degree(source);
+        long unvisitedArcs = arcCount() - frontierArcs;
+        boolean bottomUp = false;
+        int level = 0;
+        while (frontierSize > 0L) {
+            if (target == source || target >= 0 && contains(visited, target)) {
+                return level;
+            }
+            if (!bottomUp && frontierArcs > unvisitedArcs / ALPHA) {
+                bottomUp = true;
+                queueToBitset();
+            } else if (bottomUp && frontierSize < previousSize && frontierSize < n / BETA) {
+                bottomUp = false;
+                bitsetToQueue();
+            }
+            Level expanded;
+            if (bottomUp) {
+                expanded = pool.invoke(new BottomUp(0, visited.length, level + 1));
+                long[] swap = frontier;
+                frontier = next;
+                next = swap;
+                bottomUpLevels++;
+            } else {
+                expanded = queueSize <= grain
+                        ? topDown(0, queueSize, level + 1)
+                        : pool.invoke(new TopDown(0, queueSize, level + 1));
+                queue = expanded.vertices;
+                queueSize = expanded.size;
+            }
+            previousSize = frontierSize;
+            frontierSize = expanded.count;
+            frontierArcs = expanded.arcs;
+            unvisitedArcs -= frontierArcs;
+            reachedCount += frontierSize;
+            if (frontierSize > 0L) {
+                level++;
+            }
+        }
+        return target < 0 ? level : UNREACHED;
+    }
+    
+    private void queueToBitset() {
+        Arrays.fill(frontier, 0L);
+        for (int i = 0; i < queueSize; i++) {
+            int v = queue[i];
+            frontier[v >>> 6] |= 1L << v;
+        }
+    }
+    
+    private void bitsetToQueue() {
+        queueSize = 0;
+        for (int word = 0; word < frontier.length; word++) {
+            for (long bits = frontier[word]; bits != 0L; bits &= bits - 1L) {
+                if (queueSize == queue.length) {
+                    queue = Arrays.copyOf(queue, 2 * queueSize);
+                }
+                queue[queueSize++] = word << 6 | Long.numberOfTrailingZeros(bits);
+            }
+        }
+    }
+    
+    private Level topDown(int from, int to, int distance) {
+        Level level = new Level(distance);
+        for (int i = from; i < to; i++) {
+            expand(queue[i], level);
+        }
+        return level;
+    }
+    
+    // expands the words of unvisited vertices, which are owned by the task
+    private Level bottomUp(int from, int to, int distance) {
+        Level level = new Level(distance);
+        for (int word = from; word < to; word++) {
+            long found = 0L;
+            for (long free = ~visited[word]; free != 0L; free &= free - 1L) {
+                int bit = Long.numberOfTrailingZeros(free);
+                int v = word << 6 | bit;
+                if (hasParentIn(v, frontier)) {
+                    found |= 1L << bit;
+                    level.count++;
+                    level.arcs += degree(v);
+                    reached(v, distance);
+                }
+            }
+            visited[word] |= found;
+            next[word] = found;
+        }
+        return level;
+    }
+    
+    /**
+     * Vertices claimed at one level of a task.
+     */
+    public final class Level {
+        private final int distance;
+        private int[] vertices = new int[8];
+        private int size = 0;
+        private long count = 0L;
+        private long arcs = 0L;
+    
+        private Level(int distance) {
+            this.distance = distance;
+        }
+    
+        /**
+         * Claims the vertex for the level if it is not visited yet.
+         * @param w a successor of the expanded vertex
+         */
+        public void claim(int w) {
+            final long bit = 1L << w;
+            if ((visited[w >>> 6] & bit) != 0L) {
+                return; // cheap check before the atomic one
+            }
+            if (((long)WORDS.getAndBitwiseOr(visited, w >>> 6, bit) & bit) != 0L) {
+                return;
+            }
+            if (size == vertices.length) {
+                vertices = Arrays.copyOf(vertices, 2 * size);
+            }
+            vertices[size++] = w;
+            count++;
+            arcs += degree(w);
+            reached(w, distance);
+        }
+    
+        private void addAll(Level other) {
+            if (size + other.size > vertices.length) {
+                vertices = Arrays.copyOf(vertices,
+                        Math.max(2 * vertices.length, size + other.size));
+            }
+            System.arraycopy(other.vertices, 0, vertices, size, other.size);
+            size += other.size;
+            count += other.count;
+            arcs += other.arcs;
+        }
+    }
+    
+    private class TopDown extends RecursiveTask<Level> {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+        private final int distance;
+        TopDown(int from, int to, int distance) {
+            this.from = from;
+            this.to = to;
+            this.distance = distance;
+        }
+        @Override protected Level compute() {
+            if (to - from <= grain) {
+                return topDown(from, to, distance);
+            }
+            int middle = (from + to) >>> 1;
+            TopDown left = new TopDown(from, middle, distance);
+            left.fork();
+            Level right = new TopDown(middle, to, distance).compute();
+            Level result = left.join();
+            result.addAll(right);
+            return result;
+        }
+    }
+    
+    private class BottomUp extends RecursiveTask<Level> {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+        private final int distance;
+        BottomUp(int from, int to, int distance) {
+            this.from = from;
+            this.to = to;
+            this.distance = distance;
+        }
+        @Override protected Level compute() {
+            if (to - from <= grain) {
+                return bottomUp(from, to, distance);
+            }
+            int middle = (from + to) >>> 1;
+            BottomUp left = new BottomUp(from, middle, distance);
+            left.fork();
+            Level right = new BottomUp(middle, to, distance).compute();
+            Level result = left.join();
+            result.addAll(right);
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,241 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Distance queries on one graph, that reuse shortest path trees:
+ * the tree of a source is found by {@link DijkstraEngine} on the first query
+ * and is kept in an LRU cache of {@code capacity} trees, so a mix of queries
+ * from a few hot sources costs one search per source.
+ * A tree takes {@code 16n} bytes: distances, parents and origins.
+ * Hits, misses and evictions are counted.
+ * Methods are synchronized, so the oracle may be shared by threads.
+ *
+ * <P><i>Example</i>:<br><code>
+ * DistanceOracle oracle = new DistanceOracle(graph, 256);<br>
+ * long dist = oracle.distance(s, t);<br>
+ * DistanceOracle.Tree nearest = oracle.nearest(depots);<br>
+ * int depot = nearest.origin(v);
+ * </code>
+ *
+ * @author druyaned
+ * @see DijkstraEngine
+ */
+public class DistanceOracle {
+    
+    /**
+     * Shortest path tree from one or several sources.
+     */
+    public static final class Tree {
+        private final long[] dist;
+        private final int[] parents;
+        private final int[] origins;
+    
+        private Tree(DijkstraEngine engine) {
+            final int n = engine.graph().vertexCount();
+            dist = new long[n];
+            parents = new int[n];
+            for (int v = 0; v < n; v++) {
+                dist[v] = engine.distance(v);
+                parents[v] = engine.parent(v);
+            }
+            // each vertex gets the root of its branch, paths are compressed
+            origins = new int[n];
+            for (int v = 0; v < n; v++) {
+                origins[v] = dist[v] == CsrGraph.INFINITY || parents[v] == -1 ? v : -1;
+            }
+            for (int v = 0; v < n; v++) {
+                int root = v;
+                while (origins[root] == -1) {
+                    root = parents[root];
+                }
+                for (int w = v; origins[w] == -1; w = parents[w]) {
+                    origins[w] = origins[root];
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                if (dist[v] == CsrGraph.INFINITY) {
+                    origins[v] = -1;
+                }
+            }
+        }
+    
+        /**
+         * Returns distance from the nearest source.
+         * @param v the vertex
+         * @return distance to the vertex or {@link CsrGraph#INFINITY}
+         */
+        public long distance(int v) {
+            return dist[v];
+        }
+    
+        /**
+         * Returns previous vertex on the shortest path.
+         * @param v the vertex
+         * @return previous vertex or {@code -1} for a source and unreachable vertices
+         */
+        public int parent(int v) {
+            return parents[v];
+        }
+    
+        /**
+         * Returns the nearest source of the vertex.
+         * @param v the vertex
+         * @return the source, which the path to the vertex starts at,
+         *      or {@code -1} if the vertex is unreachable
+         */
+        public int origin(int v) {
+            return origins[v];
+        }
+    
+        /**
+         * Returns the shortest path to the target.
+         * @param target of the path
+         * @return vertices of the path from the nearest source to the target
+         *      or an empty array if the target is unreachable
+         */
+        public int[] path(int target) {
+            if (dist[target] == CsrGraph.INFINITY) {
+                return new int[0];
+            }
+            int length = 1;
+            for (int v = target; parents[v] != -1; v = parents[v]) {
+                length++;
+            }
+            int[] path = new int[length];
+            for (int v = target, i = length - 1; i >= 0; v = parents[v], i--) {
+                path[i] = v;
+            }
+            return path;
+        }
+    }
+    
+    private final DijkstraEngine engine;
+    private final int capacity;
+    private final LinkedHashMap<Integer, Tree> cache;
+    private long hitCount = 0L;
+    private long missCount = 0L;
+    private long evictionCount = 0L;
+    
+    /**
+     * Creates the oracle.
+     * @param graph with non-negative weights
+     * @param capacity amount of cached trees
+     * @throws IllegalArgumentException if there is a negative weight or {@code capacity < 1}
+     */
+    public DistanceOracle(CsrGraph graph, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity=" + capacity);
+        }
+        this.engine = new DijkstraEngine(graph);
+        this.capacity = capacity;
+        cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<Integer, Tree> eldest) {
+                if (size() > DistanceOracle.this.capacity) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    //-Getters-------------------------------------------------------------------------------------
+    
+    public CsrGraph graph() {
+        return engine.graph();
+    }
+    
+    public int capacity() {
+        return capacity;
+    }
+    
+    public synchronized int size() {
+        return cache.size();
+    }
+    
+    public synchronized long hitCount() {
+        return hitCount;
+    }
+    
+    public synchronized long missCount() {
+        return missCount;
+    }
+    
+    public synchronized long evictionCount() {
+        return evictionCount;
+    }
+    
+    /**
+     * Returns share of queries answered by the cache.
+     * @return hits divided by all queries or {@code 0} if there were no queries
+     */
+    public synchronized double hitRate() {
+        long queries = hitCount + missCount;
+        return queries == 0L ? 0.0 : (double)hitCount / queries;
+    }
+    
+    //-Queries-------------------------------------------------------------------------------------
+    
+    /**
+     * Returns distance of the shortest path.
+     * @param source of the path
+     * @param target of the path
+     * @return distance from the source to the target or {@link CsrGraph#INFINITY}
+     */
+    public synchronized long distance(int source, int target) {
+        return tree(source).distance(target);
+    }
+    
+    /**
+     * Returns the shortest path.
+     * @param source of the path
+     * @param target of the path
+     * @return vertices of the path or an empty array if the target is unreachable
+     */
+    public synchronized int[] path(int source, int target) {
+        return tree(source).path(target);
+    }
+    
+    /**
+     * Returns the shortest path tree of the source from the cache
+     * or finds and caches it.
+     *
+     * @param source of the tree
+     * @return the shortest path tree of the source
+     */
+    public synchronized Tree tree(int source) {
+        Tree tree = cache.get(source);
+        if (tree != null) {
+            hitCount++;
+            return tree;
+        }
+        missCount++;
+        engine.run(source);
+        tree = new Tree(engine);
+        cache.put(source, tree);
+        return tree;
+    }
+    
+    /**
+     * Finds the shortest path tree from the nearest of the sources by one
+     * multi-source search, e.g. the nearest depot of each vertex.
+     * The tree is not cached.
+     *
+     * @param sources of the paths
+     * @return the shortest path tree, {@link Tree#origin} is the nearest source
+     */
+    public synchronized Tree nearest(int[] sources) {
+        engine.run(sources);
+        return new Tree(engine);
+    }
+    
+    /**
+     * Forgets the cached trees, the counters are kept.
+     */
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+}
@@ -0,0 +1,203 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parallel direction-optimizing breadth-first search over an implicit grid
+ * of {@code sizeX * sizeY * sizeZ} cells with the same moves from each cell,
+ * e.g. the six faces of a cube or the knight moves on a board.
+ * The cell {@code (x, y, z)} is {@code x + sizeX * (y + sizeY * z)}.
+ * Nothing is stored per cell besides four bits: blocked, visited and
+ * two frontier bitsets, so {@code 10^8} cells take about {@code 50} MB;
+ * distances of all cells are not stored, {@link #run(int, int)} finds
+ * the distance to a target.
+ *
+ * <P><i>Example</i>:<br><code>
+ * GridBfs bfs = new GridBfs(n, n, n, GridBfs.faceMoves(3));<br>
+ * bfs.block(bfs.cell(x, y, z));<br>
+ * int dist = bfs.run(bfs.cell(0, 0, 0), bfs.cell(n - 1, n - 1, n - 1));
+ * </code>
+ *
+ * @author druyaned
+ * @see DirectionOptimizingBfs
+ */
+public class GridBfs extends DirectionOptimizingBfs {
+    
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final int[] moveX;
+    private final int[] moveY;
+    private final int[] moveZ;
+    private final int[] shifts; // cell index differences of the moves
+    private final long[] blocked;
+    
+    /**
+     * Creates the search of a 2D grid in the common pool.
+     *
+     * @param sizeX width of the grid
+     * @param sizeY height of the grid
+     * @param moves {@code moves[i] = {dx, dy}}
+     * @throws IllegalArgumentException if there are too many cells
+     */
+    public GridBfs(int sizeX, int sizeY, int[][] moves) {
+        this(sizeX, sizeY, 1, moves);
+    }
+    
+    /**
+     * Creates the search of a 3D grid in the common pool.
+     *
+     * @param sizeX width of the grid
+     * @param sizeY height of the grid
+     * @param sizeZ depth of the grid
+     * @param moves {@code moves[i] = {dx, dy}} or {@code {dx, dy, dz}}
+     * @throws IllegalArgumentException if there are too many cells
+     */
+    public GridBfs(int sizeX, int sizeY, int sizeZ, int[][] moves) {
+        this(sizeX, sizeY, sizeZ, moves, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Creates the search of a 3D grid in the given pool.
+     *
+     * @param sizeX width of the grid
+     * @param sizeY height of the grid
+     * @param sizeZ depth of the grid
+     * @param moves {@code moves[i] = {dx, dy}} or {@code {dx, dy, dz}}
+     * @param pool to expand levels in
+     * @throws IllegalArgumentException if there are too many cells
+     */
+    public GridBfs(int sizeX, int sizeY, int sizeZ, int[][] moves, ForkJoinPool pool) {
+        this(sizeX, sizeY, sizeZ, moves, pool, GRAIN);
+    }
+    
+    GridBfs(int sizeX, int sizeY, int sizeZ, int[][] moves, ForkJoinPool pool, int grain) {
+        this(sizeX, sizeY, sizeZ, moves, pool, grain,
+                new long[(cellCount(sizeX, sizeY, sizeZ) + 63) >>> 6]);
+    }
+    
+    private GridBfs(int sizeX, int sizeY, int sizeZ, int[][] moves, ForkJoinPool pool,
+            int grain, long[] blocked) {
+        super(cellCount(sizeX, sizeY, sizeZ), blocked, pool, grain);
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.blocked = blocked;
+        final int k = moves.length;
+        moveX = new int[k];
+        moveY = new int[k];
+        moveZ = new int[k];
+        shifts = new int[k];
+        for (int i = 0; i < k; i++) {
+            moveX[i] = moves[i][0];
+            moveY[i] = moves[i][1];
+            moveZ[i] = moves[i].length > 2 ? moves[i][2] : 0;
+            shifts[i] = moveX[i] + sizeX * (moveY[i] + sizeY * moveZ[i]);
+        }
+    }
+    
+    /**
+     * Returns the eight knight moves on a board.
+     * @return {@code {dx, dy}} of the knight moves
+     */
+    public static int[][] knightMoves() {
+        return new int[][] {
+            {+2, +1}, {+1, +2}, {-1, +2}, {-2, +1},
+            {-2, -1}, {-1, -2}, {+1, -2}, {+2, -1}
+        };
+    }
+    
+    /**
+     * Returns moves to the cells with a common face:
+     * four of them in 2D and six of them in 3D.
+     *
+     * @param dimensions {@code 2} or {@code 3}
+     * @return {@code {dx, dy, dz}} of the moves
+     * @throws IllegalArgumentException if dimensions are not {@code 2} or {@code 3}
+     */
+    public static int[][] faceMoves(int dimensions) {
+        if (dimensions == 2) {
+            return new int[][] {{+1, 0, 0}, {-1, 0, 0}, {0, +1, 0}, {0, -1, 0}};
+        }
+        if (dimensions == 3) {
+            return new int[][] {
+                {+1, 0, 0}, {-1, 0, 0}, {0, +1, 0}, {0, -1, 0}, {0, 0, +1}, {0, 0, -1}
+            };
+        }
+        throw new IllegalArgumentException("dimensions=" + dimensions);
+    }
+    
+    private static int cellCount(int sizeX, int sizeY, int sizeZ) {
+        long count = (long)sizeX * sizeY * sizeZ;
+        if (sizeX < 1 || sizeY < 1 || sizeZ < 1 || count > Integer.MAX_VALUE - 63) {
+            throw new IllegalArgumentException("sizes=" + sizeX + "x" + sizeY + "x" + sizeZ);
+        }
+        return (int)count;
+    }
+    
+    //-Cells---------------------------------------------------------------------------------------
+    
+    public int cell(int x, int y) {
+        return cell(x, y, 0);
+    }
+    
+    public int cell(int x, int y, int z) {
+        if (x < 0 || sizeX <= x || y < 0 || sizeY <= y || z < 0 || sizeZ <= z) {
+            throw new IndexOutOfBoundsException("cell=(" + x + ", " + y + ", " + z + ")");
+        }
+        return x + sizeX * (y + sizeY * z);
+    }
+    
+    /**
+     * Forbids the cell for the next runs.
+     * @param cell to be blocked
+     */
+    public void block(int cell) {
+        blocked[cell >>> 6] |= 1L << cell;
+    }
+    
+    public boolean isBlocked(int cell) {
+        return contains(blocked, cell);
+    }
+    
+    //-Graph---------------------------------------------------------------------------------------
+    
+    @Override protected long arcCount() {
+        return (long)vertexCount() * shifts.length;
+    }
+    
+    @Override protected int degree(int v) {
+        return shifts.length;
+    }
+    
+    @Override protected void expand(int v, Level next) {
+        final int x = v % sizeX;
+        final int rest = v / sizeX;
+        final int y = rest % sizeY;
+        final int z = rest / sizeY;
+        for (int i = 0; i < shifts.length; i++) {
+            if (inside(x + moveX[i], y + moveY[i], z + moveZ[i])) {
+                next.claim(v + shifts[i]);
+            }
+        }
+    }
+    
+    @Override protected boolean hasParentIn(int v, long[] frontier) {
+        final int x = v % sizeX;
+        final int rest = v / sizeX;
+        final int y = rest % sizeY;
+        final int z = rest / sizeY;
+        for (int i = 0; i < shifts.length; i++) {
+            if (inside(x - moveX[i], y - moveY[i], z - moveZ[i])
+                    && contains(frontier, v - shifts[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private boolean inside(int x, int y, int z) {
+        return 0 <= x && x < sizeX && 0 <= y && y < sizeY && 0 <= z && z < sizeZ;
+    }
+
+}
@@ -0,0 +1,400 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Arrays;
+
+/**
+ * Breadth-first search over an implicit graph: states are long values,
+ * e.g. coordinates packed by {@link #pack}, and arcs are given by a move
+ * generator, so no object is created per state. Visited states live in
+ * a bitset of {@code [0, stateCount)} or in an open-addressing hash set
+ * of longs, and only the current and the next levels are queued.
+ *
+ * <P>A state takes one bit in the bitset or {@code 16} to {@code 32} bytes
+ * in the hash set, which doubles once it is half full. Distances or parents
+ * are kept only on demand: another {@code 8} bytes per state of the bitset
+ * or per slot of the hash set, see {@link Record}.
+ * A search visiting more than {@code maxStates} states fails
+ * instead of exhausting the heap.
+ *
+ * <P><i>Example</i>:<br><code>
+ * ImplicitBfs bfs = ImplicitBfs.sparse((state, out) -&gt; {<br>
+ * &nbsp;&nbsp;int x = ImplicitBfs.packedX(state), y = ImplicitBfs.packedY(state);<br>
+ * &nbsp;&nbsp;out.accept(ImplicitBfs.pack(x + 2, y + 1));<br>
+ * }, ImplicitBfs.Record.PARENTS, 1_000_000);<br>
+ * long dist = bfs.run(source, target);<br>
+ * long[] path = bfs.path(target);
+ * </code>
+ *
+ * @author druyaned
+ * @see GridBfs
+ */
+public class ImplicitBfs {
+    
+    /**
+     * Move generator of the implicit graph.
+     */
+    @FunctionalInterface
+    public interface Moves {
+    
+        /**
+         * Passes successors of the state to the sink.
+         * @param state the expanded state
+         * @param sink of the successors
+         */
+        void expand(long state, Sink sink);
+    }
+    
+    /**
+     * Receiver of successors.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void accept(long next);
+    }
+    
+    /**
+     * What is kept for each visited state.
+     */
+    public enum Record {
+        /** Only the visited set, {@link #run(long, long)} still finds a distance. */
+        NOTHING,
+        /** Distance of each state, see {@link #distance}. */
+        DISTANCES,
+        /** Parent of each state, see {@link #path} and {@link #distance}. */
+        PARENTS
+    }
+    
+    /**
+     * Distance to an unreachable state.
+     */
+    public static final long UNREACHED = -1L;
+    
+    private static final long EMPTY = Long.MIN_VALUE; // key of an empty slot
+    private static final long NO_PARENT = Long.MIN_VALUE;
+    
+    private final Moves moves;
+    private final Record record;
+    private final long maxStates;
+    private final long stateCount; // bound of dense states or -1 for the hash set
+    private long[] bits; // dense visited set
+    private long[] keys; // sparse visited set
+    private long[] values; // distances or parents
+    private long size = 0L;
+    private long[] queue = new long[16];
+    private int queueSize = 0;
+    private long[] next = new long[16];
+    private int nextSize = 0;
+    private long level = 0L;
+    private long current = 0L; // the expanded state
+    private final Sink sink = this::visit;
+    
+    private ImplicitBfs(Moves moves, Record record, long maxStates, long stateCount) {
+        if (maxStates < 1L) {
+            throw new IllegalArgumentException("maxStates=" + maxStates);
+        }
+        this.moves = moves;
+        this.record = record;
+        this.maxStates = maxStates;
+        this.stateCount = stateCount;
+        if (stateCount >= 0L) {
+            bits = new long[(int)((stateCount + 63L) >>> 6)];
+            if (record != Record.NOTHING) {
+                values = new long[(int)stateCount];
+            }
+        } else {
+            keys = new long[16];
+            Arrays.fill(keys, EMPTY);
+            if (record != Record.NOTHING) {
+                values = new long[16];
+            }
+        }
+    }
+    
+    /**
+     * Creates the search of states {@code [0, stateCount)} with the visited bitset.
+     *
+     * @param stateCount amount of states, up to {@code 2^37} without records
+     *      and up to {@code 2^31 - 1} with them
+     * @param moves generator of successors within {@code [0, stateCount)}
+     * @param record what is kept for each visited state
+     * @return the dense search
+     * @throws IllegalArgumentException if there are too many states
+     */
+    public static ImplicitBfs dense(long stateCount, Moves moves, Record record) {
+        long limit = record == Record.NOTHING ? (long)Integer.MAX_VALUE << 6 : Integer.MAX_VALUE;
+        if (stateCount < 1L || stateCount > limit) {
+            throw new IllegalArgumentException("stateCount=" + stateCount);
+        }
+        return new ImplicitBfs(moves, record, stateCount, stateCount);
+    }
+    
+    /**
+     * Creates the search of any long states except {@link Long#MIN_VALUE}
+     * with the visited hash set.
+     *
+     * @param moves generator of successors
+     * @param record what is kept for each visited state
+     * @param maxStates amount of visited states, which fails the search
+     * @return the sparse search
+     * @throws IllegalArgumentException if {@code maxStates < 1}
+     */
+    public static ImplicitBfs sparse(Moves moves, Record record, long maxStates) {
+        return new ImplicitBfs(moves, record, maxStates, -1L);
+    }
+    
+    //-Packing-------------------------------------------------------------------------------------
+    
+    /**
+     * Packs two int coordinates into a long state.
+     * @param x the high coordinate
+     * @param y the low coordinate
+     * @return the packed state
+     */
+    public static long pack(int x, int y) {
+        return (long)x << 32 | y & 0xFFFFFFFFL;
+    }
+    
+    public static int packedX(long state) {
+        return (int)(state >> 32);
+    }
+    
+    public static int packedY(long state) {
+        return (int)state;
+    }
+    
+    //-Getters-------------------------------------------------------------------------------------
+    
+    public Record record() {
+        return record;
+    }
+    
+    /**
+     * Returns amount of states visited by the last run.
+     * @return amount of visited states
+     */
+    public long visitedCount() {
+        return size;
+    }
+    
+    public boolean isVisited(long state) {
+        if (stateCount >= 0L) {
+            return 0L <= state && state < stateCount
+                    && (bits[(int)(state >>> 6)] & 1L << state) != 0L;
+        }
+        return state != EMPTY && keys[slot(state)] == state;
+    }
+    
+    /**
+     * Returns distance found by the last run.
+     * @param state the state
+     * @return distance from the source to the state or {@link #UNREACHED}
+     * @throws IllegalStateException if neither distances nor parents are recorded
+     */
+    public long distance(long state) {
+        if (record == Record.NOTHING) {
+            throw new IllegalStateException("distances are not recorded");
+        }
+        if (!isVisited(state)) {
+            return UNREACHED;
+        }
+        if (record == Record.DISTANCES) {
+            return values[index(state)];
+        }
+        long dist = 0L;
+        for (long s = value(state); s != NO_PARENT; s = value(s)) {
+            dist++;
+        }
+        return dist;
+    }
+    
+    /**
+     * Returns the shortest path found by the last run.
+     * @param target of the path
+     * @return states of the path from the source to the target
+     *      or the empty array if the target is not visited
+     * @throws IllegalStateException if parents are not recorded
+     */
+    public long[] path(long target) {
+        if (record != Record.PARENTS) {
+            throw new IllegalStateException("parents are not recorded");
+        }
+        if (!isVisited(target)) {
+            return new long[0];
+        }
+        long[] path = new long[(int)distance(target) + 1];
+        long state = target;
+        for (int i = path.length - 1; i >= 0; i--) {
+            path[i] = state;
+            state = value(state);
+        }
+        return path;
+    }
+    
+    //-Search--------------------------------------------------------------------------------------
+    
+    /**
+     * Visits all states, that are reachable from the source.
+     * @param source of the search
+     * @return the greatest distance to a visited state
+     * @throws IllegalStateException if more than {@code maxStates} states are visited
+     */
+    public long run(long source) {
+        return search(source, EMPTY, false);
+    }
+    
+    /**
+     * Searches until the target is visited.
+     * @param source of the search
+     * @param target of the search
+     * @return distance from the source to the target or {@link #UNREACHED}
+     * @throws IllegalStateException if more than {@code maxStates} states are visited
+     */
+    public long run(long source, long target) {
+        return search(source, target, true);
+    }
+    
+    //-Private-methods-----------------------------------------------------------------------------
+    
+    private long search(long source, long target, boolean hasTarget) {
+        clear();
+        level = 0L;
+        queueSize = 0;
+        nextSize = 0;
+        current = NO_PARENT;
+        visit(source);
+        swapLevels();
+        while (queueSize > 0) {
+            if (hasTarget && isVisited(target)) {
+                return level;
+            }
+            level++;
+            for (int i = 0; i < queueSize; i++) {
+                current = queue[i];
+                moves.expand(current, sink);
+            }
+            swapLevels();
+        }
+        return hasTarget ? UNREACHED : level - 1;
+    }
+    
+    // marks the successor of the current state and queues it
+    private void visit(long state) {
+        if (!add(state)) {
+            return;
+        }
+        if (record == Record.DISTANCES) {
+            values[index(state)] = level;
+        } else if (record == Record.PARENTS) {
+            values[index(state)] = current;
+        }
+        if (nextSize == next.length) {
+            next = Arrays.copyOf(next, 2 * nextSize);
+        }
+        next[nextSize++] = state;
+    }
+    
+    private void swapLevels() {
+        long[] swap = queue;
+        queue = next;
+        queueSize = nextSize;
+        next = swap;
+        nextSize = 0;
+    }
+    
+    private boolean add(long state) {
+        if (stateCount >= 0L) {
+            if (state < 0L || stateCount <= state) {
+                throw new IndexOutOfBoundsException("state=" + state
+                        + " is out of [0, " + stateCount + ")");
+            }
+            int word = (int)(state >>> 6);
+            long bit = 1L << state;
+            if ((bits[word] & bit) != 0L) {
+                return false;
+            }
+            bits[word] |= bit;
+        } else {
+            if (state == EMPTY) {
+                throw new IllegalArgumentException("state=Long.MIN_VALUE is reserved");
+            }
+            int slot = slot(state);
+            if (keys[slot] == state) {
+                return false;
+            }
+            if (2L * (size + 1L) > keys.length) {
+                grow();
+                slot = slot(state);
+            }
+            keys[slot] = state;
+        }
+        if (++size > maxStates) {
+            throw new IllegalStateException("more than maxStates=" + maxStates
+                    + " states are visited");
+        }
+        return true;
+    }
+    
+    // the slot of the state or the empty slot to put it
+    private int slot(long state) {
+        final int mask = keys.length - 1;
+        int slot = (int)mix(state) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != state) {
+            slot = slot + 1 & mask;
+        }
+        return slot;
+    }
+    
+    private int index(long state) {
+        return stateCount >= 0L ? (int)state : slot(state);
+    }
+    
+    private long value(long state) {
+        return values[index(state)];
+    }
+    
+    private void grow() {
+        if (keys.length == 1 << 30) {
+            throw new IllegalStateException("the hash set is full, size=" + size);
+        }
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[2 * oldKeys.length];
+        Arrays.fill(keys, EMPTY);
+        if (oldValues != null) {
+            values = new long[keys.length];
+        }
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                if (oldValues != null) {
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
+    
+    private void clear() {
+        if (stateCount >= 0L) {
+            Arrays.fill(bits, 0L);
+        } else if (keys.length > 16 && 8L * size < keys.length) {
+            keys = new long[16]; // the table is much larger than the previous run
+            Arrays.fill(keys, EMPTY);
+            values = values != null ? new long[16] : null;
+        } else {
+            Arrays.fill(keys, EMPTY);
+        }
+        size = 0L;
+    }
+    
+    // the finalizer of MurmurHash3, so neighboring states are spread
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        key *= 0xC4CEB93FE1A5A4CDL;
+        key ^= key >>> 33;
+        return key;
+    }
+
+}
@@ -0,0 +1,218 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Min-heap of int items {@code 0..capacity-1} with long priorities
+ * and the decrease-key operation. The heap is 4-ary: it is half as high
+ * as a binary one and the four children of a node share a cache line.
+ * The position of each item in the heap is indexed,
+ * so {@link #contains}, {@link #priority} take <code><b>O(1)</b></code>
+ * and an item is never added twice. Nothing is allocated after the creation.
+ *
+ * <P><i>Example</i>:<br><code>
+ * IndexedLongHeap heap = new IndexedLongHeap(n);<br>
+ * heap.pushOrDecrease(source, 0L);<br>
+ * while (!heap.isEmpty()) {<br>
+ * &nbsp;&nbsp;long priority = heap.peekPriority();<br>
+ * &nbsp;&nbsp;int item = heap.pop();<br>
+ * }</code>
+ *
+ * @author druyaned
+ */
+public class IndexedLongHeap {
+    
+    private static final int ABSENT = -1;
+    
+    private final int[] items; // heap order
+    private final long[] priorities; // priorities[i] belongs to items[i]
+    private final int[] positions; // positions[item] is index in items or ABSENT
+    private int size = 0;
+    
+    /**
+     * Creates an empty heap for items {@code 0..capacity-1}.
+     * @param capacity amount of possible items
+     */
+    public IndexedLongHeap(int capacity) {
+        items = new int[capacity];
+        priorities = new long[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, ABSENT);
+    }
+    
+    //-Getters-------------------------------------------------------------------------------------
+    
+    public int capacity() {
+        return positions.length;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public boolean contains(int item) {
+        return positions[item] != ABSENT;
+    }
+    
+    /**
+     * Returns priority of the item in the heap.
+     * @param item in the heap
+     * @return priority of the item
+     * @throws NoSuchElementException if there is no such item in the heap
+     */
+    public long priority(int item) {
+        int position = positions[item];
+        if (position == ABSENT) {
+            throw new NoSuchElementException("item=" + item + " is not in the heap");
+        }
+        return priorities[position];
+    }
+    
+    /**
+     * Returns the item with the least priority.
+     * @return the item with the least priority
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int peek() {
+        throwIfEmpty();
+        return items[0];
+    }
+    
+    /**
+     * Returns the least priority.
+     * @return the least priority
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public long peekPriority() {
+        throwIfEmpty();
+        return priorities[0];
+    }
+    
+    //-Modifiers-----------------------------------------------------------------------------------
+    
+    /**
+     * Adds the item, that is not in the heap yet.
+     * @param item to be added
+     * @param priority of the item
+     * @throws IllegalArgumentException if the item is already in the heap
+     */
+    public void push(int item, long priority) {
+        if (positions[item] != ABSENT) {
+            throw new IllegalArgumentException("item=" + item + " is already in the heap");
+        }
+        siftUp(size++, item, priority);
+    }
+    
+    /**
+     * Decreases priority of the item in the heap.
+     * @param item in the heap
+     * @param priority new priority, not greater than the current one
+     * @throws NoSuchElementException if there is no such item in the heap
+     * @throws IllegalArgumentException if the priority is greater than the current one
+     */
+    public void decreaseKey(int item, long priority) {
+        if (priority > priority(item)) {
+            throw new IllegalArgumentException("priority=" + priority
+                    + " is greater than the current one of item=" + item);
+        }
+        siftUp(positions[item], item, priority);
+    }
+    
+    /**
+     * Adds the item or decreases its priority, which is the relaxation
+     * of Dijkstra's algorithm.
+     *
+     * @param item to be added or updated
+     * @param priority of the item
+     * @return {@code true} if the item was added or its priority was decreased
+     */
+    public boolean pushOrDecrease(int item, long priority) {
+        int position = positions[item];
+        if (position == ABSENT) {
+            siftUp(size++, item, priority);
+            return true;
+        }
+        if (priority < priorities[position]) {
+            siftUp(position, item, priority);
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Removes the item with the least priority.
+     * @return the removed item
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int pop() {
+        throwIfEmpty();
+        int top = items[0];
+        positions[top] = ABSENT;
+        if (--size > 0) {
+            siftDown(0, items[size], priorities[size]);
+        }
+        return top;
+    }
+    
+    /**
+     * Removes all items in <code><b>O(size)</b></code>.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[items[i]] = ABSENT;
+        }
+        size = 0;
+    }
+    
+    //-Private-methods-----------------------------------------------------------------------------
+    
+    // moves the hole at the position up and puts the item there
+    private void siftUp(int position, int item, long priority) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 2;
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            place(position, items[parent], priorities[parent]);
+            position = parent;
+        }
+        place(position, item, priority);
+    }
+    
+    // moves the hole at the position down and puts the item there
+    private void siftDown(int position, int item, long priority) {
+        for (int first; (first = (position << 2) + 1) < size; ) {
+            int last = Math.min(first + 4, size);
+            int least = first;
+            for (int child = first + 1; child < last; child++) {
+                if (priorities[child] < priorities[least]) {
+                    least = child;
+                }
+            }
+            if (priority <= priorities[least]) {
+                break;
+            }
+            place(position, items[least], priorities[least]);
+            position = least;
+        }
+        place(position, item, priority);
+    }
+    
+    private void place(int position, int item, long priority) {
+        items[position] = item;
+        priorities[position] = priority;
+        positions[item] = position;
+    }
+    
+    private void throwIfEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("the heap is empty");
+        }
+    }
+
+}
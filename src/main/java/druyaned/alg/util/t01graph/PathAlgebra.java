@@ -0,0 +1,196 @@
+package druyaned.alg.util.t01graph;
+
+/**
+ * Path algebra of a {@link ShortestPathEngine}: values of paths are longs,
+ * a path is extended by an arc with {@link #extend} and the best value
+ * of a vertex is the one with the least {@link #priority}.
+ * Dijkstra's algorithm is correct if an extension never makes
+ * the priority less, e.g. for non-negative weights of the (min,+) algebra.
+ *
+ * <P>An algebra may also allow to pass an arc to the next layer of states
+ * with {@link #extendToNextLayer}: the engine with {@code k} layers
+ * searches over states {@code (vertex, layer)}, e.g. the layer is
+ * the amount of used free tickets.
+ *
+ * <P><i>Example</i>:<br><code>
+ * ShortestPathEngine engine = new ShortestPathEngine(graph, PathAlgebra.maxMin());<br>
+ * long width = engine.run(source, target);
+ * </code>
+ *
+ * @author druyaned
+ * @see ShortestPathEngine
+ */
+public interface PathAlgebra {
+    
+    /**
+     * Returns value of the empty path at the source.
+     * @return value of the empty path at the source
+     */
+    long source();
+    
+    /**
+     * Returns value of an unreached vertex; it has the greatest priority.
+     * @return value of an unreached vertex
+     */
+    long unreached();
+    
+    /**
+     * Maps the value to its priority, the least priority is the best.
+     * @param value of a path
+     * @return priority of the value
+     */
+    long priority(long value);
+    
+    /**
+     * Extends the path by the arc within the same layer.
+     *
+     * @param value of the path to the tail of the arc
+     * @param graph of the arc
+     * @param arc index of the arc
+     * @return value of the extended path or {@link #unreached()}
+     *      if the arc can't be passed
+     */
+    long extend(long value, CsrGraph graph, int arc);
+    
+    /**
+     * Extends the path by the arc to the next layer,
+     * by default it is impossible.
+     *
+     * @param value of the path to the tail of the arc
+     * @param graph of the arc
+     * @param arc index of the arc
+     * @return value of the extended path or {@link #unreached()}
+     *      if the arc can't be passed
+     */
+    default long extendToNextLayer(long value, CsrGraph graph, int arc) {
+        return unreached();
+    }
+    
+    /**
+     * Checks that the graph suits the algebra, by default it does nothing.
+     * @param graph to be searched
+     * @throws IllegalArgumentException if the graph doesn't suit the algebra
+     */
+    default void validate(CsrGraph graph) {}
+    
+    //-Algebras------------------------------------------------------------------------------------
+    
+    /**
+     * The shortest path: the sum of weights is minimized.
+     * @return the (min,+) algebra
+     */
+    static PathAlgebra minPlus() {
+        return MinPlus.INSTANCE;
+    }
+    
+    /**
+     * The shortest path where each of up to {@code layers - 1} arcs
+     * may be passed for free by moving to the next layer.
+     * @return the (min,+) algebra with free arcs between layers
+     */
+    static PathAlgebra minPlusWithFreeArcs() {
+        return MinPlusWithFreeArcs.INSTANCE;
+    }
+    
+    /**
+     * The widest path: the least weight of the path is maximized
+     * and the source has the width {@link Long#MAX_VALUE}.
+     * @return the (max,min) algebra
+     */
+    static PathAlgebra maxMin() {
+        return MaxMin.INSTANCE;
+    }
+    
+    /**
+     * The earliest arrival by timetable: an arc can be passed only
+     * if the path comes to its tail not after the departure of the arc,
+     * and the weight of the arc is the arrival time at its head.
+     *
+     * @param departures departure times in the arc order,
+     *      see {@link CsrGraph#arcValues(int[], long[])}
+     * @param startTime time at the source
+     * @return the earliest-arrival algebra
+     */
+    static PathAlgebra earliestArrival(long[] departures, long startTime) {
+        return new EarliestArrival(departures, startTime);
+    }
+    
+    //-Implementations-----------------------------------------------------------------------------
+    
+    static class MinPlus implements PathAlgebra {
+        private static final MinPlus INSTANCE = new MinPlus();
+        @Override public long source() {
+            return 0L;
+        }
+        @Override public long unreached() {
+            return Long.MAX_VALUE;
+        }
+        @Override public long priority(long value) {
+            return value;
+        }
+        @Override public long extend(long value, CsrGraph graph, int arc) {
+            long sum = value + graph.weight(arc);
+            return sum < 0L ? Long.MAX_VALUE : sum; // overflow
+        }
+        @Override public void validate(CsrGraph graph) {
+            graph.requireNonNegativeWeights();
+        }
+    }
+    
+    static class MinPlusWithFreeArcs extends MinPlus {
+        private static final MinPlusWithFreeArcs INSTANCE = new MinPlusWithFreeArcs();
+        @Override public long extendToNextLayer(long value, CsrGraph graph, int arc) {
+            return value;
+        }
+    }
+    
+    static class MaxMin implements PathAlgebra {
+        private static final MaxMin INSTANCE = new MaxMin();
+        @Override public long source() {
+            return Long.MAX_VALUE;
+        }
+        @Override public long unreached() {
+            return Long.MIN_VALUE;
+        }
+        @Override public long priority(long value) {
+            return ~value; // reverses the order without overflow
+        }
+        @Override public long extend(long value, CsrGraph graph, int arc) {
+            return Math.min(value, graph.weight(arc));
+        }
+    }
+    
+    static class EarliestArrival implements PathAlgebra {
+        private final long[] departures;
+        private final long startTime;
+        EarliestArrival(long[] departures, long startTime) {
+            this.departures = departures;
+            this.startTime = startTime;
+        }
+        @Override public long source() {
+            return startTime;
+        }
+        @Override public long unreached() {
+            return Long.MAX_VALUE;
+        }
+        @Override public long priority(long value) {
+            return value;
+        }
+        @Override public long extend(long value, CsrGraph graph, int arc) {
+            return value <= departures[arc] ? graph.weight(arc) : Long.MAX_VALUE;
+        }
+        @Override public void validate(CsrGraph graph) {
+            if (departures.length != graph.arcCount()) {
+                throw new IllegalArgumentException("departures.length=" + departures.length
+                        + " arcCount=" + graph.arcCount());
+            }
+            for (int arc = 0; arc < departures.length; arc++) {
+                if (graph.weight(arc) < departures[arc]) {
+                    throw new IllegalArgumentException("arrival=" + graph.weight(arc)
+                            + " is before departure=" + departures[arc]);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,247 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * Point-to-point shortest path queries over a {@link CsrGraph}
+ * with non-negative weights, that stop as soon as the distance is proven
+ * instead of settling the whole graph:
+ * <ul>
+ *   <li>{@link #bidirectional} grows balls from the source forward and
+ *      from the target over the reversed graph and stops when the sum
+ *      of their radii reaches the best meeting;</li>
+ *   <li>{@link #aStar} orders vertices by {@code dist + h(v)},
+ *      where {@code h} is an admissible heuristic, that never overestimates
+ *      the distance to the target, e.g. the Euclidean distance
+ *      on coordinates rounded down.</li>
+ * </ul>
+ * As {@link DijkstraEngine}, the engine reuses its arrays between queries,
+ * so a query costs only the vertices it reaches.
+ *
+ * <P><i>Example</i>:<br><code>
+ * PointToPointEngine engine = new PointToPointEngine(graph);<br>
+ * long dist = engine.aStar(s, t, v -&gt; (long)Math.hypot(x[v] - x[t], y[v] - y[t]));<br>
+ * int[] path = engine.path();
+ * </code>
+ *
+ * @author druyaned
+ * @see DijkstraEngine
+ */
+public class PointToPointEngine {
+    
+    private static final int NO_PARENT = -1;
+    
+    private final CsrGraph graph;
+    private final Side forward;
+    private final Side backward;
+    private int meetFrom = NO_PARENT; // the path goes meetFrom -> meetTo
+    private int meetTo = NO_PARENT;
+    private long distance = CsrGraph.INFINITY;
+    private int settledCount = 0;
+    
+    /**
+     * Creates the engine for the graph, the reversed graph is built here.
+     * @param graph with non-negative weights
+     * @throws IllegalArgumentException if there is a negative weight
+     */
+    public PointToPointEngine(CsrGraph graph) {
+        this.graph = graph.requireNonNegativeWeights();
+        forward = new Side(graph);
+        backward = new Side(graph.reverse());
+    }
+    
+    //-Getters-------------------------------------------------------------------------------------
+    
+    public CsrGraph graph() {
+        return graph;
+    }
+    
+    /**
+     * Returns distance found by the last query.
+     * @return distance from the source to the target or {@link CsrGraph#INFINITY}
+     */
+    public long distance() {
+        return distance;
+    }
+    
+    /**
+     * Returns amount of vertices settled by the last query
+     * to compare the searches.
+     * @return amount of vertices settled by the last query
+     */
+    public int settledCount() {
+        return settledCount;
+    }
+    
+    /**
+     * Returns the shortest path found by the last query.
+     * @return vertices of the path from the source to the target
+     *      or an empty array if the target is unreachable
+     */
+    public int[] path() {
+        if (distance == CsrGraph.INFINITY) {
+            return new int[0];
+        }
+        int forwardLength = 0, backwardLength = 0;
+        for (int v = meetFrom; v != NO_PARENT; v = forward.parents[v]) {
+            forwardLength++;
+        }
+        for (int v = meetTo; v != NO_PARENT; v = backward.parents[v]) {
+            backwardLength++;
+        }
+        int[] path = new int[forwardLength + backwardLength];
+        for (int v = meetFrom, i = forwardLength - 1; i >= 0; v = forward.parents[v], i--) {
+            path[i] = v;
+        }
+        for (int v = meetTo, i = forwardLength; i < path.length; v = backward.parents[v], i++) {
+            path[i] = v;
+        }
+        return path;
+    }
+    
+    //-Queries-------------------------------------------------------------------------------------
+    
+    /**
+     * Finds the shortest path by the bidirectional Dijkstra's algorithm:
+     * the side with the smaller radius is grown, each scanned arc,
+     * that reaches the other side, updates the best meeting,
+     * and the search stops when the sum of radii is not less than it.
+     *
+     * @param source of the path
+     * @param target of the path
+     * @return distance from the source to the target or {@link CsrGraph#INFINITY}
+     */
+    public long bidirectional(int source, int target) {
+        start(source);
+        if (source == target) {
+            meet(source, NO_PARENT, 0L);
+            return distance;
+        }
+        forward.heap.push(source, 0L);
+        backward.reach(target, 0L, NO_PARENT);
+        backward.heap.push(target, 0L);
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+            long forwardRadius = forward.heap.peekPriority();
+            long backwardRadius = backward.heap.peekPriority();
+            if (distance != CsrGraph.INFINITY && forwardRadius + backwardRadius >= distance) {
+                break;
+            }
+            if (forwardRadius <= backwardRadius) {
+                scan(forward, backward, true);
+            } else {
+                scan(backward, forward, false);
+            }
+        }
+        forward.heap.clear();
+        backward.heap.clear();
+        return distance;
+    }
+    
+    /**
+     * Finds the shortest path by A*: a vertex waits with the priority
+     * {@code dist + h(v)}, so vertices towards the target are settled first.
+     * A vertex improved after its settling is reopened, so an admissible
+     * heuristic is enough, and a consistent one settles each vertex once.
+     * The heuristic {@code v -> 0} turns A* into Dijkstra's algorithm
+     * with the early stop.
+     *
+     * @param source of the path
+     * @param target of the path
+     * @param heuristic lower bound of the distance from a vertex to the target
+     * @return distance from the source to the target or {@link CsrGraph#INFINITY}
+     */
+    public long aStar(int source, int target, IntToLongFunction heuristic) {
+        start(source);
+        final int[] offsets = graph.offsets();
+        final int[] targets = graph.targets();
+        final long[] weights = graph.weights();
+        final Side f = forward;
+        f.heap.push(source, heuristic.applyAsLong(source));
+        while (!f.heap.isEmpty()) {
+            int v = f.heap.pop();
+            settledCount++;
+            long d = f.dist[v];
+            if (v == target) {
+                f.heap.clear();
+                meet(target, NO_PARENT, d);
+                break;
+            }
+            for (int arc = offsets[v], end = offsets[v + 1]; arc < end; arc++) {
+                int next = targets[arc];
+                long nextDist = d + (weights != null ? weights[arc] : 1L);
+                if (nextDist < f.dist[next]) {
+                    f.reach(next, nextDist, v);
+                    f.heap.pushOrDecrease(next, nextDist + heuristic.applyAsLong(next));
+                }
+            }
+        }
+        return distance;
+    }
+    
+    //-Private-methods-----------------------------------------------------------------------------
+    
+    private void start(int source) {
+        forward.reset();
+        backward.reset();
+        meetFrom = meetTo = NO_PARENT;
+        distance = CsrGraph.INFINITY;
+        settledCount = 0;
+        forward.reach(source, 0L, NO_PARENT);
+    }
+    
+    // settles the least vertex of the side and relaxes its arcs
+    private void scan(Side side, Side other, boolean isForward) {
+        final int[] offsets = side.graph.offsets();
+        final int[] targets = side.graph.targets();
+        final long[] weights = side.graph.weights();
+        long d = side.heap.peekPriority();
+        int v = side.heap.pop();
+        settledCount++;
+        for (int arc = offsets[v], end = offsets[v + 1]; arc < end; arc++) {
+            int next = targets[arc];
+            long nextDist = d + (weights != null ? weights[arc] : 1L);
+            if (nextDist < side.dist[next]) {
+                side.reach(next, nextDist, v);
+                side.heap.pushOrDecrease(next, nextDist);
+            }
+            if (other.dist[next] != CsrGraph.INFINITY && nextDist + other.dist[next] < distance) {
+                if (isForward) {
+                    meet(v, next, nextDist + other.dist[next]);
+                } else {
+                    meet(next, v, nextDist + other.dist[next]);
+                }
+            }
+        }
+    }
+    
+    private void meet(int from, int to, long distance) {
+        meetFrom = from;
+        meetTo = to;
+        this.distance = distance;
+    }
+    
+    // arrays of one direction of the search
+    private static class Side {
+        final CsrGraph graph;
+        final SearchLabels labels;
+        final long[] dist;
+        final int[] parents;
+        final IndexedLongHeap heap;
+        Side(CsrGraph graph) {
+            final int n = graph.vertexCount();
+            this.graph = graph;
+            labels = new SearchLabels(n, CsrGraph.INFINITY, true);
+            dist = labels.values;
+            parents = labels.parents;
+            heap = new IndexedLongHeap(n);
+        }
+        void reach(int v, long d, int parent) {
+            labels.reach(v, d, parent);
+        }
+        void reset() {
+            labels.reset();
+            heap.clear();
+        }
+    }
+
+}
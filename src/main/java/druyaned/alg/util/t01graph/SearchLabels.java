@@ -0,0 +1,82 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Arrays;
+
+/**
+ * Labels of a search, that is run many times on one graph: values
+ * and optional parents of vertices or states. Labels are created once
+ * and {@link #reset} restores only the ones reached by the previous run,
+ * so a short search doesn't pay {@code O(n)} for the next one.
+ *
+ * <P><i>Example</i>:<br><code>
+ * SearchLabels labels = new SearchLabels(n, CsrGraph.INFINITY, true);<br>
+ * labels.reset();<br>
+ * labels.reach(source, 0L, SearchLabels.NO_PARENT);
+ * </code>
+ *
+ * @author druyaned
+ */
+final class SearchLabels {
+    
+    static final int NO_PARENT = -1;
+    
+    final long[] values;
+    final int[] parents; // null if parents are not tracked
+    private final long unreached;
+    private final int[] reached;
+    private int reachedCount = 0;
+    
+    /**
+     * Creates labels of the unreached vertices.
+     * @param size amount of vertices or states
+     * @param unreached value of an unreached vertex
+     * @param trackParents {@code true} to keep parents
+     */
+    SearchLabels(int size, long unreached, boolean trackParents) {
+        this.unreached = unreached;
+        values = new long[size];
+        Arrays.fill(values, unreached);
+        if (trackParents) {
+            parents = new int[size];
+            Arrays.fill(parents, NO_PARENT);
+        } else {
+            parents = null;
+        }
+        reached = new int[size];
+    }
+    
+    long unreached() {
+        return unreached;
+    }
+    
+    /**
+     * Sets the label and remembers the vertex on its first reach.
+     * @param v the vertex or state
+     * @param value of the vertex
+     * @param parent of the vertex, ignored if parents are not tracked
+     */
+    void reach(int v, long value, int parent) {
+        if (values[v] == unreached) {
+            reached[reachedCount++] = v;
+        }
+        values[v] = value;
+        if (parents != null) {
+            parents[v] = parent;
+        }
+    }
+    
+    /**
+     * Restores labels of the vertices reached since the previous reset.
+     */
+    void reset() {
+        for (int i = 0; i < reachedCount; i++) {
+            int v = reached[i];
+            values[v] = unreached;
+            if (parents != null) {
+                parents[v] = NO_PARENT;
+            }
+        }
+        reachedCount = 0;
+    }
+
+}
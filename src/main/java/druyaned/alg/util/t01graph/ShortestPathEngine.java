@@ -0,0 +1,250 @@
+package druyaned.alg.util.t01graph;
+
+/**
+ * Single-source search by Dijkstra's algorithm over a {@link CsrGraph}
+ * in the given {@link PathAlgebra}: the shortest, the widest or
+ * the earliest-arrival path, or a search over layered states
+ * {@code (vertex, layer)}, where the state has the index
+ * {@code layer * n + vertex}. States wait in an {@link IndexedLongHeap},
+ * so nothing is allocated per relaxation, and the engine keeps its arrays
+ * between runs resetting only the states reached by the previous run.
+ * Predecessors are tracked only if they are requested by the constructor.
+ *
+ * <P><i>Example</i>:<br><code>
+ * ShortestPathEngine engine = new ShortestPathEngine(<br>
+ * &nbsp;&nbsp;graph, PathAlgebra.minPlusWithFreeArcs(), 2, false);<br>
+ * long dist = engine.run(source, target); // with one free arc
+ * </code>
+ *
+ * @author druyaned
+ * @see DijkstraEngine
+ */
+public class ShortestPathEngine {
+    
+    private static final int NO_PARENT = SearchLabels.NO_PARENT;
+    
+    private final CsrGraph graph;
+    private final PathAlgebra algebra;
+    private final int layers;
+    private final long unreached;
+    private final SearchLabels labels;
+    private final long[] values; // values[state]
+    private final int[] parents; // parents[state] or null
+    private final IndexedLongHeap heap;
+    
+    /**
+     * Creates the engine of one layer without predecessors.
+     * @param graph to be searched
+     * @param algebra of the paths
+     * @throws IllegalArgumentException if the graph doesn't suit the algebra
+     */
+    public ShortestPathEngine(CsrGraph graph, PathAlgebra algebra) {
+        this(graph, algebra, 1, false);
+    }
+    
+    /**
+     * Creates the engine.
+     *
+     * @param graph to be searched
+     * @param algebra of the paths
+     * @param layers amount of layers of states
+     * @param trackParents {@code true} to keep predecessors of states
+     * @throws IllegalArgumentException if the graph doesn't suit the algebra
+     *      or {@code layers < 1}
+     */
+    public ShortestPathEngine(CsrGraph graph, PathAlgebra algebra, int layers,
+            boolean trackParents) {
+        if (layers < 1) {
+            throw new IllegalArgumentException("layers=" + layers);
+        }
+        algebra.validate(graph);
+        final int states = Math.multiplyExact(graph.vertexCount(), layers);
+        this.graph = graph;
+        this.algebra = algebra;
+        this.layers = layers;
+        unreached = algebra.unreached();
+        labels = new SearchLabels(states, unreached, trackParents);
+        values = labels.values;
+        parents = labels.parents;
+        heap = new IndexedLongHeap(states);
+    }
+    
+    //-Getters-------------------------------------------------------------------------------------
+    
+    public CsrGraph graph() {
+        return graph;
+    }
+    
+    public PathAlgebra algebra() {
+        return algebra;
+    }
+    
+    public int layers() {
+        return layers;
+    }
+    
+    //-Search--------------------------------------------------------------------------------------
+    
+    /**
+     * Finds the best values from the source to all states.
+     * @param source vertex in the layer {@code 0}
+     */
+    public void run(int source) {
+        start(source);
+        search(NO_PARENT);
+    }
+    
+    /**
+     * Finds the best values from the source until the target is settled
+     * in any layer, so the values are final only for states better
+     * than the target.
+     *
+     * @param source vertex in the layer {@code 0}
+     * @param target vertex to stop at
+     * @return the best value of the target over all layers
+     *      or {@link PathAlgebra#unreached()}
+     */
+    public long run(int source, int target) {
+        start(source);
+        return values[search(target)];
+    }
+    
+    /**
+     * Finds the best values from the nearest of the sources to all states,
+     * as if an extra vertex had arcs to each source, that keep the value.
+     *
+     * @param sources vertices in the layer {@code 0}
+     */
+    public void run(int[] sources) {
+        labels.reset();
+        final long value = algebra.source();
+        for (int source : sources) {
+            if (values[source] == unreached) {
+                labels.reach(source, value, NO_PARENT);
+                heap.push(source, algebra.priority(value));
+            }
+        }
+        search(NO_PARENT);
+    }
+    
+    /**
+     * Returns the best value over all layers found by the last run.
+     * @param v the vertex
+     * @return the best value of the vertex or {@link PathAlgebra#unreached()}
+     */
+    public long value(int v) {
+        return values[bestState(v)];
+    }
+    
+    /**
+     * Returns value of the state found by the last run.
+     * @param v the vertex
+     * @param layer of the state
+     * @return value of the state or {@link PathAlgebra#unreached()}
+     */
+    public long value(int v, int layer) {
+        return values[state(v, layer)];
+    }
+    
+    /**
+     * Returns the inner array of predecessors, where the state
+     * {@code layer * n + vertex} keeps the previous state on its best path
+     * or {@code -1}; it must not be modified.
+     *
+     * @return the inner array of predecessors or {@code null}
+     *      if they are not tracked
+     */
+    public int[] parents() {
+        return parents;
+    }
+    
+    /**
+     * Returns vertices of the best path to the vertex over all layers.
+     * @param target of the path
+     * @return vertices of the path from the (nearest) source to the target
+     *      or an empty array if the target is unreached
+     * @throws IllegalStateException if predecessors are not tracked
+     */
+    public int[] path(int target) {
+        if (parents == null) {
+            throw new IllegalStateException("predecessors are not tracked");
+        }
+        int state = bestState(target);
+        if (values[state] == unreached) {
+            return new int[0];
+        }
+        final int n = graph.vertexCount();
+        int length = 1;
+        for (int s = state; parents[s] != NO_PARENT; s = parents[s]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int s = state, i = length - 1; i >= 0; s = parents[s], i--) {
+            path[i] = s % n;
+        }
+        return path;
+    }
+    
+    //-Private-methods-----------------------------------------------------------------------------
+    
+    private void start(int source) {
+        labels.reset();
+        labels.reach(source, algebra.source(), NO_PARENT);
+        heap.push(source, algebra.priority(values[source]));
+    }
+    
+    // settles states of the heap, returns the settled target state or the best state of the target
+    private int search(int target) {
+        final int n = graph.vertexCount();
+        final int[] offsets = graph.offsets();
+        final int[] targets = graph.targets();
+        while (!heap.isEmpty()) {
+            int state = heap.pop();
+            int layer = layers == 1 ? 0 : state / n;
+            int v = state - layer * n;
+            if (v == target) {
+                heap.clear();
+                return state;
+            }
+            long value = values[state];
+            for (int arc = offsets[v], end = offsets[v + 1]; arc < end; arc++) {
+                int next = layer * n + targets[arc];
+                relax(state, next, algebra.extend(value, graph, arc));
+                if (layer + 1 < layers) {
+                    relax(state, next + n, algebra.extendToNextLayer(value, graph, arc));
+                }
+            }
+        }
+        return target != NO_PARENT ? bestState(target) : NO_PARENT;
+    }
+    
+    private void relax(int state, int next, long value) {
+        if (value == unreached) {
+            return;
+        }
+        long priority = algebra.priority(value);
+        if (priority < algebra.priority(values[next])) {
+            labels.reach(next, value, state);
+            heap.pushOrDecrease(next, priority);
+        }
+    }
+    
+    private int bestState(int v) {
+        int best = state(v, 0);
+        for (int state = best + graph.vertexCount(); state < values.length;
+                state += graph.vertexCount()) {
+            if (algebra.priority(values[state]) < algebra.priority(values[best])) {
+                best = state;
+            }
+        }
+        return best;
+    }
+    
+    private int state(int v, int layer) {
+        if (layer < 0 || layers <= layer) {
+            throw new IndexOutOfBoundsException("layers=" + layers + " layer=" + layer);
+        }
+        return layer * graph.vertexCount() + v;
+    }
+
+}
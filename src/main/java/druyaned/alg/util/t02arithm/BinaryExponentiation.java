@@ -4,15 +4,12 @@ public class BinaryExponentiation {
     
     public static final long MOD = (long)1e9 + 7L;
     
+    private static final ModArith ARITH = ModArith.of(MOD);
+    
     public static long power(long base, long exp) {
-        long result = 1L;
-        while (exp > 0L) {
-            if ( (exp & 1L) == 1L )
-                result = (result * base) % MOD;
-            base = (base * base) % MOD;
-            exp >>>= 1;
-        }
-        return result;
+        if (exp <= 0L)
+            return 1L;
+        return ARITH.fromForm(ARITH.pow(ARITH.toForm(base), exp));
     }
     
 }
@@ -0,0 +1,233 @@
+package druyaned.alg.util.t02arithm;
+
+import java.util.Arrays;
+
+/**
+ * Linear sieve of Euler: each composite number up to the limit is crossed
+ * exactly once by its smallest prime factor, which is kept in a table,
+ * so a number is factorized in <code><b>O(log n)</b></code> divisions.
+ * The table is compressed: only odd numbers are kept and a prime keeps
+ * {@code 0}, so the factor of an odd composite is at most {@code sqrt(2^31)}
+ * and fits a char, that is one byte per number of the range.
+ *
+ * <P>Factorization writes into buffers of the caller, no int has more than
+ * {@link #MAX_DISTINCT_PRIMES} distinct prime factors.
+ * Tables of the Euler's totient, the Mobius function and the number of divisors
+ * are built in <code><b>O(limit)</b></code> from the factors.
+ *
+ * <P><i>Example</i>:<br><code>
+ * LinearSieve sieve = new LinearSieve(10_000_000);<br>
+ * int[] primes = new int[LinearSieve.MAX_DISTINCT_PRIMES];<br>
+ * int[] exponents = new int[LinearSieve.MAX_DISTINCT_PRIMES];<br>
+ * int count = sieve.factorize(n, primes, exponents);
+ * </code>
+ *
+ * @author druyaned
+ * @see PrimeSieve
+ */
+public class LinearSieve {
+    
+    /**
+     * The greatest amount of distinct prime factors of an int:
+     * {@code 2 * 3 * 5 * 7 * 11 * 13 * 17 * 19 * 23 = 223092870}.
+     */
+    public static final int MAX_DISTINCT_PRIMES = 9;
+    
+    private final int limit;
+    private final char[] oddFactors; // oddFactors[n >>> 1] for odd n, 0 for a prime
+    private final int[] primes;
+    
+    /**
+     * Sieves numbers {@code [0, limit]}.
+     * @param limit the greatest number
+     * @throws IllegalArgumentException if the limit is negative or equal to
+     *      {@link Integer#MAX_VALUE}
+     */
+    public LinearSieve(int limit) {
+        if (limit < 0 || limit == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("limit=" + limit);
+        }
+        this.limit = limit;
+        oddFactors = new char[(limit >>> 1) + 1];
+        int[] found = new int[16];
+        int count = 0;
+        if (limit >= 2) {
+            found[count++] = 2;
+        }
+        for (int n = 3; n <= limit; n += 2) {
+            int factor = oddFactors[n >>> 1];
+            if (factor == 0) {
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, 2 * count);
+                }
+                found[count++] = n;
+                factor = n;
+            }
+            // odd primes up to the smallest factor of n cross odd multiples once
+            for (int i = 1; i < count; i++) {
+                int p = found[i];
+                if (p > factor || (long)p * n > limit) {
+                    break;
+                }
+                oddFactors[p * n >>> 1] = (char)p;
+            }
+        }
+        primes = Arrays.copyOf(found, count);
+    }
+    
+    //-Getters-------------------------------------------------------------------------------------
+    
+    public int limit() {
+        return limit;
+    }
+    
+    /**
+     * Returns primes up to the limit.
+     * @return primes in the ascending order
+     */
+    public int[] primes() {
+        return primes.clone();
+    }
+    
+    public int primeCount() {
+        return primes.length;
+    }
+    
+    /**
+     * Returns {@code true} if the number is prime.
+     * @param n a number of {@code [0, limit]}
+     * @return {@code true} if the number is prime
+     */
+    public boolean isPrime(int n) {
+        checkNumber(n);
+        if ((n & 1) == 0) {
+            return n == 2;
+        }
+        return n > 1 && oddFactors[n >>> 1] == 0;
+    }
+    
+    /**
+     * Returns the smallest prime factor.
+     * @param n a number of {@code [2, limit]}
+     * @return the smallest prime factor of the number
+     */
+    public int smallestFactor(int n) {
+        checkNumber(n);
+        if (n < 2) {
+            throw new IllegalArgumentException("n=" + n + " has no prime factors");
+        }
+        return factorOf(n);
+    }
+    
+    //-Factorization-------------------------------------------------------------------------------
+    
+    /**
+     * Factorizes the number into the buffers without allocation.
+     * Buffers of {@link #MAX_DISTINCT_PRIMES} ints are enough for any number.
+     *
+     * @param n a number of {@code [1, limit]}
+     * @param factors buffer of distinct prime factors in the ascending order
+     * @param exponents buffer of exponents of the factors
+     * @return amount of distinct prime factors, {@code 0} for {@code 1}
+     */
+    public int factorize(int n, int[] factors, int[] exponents) {
+        checkNumber(n);
+        if (n < 1) {
+            throw new IllegalArgumentException("n=" + n + " can't be factorized");
+        }
+        int count = 0;
+        while (n > 1) {
+            int p = factorOf(n);
+            int exponent = 0;
+            do {
+                n /= p;
+                exponent++;
+            } while (n % p == 0);
+            factors[count] = p;
+            exponents[count++] = exponent;
+        }
+        return count;
+    }
+    
+    //-Multiplicative-functions--------------------------------------------------------------------
+    
+    /**
+     * Builds the table of Euler's totient: amount of numbers
+     * {@code [1, n]} coprime to {@code n}.
+     *
+     * @return {@code phi[n]} for {@code n} of {@code [0, limit]}, {@code phi[0] = 0}
+     */
+    public int[] phiTable() {
+        int[] phi = new int[limit + 1];
+        if (limit >= 1) {
+            phi[1] = 1;
+        }
+        for (int n = 2; n <= limit; n++) {
+            int p = factorOf(n);
+            int m = n / p;
+            phi[n] = m % p == 0 ? phi[m] * p : phi[m] * (p - 1);
+        }
+        return phi;
+    }
+    
+    /**
+     * Builds the table of the Mobius function: {@code 0} if a square divides
+     * {@code n} and {@code (-1)^k} for {@code k} distinct prime factors otherwise.
+     *
+     * @return {@code mu[n]} for {@code n} of {@code [0, limit]}, {@code mu[0] = 0}
+     */
+    public byte[] mobiusTable() {
+        byte[] mu = new byte[limit + 1];
+        if (limit >= 1) {
+            mu[1] = 1;
+        }
+        for (int n = 2; n <= limit; n++) {
+            int p = factorOf(n);
+            int m = n / p;
+            mu[n] = m % p == 0 ? 0 : (byte)-mu[m];
+        }
+        return mu;
+    }
+    
+    /**
+     * Builds the table of amounts of divisors.
+     * @return {@code d[n]} for {@code n} of {@code [0, limit]}, {@code d[0] = 0}
+     */
+    public int[] divisorCountTable() {
+        int[] divisors = new int[limit + 1];
+        byte[] exponents = new byte[limit + 1]; // exponent of the smallest factor
+        if (limit >= 1) {
+            divisors[1] = 1;
+        }
+        for (int n = 2; n <= limit; n++) {
+            int p = factorOf(n);
+            int m = n / p;
+            if (m % p == 0) {
+                exponents[n] = (byte)(exponents[m] + 1);
+                divisors[n] = divisors[m] / (exponents[m] + 1) * (exponents[n] + 1);
+            } else {
+                exponents[n] = 1;
+                divisors[n] = divisors[m] * 2;
+            }
+        }
+        return divisors;
+    }
+    
+    //-Private-methods-----------------------------------------------------------------------------
+    
+    // the smallest prime factor of n >= 2
+    private int factorOf(int n) {
+        if ((n & 1) == 0) {
+            return 2;
+        }
+        int factor = oddFactors[n >>> 1];
+        return factor == 0 ? n : factor;
+    }
+    
+    private void checkNumber(int n) {
+        if (n < 0 || limit < n) {
+            throw new IndexOutOfBoundsException("n=" + n + " is out of [0, " + limit + "]");
+        }
+    }
+
+}
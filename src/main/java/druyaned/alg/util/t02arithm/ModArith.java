@@ -0,0 +1,371 @@
+package druyaned.alg.util.t02arithm;
+
+/**
+ * Modular arithmetic without the division of {@code %} on each operation:
+ * the modulus is fixed and its reducer is precomputed.
+ * <ul>
+ *   <li>Mersenne {@code 2^61 - 1}: a product is folded by shifts and masks,
+ *   collisions of polynomial hashes are about {@code n / 2^61}.</li>
+ *   <li>odd modulus below {@code 2^32}: Montgomery multiplication,
+ *   two high halves of products instead of the division.</li>
+ *   <li>any modulus below {@code 2^32}: Barrett reduction by the precomputed
+ *   {@code floor((2^64 - 1) / m)}.</li>
+ * </ul>
+ *
+ * <P>Operations take and return <i>forms</i> of residues: {@link #toForm}
+ * converts a number and {@link #fromForm} converts back. A form is the residue
+ * itself for Barrett and Mersenne and {@code x * 2^32 mod m} for Montgomery,
+ * so equal residues have equal forms and hashes may be compared as forms.
+ *
+ * <P><i>Example</i>:<br><code>
+ * ModArith mod = ModArith.of(1_000_000_007L);<br>
+ * long a = mod.toForm(x), b = mod.toForm(y);<br>
+ * long product = mod.fromForm(mod.mul(a, b));<br>
+ * long inverse = mod.fromForm(mod.inverse(a));
+ * </code>
+ *
+ * @author druyaned
+ */
+public abstract class ModArith {
+    
+    /**
+     * The Mersenne prime {@code 2^61 - 1}.
+     */
+    public static final long MERSENNE_61 = (1L << 61) - 1L;
+    
+    private static final long LIMIT_32 = 1L << 32;
+    
+    final long modulus;
+    
+    private ModArith(long modulus) {
+        this.modulus = modulus;
+    }
+    
+    /**
+     * Chooses the reducer of the modulus: Mersenne for {@link #MERSENNE_61}
+     * and Barrett otherwise: it keeps up with Montgomery in chains of dependent
+     * products like hashes and powers, and its forms are plain residues.
+     *
+     * @param modulus {@link #MERSENNE_61} or a number of {@code [2, 2^32)}
+     * @return arithmetic modulo the modulus
+     * @throws IllegalArgumentException if the modulus is not supported
+     */
+    public static ModArith of(long modulus) {
+        return modulus == MERSENNE_61 ? mersenne61() : barrett(modulus);
+    }
+    
+    public static ModArith mersenne61() {
+        return new Mersenne61();
+    }
+    
+    /**
+     * Creates Montgomery arithmetic.
+     * @param modulus an odd number of {@code [3, 2^32)}
+     * @return arithmetic modulo the modulus
+     * @throws IllegalArgumentException if the modulus is even or out of the range
+     */
+    public static ModArith montgomery(long modulus) {
+        if (modulus < 3L || LIMIT_32 <= modulus || (modulus & 1L) == 0L) {
+            throw new IllegalArgumentException("modulus=" + modulus);
+        }
+        return new Montgomery(modulus);
+    }
+    
+    /**
+     * Creates Barrett arithmetic.
+     * @param modulus a number of {@code [2, 2^32)}
+     * @return arithmetic modulo the modulus
+     * @throws IllegalArgumentException if the modulus is out of the range
+     */
+    public static ModArith barrett(long modulus) {
+        if (modulus < 2L || LIMIT_32 <= modulus) {
+            throw new IllegalArgumentException("modulus=" + modulus);
+        }
+        return new Barrett(modulus);
+    }
+    
+    //-Forms---------------------------------------------------------------------------------------
+    
+    public long modulus() {
+        return modulus;
+    }
+    
+    /**
+     * Converts a number to the form of its residue.
+     * @param x any number, including negative ones
+     * @return the form of {@code x mod m}
+     */
+    public abstract long toForm(long x);
+    
+    /**
+     * Converts a form back to the residue.
+     * @param form of a residue
+     * @return the residue of {@code [0, m)}
+     */
+    public abstract long fromForm(long form);
+    
+    public long zero() {
+        return 0L;
+    }
+    
+    public abstract long one();
+    
+    //-Operations----------------------------------------------------------------------------------
+    
+    public long add(long a, long b) {
+        long sum = a + b;
+        return sum >= modulus ? sum - modulus : sum;
+    }
+    
+    public long sub(long a, long b) {
+        long difference = a - b;
+        return difference < 0L ? difference + modulus : difference;
+    }
+    
+    public long neg(long a) {
+        return a == 0L ? 0L : modulus - a;
+    }
+    
+    /**
+     * Multiplies forms.
+     * @param a the form of a residue
+     * @param b the form of a residue
+     * @return the form of the product
+     */
+    public abstract long mul(long a, long b);
+    
+    /**
+     * Raises the form to the power by squaring.
+     * @param a the form of the base
+     * @param exponent non-negative exponent
+     * @return the form of {@code a^exponent}
+     * @throws IllegalArgumentException if the exponent is negative
+     */
+    public long pow(long a, long exponent) {
+        if (exponent < 0L) {
+            throw new IllegalArgumentException("exponent=" + exponent);
+        }
+        long result = one();
+        while (exponent > 0L) {
+            if ((exponent & 1L) == 1L) {
+                result = mul(result, a);
+            }
+            a = mul(a, a);
+            exponent >>>= 1;
+        }
+        return result;
+    }
+    
+    /**
+     * Finds the inverse by the extended Euclidean algorithm,
+     * so the modulus need not be prime.
+     *
+     * @param a the form of a residue
+     * @return the form of the inverse residue
+     * @throws ArithmeticException if the residue is not coprime to the modulus
+     */
+    public long inverse(long a) {
+        long r0 = modulus, r1 = fromForm(a);
+        long s0 = 0L, s1 = 1L; // r_i = s_i * a (mod m)
+        while (r1 != 0L) {
+            long q = r0 / r1;
+            long r = r0 - q * r1;
+            r0 = r1;
+            r1 = r;
+            long s = s0 - q * s1;
+            s0 = s1;
+            s1 = s;
+        }
+        if (r0 != 1L) {
+            throw new ArithmeticException("gcd(" + fromForm(a) + ", " + modulus + ")=" + r0);
+        }
+        return toForm(s0);
+    }
+    
+    //-Batch-operations----------------------------------------------------------------------------
+    
+    /**
+     * Converts numbers to forms in place.
+     * @param values numbers to be converted
+     */
+    public void toForms(long[] values) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = toForm(values[i]);
+        }
+    }
+    
+    /**
+     * Converts forms to residues in place.
+     * @param forms to be converted
+     */
+    public void fromForms(long[] forms) {
+        for (int i = 0; i < forms.length; i++) {
+            forms[i] = fromForm(forms[i]);
+        }
+    }
+    
+    /**
+     * Multiplies forms elementwise: {@code result[i] = a[i] * b[i]}.
+     * The result may be one of the arguments.
+     *
+     * @param a forms of residues
+     * @param b forms of residues
+     * @param result forms of the products
+     */
+    public void mul(long[] a, long[] b, long[] result) {
+        checkLengths(a, b, result);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = mul(a[i], b[i]);
+        }
+    }
+    
+    /**
+     * Multiplies forms by one form: {@code result[i] = a[i] * factor}.
+     * The result may be the argument.
+     *
+     * @param a forms of residues
+     * @param factor the form of a residue
+     * @param result forms of the products
+     */
+    public void mul(long[] a, long factor, long[] result) {
+        checkLengths(a, a, result);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = mul(a[i], factor);
+        }
+    }
+    
+    /**
+     * Adds forms elementwise: {@code result[i] = a[i] + b[i]}.
+     * The result may be one of the arguments.
+     *
+     * @param a forms of residues
+     * @param b forms of residues
+     * @param result forms of the sums
+     */
+    public void add(long[] a, long[] b, long[] result) {
+        checkLengths(a, b, result);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = add(a[i], b[i]);
+        }
+    }
+    
+    /**
+     * Returns forms of the powers {@code base^0, base^1, ..., base^(count - 1)},
+     * e.g. for polynomial hashes.
+     *
+     * @param base the form of the base
+     * @param count amount of the powers
+     * @return forms of the powers
+     */
+    public long[] powers(long base, int count) {
+        long[] powers = new long[count];
+        long power = one();
+        for (int i = 0; i < count; i++) {
+            powers[i] = power;
+            power = mul(power, base);
+        }
+        return powers;
+    }
+    
+    //-Private-methods-----------------------------------------------------------------------------
+    
+    private static void checkLengths(long[] a, long[] b, long[] result) {
+        if (a.length != result.length || b.length != result.length) {
+            throw new IllegalArgumentException("lengths=" + a.length + ", " + b.length
+                    + ", " + result.length);
+        }
+    }
+    
+    // the high 64 bits of the unsigned 128-bit product
+    private static long unsignedMultiplyHigh(long x, long y) {
+        return Math.multiplyHigh(x, y) + (x >> 63 & y) + (y >> 63 & x);
+    }
+    
+    private static final class Mersenne61 extends ModArith {
+        Mersenne61() {
+            super(MERSENNE_61);
+        }
+        @Override public long toForm(long x) {
+            return Math.floorMod(x, MERSENNE_61);
+        }
+        @Override public long fromForm(long form) {
+            return form;
+        }
+        @Override public long one() {
+            return 1L;
+        }
+        @Override public long mul(long a, long b) {
+            // a * b = hi * 2^64 + lo and 2^61 = 1, so 2^64 = 8
+            long hi = Math.multiplyHigh(a, b);
+            long lo = a * b;
+            long sum = (lo & MERSENNE_61) + (lo >>> 61) + (hi << 3);
+            sum = (sum & MERSENNE_61) + (sum >>> 61);
+            return sum >= MERSENNE_61 ? sum - MERSENNE_61 : sum;
+        }
+    }
+    
+    private static final class Barrett extends ModArith {
+        private final long ratio; // floor((2^64 - 1) / m)
+        Barrett(long modulus) {
+            super(modulus);
+            ratio = Long.divideUnsigned(-1L, modulus);
+        }
+        @Override public long toForm(long x) {
+            return Math.floorMod(x, modulus);
+        }
+        @Override public long fromForm(long form) {
+            return form;
+        }
+        @Override public long one() {
+            return 1L;
+        }
+        @Override public long mul(long a, long b) {
+            return reduce(a * b);
+        }
+        // the unsigned x - q*m is less than 3m, since q underestimates x/m by less than 2
+        private long reduce(long x) {
+            long r = x - unsignedMultiplyHigh(x, ratio) * modulus;
+            if (r >= modulus) {
+                r -= modulus;
+            }
+            return r >= modulus ? r - modulus : r;
+        }
+    }
+    
+    private static final class Montgomery extends ModArith {
+        private final long inverse; // m^(-1) mod 2^32
+        private final long r2; // 2^64 mod m
+        Montgomery(long modulus) {
+            super(modulus);
+            long inv = modulus; // Newton's iterations double the correct low bits
+            for (int i = 0; i < 5; i++) {
+                inv *= 2L - modulus * inv;
+            }
+            inverse = inv & 0xFFFFFFFFL;
+            long r = LIMIT_32 % modulus;
+            r2 = r * r % modulus;
+        }
+        @Override public long toForm(long x) {
+            return redc(Math.floorMod(x, modulus) * r2);
+        }
+        @Override public long fromForm(long form) {
+            return redc(form);
+        }
+        @Override public long one() {
+            return LIMIT_32 % modulus;
+        }
+        @Override public long mul(long a, long b) {
+            return redc(a * b);
+        }
+        /*
+         * t * 2^(-32) mod m of the unsigned t < m * 2^32: u * m has the same
+         * low half as t, so the difference of the high halves is exact.
+         */
+        private long redc(long t) {
+            long u = (int)t * (int)inverse & 0xFFFFFFFFL;
+            long r = (t >>> 32) - (u * modulus >>> 32);
+            return r < 0L ? r + modulus : r;
+        }
+    }
+
+}
@@ -0,0 +1,300 @@
+package druyaned.alg.util.t02arithm;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+
+/**
+ * Segmented sieve of Eratosthenes over all non-negative ints with the wheel
+ * of {@code 30}: a byte keeps the eight numbers {@code 30k + r} with {@code r}
+ * in {@code {1, 7, 11, 13, 17, 19, 23, 29}}, which are coprime to {@code 30},
+ * so a segment of {@code 32} KB fits L1/L2 cache and covers about {@code 10^6}
+ * numbers. A sieving prime {@code p} crosses eight arithmetic progressions
+ * with the step of {@code p} bytes and a constant bit each.
+ *
+ * <P>Only the primes up to {@code sqrt(2^31)} and one segment per task are kept,
+ * so nothing depends on the bound of the numbers. {@link #count} and
+ * {@link #primes} sieve segments in parallel, {@link #forEachPrime}
+ * streams them in order and {@link #isPrime} keeps the last sieved segment.
+ *
+ * <P><i>Example</i>:<br><code>
+ * PrimeSieve sieve = new PrimeSieve();<br>
+ * long count = sieve.count(0, 1_000_000_000); // 50847534<br>
+ * sieve.forEachPrime(from, to, p -&gt; sum[0] += p);
+ * </code>
+ *
+ * @author druyaned
+ */
+public class PrimeSieve {
+    
+    private static final int[] WHEEL_PRIMES = {2, 3, 5};
+    private static final int[] RESIDUES = {1, 7, 11, 13, 17, 19, 23, 29};
+    private static final int[] BITS = new int[30]; // bit of the residue or -1
+    private static final int SEGMENT_BYTES = 32 * 1024;
+    
+    static {
+        Arrays.fill(BITS, -1);
+        for (int i = 0; i < RESIDUES.length; i++) {
+            BITS[RESIDUES[i]] = i;
+        }
+    }
+    
+    private final int segmentBytes;
+    private final int[] sievingPrimes; // primes from 7 up to sqrt(Integer.MAX_VALUE)
+    private final ForkJoinPool pool;
+    private volatile Segment cached = null;
+    
+    /**
+     * Creates the sieve, which works in the common pool.
+     */
+    public PrimeSieve() {
+        this(SEGMENT_BYTES, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Creates the sieve, which works in the given pool.
+     * @param pool to sieve segments in
+     */
+    public PrimeSieve(ForkJoinPool pool) {
+        this(SEGMENT_BYTES, pool);
+    }
+    
+    PrimeSieve(int segmentBytes, ForkJoinPool pool) {
+        this.segmentBytes = segmentBytes;
+        this.pool = pool;
+        final int limit = (int)Math.sqrt(Integer.MAX_VALUE) + 1;
+        boolean[] composite = new boolean[limit + 1];
+        int[] primes = new int[limit];
+        int count = 0;
+        for (int p = 7; p <= limit; p += 2) {
+            if (!composite[p] && p % 3 != 0 && p % 5 != 0) {
+                primes[count++] = p;
+                for (int f = p * p; f <= limit; f += 2 * p) {
+                    composite[f] = true;
+                }
+            }
+        }
+        sievingPrimes = Arrays.copyOf(primes, count);
+    }
+    
+    //-Queries-------------------------------------------------------------------------------------
+    
+    /**
+     * Returns {@code true} if the number is prime. The segment of the number
+     * is sieved unless it is the cached one, so close queries are cheap.
+     *
+     * @param n the number
+     * @return {@code true} if the number is prime
+     */
+    public boolean isPrime(int n) {
+        if (n < 7) {
+            return n == 2 || n == 3 || n == 5;
+        }
+        final int bit = BITS[n % 30];
+        if (bit == -1) {
+            return false;
+        }
+        final int byteIndex = n / 30;
+        final long segmentFrom = (long)byteIndex / segmentBytes * segmentBytes;
+        Segment segment = cached;
+        if (segment == null || segment.byteFrom != segmentFrom) {
+            byte[] bytes = new byte[segmentBytes];
+            sieve(bytes, segmentFrom, segmentBytes);
+            segment = new Segment(segmentFrom, bytes);
+            cached = segment;
+        }
+        return (segment.bytes[(int)(byteIndex - segmentFrom)] >>> bit & 1) != 0;
+    }
+    
+    /**
+     * Passes primes of the range to the action in the ascending order,
+     * a segment at a time.
+     *
+     * @param from the least number of the range
+     * @param to the greatest number of the range
+     * @param action to be called for each prime
+     */
+    public void forEachPrime(int from, int to, IntConsumer action) {
+        from = Math.max(from, 0);
+        for (int p : WHEEL_PRIMES) {
+            if (from <= p && p <= to) {
+                action.accept(p);
+            }
+        }
+        if (to < 7) {
+            return;
+        }
+        final long lastByte = to / 30;
+        byte[] bytes = new byte[segmentBytes];
+        for (long byteFrom = from / 30; byteFrom <= lastByte; byteFrom += segmentBytes) {
+            int length = (int)Math.min(segmentBytes, lastByte + 1 - byteFrom);
+            sieve(bytes, byteFrom, length);
+            for (int b = 0; b < length; b++) {
+                long base = (byteFrom + b) * 30L;
+                for (int bits = bytes[b] & 0xFF; bits != 0; bits &= bits - 1) {
+                    long n = base + RESIDUES[Integer.numberOfTrailingZeros(bits)];
+                    if (from <= n && n <= to) {
+                        action.accept((int)n);
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Counts primes of the range sieving segments in parallel.
+     * @param from the least number of the range
+     * @param to the greatest number of the range
+     * @return amount of primes in {@code [from, to]}
+     */
+    public long count(int from, int to) {
+        long small = 0L;
+        for (int p : WHEEL_PRIMES) {
+            if (from <= p && p <= to) {
+                small++;
+            }
+        }
+        if (to < Math.max(from, 7)) {
+            return small;
+        }
+        return small + pool.invoke(new Sieving(Math.max(from, 0), to, false)).size;
+    }
+    
+    /**
+     * Returns primes of the range sieving segments in parallel.
+     * @param from the least number of the range
+     * @param to the greatest number of the range
+     * @return primes of {@code [from, to]} in the ascending order
+     */
+    public int[] primes(int from, int to) {
+        Primes small = new Primes();
+        for (int p : WHEEL_PRIMES) {
+            if (from <= p && p <= to) {
+                small.add(p);
+            }
+        }
+        if (to >= Math.max(from, 7)) {
+            small.addAll(pool.invoke(new Sieving(Math.max(from, 0), to, true)));
+        }
+        return Arrays.copyOf(small.items, small.size);
+    }
+    
+    //-Private-methods-----------------------------------------------------------------------------
+    
+    /*
+     * Sieves bytes [byteFrom, byteFrom + length): a set bit means a prime.
+     * A multiple p*q with q coprime to 30 is crossed, the eight residues
+     * of q give eight progressions m = p*q + 30p*t with the step of p bytes.
+     */
+    private void sieve(byte[] bytes, long byteFrom, int length) {
+        Arrays.fill(bytes, 0, length, (byte)0xFF);
+        if (byteFrom == 0L) {
+            bytes[0] &= ~1; // 1 is not prime
+        }
+        final long lo = byteFrom * 30L;
+        final long hi = (byteFrom + length) * 30L; // exclusive
+        for (int p : sievingPrimes) {
+            if ((long)p * p >= hi) {
+                break;
+            }
+            long qMin = Math.max(p, (lo + p - 1) / p);
+            int qMod = (int)(qMin % 30L);
+            for (int r : RESIDUES) {
+                long q = qMin + (r - qMod + 30) % 30;
+                long m = p * q;
+                if (m >= hi) {
+                    continue;
+                }
+                int mask = ~(1 << BITS[(int)(m % 30L)]);
+                for (int b = (int)(m / 30L - byteFrom); b < length; b += p) {
+                    bytes[b] &= mask;
+                }
+            }
+        }
+    }
+    
+    private static class Segment {
+        final long byteFrom;
+        final byte[] bytes;
+        Segment(long byteFrom, byte[] bytes) {
+            this.byteFrom = byteFrom;
+            this.bytes = bytes;
+        }
+    }
+    
+    // growable array of primes or only their amount
+    private static class Primes {
+        int[] items = new int[16];
+        int size = 0;
+        void add(int p) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, 2 * size);
+            }
+            items[size++] = p;
+        }
+        void addAll(Primes other) {
+            if (size + other.size > items.length) {
+                items = Arrays.copyOf(items, Math.max(2 * items.length, size + other.size));
+            }
+            System.arraycopy(other.items, 0, items, size, other.size);
+            size += other.size;
+        }
+    }
+    
+    // sieves numbers [from, to] by segments, halving the range of segments
+    private class Sieving extends RecursiveTask<Primes> {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+        private final boolean collect;
+        Sieving(int from, int to, boolean collect) {
+            this.from = from;
+            this.to = to;
+            this.collect = collect;
+        }
+        @Override protected Primes compute() {
+            final long firstByte = from / 30, lastByte = to / 30;
+            if (lastByte - firstByte < segmentBytes) {
+                return sieveRange(firstByte, (int)(lastByte + 1 - firstByte));
+            }
+            long middleSegment = (lastByte - firstByte + 1) / segmentBytes / 2;
+            int middle = (int)((firstByte + Math.max(1L, middleSegment) * segmentBytes) * 30L);
+            Sieving left = new Sieving(from, middle - 1, collect);
+            left.fork();
+            Primes right = new Sieving(middle, to, collect).compute();
+            Primes result = left.join();
+            if (collect) {
+                result.addAll(right);
+            } else {
+                result.size += right.size;
+            }
+            return result;
+        }
+        private Primes sieveRange(long byteFrom, int length) {
+            byte[] bytes = new byte[length];
+            sieve(bytes, byteFrom, length);
+            Primes primes = new Primes();
+            for (int b = 0; b < length; b++) {
+                long base = (byteFrom + b) * 30L;
+                int bits = bytes[b] & 0xFF;
+                if (!collect && from <= base && base + 29L <= to) {
+                    primes.size += Integer.bitCount(bits);
+                    continue;
+                }
+                for (; bits != 0; bits &= bits - 1) {
+                    long n = base + RESIDUES[Integer.numberOfTrailingZeros(bits)];
+                    if (from <= n && n <= to) {
+                        if (collect) {
+                            primes.add((int)n);
+                        } else {
+                            primes.size++;
+                        }
+                    }
+                }
+            }
+            return primes;
+        }
+    }
+
+}
@@ -3,28 +3,7 @@ package druyaned.alg.util.t02arithm;
 public class SieveOfEratosthene {
     
     public static int[] fullSieveOfEratosthenes(int maxVal) {
-        int sqrtMaxVal = (int)Math.sqrt(maxVal);
-        boolean[] prime = new boolean[maxVal + 1];
-        for (int p = 2; p <= maxVal; p++)
-            prime[p] = true;
-        for (int p = 2; p <= sqrtMaxVal; p++) {
-            if (prime[p]) {
-                for (int f = p * p; f <= maxVal; f += p)
-                    prime[f] = false;
-            }
-        }
-        int count = 0;
-        for (int p = 2; p <= maxVal; p++) {
-            if (prime[p])
-                count++;
-        }
-        int[] sieve = new int[count];
-        int size = 0;
-        for (int p = 2; p <= maxVal; p++) {
-            if (prime[p])
-                sieve[size++] = p;
-        }
-        return sieve;
+        return new PrimeSieve().primes(2, maxVal);
     }
     
     public static int[] shortSieveOfEratosthenes(int maxVal) {
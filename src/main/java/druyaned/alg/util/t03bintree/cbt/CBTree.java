@@ -7,6 +7,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 import java.util.function.Consumer;
 
 /**
@@ -51,8 +52,15 @@ import java.util.function.Consumer;
  * {@link CBSTree#getIndexOf(Object)},
  * {@link CBMTree#getFirstIndexOf(Object)},
  * {@link CBMTree#getLastIndexOf(Object)}.<br>
+ * If the tree is created with a {@link Monoid}, the aggregate of values
+ * is maintained in each node and found in <code><b>O(log(n))</b></code>
+ * for a range of indices or values:
+ * {@link #aggregateAt(Monoid, int, int)},
+ * {@link #aggregate(Monoid, Object, Object)}.<br>
  * And there are some methods with linear complexity <code><b>O(n)</b></code>:
- * {@link #forEachNode(Consumer)}, {@link #forEach(Consumer)}, {@link #clear()}.
+ * {@link #forEachNode(Consumer)}, {@link #forEach(Consumer)}, {@link #clear()},
+ * {@link CBSTree#fromSorted(List, Comparator)},
+ * {@link CBMTree#fromSorted(List, Comparator)}.
  * 
  * @author druyaned
  * @param <T> type of value maintained by the tree
@@ -79,15 +87,34 @@ public abstract class CBTree<T> implements Iterable<T>, Collection<T> {
      */
     protected final Comparator<T> comp;
     
+    /**
+     * Aggregate maintained in each node for its subtree or {@code null}.
+     */
+    protected final Monoid<T, ?> monoid;
+    
     /**
      * Creates Count-Balance Tree with the given comparator.
      * @param comp to compare values
      */
     public CBTree(Comparator<T> comp) {
+        this(comp, null);
+    }
+    
+    /**
+     * Creates Count-Balance Tree with the given comparator that maintains
+     * the aggregate of the monoid in each node for its subtree,
+     * so aggregates of ranges are found in <code><b>O(log(n))</b></code>.
+     *
+     * @param comp to compare values
+     * @param monoid aggregate to be maintained or {@code null}
+     * @see #aggregateAt(Monoid, int, int)
+     */
+    public CBTree(Comparator<T> comp, Monoid<T, ?> monoid) {
         if (comp == null) {
             throw new NullPointerException("comp can't be null");
         }
         this.comp = comp;
+        this.monoid = monoid;
     }
     
     /**
@@ -456,25 +483,28 @@ public abstract class CBTree<T> implements Iterable<T>, Collection<T> {
      * @param node new leaf with the inserted value
      */
     protected final void insertionBalance(Node<T> node) {
+        update(node);
         for (Node<T> p; (p = node.parent) != null; ) {
             if (p.left == node) {
                 p.leftCount++;
+                update(p);
                 if (unbalanced(p.leftCount, p.rightCount)) {
                     if (unbalanced(node.rightCount + 1 + p.rightCount, node.leftCount)) {
-                        node.rotateLeft();
+                        rotateLeft(node);
                     }
-                    p.rotateRight();
+                    rotateRight(p);
                     node = p.parent;
                 } else {
                     node = p;
                 }
             } else {
                 p.rightCount++;
+                update(p);
                 if (unbalanced(p.rightCount, p.leftCount)) {
                     if (unbalanced(node.leftCount + 1 + p.leftCount, node.rightCount)) {
-                        node.rotateRight();
+                        rotateRight(node);
                     }
-                    p.rotateLeft();
+                    rotateLeft(p);
                     node = p.parent;
                 } else {
                     node = p;
@@ -484,6 +514,66 @@ public abstract class CBTree<T> implements Iterable<T>, Collection<T> {
         root = node;
     }
     
+    /**
+     * Fills the empty tree by the sorted values in <code><b>O(n)</b></code>
+     * without comparisons beyond the order check and without rotations:
+     * the middle value becomes the root and both halves are built the same way,
+     * so counts of any node differ by at most one.
+     *
+     * @param values sorted by the comparator of the tree
+     * @param distinct whether equal neighbours are forbidden
+     * @throws IllegalStateException if the tree is not empty
+     * @throws IllegalArgumentException if the values are not sorted
+     */
+    protected final void fillSorted(List<? extends T> values, boolean distinct) {
+        if (size != 0) {
+            throw new IllegalStateException("the tree must be empty");
+        }
+        if (!(values instanceof RandomAccess)) {
+            values = new ArrayList<>(values);
+        }
+        final int n = values.size();
+        for (int i = 0; i < n; i++) {
+            T value = values.get(i);
+            if (value == null) {
+                throw new NullPointerException("value at index=" + i + " is null");
+            }
+            if (i > 0) {
+                int comparison = comp.compare(values.get(i - 1), value);
+                if (comparison > 0 || distinct && comparison == 0) {
+                    throw new IllegalArgumentException("values are not sorted at index=" + i);
+                }
+            }
+        }
+        root = buildSorted(values, 0, n, null);
+        size = n;
+        if (monoid != null) {
+            updateSubtree(root);
+        }
+    }
+    
+    private void updateSubtree(Node<T> node) {
+        if (node != null) {
+            updateSubtree(node.left);
+            updateSubtree(node.right);
+            update(node);
+        }
+    }
+    
+    private static <T> Node<T> buildSorted(List<? extends T> values, int from, int to,
+            Node<T> parent) {
+        if (from == to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        Node<T> node = Node.newNode(values.get(mid), parent);
+        node.left = buildSorted(values, from, mid, node);
+        node.right = buildSorted(values, mid + 1, to, node);
+        node.leftCount = mid - from;
+        node.rightCount = to - mid - 1;
+        return node;
+    }
+    
     /**
      * Implementation of Count-Balance Tree provides auto-sorting,
      * uniqueness of values and indexing functionality.
@@ -501,6 +591,151 @@ public abstract class CBTree<T> implements Iterable<T>, Collection<T> {
         public CBSTree(Comparator<T> comp) {
             super(comp);
         }
+        /**
+         * Creates Count-Balance Set Tree with the given comparator
+         * that maintains the aggregate of the monoid.
+         * @param comp to compare values
+         * @param monoid aggregate to be maintained or {@code null}
+         */
+        public CBSTree(Comparator<T> comp, Monoid<T, ?> monoid) {
+            super(comp, monoid);
+        }
+        /**
+         * Creates the tree from the strictly ascending values
+         * in <code><b>O(n)</b></code>.
+         * @param <T> type of value maintained by the tree
+         * @param values strictly ascending according to the comparator
+         * @param comp to compare values
+         * @return the tree of the values
+         * @throws IllegalArgumentException if the values are not strictly ascending
+         */
+        public static <T> CBSTree<T> fromSorted(T[] values, Comparator<T> comp) {
+            return fromSorted(Arrays.asList(values), comp);
+        }
+        /**
+         * Creates the tree from the strictly ascending values
+         * in <code><b>O(n)</b></code>.
+         * @param <T> type of value maintained by the tree
+         * @param values strictly ascending according to the comparator
+         * @param comp to compare values
+         * @return the tree of the values
+         * @throws IllegalArgumentException if the values are not strictly ascending
+         */
+        public static <T> CBSTree<T> fromSorted(List<? extends T> values, Comparator<T> comp) {
+            CBSTree<T> tree = new CBSTree<>(comp);
+            tree.fillSorted(values, true);
+            return tree;
+        }
+        /**
+         * Creates the tree that maintains the aggregate of the monoid
+         * from the sorted values in <code><b>O(n)</b></code>.
+         * @param <T> type of value maintained by the tree
+         * @param values sorted according to the comparator
+         * @param comp to compare values
+         * @param monoid aggregate to be maintained or {@code null}
+         * @return the tree of the values
+         * @throws IllegalArgumentException if the values are not sorted
+         * @see #fromSorted(List, Comparator)
+         */
+        public static <T> CBSTree<T> fromSorted(List<? extends T> values, Comparator<T> comp,
+                Monoid<T, ?> monoid) {
+            CBSTree<T> tree = new CBSTree<>(comp, monoid);
+            tree.fillSorted(values, true);
+            return tree;
+        }
+        @Override protected CBSTree<T> newEmpty() {
+            return new CBSTree<>(comp, monoid);
+        }
+        /**
+         * Adds all values of the other set to this one. The other set is copied
+         * and stays unchanged; complexity is <code><b>O(m*log(n/m + 1))</b></code>
+         * plus <code><b>O(k)</b></code> for copying, where {@code n} and {@code m}
+         * are sizes of the bigger and the smaller set and {@code k} is size of the other.
+         * Both sets must use the same order.
+         *
+         * @param other set of the values to be added
+         * @return {@code true} if this set was changed
+         */
+        public boolean union(CBSTree<T> other) {
+            if (other == this) {
+                return false;
+            }
+            return unionWith(other);
+        }
+        /**
+         * Retains only values that are presented in the other set as well;
+         * complexity is the same as of the {@link #union(CBSTree) union}.
+         *
+         * @param other set of the values to be retained
+         * @return {@code true} if this set was changed
+         */
+        public boolean intersection(CBSTree<T> other) {
+            if (other == this) {
+                return false;
+            }
+            return intersectWith(other);
+        }
+        /**
+         * Removes all values that are presented in the other set;
+         * complexity is the same as of the {@link #union(CBSTree) union}.
+         *
+         * @param other set of the values to be removed
+         * @return {@code true} if this set was changed
+         */
+        public boolean difference(CBSTree<T> other) {
+            if (other == this) {
+                boolean changed = !isEmpty();
+                clear();
+                return changed;
+            }
+            return subtractWith(other);
+        }
+        /**
+         * {@inheritDoc}
+         *
+         * A {@link CBSTree} with the same comparator is added by the
+         * {@link #union(CBSTree) union}.
+         */
+        @Override public boolean addAll(Collection<? extends T> collection) {
+            CBSTree<T> other = sameOrder(collection);
+            if (other != null) {
+                return union(other);
+            }
+            return super.addAll(collection);
+        }
+        /**
+         * {@inheritDoc}
+         *
+         * A {@link CBSTree} with the same comparator is removed by the
+         * {@link #difference(CBSTree) difference}.
+         */
+        @Override public boolean removeAll(Collection<?> collection) {
+            CBSTree<T> other = sameOrder(collection);
+            if (other != null) {
+                return difference(other);
+            }
+            return super.removeAll(collection);
+        }
+        /**
+         * {@inheritDoc}
+         *
+         * A {@link CBSTree} with the same comparator is retained by the
+         * {@link #intersection(CBSTree) intersection}.
+         */
+        @Override public boolean retainAll(Collection<?> collection) {
+            CBSTree<T> other = sameOrder(collection);
+            if (other != null) {
+                return intersection(other);
+            }
+            return super.retainAll(collection);
+        }
+        // the tree, whose values are ordered by the same comparator, or null
+        private CBSTree<T> sameOrder(Collection<?> collection) {
+            if (collection instanceof CBSTree<?> other && other.comp == comp) {
+                return (CBSTree<T>)other;
+            }
+            return null;
+        }
         /**
          * {@inheritDoc}
          * 
@@ -514,6 +749,7 @@ public abstract class CBTree<T> implements Iterable<T>, Collection<T> {
             // new root case
             if (root == null) {
                 root = Node.newRoot(value);
+                update(root);
                 size++;
                 return true;
             }
@@ -661,6 +897,61 @@ public abstract class CBTree<T> implements Iterable<T>, Collection<T> {
         public CBMTree(Comparator<T> comp) {
             super(comp);
         }
+        /**
+         * Creates Count-Balance Multiset Tree with the given comparator
+         * that maintains the aggregate of the monoid.
+         * @param comp to compare values
+         * @param monoid aggregate to be maintained or {@code null}
+         */
+        public CBMTree(Comparator<T> comp, Monoid<T, ?> monoid) {
+            super(comp, monoid);
+        }
+        /**
+         * Creates the tree from the non-descending values
+         * in <code><b>O(n)</b></code>.
+         * @param <T> type of value maintained by the tree
+         * @param values non-descending according to the comparator
+         * @param comp to compare values
+         * @return the tree of the values
+         * @throws IllegalArgumentException if the values are not sorted
+         */
+        public static <T> CBMTree<T> fromSorted(T[] values, Comparator<T> comp) {
+            return fromSorted(Arrays.asList(values), comp);
+        }
+        /**
+         * Creates the tree from the non-descending values
+         * in <code><b>O(n)</b></code>.
+         * @param <T> type of value maintained by the tree
+         * @param values non-descending according to the comparator
+         * @param comp to compare values
+         * @return the tree of the values
+         * @throws IllegalArgumentException if the values are not sorted
+         */
+        public static <T> CBMTree<T> fromSorted(List<? extends T> values, Comparator<T> comp) {
+            CBMTree<T> tree = new CBMTree<>(comp);
+            tree.fillSorted(values, false);
+            return tree;
+        }
+        /**
+         * Creates the tree that maintains the aggregate of the monoid
+         * from the sorted values in <code><b>O(n)</b></code>.
+         * @param <T> type of value maintained by the tree
+         * @param values sorted according to the comparator
+         * @param comp to compare values
+         * @param monoid aggregate to be maintained or {@code null}
+         * @return the tree of the values
+         * @throws IllegalArgumentException if the values are not sorted
+         * @see #fromSorted(List, Comparator)
+         */
+        public static <T> CBMTree<T> fromSorted(List<? extends T> values, Comparator<T> comp,
+                Monoid<T, ?> monoid) {
+            CBMTree<T> tree = new CBMTree<>(comp, monoid);
+            tree.fillSorted(values, false);
+            return tree;
+        }
+        @Override protected CBMTree<T> newEmpty() {
+            return new CBMTree<>(comp, monoid);
+        }
         /**
          * {@inheritDoc}
          * 
@@ -677,6 +968,7 @@ public abstract class CBTree<T> implements Iterable<T>, Collection<T> {
             // new root case
             if (root == null) {
                 root = Node.newRoot(value);
+                update(root);
                 size++;
                 return true;
             }
@@ -927,29 +1219,31 @@ public abstract class CBTree<T> implements Iterable<T>, Collection<T> {
             if (p.left == limit) {
                 p.leftCount--;
                 p.left = child;
+                update(p);
                 if (unbalanced(p.rightCount, p.leftCount)) {
                     Node<T> r = p.right;
                     if (
                             unbalanced(r.leftCount, p.leftCount)
                             || unbalanced(r.leftCount + 1 + p.leftCount, r.rightCount)
                     ) {
-                        r.rotateRight();
+                        rotateRight(r);
                     }
-                    p.rotateLeft();
+                    rotateLeft(p);
                     p = p.parent;
                 }
             } else {
                 p.rightCount--;
                 p.right = child;
+                update(p);
                 if (unbalanced(p.leftCount, p.rightCount)) {
                     Node<T> l = p.left;
                     if (
                             unbalanced(l.rightCount, p.rightCount)
-                            || unbalanced(l.rightCount + 1 + l.rightCount, l.leftCount)
+                            || unbalanced(l.rightCount + 1 + p.rightCount, l.leftCount)
                     ) {
-                        l.rotateLeft();
+                        rotateLeft(l);
                     }
-                    p.rotateRight();
+                    rotateRight(p);
                     p = p.parent;
                 }
             }
@@ -985,30 +1279,32 @@ public abstract class CBTree<T> implements Iterable<T>, Collection<T> {
         for (Node<T> p; (p = node.parent) != null; ) {
             if (p.left == node) {
                 p.leftCount--;
+                update(p);
                 if (unbalanced(p.rightCount, p.leftCount)) {
                     Node<T> r = p.right;
                     if (
                             unbalanced(r.leftCount, p.leftCount)
                             || unbalanced(r.leftCount + 1 + p.leftCount, r.rightCount)
                     ) {
-                        r.rotateRight();
+                        rotateRight(r);
                     }
-                    p.rotateLeft();
+                    rotateLeft(p);
                     node = p.parent;
                 } else {
                     node = p;
                 }
             } else {
                 p.rightCount--;
+                update(p);
                 if (unbalanced(p.leftCount, p.rightCount)) {
                     Node<T> l = p.left;
                     if (
                             unbalanced(l.rightCount, p.rightCount)
-                            || unbalanced(l.rightCount + 1 + l.rightCount, l.leftCount)
+                            || unbalanced(l.rightCount + 1 + p.rightCount, l.leftCount)
                     ) {
-                        l.rotateLeft();
+                        rotateLeft(l);
                     }
-                    p.rotateRight();
+                    rotateRight(p);
                     node = p.parent;
                 } else {
                     node = p;
@@ -1018,6 +1314,157 @@ public abstract class CBTree<T> implements Iterable<T>, Collection<T> {
         root = node;
     }
     
+    private void rotateLeft(Node<T> node) {
+        node.rotateLeft();
+        update(node);
+        update(node.parent);
+    }
+    
+    private void rotateRight(Node<T> node) {
+        node.rotateRight();
+        update(node);
+        update(node.parent);
+    }
+    
+    /**
+     * Recalculates the aggregate of the node by its children
+     * if the tree maintains a monoid.
+     * @param node whose children are up to date
+     */
+    protected final void update(Node<T> node) {
+        if (monoid != null) {
+            node.aggregate = combineChildren(monoid, node);
+        }
+    }
+    
+    private static <T, A> A combineChildren(Monoid<T, A> monoid, Node<T> node) {
+        A aggregate = monoid.lift(node.value);
+        if (node.left != null) {
+            aggregate = monoid.combine(aggregateOf(node.left), aggregate);
+        }
+        if (node.right != null) {
+            aggregate = monoid.combine(aggregate, aggregateOf(node.right));
+        }
+        return aggregate;
+    }
+    
+    // the only cast of aggregates: each node keeps the aggregate of the tree's monoid
+    private static <A> A aggregateOf(Node<?> node) {
+        return (A)node.aggregate;
+    }
+    
+    /**
+     * Returns the aggregate of all values in <code><b>O(1)</b></code>.
+     *
+     * @param <A> type of the aggregate
+     * @param monoid which the tree was created with
+     * @return the aggregate of all values
+     * @throws IllegalArgumentException if the tree doesn't maintain the monoid
+     */
+    public <A> A aggregate(Monoid<T, A> monoid) {
+        checkMonoid(monoid);
+        return root != null ? aggregateOf(root) : monoid.identity();
+    }
+    
+    /**
+     * Returns the aggregate of values at indices {@code [fromIndex, toIndex)}
+     * in <code><b>O(log(n))</b></code>. The search goes down to the highest node
+     * in the range, and then the suffix of its left subtree and the prefix of
+     * its right subtree are collected from the aggregates of whole subtrees.
+     *
+     * @param <A> type of the aggregate
+     * @param monoid which the tree was created with
+     * @param fromIndex index of the first value, inclusive
+     * @param toIndex index of the last value, exclusive
+     * @return the aggregate of values at indices {@code [fromIndex, toIndex)}
+     * @throws IllegalArgumentException if the tree doesn't maintain the monoid
+     * @throws IndexOutOfBoundsException if {@code fromIndex < 0 || size < toIndex
+     *      || toIndex < fromIndex}
+     */
+    public <A> A aggregateAt(Monoid<T, A> monoid, int fromIndex, int toIndex) {
+        checkMonoid(monoid);
+        if (fromIndex < 0 || size < toIndex || toIndex < fromIndex) {
+            throw new IndexOutOfBoundsException("fromIndex=" + fromIndex
+                    + " toIndex=" + toIndex + " size=" + size);
+        }
+        if (fromIndex == toIndex) {
+            return monoid.identity();
+        }
+        // the highest node in the range
+        Node<T> top = root;
+        int offset = 0; // count of values before the subtree of the top
+        for (int index; ; ) {
+            index = offset + top.leftCount;
+            if (toIndex <= index) {
+                top = top.left;
+            } else if (index < fromIndex) {
+                offset = index + 1;
+                top = top.right;
+            } else {
+                break;
+            }
+        }
+        // suffix of the left subtree from the local index
+        A result = monoid.lift(top.value);
+        int index = fromIndex - offset;
+        for (Node<T> node = top.left; node != null; ) {
+            if (index <= node.leftCount) {
+                A suffix = monoid.lift(node.value);
+                if (node.right != null) {
+                    suffix = monoid.combine(suffix, aggregateOf(node.right));
+                }
+                result = monoid.combine(suffix, result);
+                node = node.left;
+            } else {
+                index -= node.leftCount + 1;
+                node = node.right;
+            }
+        }
+        // prefix of the right subtree of the given count
+        int count = toIndex - offset - top.leftCount - 1;
+        for (Node<T> node = top.right; count > 0; ) {
+            if (count <= node.leftCount) {
+                node = node.left;
+            } else {
+                if (node.left != null) {
+                    result = monoid.combine(result, aggregateOf(node.left));
+                }
+                result = monoid.combine(result, monoid.lift(node.value));
+                count -= node.leftCount + 1;
+                node = node.right;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the aggregate of values in the closed range {@code [lo, hi]}
+     * in <code><b>O(log(n))</b></code>.
+     *
+     * @param <A> type of the aggregate
+     * @param monoid which the tree was created with
+     * @param lo the lowest value of the range, inclusive
+     * @param hi the highest value of the range, inclusive
+     * @return the aggregate of values in the range or the identity if it is empty
+     * @throws IllegalArgumentException if the tree doesn't maintain the monoid
+     * @see #aggregateAt(Monoid, int, int)
+     */
+    public <A> A aggregate(Monoid<T, A> monoid, T lo, T hi) {
+        checkMonoid(monoid);
+        int fromIndex = getIndexGreaterEq(lo);
+        int toIndex = getIndexLessEq(hi) + 1;
+        if (toIndex <= fromIndex) {
+            return monoid.identity();
+        }
+        return aggregateAt(monoid, fromIndex, toIndex);
+    }
+    
+    private void checkMonoid(Monoid<T, ?> monoid) {
+        if (monoid == null || monoid != this.monoid) {
+            throw new IllegalArgumentException("the tree doesn't maintain the monoid");
+        }
+    }
+    
     @Override public void clear() {
         if (root == null) {
             return;
@@ -1044,22 +1491,347 @@ public abstract class CBTree<T> implements Iterable<T>, Collection<T> {
         size = 0;
     }
     
+    /**
+     * Splits the tree by the index: values at indices {@code [0, index)}
+     * stay in this tree and the rest of the values are moved to the returned
+     * tree; complexity is <code><b>O(log(n))</b></code>.
+     *
+     * @param index of the first value of the returned tree
+     * @return new tree with the values at indices {@code [index, size)}
+     * @throws IndexOutOfBoundsException if the index is out of {@code [0, size]}
+     */
+    public CBTree<T> splitAt(int index) {
+        if (index < 0 || size < index) {
+            throw new IndexOutOfBoundsException("size=" + size
+                    + " index=" + index);
+        }
+        Split<T> split = new Split<>();
+        splitAt(root, index, split);
+        CBTree<T> tail = newEmpty();
+        setRoot(split.left);
+        tail.setRoot(split.right);
+        return tail;
+    }
+    
+    /**
+     * Splits the tree by the value: values less than the given one
+     * stay in this tree and the others are moved to the returned tree;
+     * complexity is <code><b>O(log(n))</b></code>.
+     *
+     * @param value the least possible value of the returned tree
+     * @return new tree with the values greater than or equal to the given one
+     */
+    public CBTree<T> splitGreaterEq(T value) {
+        Split<T> split = new Split<>();
+        split(root, value, false, split);
+        CBTree<T> tail = newEmpty();
+        setRoot(split.left);
+        tail.setRoot(split.right);
+        return tail;
+    }
+    
+    /**
+     * Moves all values of the tail tree to the end of this tree,
+     * so the tail becomes empty; complexity is <code><b>O(log(n))</b></code>.
+     * Values of the tail must be greater than values of this tree
+     * (or equal for the {@link CBMTree}) and both trees must use the same order.
+     *
+     * @param tail tree with the greater values
+     * @throws IllegalArgumentException if the tail has a value
+     *      that must precede a value of this tree or maintains another monoid
+     */
+    public void join(CBTree<T> tail) {
+        if (tail == this) {
+            throw new IllegalArgumentException("the tree can't be joined with itself");
+        }
+        if (tail.monoid != monoid) {
+            throw new IllegalArgumentException("the tail must maintain the same monoid");
+        }
+        if (isEmpty() || tail.isEmpty()) {
+            if (isEmpty()) {
+                setRoot(tail.root);
+            }
+            tail.setRoot(null);
+            return;
+        }
+        int comparison = comp.compare(getLast(), tail.getFirst());
+        if (comparison > 0 || comparison == 0 && this instanceof CBSTree) {
+            throw new IllegalArgumentException("values of the tail must follow values of the tree");
+        }
+        Node<T> tailRoot = tail.root;
+        tail.setRoot(null);
+        setRoot(join2(root, tailRoot, new Split<>()));
+    }
+    
+    /**
+     * Returns an empty tree of the same type with the same comparator.
+     * @return an empty tree of the same type with the same comparator
+     */
+    protected abstract CBTree<T> newEmpty();
+    
+    private Node<T> detachedRoot() {
+        Node<T> node = root;
+        root = null;
+        size = 0;
+        return node;
+    }
+    
+    // sets the detached subtree as the whole tree
+    private void setRoot(Node<T> node) {
+        if (node != null) {
+            node.parent = null;
+        }
+        root = node;
+        size = count(node);
+    }
+    
+    /*
+    Bulk operations are built on the join of two subtrees and a middle node.
+    If the counts of the subtrees are balanced, the node just becomes their parent.
+    Otherwise the node goes down the inner spine of the bigger subtree until
+    the counts are balanced, and the nodes of the path are fixed by rotations
+    on the way back. All the private helpers below take and return detached
+    subtrees (the root has no parent) and keep counts and aggregates up to date.
+    */
+    
+    // the result of a split: values before, the equal node (only if extracted) and after
+    private static class Split<T> {
+        private Node<T> left, equal, right;
+    }
+    
+    private static <T> int count(Node<T> node) {
+        return node == null ? 0 : node.leftCount + 1 + node.rightCount;
+    }
+    
+    private void setLeft(Node<T> p, Node<T> child) {
+        p.left = child;
+        p.leftCount = count(child);
+        if (child != null) {
+            child.parent = p;
+        }
+        update(p);
+    }
+    
+    private void setRight(Node<T> p, Node<T> child) {
+        p.right = child;
+        p.rightCount = count(child);
+        if (child != null) {
+            child.parent = p;
+        }
+        update(p);
+    }
+    
+    private Node<T> detachLeft(Node<T> p) {
+        Node<T> child = p.left;
+        if (child != null) {
+            child.parent = null;
+        }
+        p.left = null;
+        p.leftCount = 0;
+        update(p);
+        return child;
+    }
+    
+    private Node<T> detachRight(Node<T> p) {
+        Node<T> child = p.right;
+        if (child != null) {
+            child.parent = null;
+        }
+        p.right = null;
+        p.rightCount = 0;
+        update(p);
+        return child;
+    }
+    
+    private Node<T> rotateLeftDetached(Node<T> node) {
+        Node<T> r = detachRight(node);
+        setRight(node, detachLeft(r));
+        setLeft(r, node);
+        return r;
+    }
+    
+    private Node<T> rotateRightDetached(Node<T> node) {
+        Node<T> l = detachLeft(node);
+        setLeft(node, detachRight(l));
+        setRight(l, node);
+        return l;
+    }
+    
+    // balances the node whose subtrees are balanced, but may be too different
+    private Node<T> fix(Node<T> node) {
+        if (unbalanced(node.leftCount, node.rightCount)) {
+            Node<T> l = node.left;
+            if (l.rightCount > l.leftCount) {
+                setLeft(node, rotateLeftDetached(detachLeft(node)));
+            }
+            Node<T> top = rotateRightDetached(node);
+            setLeft(top, fix(detachLeft(top)));
+            setRight(top, fix(detachRight(top)));
+            return fix(top);
+        }
+        if (unbalanced(node.rightCount, node.leftCount)) {
+            Node<T> r = node.right;
+            if (r.leftCount > r.rightCount) {
+                setRight(node, rotateRightDetached(detachRight(node)));
+            }
+            Node<T> top = rotateLeftDetached(node);
+            setLeft(top, fix(detachLeft(top)));
+            setRight(top, fix(detachRight(top)));
+            return fix(top);
+        }
+        return node;
+    }
+    
+    // joins l < node < r, where the node is a detached single node
+    private Node<T> join(Node<T> l, Node<T> node, Node<T> r) {
+        int lCount = count(l), rCount = count(r);
+        if (unbalanced(lCount, rCount)) {
+            setRight(l, join(detachRight(l), node, r));
+            return fix(l);
+        }
+        if (unbalanced(rCount, lCount)) {
+            setLeft(r, join(l, node, detachLeft(r)));
+            return fix(r);
+        }
+        setLeft(node, l);
+        setRight(node, r);
+        return node;
+    }
+    
+    // joins l < r by taking the last node of l as the middle one
+    private Node<T> join2(Node<T> l, Node<T> r, Split<T> split) {
+        if (l == null) {
+            return r;
+        }
+        if (r == null) {
+            return l;
+        }
+        splitAt(l, count(l) - 1, split);
+        return join(split.left, split.right, r);
+    }
+    
+    // splits by the index: [0, index) to split.left and [index, count) to split.right
+    private void splitAt(Node<T> node, int index, Split<T> split) {
+        if (node == null) {
+            split.left = split.right = null;
+            return;
+        }
+        int leftCount = node.leftCount;
+        Node<T> l = detachLeft(node), r = detachRight(node);
+        if (index <= leftCount) {
+            splitAt(l, index, split);
+            split.right = join(split.right, node, r);
+        } else {
+            splitAt(r, index - leftCount - 1, split);
+            split.left = join(l, node, split.left);
+        }
+    }
+    
+    /*
+    Splits by the value: lesser values to split.left, the others to split.right.
+    If extractEqual is set, the node with the equal value (if any) goes
+    to split.equal instead of split.right; the tree must be a set then.
+    */
+    private void split(Node<T> node, T value, boolean extractEqual, Split<T> split) {
+        if (node == null) {
+            split.left = split.right = split.equal = null;
+            return;
+        }
+        Node<T> l = detachLeft(node), r = detachRight(node);
+        int comparison = comp.compare(node.value, value);
+        if (comparison == 0 && extractEqual) {
+            split.left = l;
+            split.equal = node;
+            split.right = r;
+        } else if (comparison < 0) {
+            split(r, value, extractEqual, split);
+            split.left = join(l, node, split.left);
+        } else {
+            split(l, value, extractEqual, split);
+            split.right = join(split.right, node, r);
+        }
+    }
+    
+    private Node<T> copy(Node<T> node) {
+        if (node == null) {
+            return null;
+        }
+        Node<T> copied = Node.newRoot(node.value);
+        setLeft(copied, copy(node.left));
+        setRight(copied, copy(node.right));
+        return copied;
+    }
+    
+    /*
+    Set operations for the CBSTree: the other tree is copied, so it stays unchanged,
+    and this tree is rebuilt from its own nodes and the copied ones.
+    */
+    
+    protected final boolean unionWith(CBTree<T> other) {
+        int oldSize = size;
+        setRoot(unionNodes(detachedRoot(), copy(other.root), new Split<>()));
+        return size != oldSize;
+    }
+    
+    protected final boolean intersectWith(CBTree<T> other) {
+        int oldSize = size;
+        setRoot(intersectNodes(detachedRoot(), copy(other.root), new Split<>()));
+        return size != oldSize;
+    }
+    
+    protected final boolean subtractWith(CBTree<T> other) {
+        int oldSize = size;
+        setRoot(subtractNodes(detachedRoot(), copy(other.root), new Split<>()));
+        return size != oldSize;
+    }
+    
+    // a and b are sets; the root of a splits b and the halves are united recursively
+    private Node<T> unionNodes(Node<T> a, Node<T> b, Split<T> split) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        Node<T> l = detachLeft(a), r = detachRight(a);
+        split(b, a.value, true, split);
+        Node<T> bl = split.left, br = split.right;
+        return join(unionNodes(l, bl, split), a, unionNodes(r, br, split));
+    }
+    
+    private Node<T> intersectNodes(Node<T> a, Node<T> b, Split<T> split) {
+        if (a == null || b == null) {
+            return null;
+        }
+        Node<T> l = detachLeft(a), r = detachRight(a);
+        split(b, a.value, true, split);
+        Node<T> bl = split.left, br = split.right;
+        boolean found = split.equal != null;
+        Node<T> left = intersectNodes(l, bl, split);
+        Node<T> right = intersectNodes(r, br, split);
+        return found ? join(left, a, right) : join2(left, right, split);
+    }
+    
+    // values of a that are absent in b
+    private Node<T> subtractNodes(Node<T> a, Node<T> b, Split<T> split) {
+        if (a == null || b == null) {
+            return a;
+        }
+        Node<T> l = detachLeft(b), r = detachRight(b);
+        split(a, b.value, true, split);
+        Node<T> al = split.left, ar = split.right;
+        Node<T> left = subtractNodes(al, l, split);
+        Node<T> right = subtractNodes(ar, r, split);
+        return join2(left, right, split);
+    }
+    
     /**
      * Accepts the action to every node of the tree in an ascending order.
      * @param action to be accepted
      */
     public void forEachNode(Consumer<Node<T>> action) {
-        Object[] stack = new Object[size];
-        int stackN = 0;
-        for (Node<T> node = root; node != null; node = node.left) {
-            stack[stackN++] = node;
-        }
-        while (stackN > 0) {
-            Node<T> node = (Node<T>)stack[--stackN];
+        for (Node<T> node = getNodeFirst(); node != null; node = successor(node)) {
             action.accept(node);
-            for (node = node.right; node != null; node = node.left) {
-                stack[stackN++] = node;
-            }
         }
     }
     
@@ -1073,30 +1845,123 @@ public abstract class CBTree<T> implements Iterable<T>, Collection<T> {
         forEachNode(node -> action.accept(node.value));
     }
     
+    /**
+     * Returns the iterator over all values in an ascending order.
+     * It walks by parent links, so it takes <code><b>O(1)</b></code> memory
+     * and <code><b>O(1)</b></code> amortized time per value.
+     *
+     * @return the iterator over all values in an ascending order
+     */
     @Override public Iterator<T> iterator() {
-        return new CBTreeIterator<>(this);
+        return new CBTreeIterator<>(getNodeFirst(), size, false);
+    }
+    
+    /**
+     * Returns the iterator over values starting at the index
+     * in an ascending order; the start is found in <code><b>O(log(n))</b></code>.
+     *
+     * @param fromIndex index of the first value, {@code size} gives an empty iterator
+     * @return the iterator over values starting at the index
+     * @throws IndexOutOfBoundsException if the index is out of {@code [0, size]}
+     */
+    public Iterator<T> iterator(int fromIndex) {
+        if (fromIndex < 0 || size < fromIndex) {
+            throw new IndexOutOfBoundsException("size=" + size + " fromIndex=" + fromIndex);
+        }
+        Node<T> first = fromIndex < size ? getNodeAt(fromIndex) : null;
+        return new CBTreeIterator<>(first, size - fromIndex, false);
+    }
+    
+    /**
+     * Returns the iterator over values of {@code [fromValue, toValue)}
+     * in an ascending order; the bounds are found in <code><b>O(log(n))</b></code>.
+     *
+     * @param fromValue the lowest value, inclusive
+     * @param toValue the highest value, exclusive
+     * @return the iterator over values of {@code [fromValue, toValue)}
+     */
+    public Iterator<T> iterator(T fromValue, T toValue) {
+        int fromIndex = getIndexGreaterEq(fromValue);
+        int count = getIndexLess(toValue) + 1 - fromIndex;
+        return count > 0
+                ? new CBTreeIterator<>(getNodeAt(fromIndex), count, false)
+                : new CBTreeIterator<>(null, 0, false);
+    }
+    
+    /**
+     * Returns the iterator over all values in a descending order.
+     * @return the iterator over all values in a descending order
+     * @see #iterator()
+     */
+    public Iterator<T> descendingIterator() {
+        return new CBTreeIterator<>(getNodeLast(), size, true);
+    }
+    
+    /**
+     * Returns the iterator over values of {@code [fromValue, toValue)}
+     * in a descending order, so the first one is the greatest.
+     *
+     * @param fromValue the lowest value, inclusive
+     * @param toValue the highest value, exclusive
+     * @return the iterator over values of {@code [fromValue, toValue)}
+     *      in a descending order
+     */
+    public Iterator<T> descendingIterator(T fromValue, T toValue) {
+        int toIndex = getIndexLess(toValue) + 1;
+        int count = toIndex - getIndexGreaterEq(fromValue);
+        return count > 0
+                ? new CBTreeIterator<>(getNodeAt(toIndex - 1), count, true)
+                : new CBTreeIterator<>(null, 0, true);
+    }
+    
+    // the next node in an ascending order or null
+    private static <T> Node<T> successor(Node<T> node) {
+        if (node.right != null) {
+            for (node = node.right; node.left != null; node = node.left) {}
+            return node;
+        }
+        Node<T> p = node.parent;
+        while (p != null && p.right == node) {
+            node = p;
+            p = p.parent;
+        }
+        return p;
     }
     
+    // the previous node in an ascending order or null
+    private static <T> Node<T> predecessor(Node<T> node) {
+        if (node.left != null) {
+            for (node = node.left; node.right != null; node = node.right) {}
+            return node;
+        }
+        Node<T> p = node.parent;
+        while (p != null && p.left == node) {
+            node = p;
+            p = p.parent;
+        }
+        return p;
+    }
+    
+    // iterates over the given count of nodes starting from the given one
     private static class CBTreeIterator<T> implements Iterator<T> {
-        private final Object[] stack;
-        private int stackN;
-        private CBTreeIterator(CBTree<T> tree) {
-            stack = new Object[tree.size];
-            stackN = 0;
-            for (Node<T> node = tree.root; node != null; node = node.left) {
-                stack[stackN++] = node;
-            }
+        private final boolean descending;
+        private Node<T> node;
+        private int remaining;
+        private CBTreeIterator(Node<T> first, int count, boolean descending) {
+            this.descending = descending;
+            this.node = first;
+            this.remaining = count;
         }
         @Override public boolean hasNext() {
-            return stackN > 0;
+            return remaining > 0;
         }
         @Override public T next() {
-            if (stackN == 0) {
+            if (remaining == 0) {
                 throw new NoSuchElementException("there is no more elements");
             }
-            Node<T> found = (Node<T>)stack[--stackN];
-            for (Node<T> node = found.right; node != null; node = node.left) {
-                stack[stackN++] = node;
+            Node<T> found = node;
+            if (--remaining > 0) {
+                node = descending ? predecessor(found) : successor(found);
             }
             return found.value;
         }
@@ -1154,15 +2019,13 @@ public abstract class CBTree<T> implements Iterable<T>, Collection<T> {
     }
     
     @Override public <E> E[] toArray(E[] array) {
-        Object[] stack = new Object[size];
-        int stackN = 0;
-        for (T value : this) {
-            stack[stackN++] = value;
-        }
         if (array.length < size) {
-            return (E[])Arrays.copyOf(stack, size, array.getClass());
+            array = Arrays.copyOf(array, size);
+        }
+        int arrayN = 0;
+        for (T value : this) {
+            array[arrayN++] = (E)value;
         }
-        System.arraycopy(stack, 0, array, 0, size);
         if (array.length > size) {
             array[size] = null;
         }
@@ -1194,6 +2057,7 @@ public abstract class CBTree<T> implements Iterable<T>, Collection<T> {
     public static class Node<T> {
         private T value;
         private int leftCount, rightCount;
+        private Object aggregate; // of the subtree if the tree has a monoid
         private Node<T> parent, left, right;
         private Node(T value, Node<T> parent) {
             this.value = value;
@@ -1211,6 +2075,7 @@ public abstract class CBTree<T> implements Iterable<T>, Collection<T> {
         }
         private void clear() {
             value = null;
+            aggregate = null;
             parent = left = right = null;
         }
         /**
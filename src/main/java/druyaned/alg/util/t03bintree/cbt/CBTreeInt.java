@@ -183,10 +183,67 @@ public abstract class CBTreeInt {
         root = node;
     }
     
+    // builds the tree from the sorted values in O(n) without rotations
+    protected final void fillSorted(int[] values, boolean distinct) {
+        if (size != 0) {
+            throw new IllegalStateException("the tree must be empty");
+        }
+        for (int i = 1; i < values.length; i++) {
+            int comparison = comp.applyAsInt(values[i - 1], values[i]);
+            if (comparison > 0 || distinct && comparison == 0) {
+                throw new IllegalArgumentException("values are not sorted at index=" + i);
+            }
+        }
+        root = buildSorted(values, 0, values.length, null);
+        size = values.length;
+    }
+    
+    private static Node buildSorted(int[] values, int from, int to, Node parent) {
+        if (from == to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        Node node = Node.newNode(values[mid], parent);
+        node.left = buildSorted(values, from, mid, node);
+        node.right = buildSorted(values, mid + 1, to, node);
+        node.leftCount = mid - from;
+        node.rightCount = to - mid - 1;
+        return node;
+    }
+    
     public static class CBSTreeInt extends CBTreeInt {
         public CBSTreeInt(IntBinaryOperator comp) {
             super(comp);
         }
+        public static CBSTreeInt fromSorted(int[] values, IntBinaryOperator comp) {
+            CBSTreeInt tree = new CBSTreeInt(comp);
+            tree.fillSorted(values, true);
+            return tree;
+        }
+        @Override protected CBSTreeInt newEmpty() {
+            return new CBSTreeInt(comp);
+        }
+        // the other set is copied and stays unchanged, complexity is O(m*log(n/m + 1))
+        public boolean union(CBSTreeInt other) {
+            if (other == this) {
+                return false;
+            }
+            return unionWith(other);
+        }
+        public boolean intersection(CBSTreeInt other) {
+            if (other == this) {
+                return false;
+            }
+            return intersectWith(other);
+        }
+        public boolean difference(CBSTreeInt other) {
+            if (other == this) {
+                boolean changed = !isEmpty();
+                clear();
+                return changed;
+            }
+            return subtractWith(other);
+        }
         @Override public boolean add(int value) {
             // new root case
             if (root == null) {
@@ -317,6 +374,14 @@ public abstract class CBTreeInt {
         public CBMTreeInt(IntBinaryOperator comp) {
             super(comp);
         }
+        public static CBMTreeInt fromSorted(int[] values, IntBinaryOperator comp) {
+            CBMTreeInt tree = new CBMTreeInt(comp);
+            tree.fillSorted(values, false);
+            return tree;
+        }
+        @Override protected CBMTreeInt newEmpty() {
+            return new CBMTreeInt(comp);
+        }
         @Override public boolean add(int value) {
             // new root case
             if (root == null) {
@@ -528,7 +593,7 @@ public abstract class CBTreeInt {
                     Node l = p.left;
                     if (
                             unbalanced(l.rightCount, p.rightCount)
-                            || unbalanced(l.rightCount + 1 + l.rightCount, l.leftCount)
+                            || unbalanced(l.rightCount + 1 + p.rightCount, l.leftCount)
                     ) {
                         l.rotateLeft();
                     }
@@ -566,7 +631,7 @@ public abstract class CBTreeInt {
                     Node l = p.left;
                     if (
                             unbalanced(l.rightCount, p.rightCount)
-                            || unbalanced(l.rightCount + 1 + l.rightCount, l.leftCount)
+                            || unbalanced(l.rightCount + 1 + p.rightCount, l.leftCount)
                     ) {
                         l.rotateLeft();
                     }
@@ -606,18 +671,292 @@ public abstract class CBTreeInt {
         size = 0;
     }
     
-    public void forEachNode(Consumer<Node> action) {
-        Node[] stack = new Node[size];
-        int stackN = 0;
-        for (Node node = root; node != null; node = node.left) {
-            stack[stackN++] = node;
+    public CBTreeInt splitAt(int index) {
+        if (index < 0 || size < index) {
+            throw new IndexOutOfBoundsException("size=" + size
+                    + " index=" + index);
         }
-        while (stackN > 0) {
-            Node node = stack[--stackN];
-            action.accept(node);
-            for (node = node.right; node != null; node = node.left) {
-                stack[stackN++] = node;
+        Split split = new Split();
+        splitAt(root, index, split);
+        CBTreeInt tail = newEmpty();
+        setRoot(split.left);
+        tail.setRoot(split.right);
+        return tail;
+    }
+    
+    public CBTreeInt splitGreaterEq(int value) {
+        Split split = new Split();
+        split(root, value, false, split);
+        CBTreeInt tail = newEmpty();
+        setRoot(split.left);
+        tail.setRoot(split.right);
+        return tail;
+    }
+    
+    public void join(CBTreeInt tail) {
+        if (tail == this) {
+            throw new IllegalArgumentException("the tree can't be joined with itself");
+        }
+        if (isEmpty() || tail.isEmpty()) {
+            if (isEmpty()) {
+                setRoot(tail.root);
+            }
+            tail.setRoot(null);
+            return;
+        }
+        int comparison = comp.applyAsInt(getNodeLast().value, tail.getNodeFirst().value);
+        if (comparison > 0 || comparison == 0 && this instanceof CBSTreeInt) {
+            throw new IllegalArgumentException("values of the tail must follow values of the tree");
+        }
+        Node tailRoot = tail.root;
+        tail.setRoot(null);
+        setRoot(join2(root, tailRoot, new Split()));
+    }
+    
+    protected abstract CBTreeInt newEmpty();
+    
+    private Node detachedRoot() {
+        Node node = root;
+        root = null;
+        size = 0;
+        return node;
+    }
+    
+    // sets the detached subtree as the whole tree
+    private void setRoot(Node node) {
+        if (node != null) {
+            node.parent = null;
+        }
+        root = node;
+        size = count(node);
+    }
+    
+    // bulk operations are built on the join like in the CBTree;
+    // the result of a split: values before, the equal node (only if extracted) and after
+    private static class Split {
+        private Node left, equal, right;
+    }
+    
+    private static int count(Node node) {
+        return node == null ? 0 : node.leftCount + 1 + node.rightCount;
+    }
+    
+    private static void setLeft(Node p, Node child) {
+        p.left = child;
+        p.leftCount = count(child);
+        if (child != null) {
+            child.parent = p;
+        }
+    }
+    
+    private static void setRight(Node p, Node child) {
+        p.right = child;
+        p.rightCount = count(child);
+        if (child != null) {
+            child.parent = p;
+        }
+    }
+    
+    private static Node detachLeft(Node p) {
+        Node child = p.left;
+        if (child != null) {
+            child.parent = null;
+        }
+        p.left = null;
+        p.leftCount = 0;
+        return child;
+    }
+    
+    private static Node detachRight(Node p) {
+        Node child = p.right;
+        if (child != null) {
+            child.parent = null;
+        }
+        p.right = null;
+        p.rightCount = 0;
+        return child;
+    }
+    
+    private static Node rotateLeftDetached(Node node) {
+        Node r = detachRight(node);
+        setRight(node, detachLeft(r));
+        setLeft(r, node);
+        return r;
+    }
+    
+    private static Node rotateRightDetached(Node node) {
+        Node l = detachLeft(node);
+        setLeft(node, detachRight(l));
+        setRight(l, node);
+        return l;
+    }
+    
+    // balances the node whose subtrees are balanced, but may be too different
+    private static Node fix(Node node) {
+        if (unbalanced(node.leftCount, node.rightCount)) {
+            Node l = node.left;
+            if (l.rightCount > l.leftCount) {
+                setLeft(node, rotateLeftDetached(detachLeft(node)));
+            }
+            Node top = rotateRightDetached(node);
+            setLeft(top, fix(detachLeft(top)));
+            setRight(top, fix(detachRight(top)));
+            return fix(top);
+        }
+        if (unbalanced(node.rightCount, node.leftCount)) {
+            Node r = node.right;
+            if (r.leftCount > r.rightCount) {
+                setRight(node, rotateRightDetached(detachRight(node)));
             }
+            Node top = rotateLeftDetached(node);
+            setLeft(top, fix(detachLeft(top)));
+            setRight(top, fix(detachRight(top)));
+            return fix(top);
+        }
+        return node;
+    }
+    
+    // joins l < node < r, where the node is a detached single node
+    private static Node join(Node l, Node node, Node r) {
+        int lCount = count(l), rCount = count(r);
+        if (unbalanced(lCount, rCount)) {
+            setRight(l, join(detachRight(l), node, r));
+            return fix(l);
+        }
+        if (unbalanced(rCount, lCount)) {
+            setLeft(r, join(l, node, detachLeft(r)));
+            return fix(r);
+        }
+        setLeft(node, l);
+        setRight(node, r);
+        return node;
+    }
+    
+    // joins l < r by taking the last node of l as the middle one
+    private static Node join2(Node l, Node r, Split split) {
+        if (l == null) {
+            return r;
+        }
+        if (r == null) {
+            return l;
+        }
+        splitAt(l, count(l) - 1, split);
+        return join(split.left, split.right, r);
+    }
+    
+    // splits by the index: [0, index) to split.left and [index, count) to split.right
+    private static void splitAt(Node node, int index, Split split) {
+        if (node == null) {
+            split.left = split.right = null;
+            return;
+        }
+        int leftCount = node.leftCount;
+        Node l = detachLeft(node), r = detachRight(node);
+        if (index <= leftCount) {
+            splitAt(l, index, split);
+            split.right = join(split.right, node, r);
+        } else {
+            splitAt(r, index - leftCount - 1, split);
+            split.left = join(l, node, split.left);
+        }
+    }
+    
+    /*
+    Splits by the value: lesser values to split.left, the others to split.right.
+    If extractEqual is set, the node with the equal value (if any) goes
+    to split.equal instead of split.right; the tree must be a set then.
+    */
+    private void split(Node node, int value, boolean extractEqual, Split split) {
+        if (node == null) {
+            split.left = split.right = split.equal = null;
+            return;
+        }
+        Node l = detachLeft(node), r = detachRight(node);
+        int comparison = comp.applyAsInt(node.value, value);
+        if (comparison == 0 && extractEqual) {
+            split.left = l;
+            split.equal = node;
+            split.right = r;
+        } else if (comparison < 0) {
+            split(r, value, extractEqual, split);
+            split.left = join(l, node, split.left);
+        } else {
+            split(l, value, extractEqual, split);
+            split.right = join(split.right, node, r);
+        }
+    }
+    
+    private static Node copy(Node node) {
+        if (node == null) {
+            return null;
+        }
+        Node copied = Node.newRoot(node.value);
+        setLeft(copied, copy(node.left));
+        setRight(copied, copy(node.right));
+        return copied;
+    }
+    
+    protected final boolean unionWith(CBTreeInt other) {
+        int oldSize = size;
+        setRoot(unionNodes(detachedRoot(), copy(other.root), new Split()));
+        return size != oldSize;
+    }
+    
+    protected final boolean intersectWith(CBTreeInt other) {
+        int oldSize = size;
+        setRoot(intersectNodes(detachedRoot(), copy(other.root), new Split()));
+        return size != oldSize;
+    }
+    
+    protected final boolean subtractWith(CBTreeInt other) {
+        int oldSize = size;
+        setRoot(subtractNodes(detachedRoot(), copy(other.root), new Split()));
+        return size != oldSize;
+    }
+    
+    // a and b are sets; the root of a splits b and the halves are united recursively
+    private Node unionNodes(Node a, Node b, Split split) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        Node l = detachLeft(a), r = detachRight(a);
+        split(b, a.value, true, split);
+        Node bl = split.left, br = split.right;
+        return join(unionNodes(l, bl, split), a, unionNodes(r, br, split));
+    }
+    
+    private Node intersectNodes(Node a, Node b, Split split) {
+        if (a == null || b == null) {
+            return null;
+        }
+        Node l = detachLeft(a), r = detachRight(a);
+        split(b, a.value, true, split);
+        Node bl = split.left, br = split.right;
+        boolean found = split.equal != null;
+        Node left = intersectNodes(l, bl, split);
+        Node right = intersectNodes(r, br, split);
+        return found ? join(left, a, right) : join2(left, right, split);
+    }
+    
+    // values of a that are absent in b
+    private Node subtractNodes(Node a, Node b, Split split) {
+        if (a == null || b == null) {
+            return a;
+        }
+        Node l = detachLeft(b), r = detachRight(b);
+        split(a, b.value, true, split);
+        Node al = split.left, ar = split.right;
+        Node left = subtractNodes(al, l, split);
+        Node right = subtractNodes(ar, r, split);
+        return join2(left, right, split);
+    }
+    
+    public void forEachNode(Consumer<Node> action) {
+        for (Node node = getNodeFirst(); node != null; node = successor(node)) {
+            action.accept(node);
         }
     }
     
@@ -625,8 +964,41 @@ public abstract class CBTreeInt {
         forEachNode(node -> action.accept(node.value));
     }
     
+    // iterators walk by parent links, so they don't allocate stacks
+    
     public IteratorInt iterator() {
-        return new CBTreeIntIterator(this);
+        return new CBTreeIntIterator(getNodeFirst(), size, false);
+    }
+    
+    public IteratorInt iterator(int fromIndex) {
+        if (fromIndex < 0 || size < fromIndex) {
+            throw new IndexOutOfBoundsException("size=" + size
+                    + " fromIndex=" + fromIndex);
+        }
+        Node first = fromIndex < size ? getNodeAt(fromIndex) : null;
+        return new CBTreeIntIterator(first, size - fromIndex, false);
+    }
+    
+    // values of [fromValue, toValue) in an ascending order
+    public IteratorInt iterator(int fromValue, int toValue) {
+        int fromIndex = getIndexGreaterEq(fromValue);
+        int count = getIndexLess(toValue) + 1 - fromIndex;
+        return count > 0
+                ? new CBTreeIntIterator(getNodeAt(fromIndex), count, false)
+                : new CBTreeIntIterator(null, 0, false);
+    }
+    
+    public IteratorInt descendingIterator() {
+        return new CBTreeIntIterator(getNodeLast(), size, true);
+    }
+    
+    // values of [fromValue, toValue) in a descending order
+    public IteratorInt descendingIterator(int fromValue, int toValue) {
+        int toIndex = getIndexLess(toValue) + 1;
+        int count = toIndex - getIndexGreaterEq(fromValue);
+        return count > 0
+                ? new CBTreeIntIterator(getNodeAt(toIndex - 1), count, true)
+                : new CBTreeIntIterator(null, 0, true);
     }
     
     public static interface IteratorInt {
@@ -634,26 +1006,51 @@ public abstract class CBTreeInt {
         int next();
     }
     
+    private static Node successor(Node node) {
+        if (node.right != null) {
+            for (node = node.right; node.left != null; node = node.left) {}
+            return node;
+        }
+        Node p = node.parent;
+        while (p != null && p.right == node) {
+            node = p;
+            p = p.parent;
+        }
+        return p;
+    }
+    
+    private static Node predecessor(Node node) {
+        if (node.left != null) {
+            for (node = node.left; node.right != null; node = node.right) {}
+            return node;
+        }
+        Node p = node.parent;
+        while (p != null && p.left == node) {
+            node = p;
+            p = p.parent;
+        }
+        return p;
+    }
+    
     private static class CBTreeIntIterator implements IteratorInt {
-        private final Node[] stack;
-        private int stackN;
-        private CBTreeIntIterator(CBTreeInt tree) {
-            stack = new Node[tree.size];
-            stackN = 0;
-            for (Node node = tree.root; node != null; node = node.left) {
-                stack[stackN++] = node;
-            }
+        private final boolean descending;
+        private Node node;
+        private int remaining;
+        private CBTreeIntIterator(Node first, int count, boolean descending) {
+            this.descending = descending;
+            this.node = first;
+            this.remaining = count;
         }
         @Override public boolean hasNext() {
-            return stackN > 0;
+            return remaining > 0;
         }
         @Override public int next() {
-            if (stackN == 0) {
+            if (remaining == 0) {
                 throw new NoSuchElementException("there is no more elements");
             }
-            Node found = stack[--stackN];
-            for (Node node = found.right; node != null; node = node.left) {
-                stack[stackN++] = node;
+            Node found = node;
+            if (--remaining > 0) {
+                node = descending ? predecessor(found) : successor(found);
             }
             return found.value;
         }
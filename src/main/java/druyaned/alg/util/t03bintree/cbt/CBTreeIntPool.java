@@ -0,0 +1,868 @@
+package druyaned.alg.util.t03bintree.cbt;
+
+import druyaned.alg.util.t03bintree.cbt.CBTreeInt.IteratorInt;
+import static druyaned.alg.util.t03bintree.cbt.CBTreeInt.unbalanced;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+
+/**
+ * Count-Balance Tree of ints with the same algorithms as {@link CBTreeInt},
+ * but nodes are not objects: a node is an int handle into parallel arrays
+ * of values, counts and links, and {@link #NIL} stands for null.
+ * Handles of removed nodes are put to a free list and reused by next additions.
+ *
+ * <P>
+ * A node takes 24 bytes in the arrays instead of about 40 bytes of
+ * a {@link CBTreeInt.Node} plus the reference to it, and rotations touch
+ * only the arrays, so there are no pointers to chase and nothing for GC to trace.
+ * A handle stays valid until its node is removed.
+ *
+ * @author druyaned
+ * @see CBTreeInt
+ */
+public abstract class CBTreeIntPool {
+    
+    /**
+     * Handle of an absent node.
+     */
+    public static final int NIL = -1;
+    
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    
+    protected int root = NIL;
+    protected int size = 0;
+    protected final IntBinaryOperator comp;
+    
+    private int[] values, leftCounts, rightCounts, parents, lefts, rights;
+    private int allocated = 0; // handles [0, allocated) were given at least once
+    private int free = NIL; // head of the free list linked by lefts
+    
+    public CBTreeIntPool(IntBinaryOperator comp) {
+        this(comp, DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Creates the tree with arrays to hold {@code capacity} nodes without growing.
+     * @param comp to compare values
+     * @param capacity initial number of nodes in the arrays
+     */
+    public CBTreeIntPool(IntBinaryOperator comp, int capacity) {
+        if (comp == null) {
+            throw new NullPointerException("comp can't be null");
+        }
+        if (capacity < 0 || MAX_CAPACITY < capacity) {
+            throw new IllegalArgumentException("capacity=" + capacity);
+        }
+        this.comp = comp;
+        values = new int[capacity];
+        leftCounts = new int[capacity];
+        rightCounts = new int[capacity];
+        parents = new int[capacity];
+        lefts = new int[capacity];
+        rights = new int[capacity];
+    }
+    
+    public int root() {
+        return root;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public boolean contains(int value) {
+        return getNode(value) != NIL;
+    }
+    
+    public int value(int node) {
+        return values[node];
+    }
+    
+    public int leftCount(int node) {
+        return leftCounts[node];
+    }
+    
+    public int rightCount(int node) {
+        return rightCounts[node];
+    }
+    
+    public int parent(int node) {
+        return parents[node];
+    }
+    
+    public int left(int node) {
+        return lefts[node];
+    }
+    
+    public int right(int node) {
+        return rights[node];
+    }
+    
+    public abstract int getNode(int value);
+    
+    public int getNodeAt(int index) {
+        throwIfBadIndex(index);
+        int node = root;
+        for (int curr = 0; curr + leftCounts[node] != index; ) {
+            if (curr + leftCounts[node] < index) {
+                curr += 1 + leftCounts[node];
+                node = rights[node];
+            } else {
+                node = lefts[node];
+            }
+        }
+        return node;
+    }
+    
+    private void throwIfBadIndex(int index) {
+        if (index < 0 || size <= index) {
+            throw new IndexOutOfBoundsException("size=" + size
+                    + " index=" + index);
+        }
+    }
+    
+    public int getAt(int index) {
+        return values[getNodeAt(index)];
+    }
+    
+    public int getNodeFirst() {
+        if (root == NIL) {
+            return NIL;
+        }
+        int node = root;
+        while (lefts[node] != NIL) {
+            node = lefts[node];
+        }
+        return node;
+    }
+    
+    public int getNodeLast() {
+        if (root == NIL) {
+            return NIL;
+        }
+        int node = root;
+        while (rights[node] != NIL) {
+            node = rights[node];
+        }
+        return node;
+    }
+    
+    public int getNodeLess(int value) {
+        int less = NIL;
+        for (int node = root; node != NIL; ) {
+            int comparison = comp.applyAsInt(values[node], value);
+            if (comparison < 0) {
+                less = node;
+                node = rights[node];
+            } else {
+                node = lefts[node];
+            }
+        }
+        return less;
+    }
+    
+    public int getNodeGreater(int value) {
+        int greater = NIL;
+        for (int node = root; node != NIL; ) {
+            int comparison = comp.applyAsInt(values[node], value);
+            if (comparison > 0) {
+                greater = node;
+                node = lefts[node];
+            } else {
+                node = rights[node];
+            }
+        }
+        return greater;
+    }
+    
+    public abstract int getNodeLessEq(int value);
+    
+    public abstract int getNodeGreaterEq(int value);
+    
+    public int getIndexLess(int value) {
+        int lessIndex = -1;
+        int node = root;
+        for (int curr = 0; node != NIL; ) {
+            int comparison = comp.applyAsInt(values[node], value);
+            if (comparison < 0) {
+                lessIndex = curr + leftCounts[node];
+                curr += 1 + leftCounts[node];
+                node = rights[node];
+            } else {
+                node = lefts[node];
+            }
+        }
+        return lessIndex;
+    }
+    
+    public int getIndexGreater(int value) {
+        int greaterIndex = size;
+        int node = root;
+        for (int curr = 0; node != NIL; ) {
+            int comparison = comp.applyAsInt(values[node], value);
+            if (comparison > 0) {
+                greaterIndex = curr + leftCounts[node];
+                node = lefts[node];
+            } else {
+                curr += 1 + leftCounts[node];
+                node = rights[node];
+            }
+        }
+        return greaterIndex;
+    }
+    
+    public abstract int getIndexLessEq(int value);
+    
+    public abstract int getIndexGreaterEq(int value);
+    
+    public abstract boolean add(int value);
+    
+    protected final void insertionBalance(int node) {
+        for (int p; (p = parents[node]) != NIL; ) {
+            if (lefts[p] == node) {
+                leftCounts[p]++;
+                if (unbalanced(leftCounts[p], rightCounts[p])) {
+                    if (unbalanced(rightCounts[node] + 1 + rightCounts[p], leftCounts[node])) {
+                        rotateLeft(node);
+                    }
+                    rotateRight(p);
+                    node = parents[p];
+                } else {
+                    node = p;
+                }
+            } else {
+                rightCounts[p]++;
+                if (unbalanced(rightCounts[p], leftCounts[p])) {
+                    if (unbalanced(leftCounts[node] + 1 + leftCounts[p], rightCounts[node])) {
+                        rotateRight(node);
+                    }
+                    rotateLeft(p);
+                    node = parents[p];
+                } else {
+                    node = p;
+                }
+            }
+        }
+        root = node;
+    }
+    
+    /**
+     * Inserts the new leaf as a child of the parent, or as the root
+     * if the parent is {@link #NIL}, and balances the tree.
+     * @param value of the new leaf
+     * @param p parent of the new leaf
+     * @param toRight whether the leaf is the right child of the parent
+     */
+    protected final void insertLeaf(int value, int p, boolean toRight) {
+        int node = newNode(value, p);
+        if (p == NIL) {
+            root = node;
+        } else if (toRight) {
+            rights[p] = node;
+            insertionBalance(node);
+        } else {
+            lefts[p] = node;
+            insertionBalance(node);
+        }
+        size++;
+    }
+    
+    // builds the tree from the sorted values in O(n) without rotations
+    protected final void fillSorted(int[] values, boolean distinct) {
+        if (size != 0) {
+            throw new IllegalStateException("the tree must be empty");
+        }
+        for (int i = 1; i < values.length; i++) {
+            int comparison = comp.applyAsInt(values[i - 1], values[i]);
+            if (comparison > 0 || distinct && comparison == 0) {
+                throw new IllegalArgumentException("values are not sorted at index=" + i);
+            }
+        }
+        root = buildSorted(values, 0, values.length, NIL);
+        size = values.length;
+    }
+    
+    private int buildSorted(int[] values, int from, int to, int parent) {
+        if (from == to) {
+            return NIL;
+        }
+        int mid = (from + to) >>> 1;
+        int node = newNode(values[mid], parent);
+        lefts[node] = buildSorted(values, from, mid, node);
+        rights[node] = buildSorted(values, mid + 1, to, node);
+        leftCounts[node] = mid - from;
+        rightCounts[node] = to - mid - 1;
+        return node;
+    }
+    
+    public static class CBSTreeIntPool extends CBTreeIntPool {
+        public CBSTreeIntPool(IntBinaryOperator comp) {
+            super(comp);
+        }
+        public CBSTreeIntPool(IntBinaryOperator comp, int capacity) {
+            super(comp, capacity);
+        }
+        public static CBSTreeIntPool fromSorted(int[] values, IntBinaryOperator comp) {
+            CBSTreeIntPool tree = new CBSTreeIntPool(comp, values.length);
+            tree.fillSorted(values, true);
+            return tree;
+        }
+        @Override public boolean add(int value) {
+            // new root case
+            if (root == NIL) {
+                insertLeaf(value, NIL, false);
+                return true;
+            }
+            // find insertion place
+            int node = root, p;
+            int comparison;
+            do {
+                p = node;
+                comparison = comp.applyAsInt(value(node), value);
+                if (comparison < 0) {
+                    node = right(node);
+                } else if (comparison > 0) {
+                    node = left(node);
+                } else {
+                    return false;
+                }
+            } while (node != NIL);
+            // complete insertion and balance the tree
+            insertLeaf(value, p, comparison < 0);
+            return true;
+        }
+        @Override public int getNode(int value) {
+            for (int node = root; node != NIL; ) {
+                int comparison = comp.applyAsInt(value(node), value);
+                if (comparison == 0) {
+                    return node;
+                } else if (comparison < 0) {
+                    node = right(node);
+                } else {
+                    node = left(node);
+                }
+            }
+            return NIL;
+        }
+        @Override public int getNodeLessEq(int value) {
+            int lessEq = NIL;
+            for (int node = root; node != NIL; ) {
+                int comparison = comp.applyAsInt(value(node), value);
+                if (comparison == 0) {
+                    return node;
+                } else if (comparison < 0) {
+                    lessEq = node;
+                    node = right(node);
+                } else {
+                    node = left(node);
+                }
+            }
+            return lessEq;
+        }
+        @Override public int getNodeGreaterEq(int value) {
+            int greaterEq = NIL;
+            for (int node = root; node != NIL; ) {
+                int comparison = comp.applyAsInt(value(node), value);
+                if (comparison == 0) {
+                    return node;
+                } else if (comparison > 0) {
+                    greaterEq = node;
+                    node = left(node);
+                } else {
+                    node = right(node);
+                }
+            }
+            return greaterEq;
+        }
+        @Override public int getIndexLessEq(int value) {
+            int indexLessEq = -1;
+            int node = root;
+            for (int curr = 0; node != NIL; ) {
+                int comparison = comp.applyAsInt(value(node), value);
+                if (comparison == 0) {
+                    return curr + leftCount(node);
+                } else if (comparison < 0) {
+                    indexLessEq = curr + leftCount(node);
+                    curr += 1 + leftCount(node);
+                    node = right(node);
+                } else {
+                    node = left(node);
+                }
+            }
+            return indexLessEq;
+        }
+        @Override public int getIndexGreaterEq(int value) {
+            int indexGreaterEq = size;
+            int node = root;
+            for (int curr = 0; node != NIL; ) {
+                int comparison = comp.applyAsInt(value(node), value);
+                if (comparison == 0) {
+                    return curr + leftCount(node);
+                } else if (comparison > 0) {
+                    indexGreaterEq = curr + leftCount(node);
+                    node = left(node);
+                } else {
+                    curr += 1 + leftCount(node);
+                    node = right(node);
+                }
+            }
+            return indexGreaterEq;
+        }
+        public int getIndexOf(int value) {
+            int node = root;
+            for (int curr = 0; node != NIL; ) {
+                int comparison = comp.applyAsInt(value(node), value);
+                if (comparison == 0) {
+                    return curr + leftCount(node);
+                } else if (comparison < 0) {
+                    curr += 1 + leftCount(node);
+                    node = right(node);
+                } else {
+                    node = left(node);
+                }
+            }
+            return -1;
+        }
+    }
+    
+    public static class CBMTreeIntPool extends CBTreeIntPool {
+        public CBMTreeIntPool(IntBinaryOperator comp) {
+            super(comp);
+        }
+        public CBMTreeIntPool(IntBinaryOperator comp, int capacity) {
+            super(comp, capacity);
+        }
+        public static CBMTreeIntPool fromSorted(int[] values, IntBinaryOperator comp) {
+            CBMTreeIntPool tree = new CBMTreeIntPool(comp, values.length);
+            tree.fillSorted(values, false);
+            return tree;
+        }
+        @Override public boolean add(int value) {
+            // new root case
+            if (root == NIL) {
+                insertLeaf(value, NIL, false);
+                return true;
+            }
+            // find insertion place
+            int node = root, p;
+            int comparison;
+            do {
+                p = node;
+                comparison = comp.applyAsInt(value(node), value);
+                if (comparison <= 0) {
+                    node = right(node);
+                } else {
+                    node = left(node);
+                }
+            } while (node != NIL);
+            // complete insertion and balance the tree
+            insertLeaf(value, p, comparison <= 0);
+            return true;
+        }
+        @Override public int getNode(int value) {
+            int equal = NIL;
+            for (int node = root; node != NIL; ) {
+                int comparison = comp.applyAsInt(value(node), value);
+                if (comparison == 0) {
+                    equal = node;
+                    node = left(node);
+                } else if (comparison < 0) {
+                    node = right(node);
+                } else {
+                    node = left(node);
+                }
+            }
+            return equal;
+        }
+        @Override public int getNodeLessEq(int value) {
+            int lessEq = NIL;
+            for (int node = root; node != NIL; ) {
+                int comparison = comp.applyAsInt(value(node), value);
+                if (comparison <= 0) {
+                    lessEq = node;
+                    node = right(node);
+                } else {
+                    node = left(node);
+                }
+            }
+            return lessEq;
+        }
+        @Override public int getNodeGreaterEq(int value) {
+            int greaterEq = NIL;
+            for (int node = root; node != NIL; ) {
+                int comparison = comp.applyAsInt(value(node), value);
+                if (comparison >= 0) {
+                    greaterEq = node;
+                    node = left(node);
+                } else {
+                    node = right(node);
+                }
+            }
+            return greaterEq;
+        }
+        @Override public int getIndexLessEq(int value) {
+            int indexLessEq = -1;
+            int node = root;
+            for (int curr = 0; node != NIL; ) {
+                int comparison = comp.applyAsInt(value(node), value);
+                if (comparison <= 0) {
+                    indexLessEq = curr + leftCount(node);
+                    curr += 1 + leftCount(node);
+                    node = right(node);
+                } else {
+                    node = left(node);
+                }
+            }
+            return indexLessEq;
+        }
+        @Override public int getIndexGreaterEq(int value) {
+            int indexGreaterEq = size;
+            int node = root;
+            for (int curr = 0; node != NIL; ) {
+                int comparison = comp.applyAsInt(value(node), value);
+                if (comparison >= 0) {
+                    indexGreaterEq = curr + leftCount(node);
+                    node = left(node);
+                } else {
+                    curr += 1 + leftCount(node);
+                    node = right(node);
+                }
+            }
+            return indexGreaterEq;
+        }
+        public int getFirstIndexOf(int value) {
+            int node = root;
+            int index = -1;
+            for (int curr = 0; node != NIL; ) {
+                int comparison = comp.applyAsInt(value(node), value);
+                if (comparison == 0) {
+                    index = curr + leftCount(node);
+                    node = left(node);
+                } else if (comparison < 0) {
+                    curr += 1 + leftCount(node);
+                    node = right(node);
+                } else {
+                    node = left(node);
+                }
+            }
+            return index;
+        }
+        public int getLastIndexOf(int value) {
+            int node = root;
+            int index = -1;
+            for (int curr = 0; node != NIL; ) {
+                int comparison = comp.applyAsInt(value(node), value);
+                if (comparison <= 0) {
+                    if (comparison == 0) {
+                        index = curr + leftCount(node);
+                    }
+                    curr += 1 + leftCount(node);
+                    node = right(node);
+                } else {
+                    node = left(node);
+                }
+            }
+            return index;
+        }
+    }
+    
+    public boolean remove(int value) {
+        // find node to be removed or return false
+        int found = getNode(value);
+        if (found == NIL) {
+            return false;
+        }
+        removeNode(found);
+        return true;
+    }
+    
+    /**
+     * Removes the value at the index and returns it; the value is returned
+     * instead of the node, because the handle of the node is reused.
+     * @param index of the value to be removed
+     * @return the removed value
+     * @throws IndexOutOfBoundsException if the index is out of {@code [0, size)}
+     */
+    public int removeAt(int index) {
+        int found = getNodeAt(index);
+        int value = values[found];
+        removeNode(found);
+        return value;
+    }
+    
+    private void removeNode(int found) {
+        // find limit and child
+        int limit = found, child = NIL; // l==NIL && r==NIL
+        if (lefts[found] != NIL && rights[found] == NIL) {
+            limit = lefts[found];
+            while (rights[limit] != NIL) {
+                limit = rights[limit];
+            }
+            child = lefts[limit];
+        } else if (rights[found] != NIL) {
+            limit = rights[found];
+            while (lefts[limit] != NIL) {
+                limit = lefts[limit];
+            }
+            child = rights[limit];
+        }
+        // change value
+        values[found] = values[limit];
+        // delete limit and balance the tree
+        int p = parents[limit];
+        if (child != NIL) {
+            parents[child] = p;
+        }
+        freeNode(limit);
+        if (p != NIL) {
+            if (lefts[p] == limit) {
+                leftCounts[p]--;
+                lefts[p] = child;
+                if (unbalanced(rightCounts[p], leftCounts[p])) {
+                    int r = rights[p];
+                    if (
+                            unbalanced(leftCounts[r], leftCounts[p])
+                            || unbalanced(leftCounts[r] + 1 + leftCounts[p], rightCounts[r])
+                    ) {
+                        rotateRight(r);
+                    }
+                    rotateLeft(p);
+                    p = parents[p];
+                }
+            } else {
+                rightCounts[p]--;
+                rights[p] = child;
+                if (unbalanced(leftCounts[p], rightCounts[p])) {
+                    int l = lefts[p];
+                    if (
+                            unbalanced(rightCounts[l], rightCounts[p])
+                            || unbalanced(rightCounts[l] + 1 + rightCounts[p], leftCounts[l])
+                    ) {
+                        rotateLeft(l);
+                    }
+                    rotateRight(p);
+                    p = parents[p];
+                }
+            }
+            removalBalance(p);
+        } else {
+            root = child;
+        }
+        size--;
+    }
+    
+    private void removalBalance(int node) {
+        for (int p; (p = parents[node]) != NIL; ) {
+            if (lefts[p] == node) {
+                leftCounts[p]--;
+                if (unbalanced(rightCounts[p], leftCounts[p])) {
+                    int r = rights[p];
+                    if (
+                            unbalanced(leftCounts[r], leftCounts[p])
+                            || unbalanced(leftCounts[r] + 1 + leftCounts[p], rightCounts[r])
+                    ) {
+                        rotateRight(r);
+                    }
+                    rotateLeft(p);
+                    node = parents[p];
+                } else {
+                    node = p;
+                }
+            } else {
+                rightCounts[p]--;
+                if (unbalanced(leftCounts[p], rightCounts[p])) {
+                    int l = lefts[p];
+                    if (
+                            unbalanced(rightCounts[l], rightCounts[p])
+                            || unbalanced(rightCounts[l] + 1 + rightCounts[p], leftCounts[l])
+                    ) {
+                        rotateLeft(l);
+                    }
+                    rotateRight(p);
+                    node = parents[p];
+                } else {
+                    node = p;
+                }
+            }
+        }
+        root = node;
+    }
+    
+    /**
+     * Removes all values in {@code O(1)}: the arrays are kept for next additions.
+     */
+    public void clear() {
+        root = NIL;
+        size = 0;
+        allocated = 0;
+        free = NIL;
+    }
+    
+    /**
+     * Passes handles of the nodes to the action in the order of the values.
+     * @param action to be performed on each node
+     */
+    public void forEachNode(IntConsumer action) {
+        for (int node = getNodeFirst(); node != NIL; node = successor(node)) {
+            action.accept(node);
+        }
+    }
+    
+    public void forEach(IntConsumer action) {
+        for (int node = getNodeFirst(); node != NIL; node = successor(node)) {
+            action.accept(values[node]);
+        }
+    }
+    
+    /**
+     * Returns an iterator that walks by parent links and needs no stack.
+     * @return an iterator over the values in the sorted order
+     */
+    public IteratorInt iterator() {
+        return new IteratorInt() {
+            private int next = getNodeFirst();
+            @Override public boolean hasNext() {
+                return next != NIL;
+            }
+            @Override public int next() {
+                if (next == NIL) {
+                    throw new NoSuchElementException("there is no more elements");
+                }
+                int found = next;
+                next = successor(found);
+                return values[found];
+            }
+        };
+    }
+    
+    public int[] toArray() {
+        int[] array = new int[size];
+        int arrayN = 0;
+        for (int node = getNodeFirst(); node != NIL; node = successor(node)) {
+            array[arrayN++] = values[node];
+        }
+        return array;
+    }
+    
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        for (int node = getNodeFirst(); node != NIL; node = successor(node)) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(values[node]);
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+    
+    private int newNode(int value, int p) {
+        int node;
+        if (free != NIL) {
+            node = free;
+            free = lefts[node];
+        } else {
+            if (allocated == values.length) {
+                grow();
+            }
+            node = allocated++;
+        }
+        values[node] = value;
+        leftCounts[node] = 0;
+        rightCounts[node] = 0;
+        parents[node] = p;
+        lefts[node] = NIL;
+        rights[node] = NIL;
+        return node;
+    }
+    
+    private void freeNode(int node) {
+        parents[node] = rights[node] = NIL;
+        lefts[node] = free;
+        free = node;
+    }
+    
+    private void grow() {
+        if (values.length == MAX_CAPACITY) {
+            throw new IllegalStateException("the pool is full");
+        }
+        int capacity = values.length < DEFAULT_CAPACITY ? DEFAULT_CAPACITY
+                : (int)Math.min(MAX_CAPACITY, 2L * values.length);
+        values = Arrays.copyOf(values, capacity);
+        leftCounts = Arrays.copyOf(leftCounts, capacity);
+        rightCounts = Arrays.copyOf(rightCounts, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        lefts = Arrays.copyOf(lefts, capacity);
+        rights = Arrays.copyOf(rights, capacity);
+    }
+    
+    private int successor(int node) {
+        if (rights[node] != NIL) {
+            node = rights[node];
+            while (lefts[node] != NIL) {
+                node = lefts[node];
+            }
+            return node;
+        }
+        int p;
+        while ((p = parents[node]) != NIL && rights[p] == node) {
+            node = p;
+        }
+        return p;
+    }
+    
+    private void rotateLeft(int node) {
+        // counts
+        int r = rights[node];
+        rightCounts[node] = leftCounts[r];
+        leftCounts[r] += 1 + leftCounts[node];
+        // nodes
+        int p = parents[node];
+        parents[r] = p;
+        if (p != NIL) {
+            if (lefts[p] == node) {
+                lefts[p] = r;
+            } else {
+                rights[p] = r;
+            }
+        }
+        rights[node] = lefts[r];
+        if (lefts[r] != NIL) {
+            parents[lefts[r]] = node;
+        }
+        parents[node] = r;
+        lefts[r] = node;
+    }
+    
+    private void rotateRight(int node) {
+        // counts
+        int l = lefts[node];
+        leftCounts[node] = rightCounts[l];
+        rightCounts[l] += 1 + rightCounts[node];
+        // nodes
+        int p = parents[node];
+        parents[l] = p;
+        if (p != NIL) {
+            if (lefts[p] == node) {
+                lefts[p] = l;
+            } else {
+                rights[p] = l;
+            }
+        }
+        lefts[node] = rights[l];
+        if (rights[l] != NIL) {
+            parents[rights[l]] = node;
+        }
+        parents[node] = l;
+        rights[l] = node;
+    }
+
+}
@@ -0,0 +1,311 @@
+package druyaned.alg.util.t03bintree.cbt;
+
+import druyaned.alg.util.t03bintree.cbt.CBTree.Node;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe wrapper of a {@link CBTree} for a read-mostly sharing,
+ * e.g. a leaderboard with rank queries from many threads.
+ * Writes are serialized by the write lock of a {@link StampedLock}.
+ * Reads go down the tree under an optimistic stamp without blocking
+ * and without a write to shared memory; if a write has happened meanwhile,
+ * the read is repeated under the read lock.
+ *
+ * <P>
+ * A reader may see the tree in the middle of a rotation, so the reading
+ * methods walk the nodes themselves: the depth of a walk is bounded
+ * (a path of a count-balance tree is shorter than {@code 3*log2(n)}) and
+ * any exception is treated as a failed optimistic read unless the stamp
+ * is still valid.
+ *
+ * <P><i>Example</i>:<br><code>
+ * ConcurrentCBTree&lt;Integer&gt; scores<br>
+ * &nbsp;&nbsp;= new ConcurrentCBTree&lt;&gt;(new CBMTree&lt;&gt;(Integer::compare));<br>
+ * scores.add(score); // in a writer<br>
+ * int rank = scores.size() - scores.getIndexGreater(score); // in readers
+ * </code>
+ *
+ * @author druyaned
+ * @param <T> type of value maintained by the tree
+ * @see CBTree
+ */
+public class ConcurrentCBTree<T> {
+    
+    private static final int MAX_DEPTH = 256;
+    private static final RuntimeException TOO_DEEP = new IllegalStateException(
+            "the walk is too deep, the tree is being modified") {
+        @Override public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    };
+    
+    private final CBTree<T> tree;
+    private final Comparator<T> comp;
+    private final StampedLock lock = new StampedLock();
+    
+    /**
+     * Wraps the tree, which must not be accessed directly afterwards.
+     * @param tree to be wrapped, e.g. an empty {@link CBTree.CBSTree}
+     *      or {@link CBTree.CBMTree}
+     */
+    public ConcurrentCBTree(CBTree<T> tree) {
+        if (tree == null) {
+            throw new NullPointerException("tree can't be null");
+        }
+        this.tree = tree;
+        this.comp = tree.comp;
+    }
+    
+    //-Reading-------------------------------------------------------------------------------------
+    
+    public int size() {
+        return readInt(() -> tree.size);
+    }
+    
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    public boolean contains(T value) {
+        return read(() -> find(value) != null);
+    }
+    
+    /**
+     * Returns value at the specified index.
+     * @param index to get a value; belongs to <code>[0, size-1]</code>
+     * @return value at the specified index
+     * @throws IndexOutOfBoundsException if the index is out of {@code [0, size)}
+     */
+    public T getAt(int index) {
+        return read(() -> nodeAt(index).value());
+    }
+    
+    /**
+     * Returns the first value or {@code null} if the tree is empty.
+     * @return the first value or {@code null} if the tree is empty
+     */
+    public T getFirst() {
+        return read(() -> tree.size != 0 ? nodeAt(0).value() : null);
+    }
+    
+    /**
+     * Returns the last value or {@code null} if the tree is empty.
+     * @return the last value or {@code null} if the tree is empty
+     */
+    public T getLast() {
+        return read(() -> tree.size != 0 ? nodeAt(tree.size - 1).value() : null);
+    }
+    
+    /**
+     * Same as {@link CBTree#getIndexLess(Object)}.
+     * @param value to get the index
+     * @return index of the last value that is less than the given one or {@code -1}
+     */
+    public int getIndexLess(T value) {
+        return readInt(() -> countLess(value, false) - 1);
+    }
+    
+    /**
+     * Same as {@link CBTree#getIndexLessEq(Object)}.
+     * @param value to get the index
+     * @return index of the last value that is less than or equal to the given one
+     *      or {@code -1}
+     */
+    public int getIndexLessEq(T value) {
+        return readInt(() -> countLess(value, true) - 1);
+    }
+    
+    /**
+     * Same as {@link CBTree#getIndexGreater(Object)}.
+     * @param value to get the index
+     * @return index of the first value that is greater than the given one
+     *      or {@code size}
+     */
+    public int getIndexGreater(T value) {
+        return readInt(() -> countLess(value, true));
+    }
+    
+    /**
+     * Same as {@link CBTree#getIndexGreaterEq(Object)}.
+     * @param value to get the index
+     * @return index of the first value that is greater than or equal to the given one
+     *      or {@code size}
+     */
+    public int getIndexGreaterEq(T value) {
+        return readInt(() -> countLess(value, false));
+    }
+    
+    /**
+     * Returns all values in an ascending order; takes the read lock
+     * for <code><b>O(n)</b></code>, so writers wait.
+     * @return all values in an ascending order
+     */
+    public List<T> snapshot() {
+        long stamp = lock.readLock();
+        try {
+            return new ArrayList<>(tree);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    //-Writing-------------------------------------------------------------------------------------
+    
+    public boolean add(T value) {
+        return write(t -> t.add(value));
+    }
+    
+    public boolean remove(T value) {
+        return write(t -> t.remove(value));
+    }
+    
+    public T removeAt(int index) {
+        return write(t -> t.removeAt(index));
+    }
+    
+    public boolean addAll(Collection<? extends T> values) {
+        return write(t -> t.addAll(values));
+    }
+    
+    public void clear() {
+        write(t -> {
+            t.clear();
+            return null;
+        });
+    }
+    
+    /**
+     * Applies the action to the wrapped tree under the write lock,
+     * so a batch of modifications takes the lock once
+     * and readers never see a part of it.
+     *
+     * @param <R> type of the result
+     * @param action to be applied to the tree; must not keep the tree
+     * @return the result of the action
+     */
+    public <R> R write(Function<CBTree<T>, R> action) {
+        long stamp = lock.writeLock();
+        try {
+            return action.apply(tree);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+    
+    @Override public String toString() {
+        long stamp = lock.readLock();
+        try {
+            return tree.toString();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    //-Private-methods-----------------------------------------------------------------------------
+    
+    private <R> R read(Supplier<R> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                R result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException exception) {
+                if (lock.validate(stamp)) {
+                    throw exception;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    // the same as read, but without boxing
+    private int readInt(IntSupplier reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                int result = reader.getAsInt();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException exception) {
+                if (lock.validate(stamp)) {
+                    throw exception;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.getAsInt();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    private Node<T> find(T value) {
+        Node<T> node = tree.root;
+        for (int depth = 0; node != null; depth++) {
+            throwIfTooDeep(depth);
+            int comparison = comp.compare(node.value(), value);
+            if (comparison == 0) {
+                return node;
+            }
+            node = comparison < 0 ? node.right() : node.left();
+        }
+        return null;
+    }
+    
+    private Node<T> nodeAt(int index) {
+        if (index < 0 || tree.size <= index) {
+            throw new IndexOutOfBoundsException("size=" + tree.size + " index=" + index);
+        }
+        Node<T> node = tree.root;
+        for (int depth = 0; node.leftCount() != index; depth++) {
+            throwIfTooDeep(depth);
+            if (node.leftCount() < index) {
+                index -= node.leftCount() + 1;
+                node = node.right();
+            } else {
+                node = node.left();
+            }
+        }
+        return node;
+    }
+    
+    // number of values that are less (or equal if orEqual is set) than the given one
+    private int countLess(T value, boolean orEqual) {
+        int count = 0;
+        Node<T> node = tree.root;
+        for (int depth = 0; node != null; depth++) {
+            throwIfTooDeep(depth);
+            int comparison = comp.compare(node.value(), value);
+            if (comparison < 0 || orEqual && comparison == 0) {
+                count += node.leftCount() + 1;
+                node = node.right();
+            } else {
+                node = node.left();
+            }
+        }
+        return count;
+    }
+    
+    private static void throwIfTooDeep(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw TOO_DEEP;
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package druyaned.alg.util.t03bintree.cbt;
+
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Associative aggregate of values that a {@link CBTree} can maintain
+ * in each node for its subtree, e.g. a sum, a minimum or a maximum.
+ * The aggregate of values {@code v1, v2, ..., vk} in the ascending order is
+ * {@code combine(...combine(combine(lift(v1), lift(v2)), ...), lift(vk))},
+ * so {@code combine} must be associative and {@code identity()} must be
+ * its neutral element, but {@code combine} doesn't need to be commutative.
+ *
+ * <P><i>Example</i>:<br><code>
+ * Monoid&lt;Integer, Long&gt; sum = Monoid.of(0L, Integer::longValue, Long::sum);<br>
+ * CBSTree&lt;Integer&gt; tree = new CBSTree&lt;&gt;(Integer::compare, sum);<br>
+ * long s = tree.aggregateAt(sum, 2, 5);
+ * </code>
+ *
+ * @author druyaned
+ * @param <T> type of value maintained by the tree
+ * @param <A> type of the aggregate
+ * @see CBTree#aggregateAt(Monoid, int, int)
+ */
+public interface Monoid<T, A> {
+    
+    /**
+     * Returns the aggregate of no values.
+     * @return the aggregate of no values
+     */
+    A identity();
+    
+    /**
+     * Returns the aggregate of the single value.
+     * @param value to be aggregated
+     * @return the aggregate of the single value
+     */
+    A lift(T value);
+    
+    /**
+     * Combines the aggregates of two adjacent ranges.
+     * @param left aggregate of the lesser values
+     * @param right aggregate of the greater values
+     * @return the aggregate of both ranges
+     */
+    A combine(A left, A right);
+    
+    /**
+     * Creates the monoid from the given functions.
+     *
+     * @param <T> type of value maintained by the tree
+     * @param <A> type of the aggregate
+     * @param identity the aggregate of no values
+     * @param lift converts a value to its aggregate
+     * @param combine combines aggregates of adjacent ranges
+     * @return the monoid from the given functions
+     */
+    static <T, A> Monoid<T, A> of(A identity, Function<? super T, ? extends A> lift,
+            BinaryOperator<A> combine) {
+        return new Monoid<>() {
+            @Override public A identity() {
+                return identity;
+            }
+            @Override public A lift(T value) {
+                return lift.apply(value);
+            }
+            @Override public A combine(A left, A right) {
+                return combine.apply(left, right);
+            }
+        };
+    }
+
+}
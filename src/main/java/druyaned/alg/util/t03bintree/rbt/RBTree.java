@@ -1,6 +1,12 @@
 package druyaned.alg.util.t03bintree.rbt;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 import java.util.TreeMap;
 import java.util.function.Consumer;
 
@@ -14,6 +20,13 @@ import java.util.function.Consumer;
  * in case of the insertion or removal. The balance is achieved through
  * left- or right-rotation of the {@link Node}. Decision of the rotation
  * is made according to the color of the nearest nodes.
+ *
+ * <P>Each node also keeps the {@link Node#count() count} of its subtree,
+ * which is maintained by the rotations, so {@link #getAt}, {@link #indexOf},
+ * {@link #countLess} and {@link #countInRange} take O(log(n)) as well.
+ * Iterators walk by parent links, so they take O(1) memory, and may start
+ * at an {@link #iterator(int) index} or cover a {@link #iterator(Object, Object)
+ * range} in both directions.
  * 
  * <P><i>Properties</i><ol>
  *  <li>Every node is either red or black.</li>
@@ -46,7 +59,7 @@ import java.util.function.Consumer;
  * @param <T> type of value maintained by the tree
  * @see Node
  */
-public class RBTree<T> {
+public class RBTree<T> implements Iterable<T> {
     
     private Node<T> root = null;
     private int size = 0;
@@ -60,6 +73,67 @@ public class RBTree<T> {
         this.comp = comp;
     }
     
+    /**
+     * Creates a Red-Black Tree from the strictly ascending values
+     * in O(n) without rotations. The middle value becomes the root
+     * and both halves are built the same way, so all levels but the last
+     * are full; nodes of the last level are red and the others are black,
+     * which gives the same number of black nodes on every path.
+     *
+     * @param <T> type of value maintained by the tree
+     * @param values strictly ascending according to the comparator
+     * @param comp to compare values
+     * @return the tree of the values
+     * @throws IllegalArgumentException if the values are not strictly ascending
+     */
+    public static <T> RBTree<T> fromSorted(T[] values, Comparator<T> comp) {
+        return fromSorted(Arrays.asList(values), comp);
+    }
+    
+    /**
+     * Creates a Red-Black Tree from the strictly ascending values in O(n).
+     *
+     * @param <T> type of value maintained by the tree
+     * @param values strictly ascending according to the comparator
+     * @param comp to compare values
+     * @return the tree of the values
+     * @throws IllegalArgumentException if the values are not strictly ascending
+     * @see #fromSorted(Object[], Comparator)
+     */
+    public static <T> RBTree<T> fromSorted(List<? extends T> values, Comparator<T> comp) {
+        if (!(values instanceof RandomAccess)) {
+            values = new ArrayList<>(values);
+        }
+        final int n = values.size();
+        for (int i = 0; i < n; i++) {
+            if (values.get(i) == null) {
+                throw new NullPointerException("value at index=" + i + " is null");
+            }
+            if (i > 0 && comp.compare(values.get(i - 1), values.get(i)) >= 0) {
+                throw new IllegalArgumentException("values are not sorted at index=" + i);
+            }
+        }
+        RBTree<T> tree = new RBTree<>(comp);
+        int redDepth = n > 1 ? 31 - Integer.numberOfLeadingZeros(n) : -1;
+        tree.root = buildSorted(values, 0, n, null, 0, redDepth);
+        tree.size = n;
+        return tree;
+    }
+    
+    private static <T> Node<T> buildSorted(List<? extends T> values, int from, int to,
+            Node<T> parent, int depth, int redDepth) {
+        if (from == to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        Color color = depth == redDepth ? Color.RED : Color.BLACK;
+        Node<T> node = new Node<>(values.get(mid), color, parent);
+        node.count = to - from;
+        node.left = buildSorted(values, from, mid, node, depth + 1, redDepth);
+        node.right = buildSorted(values, mid + 1, to, node, depth + 1, redDepth);
+        return node;
+    }
+    
     /**
      * Returns root of the tree.
      * @return root of the tree
@@ -228,6 +302,119 @@ public class RBTree<T> {
         return greater;
     }
     
+    /**
+     * Returns node with the value at the index in the sorted order;
+     * uses {@link Node#count() counts} of subtrees, complexity is O(log(n)).
+     *
+     * @param index of the value in the sorted order
+     * @return node with the value at the index in the sorted order
+     * @throws IndexOutOfBoundsException if the index is out of {@code [0, size)}
+     */
+    public Node<T> getNodeAt(int index) {
+        if (index < 0 || size <= index) {
+            throw new IndexOutOfBoundsException("size=" + size + " index=" + index);
+        }
+        Node<T> node = root;
+        for (int leftCount; (leftCount = Node.count(node.left)) != index; ) {
+            if (leftCount < index) {
+                index -= leftCount + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return node;
+    }
+    
+    /**
+     * Returns value at the index in the sorted order; complexity is O(log(n)).
+     * @param index of the value in the sorted order
+     * @return value at the index in the sorted order
+     * @throws IndexOutOfBoundsException if the index is out of {@code [0, size)}
+     */
+    public T getAt(int index) {
+        return getNodeAt(index).value;
+    }
+    
+    /**
+     * Returns index of the value in the sorted order or {@code -1}
+     * if there is no such value; complexity is O(log(n)).
+     *
+     * @param value to find the index
+     * @return index of the value in the sorted order or {@code -1}
+     *      if there is no such value
+     */
+    public int indexOf(T value) {
+        int less = 0;
+        for (Node<T> node = root; node != null; ) {
+            int comparison = comp.compare(node.value, value);
+            if (comparison < 0) {
+                less += Node.count(node.left) + 1;
+                node = node.right;
+            } else if (comparison > 0) {
+                node = node.left;
+            } else {
+                return less + Node.count(node.left);
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Returns number of values that are less than the given value;
+     * complexity is O(log(n)).
+     *
+     * @param value to compare with
+     * @return number of values that are less than the given value
+     */
+    public int countLess(T value) {
+        int less = 0;
+        for (Node<T> node = root; node != null; ) {
+            if (comp.compare(node.value, value) < 0) {
+                less += Node.count(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return less;
+    }
+    
+    /**
+     * Returns number of values that are less than or equal to the given value;
+     * complexity is O(log(n)).
+     *
+     * @param value to compare with
+     * @return number of values that are less than or equal to the given value
+     */
+    public int countLessEq(T value) {
+        int lessEq = 0;
+        for (Node<T> node = root; node != null; ) {
+            if (comp.compare(node.value, value) <= 0) {
+                lessEq += Node.count(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return lessEq;
+    }
+    
+    /**
+     * Returns number of values in the closed range {@code [lo, hi]}
+     * or {@code 0} if {@code lo > hi}; complexity is O(log(n)).
+     *
+     * @param lo the lowest value of the range, inclusive
+     * @param hi the highest value of the range, inclusive
+     * @return number of values in the closed range {@code [lo, hi]}
+     */
+    public int countInRange(T lo, T hi) {
+        if (comp.compare(lo, hi) > 0) {
+            return 0;
+        }
+        return countLessEq(hi) - countLess(lo);
+    }
+    
     /**
      * Returns the first (leftmost) value of the tree.
      * @return first (leftmost) value of the tree
@@ -291,20 +478,8 @@ public class RBTree<T> {
      * @param action to be accepted to each node in the tree
      */
     public void forEachNode(Consumer<Node<T>> action) {
-        Object[] stack = new Object[size];
-        int stackN = 0;
-        for (Node<T> node = root; node != null; ) {
-            stack[stackN++] = node;
-            node = node.left;
-        }
-        while (stackN > 0) {
-            Node<T> node = (Node<T>)stack[--stackN];
+        for (Node<T> node = getNodeFirst(); node != null; node = successor(node)) {
             action.accept(node);
-            node = node.right;
-            while (node != null) {
-                stack[stackN++] = node;
-                node = node.left;
-            }
         }
     }
     
@@ -312,10 +487,126 @@ public class RBTree<T> {
      * Accepts the given action to each value in the tree.
      * @param action to be accepted to each value in the tree
      */
-    public void forEach(Consumer<T> action) {
+    @Override public void forEach(Consumer<? super T> action) {
         forEachNode(node -> action.accept(node.value));
     }
     
+    /**
+     * Returns the iterator over all values in an ascending order.
+     * @return the iterator over all values in an ascending order
+     */
+    @Override public Iterator<T> iterator() {
+        return new RBTreeIterator<>(getNodeFirst(), size, false);
+    }
+    
+    /**
+     * Returns the iterator over values starting at the index
+     * in an ascending order; the start is found in O(log(n)).
+     *
+     * @param fromIndex index of the first value, {@code size} gives an empty iterator
+     * @return the iterator over values starting at the index
+     * @throws IndexOutOfBoundsException if the index is out of {@code [0, size]}
+     */
+    public Iterator<T> iterator(int fromIndex) {
+        if (fromIndex < 0 || size < fromIndex) {
+            throw new IndexOutOfBoundsException("size=" + size + " fromIndex=" + fromIndex);
+        }
+        Node<T> first = fromIndex < size ? getNodeAt(fromIndex) : null;
+        return new RBTreeIterator<>(first, size - fromIndex, false);
+    }
+    
+    /**
+     * Returns the iterator over values of {@code [fromValue, toValue)}
+     * in an ascending order; the bounds are found in O(log(n)).
+     *
+     * @param fromValue the lowest value, inclusive
+     * @param toValue the highest value, exclusive
+     * @return the iterator over values of {@code [fromValue, toValue)}
+     */
+    public Iterator<T> iterator(T fromValue, T toValue) {
+        int fromIndex = countLess(fromValue);
+        int count = countLess(toValue) - fromIndex;
+        return count > 0
+                ? new RBTreeIterator<>(getNodeAt(fromIndex), count, false)
+                : new RBTreeIterator<>(null, 0, false);
+    }
+    
+    /**
+     * Returns the iterator over all values in a descending order.
+     * @return the iterator over all values in a descending order
+     */
+    public Iterator<T> descendingIterator() {
+        return new RBTreeIterator<>(getNodeLast(), size, true);
+    }
+    
+    /**
+     * Returns the iterator over values of {@code [fromValue, toValue)}
+     * in a descending order, so the first one is the greatest.
+     *
+     * @param fromValue the lowest value, inclusive
+     * @param toValue the highest value, exclusive
+     * @return the iterator over values of {@code [fromValue, toValue)}
+     *      in a descending order
+     */
+    public Iterator<T> descendingIterator(T fromValue, T toValue) {
+        int toIndex = countLess(toValue);
+        int count = toIndex - countLess(fromValue);
+        return count > 0
+                ? new RBTreeIterator<>(getNodeAt(toIndex - 1), count, true)
+                : new RBTreeIterator<>(null, 0, true);
+    }
+    
+    private static <T> Node<T> successor(Node<T> node) {
+        if (node.right != null) {
+            for (node = node.right; node.left != null; node = node.left) {}
+            return node;
+        }
+        Node<T> p = node.parent;
+        while (p != null && p.right == node) {
+            node = p;
+            p = p.parent;
+        }
+        return p;
+    }
+    
+    private static <T> Node<T> predecessor(Node<T> node) {
+        if (node.left != null) {
+            for (node = node.left; node.right != null; node = node.right) {}
+            return node;
+        }
+        Node<T> p = node.parent;
+        while (p != null && p.left == node) {
+            node = p;
+            p = p.parent;
+        }
+        return p;
+    }
+    
+    // iterates over the given count of nodes starting from the given one
+    private static class RBTreeIterator<T> implements Iterator<T> {
+        private final boolean descending;
+        private Node<T> node;
+        private int remaining;
+        private RBTreeIterator(Node<T> first, int count, boolean descending) {
+            this.descending = descending;
+            this.node = first;
+            this.remaining = count;
+        }
+        @Override public boolean hasNext() {
+            return remaining > 0;
+        }
+        @Override public T next() {
+            if (remaining == 0) {
+                throw new NoSuchElementException("there is no more elements");
+            }
+            Node<T> found = node;
+            if (--remaining > 0) {
+                node = descending ? predecessor(found) : successor(found);
+            }
+            return found.value;
+        }
+    }
+    
     /**
      * Inserts a node of the value into the tree if there hasn't been such value.
      * 
@@ -451,6 +742,9 @@ public class RBTree<T> {
                 return false;
             }
         } while (node != null);
+        for (Node<T> p = parent; p != null; p = p.parent) {
+            p.count++;
+        }
         if (comparison < 0) {
             parent.right = Node.newNode(value, parent);
             insertionBalance(parent.right);
@@ -694,6 +988,11 @@ public class RBTree<T> {
             }
         }
         found.value = limit.value;
+        // the limit stays attached while balancing, so it counts as nothing
+        limit.count = 0;
+        for (Node<T> p = limit.parent; p != null; p = p.parent) {
+            p.count--;
+        }
         deleteLimit(limit);
         limit.clear();
         size--;
@@ -839,29 +1138,12 @@ public class RBTree<T> {
     @Override public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append('{');
-        Object[] stack = new Object[size];
-        int stackN = 0;
-        for (Node<T> node = root; node != null; ) {
-            stack[stackN++] = node;
-            node = node.left;
-        }
-        if (stackN > 0) {
-            Node<T> node = (Node<T>)stack[--stackN];
-            sb.append(node.value);
-            node = node.right;
-            while (node != null) {
-                stack[stackN++] = node;
-                node = node.left;
-            }
+        Iterator<T> iter = iterator();
+        if (iter.hasNext()) {
+            sb.append(iter.next());
         }
-        while (stackN > 0) {
-            Node<T> node = (Node<T>)stack[--stackN];
-            sb.append(", ").append(node.value);
-            node = node.right;
-            while (node != null) {
-                stack[stackN++] = node;
-                node = node.left;
-            }
+        while (iter.hasNext()) {
+            sb.append(", ").append(iter.next());
         }
         sb.append('}');
         return sb.toString();
@@ -909,10 +1191,12 @@ public class RBTree<T> {
     public static class Node<T> {
         private T value;
         private Color color;
+        private int count;
         private Node<T> parent, left, right;
         private Node(T value, Color color, Node<T> parent) {
             this.value = value;
             this.color = color;
+            this.count = 1;
             this.parent = parent;
             this.left = null;
             this.right = null;
@@ -923,6 +1207,9 @@ public class RBTree<T> {
         private static <T> Node<T> newNode(T value, Node<T> parent) {
             return new Node<>(value, Color.RED, parent);
         }
+        private static <T> int count(Node<T> node) {
+            return node == null ? 0 : node.count;
+        }
         private static <T> boolean isBlack(Node<T> node) {
             return node == null || node.color == Color.BLACK;
         }
@@ -957,6 +1244,8 @@ public class RBTree<T> {
          */
         private void rotateLeft() {
             Node<T> r = right;
+            r.count = count;
+            count -= 1 + count(r.right);
             r.parent = parent;
             if (parent != null) {
                 if (parent.left == this) {
@@ -984,6 +1273,8 @@ public class RBTree<T> {
          */
         private void rotateRight() {
             Node<T> l = left;
+            l.count = count;
+            count -= 1 + count(l.left);
             l.parent = parent;
             if (parent != null) {
                 if (parent.left == this) {
@@ -1005,6 +1296,13 @@ public class RBTree<T> {
         public Color color() {
             return color;
         }
+        /**
+         * Returns number of nodes in the subtree of this node, including itself.
+         * @return number of nodes in the subtree of this node
+         */
+        public int count() {
+            return count;
+        }
         public Node<T> parent() {
             return parent;
         }
@@ -0,0 +1,384 @@
+package druyaned.alg.util.t04io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Token reader that parses numbers straight from bytes.
+ * A file that fits into one buffer is mapped by {@link FileChannel#map},
+ * any other source is read through a direct {@link ByteBuffer}.
+ *
+ * <P>Only {@link #readToken()}, {@link #readLine()} and rare long
+ * doubles allocate objects, the rest of the methods are allocation-free.
+ *
+ * <P><i>Example</i>:<br><code>
+ * try (FastInput in = new FastInput(Path.of("input.txt"))) {<br>
+ * &nbsp;&nbsp;int n = in.readInt();<br>
+ * &nbsp;&nbsp;long x = in.readLong();<br>
+ * }</code>
+ *
+ * @author druyaned
+ */
+public class FastInput implements Closeable {
+    
+    public static final int BUFFER_SIZE = 1 << 16;
+    
+    private static final int EOF = -1;
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+        1e21, 1e22
+    };
+    
+    private final ReadableByteChannel channel; // null if everything is in the buffer
+    private final boolean owned; // the channel is closed with the input
+    private final ByteBuffer buffer;
+    private byte[] token = new byte[64];
+    
+    /**
+     * Opens the file and maps it into memory,
+     * or streams it if it is larger than 2GB.
+     *
+     * @param path of the file to read
+     * @throws IOException if the file can't be opened or mapped
+     */
+    public FastInput(Path path) throws IOException {
+        FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+        long size = fileChannel.size();
+        if (size <= Integer.MAX_VALUE) {
+            try (fileChannel) {
+                buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+            }
+            channel = null;
+        } else {
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).limit(0);
+            channel = fileChannel;
+        }
+        owned = true;
+    }
+    
+    /**
+     * Reads the stream through a direct buffer,
+     * e.g. {@code new FastInput(System.in)}.
+     * The stream is not closed by {@link #close}.
+     *
+     * @param in stream to read
+     */
+    public FastInput(InputStream in) {
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).limit(0);
+        channel = Channels.newChannel(in);
+        owned = false;
+    }
+    
+    /**
+     * Reads the given bytes; useful in tests.
+     *
+     * @param bytes to read
+     */
+    public FastInput(byte[] bytes) {
+        buffer = ByteBuffer.wrap(bytes);
+        channel = null;
+        owned = false;
+    }
+    
+    /**
+     * Reads the given string as UTF-8 bytes; useful in tests.
+     *
+     * @param s to read
+     */
+    public FastInput(String s) {
+        this(s.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    //-Reading-------------------------------------------------------------------------------------
+    
+    /**
+     * Reads the next byte.
+     *
+     * @return the next byte as {@code 0..255} or {@code -1} at the end of input
+     * @throws IOException if an I/O error occurs
+     */
+    public int read() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return EOF;
+        }
+        return buffer.get() & 0xff;
+    }
+    
+    /**
+     * Skips whitespaces and tells if there is one more token.
+     *
+     * @return {@code true} if there is one more token
+     * @throws IOException if an I/O error occurs
+     */
+    public boolean hasNext() throws IOException {
+        int b = skipWhitespaces();
+        if (b == EOF) {
+            return false;
+        }
+        buffer.position(buffer.position() - 1);
+        return true;
+    }
+    
+    public int readInt() throws IOException {
+        long value = readLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("int overflow: " + value);
+        }
+        return (int)value;
+    }
+    
+    public long readLong() throws IOException {
+        int b = skipWhitespaces();
+        if (b == EOF) {
+            throw new NumberFormatException("empty input");
+        }
+        boolean negative = b == '-';
+        if (b == '-' || b == '+') {
+            b = read();
+        }
+        if (!isDigit(b)) {
+            throw new NumberFormatException("not a number at byte '" + (char)b + "'");
+        }
+        long value = 0L; // accumulated negatively to fit Long.MIN_VALUE
+        do {
+            int digit = b - '0';
+            if (value < (Long.MIN_VALUE + digit) / 10L) {
+                throw new NumberFormatException("long overflow");
+            }
+            value = value * 10L - digit;
+        } while (isDigit(b = read()));
+        skipTerminator(b);
+        if (!negative) {
+            if (value == Long.MIN_VALUE) {
+                throw new NumberFormatException("long overflow");
+            }
+            value = -value;
+        }
+        return value;
+    }
+    
+    /**
+     * Reads a double in a plain or scientific notation.
+     * Up to 15 significant digits and decimal exponents up to 22
+     * are converted exactly without allocations, others fall back
+     * to {@link Double#parseDouble(String)}.
+     *
+     * @return the next double
+     * @throws IOException if an I/O error occurs
+     */
+    public double readDouble() throws IOException {
+        int length = readToken(0);
+        if (length == 0) {
+            throw new NumberFormatException("empty input");
+        }
+        int i = 0;
+        boolean negative = token[0] == '-';
+        if (token[0] == '-' || token[0] == '+') {
+            i++;
+        }
+        long mantissa = 0L;
+        boolean anyDigit = false;
+        int digits = 0;
+        int exponent = 0;
+        boolean point = false;
+        boolean exact = true;
+        for (; i < length; i++) {
+            byte b = token[i];
+            if (isDigit(b)) {
+                anyDigit = true;
+                if (mantissa != 0L || b != '0') {
+                    digits++;
+                }
+                mantissa = mantissa * 10L + (b - '0');
+                if (point) {
+                    exponent--;
+                }
+            } else if (b == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (i < length) {
+            if (token[i] != 'e' && token[i] != 'E') {
+                exact = false;
+            } else {
+                i++;
+                boolean expNegative = i < length && token[i] == '-';
+                if (i < length && (token[i] == '-' || token[i] == '+')) {
+                    i++;
+                }
+                int e = 0;
+                for (; i < length && isDigit(token[i]) && e < 10_000; i++) {
+                    e = e * 10 + (token[i] - '0');
+                }
+                exponent += expNegative ? -e : e;
+                exact = i == length;
+            }
+        }
+        if (exact && anyDigit && digits <= MAX_EXACT_DIGITS && -22 <= exponent && exponent <= 22) {
+            double value = exponent < 0
+                    ? mantissa / POWERS_OF_TEN[-exponent]
+                    : mantissa * POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(new String(token, 0, length, StandardCharsets.US_ASCII));
+    }
+    
+    /**
+     * Reads the next whitespace-separated token into the given array.
+     *
+     * @param dst where to put the token
+     * @return length of the token or {@code 0} at the end of input
+     * @throws IOException if an I/O error occurs
+     * @throws IndexOutOfBoundsException if the token doesn't fit into {@code dst}
+     */
+    public int readToken(byte[] dst) throws IOException {
+        int b = skipWhitespaces();
+        int length = 0;
+        while (b != EOF && !isWhitespace(b)) {
+            dst[length++] = (byte)b;
+            b = read();
+        }
+        return length;
+    }
+    
+    /**
+     * Reads the next whitespace-separated token.
+     *
+     * @return the next token or {@code null} at the end of input
+     * @throws IOException if an I/O error occurs
+     */
+    public String readToken() throws IOException {
+        int length = readToken(0);
+        return length != 0 ? new String(token, 0, length, StandardCharsets.UTF_8) : null;
+    }
+    
+    /**
+     * Reads bytes of the rest of the line into the given array,
+     * the following {@code '\n'} is also read and {@code '\r'} is dropped.
+     *
+     * @param dst where to put the line
+     * @return length of the line or {@code -1} at the end of input
+     * @throws IOException if an I/O error occurs
+     * @throws IndexOutOfBoundsException if the line doesn't fit into {@code dst}
+     */
+    public int readLine(byte[] dst) throws IOException {
+        int b = read();
+        if (b == EOF) {
+            return EOF;
+        }
+        int length = 0;
+        while (b != EOF && b != '\n') {
+            dst[length++] = (byte)b;
+            b = read();
+        }
+        if (length > 0 && dst[length - 1] == '\r') {
+            length--;
+        }
+        return length;
+    }
+    
+    /**
+     * Reads the rest of the line, the following {@code '\n'} is also read.
+     *
+     * @return the line or {@code null} at the end of input
+     * @throws IOException if an I/O error occurs
+     */
+    public String readLine() throws IOException {
+        int b = read();
+        if (b == EOF) {
+            return null;
+        }
+        int length = 0;
+        while (b != EOF && b != '\n') {
+            putToToken(length++, b);
+            b = read();
+        }
+        if (length > 0 && token[length - 1] == '\r') {
+            length--;
+        }
+        return new String(token, 0, length, StandardCharsets.UTF_8);
+    }
+    
+    @Override public void close() throws IOException {
+        if (owned && channel != null) {
+            channel.close();
+        }
+    }
+    
+    //-Private-methods-----------------------------------------------------------------------------
+    
+    private boolean fill() throws IOException {
+        if (channel == null) {
+            return false;
+        }
+        buffer.clear();
+        int count;
+        do {
+            count = channel.read(buffer);
+        } while (count == 0);
+        buffer.flip();
+        return count > 0;
+    }
+    
+    // the whitespace after a number is read like after a token, the rest is returned back
+    private void skipTerminator(int b) throws IOException {
+        if (b == EOF) {
+            return;
+        }
+        if (!isWhitespace(b)) {
+            buffer.position(buffer.position() - 1);
+        } else if (b == '\r') {
+            int next = read();
+            if (next != EOF && next != '\n') {
+                buffer.position(buffer.position() - 1);
+            }
+        }
+    }
+    
+    private int skipWhitespaces() throws IOException {
+        int b;
+        while ((b = read()) != EOF && isWhitespace(b)) {}
+        return b;
+    }
+    
+    // reads the next token into the inner array starting at the offset
+    private int readToken(int offset) throws IOException {
+        int b = skipWhitespaces();
+        int length = offset;
+        while (b != EOF && !isWhitespace(b)) {
+            putToToken(length++, b);
+            b = read();
+        }
+        return length;
+    }
+    
+    private void putToToken(int index, int b) {
+        if (index == token.length) {
+            byte[] extended = new byte[token.length * 2];
+            System.arraycopy(token, 0, extended, 0, token.length);
+            token = extended;
+        }
+        token[index] = (byte)b;
+    }
+    
+    private static boolean isWhitespace(int b) {
+        return b <= ' ';
+    }
+    
+    private static boolean isDigit(int b) {
+        return '0' <= b && b <= '9';
+    }
+
+}
@@ -0,0 +1,287 @@
+package druyaned.alg.util.t04io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Output sink that formats primitives directly into a reusable byte buffer
+ * and flushes it to a channel, e.g. a {@link FileChannel}.
+ * Nothing is allocated per written number.
+ * Only a file opened by the output is closed by {@link #close},
+ * a given stream or channel is flushed and left open.
+ *
+ * <P><i>Example</i>:<br><code>
+ * try (FastOutput out = new FastOutput(Path.of("output.txt"))) {<br>
+ * &nbsp;&nbsp;out.writeInts(z, ' ');<br>
+ * &nbsp;&nbsp;out.writeln();<br>
+ * }</code>
+ *
+ * @author druyaned
+ */
+public class FastOutput implements Closeable, Flushable {
+    
+    public static final int BUFFER_SIZE = 1 << 16;
+    public static final int MAX_PRECISION = 18;
+    
+    private static final int MAX_LONG_LENGTH = 20; // with the sign
+    private static final double EXACT_SCALED = 0x1p48; // ulps of less values are below 1/16
+    private static final long[] POWERS_OF_TEN = new long[MAX_PRECISION + 1];
+    
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i <= MAX_PRECISION; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+        }
+    }
+    
+    private final WritableByteChannel channel;
+    private final boolean owned; // the channel is closed with the output
+    private final OutputStream stream; // flushed on close, null without a stream
+    private final byte[] bytes = new byte[BUFFER_SIZE];
+    private final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    private int size = 0;
+    
+    /**
+     * Creates or truncates the file and writes to it.
+     *
+     * @param path of the file to write
+     * @throws IOException if the file can't be opened
+     */
+    public FastOutput(Path path) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), true, null);
+    }
+    
+    /**
+     * Writes to the stream, e.g. {@code new FastOutput(System.out)}.
+     * The stream is flushed but not closed by {@link #close}.
+     *
+     * @param out stream to write
+     */
+    public FastOutput(OutputStream out) {
+        this(Channels.newChannel(out), false, out);
+    }
+    
+    /**
+     * Writes to the channel, which is not closed by {@link #close}.
+     *
+     * @param channel to write
+     */
+    public FastOutput(WritableByteChannel channel) {
+        this(channel, false, null);
+    }
+    
+    private FastOutput(WritableByteChannel channel, boolean owned, OutputStream stream) {
+        if (channel == null) {
+            throw new NullPointerException("channel can't be null");
+        }
+        this.channel = channel;
+        this.owned = owned;
+        this.stream = stream;
+    }
+    
+    //-Writing-------------------------------------------------------------------------------------
+    
+    /**
+     * Writes the char, that is expected to be an ASCII one.
+     *
+     * @param ch to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(char ch) throws IOException {
+        ensure(1);
+        bytes[size++] = (byte)ch;
+    }
+    
+    /**
+     * Writes the string in UTF-8.
+     *
+     * @param s to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(String s) throws IOException {
+        final int length = s.length();
+        for (int i = 0; i < length; i++) {
+            if (s.charAt(i) >= 0x80) {
+                writeBytes(s.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+        }
+        for (int i = 0; i < length; ) {
+            ensure(1);
+            int end = Math.min(length, i + bytes.length - size);
+            while (i < end) {
+                bytes[size++] = (byte)s.charAt(i++);
+            }
+        }
+    }
+    
+    public void writeln() throws IOException {
+        write('\n');
+    }
+    
+    public void writeln(String s) throws IOException {
+        write(s);
+        write('\n');
+    }
+    
+    public void writeInt(int value) throws IOException {
+        writeLong(value);
+    }
+    
+    public void writeLong(long value) throws IOException {
+        ensure(MAX_LONG_LENGTH);
+        if (value >= 0L) {
+            value = -value;
+        } else {
+            bytes[size++] = '-';
+        }
+        // digits are counted negatively to fit Long.MIN_VALUE
+        int length = 1;
+        for (long rest = value / 10L; rest != 0L; rest /= 10L) {
+            length++;
+        }
+        for (int i = size + length - 1; i >= size; i--) {
+            bytes[i] = (byte)('0' - (value % 10L));
+            value /= 10L;
+        }
+        size += length;
+    }
+    
+    /**
+     * Writes the double in a fixed-point notation as {@code "%.{precision}f"}
+     * does: the shortest decimal digits of the double are rounded half up,
+     * so {@code 1.005} becomes {@code 1.01}, and a negative value keeps
+     * its sign even if it is rounded to zero. The digits are computed in a long,
+     * only values close to a half or too large for it are rounded by a {@link BigDecimal}.
+     *
+     * @param value to write
+     * @param precision amount of digits after the point, {@code 0..18}
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeDouble(double value, int precision) throws IOException {
+        if (precision < 0 || MAX_PRECISION < precision) {
+            throw new IllegalArgumentException("precision=" + precision);
+        }
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            write(Double.toString(value));
+            return;
+        }
+        if (Double.doubleToRawLongBits(value) < 0L) { // including -0.0
+            write('-');
+        }
+        final double scaled = Math.abs(value) * POWERS_OF_TEN[precision];
+        final double half = scaled - Math.floor(scaled) - 0.5;
+        // the error of the product and of the shortest digits is below 2 ulps
+        if (scaled >= EXACT_SCALED || Math.abs(half) <= 4.0 * Math.ulp(scaled)) {
+            write(new BigDecimal(Double.toString(Math.abs(value)))
+                    .setScale(precision, RoundingMode.HALF_UP).toPlainString());
+            return;
+        }
+        long rounded = (long)(scaled + 0.5);
+        writeLong(rounded / POWERS_OF_TEN[precision]);
+        if (precision == 0) {
+            return;
+        }
+        ensure(1 + precision);
+        bytes[size++] = '.';
+        long fraction = rounded % POWERS_OF_TEN[precision];
+        for (int i = size + precision - 1; i >= size; i--) {
+            bytes[i] = (byte)('0' + fraction % 10L);
+            fraction /= 10L;
+        }
+        size += precision;
+    }
+    
+    public void writeInts(int[] values, char separator) throws IOException {
+        writeInts(values, 0, values.length, separator);
+    }
+    
+    /**
+     * Writes values from {@code [from, to)} separated by the {@code separator};
+     * nothing is written before the first and after the last value.
+     *
+     * @param values to write
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     * @param separator between values
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeInts(int[] values, int from, int to, char separator) throws IOException {
+        for (int i = from; i < to; i++) {
+            if (i != from) {
+                write(separator);
+            }
+            writeLong(values[i]);
+        }
+    }
+    
+    public void writeLongs(long[] values, char separator) throws IOException {
+        writeLongs(values, 0, values.length, separator);
+    }
+    
+    public void writeLongs(long[] values, int from, int to, char separator) throws IOException {
+        for (int i = from; i < to; i++) {
+            if (i != from) {
+                write(separator);
+            }
+            writeLong(values[i]);
+        }
+    }
+    
+    public void writeBytes(byte[] src) throws IOException {
+        writeBytes(src, 0, src.length);
+    }
+    
+    public void writeBytes(byte[] src, int offset, int length) throws IOException {
+        while (length > 0) {
+            ensure(1);
+            int count = Math.min(length, bytes.length - size);
+            System.arraycopy(src, offset, bytes, size, count);
+            size += count;
+            offset += count;
+            length -= count;
+        }
+    }
+    
+    @Override public void flush() throws IOException {
+        buffer.clear().limit(size);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        size = 0;
+    }
+    
+    @Override public void close() throws IOException {
+        if (owned) {
+            try (channel) {
+                flush();
+            }
+            return;
+        }
+        flush();
+        if (stream != null) {
+            stream.flush();
+        }
+    }
+    
+    //-Private-methods-----------------------------------------------------------------------------
+    
+    private void ensure(int count) throws IOException {
+        if (bytes.length - size < count) {
+            flush();
+        }
+    }
+
+}
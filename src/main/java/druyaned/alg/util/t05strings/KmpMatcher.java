@@ -0,0 +1,200 @@
+package druyaned.alg.util.t05strings;
+
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+/**
+ * Streaming search of a pattern by Knuth, Morris and Pratt: a text is fed
+ * by chunks of any sizes, e.g. buffers of a file, and only the length
+ * of the matched prefix of the pattern is kept between them, so matches
+ * crossing chunk boundaries are found and the text is never stored.
+ * A symbol costs amortized <code><b>O(1)</b></code>, overlapping matches
+ * are reported by their starts in the whole stream.
+ *
+ * <P>Bytes are compared as unsigned values with symbols of the pattern.
+ *
+ * <P><i>Example</i>:<br><code>
+ * KmpMatcher matcher = new KmpMatcher("abab");<br>
+ * matcher.feed(buffer, 0, read, start -&gt; System.out.println(start));<br>
+ * long count = matcher.matchCount();
+ * </code>
+ *
+ * @author druyaned
+ * @see StringToolkit#prefixFunction(int[])
+ */
+public class KmpMatcher {
+    
+    private final int[] pattern;
+    private final int[] prefix;
+    private int matched = 0; // length of the matched prefix of the pattern
+    private long position = 0L;
+    private long matchCount = 0L;
+    
+    /**
+     * Creates the matcher of the symbols.
+     * @param pattern non-empty symbols to be found
+     * @throws IllegalArgumentException if the pattern is empty
+     */
+    public KmpMatcher(int[] pattern) {
+        if (pattern.length == 0) {
+            throw new IllegalArgumentException("the pattern is empty");
+        }
+        this.pattern = pattern.clone();
+        prefix = StringToolkit.prefixFunction(this.pattern);
+    }
+    
+    /**
+     * Creates the matcher of the characters.
+     * @param pattern non-empty characters to be found
+     * @throws IllegalArgumentException if the pattern is empty
+     */
+    public KmpMatcher(CharSequence pattern) {
+        this(pattern.chars().toArray());
+    }
+    
+    /**
+     * Creates the matcher of the unsigned bytes.
+     * @param pattern non-empty bytes to be found
+     * @throws IllegalArgumentException if the pattern is empty
+     */
+    public KmpMatcher(byte[] pattern) {
+        this(unsigned(pattern));
+    }
+    
+    private static int[] unsigned(byte[] bytes) {
+        int[] values = new int[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            values[i] = bytes[i] & 0xFF;
+        }
+        return values;
+    }
+    
+    //-Getters-------------------------------------------------------------------------------------
+    
+    public int patternLength() {
+        return pattern.length;
+    }
+    
+    /**
+     * Returns amount of the fed symbols.
+     * @return position in the stream of the next symbol
+     */
+    public long position() {
+        return position;
+    }
+    
+    public long matchCount() {
+        return matchCount;
+    }
+    
+    //-Feeding-------------------------------------------------------------------------------------
+    
+    /**
+     * Feeds the next bytes of the stream.
+     *
+     * @param chunk the bytes
+     * @param from the first index of the fed bytes
+     * @param to the index after the last one
+     * @param matches receives the start of each match in the stream, may be {@code null}
+     * @return amount of matches, that end in the chunk
+     */
+    public int feed(byte[] chunk, int from, int to, LongConsumer matches) {
+        Objects.checkFromToIndex(from, to, chunk.length);
+        final int m = pattern.length;
+        final long start = position - from - m + 1; // the start of a match ending at i is start + i
+        int k = matched, count = 0;
+        for (int i = from; i < to; i++) {
+            final int c = chunk[i] & 0xFF;
+            while (k > 0 && pattern[k] != c) {
+                k = prefix[k - 1];
+            }
+            if (pattern[k] == c && ++k == m) {
+                count++;
+                if (matches != null) {
+                    matches.accept(start + i);
+                }
+                k = prefix[m - 1];
+            }
+        }
+        return finish(k, to - from, count);
+    }
+    
+    /**
+     * Feeds the next characters of the stream.
+     *
+     * @param chunk the characters
+     * @param from the first index of the fed characters
+     * @param to the index after the last one
+     * @param matches receives the start of each match in the stream, may be {@code null}
+     * @return amount of matches, that end in the chunk
+     */
+    public int feed(char[] chunk, int from, int to, LongConsumer matches) {
+        Objects.checkFromToIndex(from, to, chunk.length);
+        final int m = pattern.length;
+        final long start = position - from - m + 1;
+        int k = matched, count = 0;
+        for (int i = from; i < to; i++) {
+            final int c = chunk[i];
+            while (k > 0 && pattern[k] != c) {
+                k = prefix[k - 1];
+            }
+            if (pattern[k] == c && ++k == m) {
+                count++;
+                if (matches != null) {
+                    matches.accept(start + i);
+                }
+                k = prefix[m - 1];
+            }
+        }
+        return finish(k, to - from, count);
+    }
+    
+    /**
+     * Feeds the next symbols of the stream.
+     *
+     * @param chunk the symbols
+     * @param from the first index of the fed symbols
+     * @param to the index after the last one
+     * @param matches receives the start of each match in the stream, may be {@code null}
+     * @return amount of matches, that end in the chunk
+     */
+    public int feed(int[] chunk, int from, int to, LongConsumer matches) {
+        Objects.checkFromToIndex(from, to, chunk.length);
+        final int m = pattern.length;
+        final long start = position - from - m + 1;
+        int k = matched, count = 0;
+        for (int i = from; i < to; i++) {
+            final int c = chunk[i];
+            while (k > 0 && pattern[k] != c) {
+                k = prefix[k - 1];
+            }
+            if (pattern[k] == c && ++k == m) {
+                count++;
+                if (matches != null) {
+                    matches.accept(start + i);
+                }
+                k = prefix[m - 1];
+            }
+        }
+        return finish(k, to - from, count);
+    }
+    
+    /**
+     * Forgets the fed stream.
+     */
+    public void reset() {
+        matched = 0;
+        position = 0L;
+        matchCount = 0L;
+    }
+    
+    //-Private-methods-----------------------------------------------------------------------------
+    
+    private int finish(int matched, int length, int count) {
+        this.matched = matched;
+        position += length;
+        matchCount += count;
+        return count;
+    }
+
+}
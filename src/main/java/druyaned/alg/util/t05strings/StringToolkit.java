@@ -0,0 +1,295 @@
+package druyaned.alg.util.t05strings;
+
+/**
+ * Linear string algorithms over {@code int[]}, {@code byte[]} and {@code char[]}:
+ * the Z-function, the prefix function of Knuth, Morris and Pratt and
+ * palindromes of Manacher. Each takes <code><b>O(n)</b></code> time,
+ * since the rightmost match is never compared again, and returns
+ * one array of {@code n} or {@code 2n - 1} ints. Symbols are only compared
+ * for equality, so the overloads differ in the type alone.
+ *
+ * <P><i>Example</i>:<br><code>
+ * int[] z = StringToolkit.zFunction("abacaba".toCharArray()); // 0 0 1 0 3 0 1<br>
+ * int[] pi = StringToolkit.prefixFunction(text); // borders of prefixes<br>
+ * long count = StringToolkit.countPalindromes(text);
+ * </code>
+ *
+ * @author druyaned
+ * @see KmpMatcher
+ */
+public class StringToolkit {
+    
+    private StringToolkit() {}
+    
+    //-Z-function-----------------------------------------------------------------------------------
+    
+    /**
+     * Finds the Z-function: {@code z[i]} is the length of the longest common prefix
+     * of the text and its suffix {@code i}, {@code z[0] = 0} by convention.
+     *
+     * @param s the text
+     * @return the Z-function of the text
+     */
+    public static int[] zFunction(int[] s) {
+        final int n = s.length;
+        int[] z = new int[n];
+        for (int i = 1, l = 0, r = 0; i < n; i++) { // [l, r) is the rightmost match
+            int k = i < r ? Math.min(r - i, z[i - l]) : 0;
+            while (i + k < n && s[k] == s[i + k]) {
+                k++;
+            }
+            z[i] = k;
+            if (i + k > r) {
+                l = i;
+                r = i + k;
+            }
+        }
+        return z;
+    }
+    
+    /**
+     * Finds the Z-function of bytes, see {@link #zFunction(int[])}.
+     * @param s the text
+     * @return the Z-function of the text
+     */
+    public static int[] zFunction(byte[] s) {
+        final int n = s.length;
+        int[] z = new int[n];
+        for (int i = 1, l = 0, r = 0; i < n; i++) { // [l, r) is the rightmost match
+            int k = i < r ? Math.min(r - i, z[i - l]) : 0;
+            while (i + k < n && s[k] == s[i + k]) {
+                k++;
+            }
+            z[i] = k;
+            if (i + k > r) {
+                l = i;
+                r = i + k;
+            }
+        }
+        return z;
+    }
+    
+    /**
+     * Finds the Z-function of chars, see {@link #zFunction(int[])}.
+     * @param s the text
+     * @return the Z-function of the text
+     */
+    public static int[] zFunction(char[] s) {
+        final int n = s.length;
+        int[] z = new int[n];
+        for (int i = 1, l = 0, r = 0; i < n; i++) { // [l, r) is the rightmost match
+            int k = i < r ? Math.min(r - i, z[i - l]) : 0;
+            while (i + k < n && s[k] == s[i + k]) {
+                k++;
+            }
+            z[i] = k;
+            if (i + k > r) {
+                l = i;
+                r = i + k;
+            }
+        }
+        return z;
+    }
+    
+    //-Prefix-function------------------------------------------------------------------------------
+    
+    /**
+     * Finds the prefix function: {@code pi[i]} is the length of the longest proper
+     * border of the prefix {@code [0, i]}, a border is both a prefix and a suffix.
+     *
+     * @param s the text
+     * @return the prefix function of the text
+     */
+    public static int[] prefixFunction(int[] s) {
+        final int n = s.length;
+        int[] pi = new int[n];
+        for (int i = 1; i < n; i++) {
+            int k = pi[i - 1];
+            while (k > 0 && s[i] != s[k]) {
+                k = pi[k - 1];
+            }
+            pi[i] = s[i] == s[k] ? k + 1 : k;
+        }
+        return pi;
+    }
+    
+    /**
+     * Finds the prefix function of bytes, see {@link #prefixFunction(int[])}.
+     * @param s the text
+     * @return the prefix function of the text
+     */
+    public static int[] prefixFunction(byte[] s) {
+        final int n = s.length;
+        int[] pi = new int[n];
+        for (int i = 1; i < n; i++) {
+            int k = pi[i - 1];
+            while (k > 0 && s[i] != s[k]) {
+                k = pi[k - 1];
+            }
+            pi[i] = s[i] == s[k] ? k + 1 : k;
+        }
+        return pi;
+    }
+    
+    /**
+     * Finds the prefix function of chars, see {@link #prefixFunction(int[])}.
+     * @param s the text
+     * @return the prefix function of the text
+     */
+    public static int[] prefixFunction(char[] s) {
+        final int n = s.length;
+        int[] pi = new int[n];
+        for (int i = 1; i < n; i++) {
+            int k = pi[i - 1];
+            while (k > 0 && s[i] != s[k]) {
+                k = pi[k - 1];
+            }
+            pi[i] = s[i] == s[k] ? k + 1 : k;
+        }
+        return pi;
+    }
+    
+    //-Palindromes----------------------------------------------------------------------------------
+    
+    /**
+     * Finds the longest palindromes of all centers by Manacher's algorithm:
+     * {@code lengths[2i]} is the length of the odd palindrome centered at {@code i}
+     * and {@code lengths[2i - 1]} is the length of the even one centered between
+     * {@code i - 1} and {@code i}.
+     *
+     * @param s the text
+     * @return {@code 2n - 1} lengths of the longest palindromes of the centers
+     */
+    public static int[] palindromeLengths(int[] s) {
+        final int n = s.length;
+        int[] lengths = new int[Math.max(2 * n - 1, 0)];
+        for (int i = 0, l = 0, r = -1; i < n; i++) { // [l, r] is the rightmost palindrome
+            int k = i > r ? 1 : Math.min((lengths[2 * (l + r - i)] + 1) / 2, r - i + 1);
+            while (0 <= i - k && i + k < n && s[i - k] == s[i + k]) {
+                k++;
+            }
+            lengths[2 * i] = 2 * k - 1;
+            if (i + k - 1 > r) {
+                l = i - k + 1;
+                r = i + k - 1;
+            }
+        }
+        for (int i = 1, l = 0, r = -1; i < n; i++) {
+            int k = i > r ? 0 : Math.min(lengths[2 * (l + r - i + 1) - 1] / 2, r - i + 1);
+            while (0 <= i - k - 1 && i + k < n && s[i - k - 1] == s[i + k]) {
+                k++;
+            }
+            lengths[2 * i - 1] = 2 * k;
+            if (i + k - 1 > r) {
+                l = i - k;
+                r = i + k - 1;
+            }
+        }
+        return lengths;
+    }
+    
+    /**
+     * Finds the longest palindromes of bytes, see {@link #palindromeLengths(int[])}.
+     * @param s the text
+     * @return {@code 2n - 1} lengths of the longest palindromes of the centers
+     */
+    public static int[] palindromeLengths(byte[] s) {
+        final int n = s.length;
+        int[] lengths = new int[Math.max(2 * n - 1, 0)];
+        for (int i = 0, l = 0, r = -1; i < n; i++) { // [l, r] is the rightmost palindrome
+            int k = i > r ? 1 : Math.min((lengths[2 * (l + r - i)] + 1) / 2, r - i + 1);
+            while (0 <= i - k && i + k < n && s[i - k] == s[i + k]) {
+                k++;
+            }
+            lengths[2 * i] = 2 * k - 1;
+            if (i + k - 1 > r) {
+                l = i - k + 1;
+                r = i + k - 1;
+            }
+        }
+        for (int i = 1, l = 0, r = -1; i < n; i++) {
+            int k = i > r ? 0 : Math.min(lengths[2 * (l + r - i + 1) - 1] / 2, r - i + 1);
+            while (0 <= i - k - 1 && i + k < n && s[i - k - 1] == s[i + k]) {
+                k++;
+            }
+            lengths[2 * i - 1] = 2 * k;
+            if (i + k - 1 > r) {
+                l = i - k;
+                r = i + k - 1;
+            }
+        }
+        return lengths;
+    }
+    
+    /**
+     * Finds the longest palindromes of chars, see {@link #palindromeLengths(int[])}.
+     * @param s the text
+     * @return {@code 2n - 1} lengths of the longest palindromes of the centers
+     */
+    public static int[] palindromeLengths(char[] s) {
+        final int n = s.length;
+        int[] lengths = new int[Math.max(2 * n - 1, 0)];
+        for (int i = 0, l = 0, r = -1; i < n; i++) { // [l, r] is the rightmost palindrome
+            int k = i > r ? 1 : Math.min((lengths[2 * (l + r - i)] + 1) / 2, r - i + 1);
+            while (0 <= i - k && i + k < n && s[i - k] == s[i + k]) {
+                k++;
+            }
+            lengths[2 * i] = 2 * k - 1;
+            if (i + k - 1 > r) {
+                l = i - k + 1;
+                r = i + k - 1;
+            }
+        }
+        for (int i = 1, l = 0, r = -1; i < n; i++) {
+            int k = i > r ? 0 : Math.min(lengths[2 * (l + r - i + 1) - 1] / 2, r - i + 1);
+            while (0 <= i - k - 1 && i + k < n && s[i - k - 1] == s[i + k]) {
+                k++;
+            }
+            lengths[2 * i - 1] = 2 * k;
+            if (i + k - 1 > r) {
+                l = i - k;
+                r = i + k - 1;
+            }
+        }
+        return lengths;
+    }
+    
+    /**
+     * Counts palindromic substrings, each occurrence separately.
+     * @param s the text
+     * @return amount of pairs {@code (from, to)}, that {@code [from, to)} is a palindrome
+     */
+    public static long countPalindromes(int[] s) {
+        return countByLengths(palindromeLengths(s));
+    }
+    
+    /**
+     * Counts palindromic substrings of bytes, see {@link #countPalindromes(int[])}.
+     * @param s the text
+     * @return amount of palindromic substrings
+     */
+    public static long countPalindromes(byte[] s) {
+        return countByLengths(palindromeLengths(s));
+    }
+    
+    /**
+     * Counts palindromic substrings of chars, see {@link #countPalindromes(int[])}.
+     * @param s the text
+     * @return amount of palindromic substrings
+     */
+    public static long countPalindromes(char[] s) {
+        return countByLengths(palindromeLengths(s));
+    }
+    
+    //-Private-methods------------------------------------------------------------------------------
+    
+    // a center with the longest palindrome of the length has (length + 1) / 2 of them
+    private static long countByLengths(int[] lengths) {
+        long count = 0L;
+        for (int length : lengths) {
+            count += (length + 1) / 2;
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,215 @@
+package druyaned.alg.util.t05strings;
+
+import druyaned.alg.util.t02arithm.ModArith;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Polynomial hashes of all substrings of a text modulo the Mersenne prime
+ * {@code 2^61 - 1}: one modulus gives the collision probability of about
+ * {@code n / 2^61} per comparison, as two moduli near {@code 10^9} do,
+ * so the prefix hashes and the powers of the base take two arrays
+ * of {@code n + 1} longs instead of four and one pass over the text.
+ *
+ * <P>The base is random, chosen once for all hashers, so an adversarial
+ * text can't force collisions and substrings of different hashers
+ * may be compared. {@link #reversed} is the hasher of the reversed text,
+ * that shares the powers and is built once on demand for palindromes.
+ *
+ * <P><i>Example</i>:<br><code>
+ * SubstringHasher hasher = new SubstringHasher("abcababc");<br>
+ * boolean equal = hasher.equal(0, 5, 3); // abc == abc<br>
+ * int lcp = hasher.lcp(0, 3); // 2<br>
+ * boolean palindrome = hasher.isPalindrome(1, 6); // bcaba is not
+ * </code>
+ *
+ * @author druyaned
+ */
+public class SubstringHasher {
+    
+    private static final ModArith MOD = ModArith.mersenne61();
+    private static final long BASE = (1L << 32)
+            + ThreadLocalRandom.current().nextLong(ModArith.MERSENNE_61 - (1L << 32));
+    
+    private final int length;
+    private final long[] prefixes; // prefixes[i] is the hash of [0, i)
+    private final long[] powers; // powers[i] = BASE^i
+    private SubstringHasher reversed = null;
+    
+    /**
+     * Hashes the characters of the text.
+     * @param text to be hashed
+     */
+    public SubstringHasher(CharSequence text) {
+        this(text.length());
+        for (int i = 0; i < length; i++) {
+            powers[i + 1] = MOD.mul(powers[i], BASE);
+            prefixes[i + 1] = MOD.add(MOD.mul(prefixes[i], BASE), text.charAt(i));
+        }
+    }
+    
+    /**
+     * Hashes unsigned bytes of the text.
+     * @param text to be hashed
+     */
+    public SubstringHasher(byte[] text) {
+        this(text.length);
+        for (int i = 0; i < length; i++) {
+            powers[i + 1] = MOD.mul(powers[i], BASE);
+            prefixes[i + 1] = MOD.add(MOD.mul(prefixes[i], BASE), text[i] & 0xFF);
+        }
+    }
+    
+    /**
+     * Hashes the first values of the array.
+     * @param length amount of the hashed values
+     * @param values symbols, e.g. codes of characters
+     * @throws IndexOutOfBoundsException if the length exceeds the array
+     */
+    public SubstringHasher(int length, int[] values) {
+        this(checkLength(length, values.length));
+        for (int i = 0; i < length; i++) {
+            powers[i + 1] = MOD.mul(powers[i], BASE);
+            prefixes[i + 1] = MOD.add(MOD.mul(prefixes[i], BASE), MOD.toForm(values[i]));
+        }
+    }
+    
+    // the arrays are filled by the public constructors in one pass over the text
+    private SubstringHasher(int length) {
+        this.length = length;
+        prefixes = new long[length + 1];
+        powers = new long[length + 1];
+        powers[0] = MOD.one();
+    }
+    
+    // the reversed text: hashes of the values from the end
+    private SubstringHasher(SubstringHasher origin) {
+        length = origin.length;
+        powers = origin.powers;
+        prefixes = new long[length + 1];
+        final long[] forward = origin.prefixes;
+        for (int i = 0; i < length; i++) {
+            // the value at length - 1 - i is h[j + 1] - h[j] * BASE with j = length - 1 - i
+            int j = length - 1 - i;
+            long value = MOD.sub(forward[j + 1], MOD.mul(forward[j], BASE));
+            prefixes[i + 1] = MOD.add(MOD.mul(prefixes[i], BASE), value);
+        }
+        reversed = origin;
+    }
+    
+    private static int checkLength(int length, int capacity) {
+        if (length < 0 || capacity < length) {
+            throw new IndexOutOfBoundsException("length=" + length
+                    + " is out of [0, " + capacity + "]");
+        }
+        return length;
+    }
+    
+    //-Getters-------------------------------------------------------------------------------------
+    
+    public int length() {
+        return length;
+    }
+    
+    /**
+     * Returns the hasher of the reversed text, the substring
+     * {@code [from, to)} of this text is {@code [length - to, length - from)}
+     * of the reversed one.
+     *
+     * @return the hasher of the reversed text
+     */
+    public SubstringHasher reversed() {
+        if (reversed == null) {
+            reversed = new SubstringHasher(this);
+        }
+        return reversed;
+    }
+    
+    //-Queries-------------------------------------------------------------------------------------
+    
+    /**
+     * Returns the hash of the substring in {@code O(1)}.
+     * @param from the first index of the substring
+     * @param to the index after the last one
+     * @return the hash of {@code [from, to)} of {@code [0, 2^61 - 1)}
+     */
+    public long hash(int from, int to) {
+        if (from < 0 || to < from || length < to) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ") is out of [0, "
+                    + length + "]");
+        }
+        return MOD.sub(prefixes[to], MOD.mul(prefixes[from], powers[to - from]));
+    }
+    
+    /**
+     * Compares substrings {@code [a, a + length)} and {@code [b, b + length)}
+     * in {@code O(1)}.
+     *
+     * @param a the start of the first substring
+     * @param b the start of the second substring
+     * @param length of the substrings
+     * @return {@code true} if the substrings are equal, but for a collision
+     */
+    public boolean equal(int a, int b, int length) {
+        return hash(a, a + length) == hash(b, b + length);
+    }
+    
+    /**
+     * Compares the substring with one of another text in {@code O(1)}.
+     * @param a the start of the substring of this text
+     * @param other hasher of another text
+     * @param b the start of the substring of another text
+     * @param length of the substrings
+     * @return {@code true} if the substrings are equal, but for a collision
+     */
+    public boolean equal(int a, SubstringHasher other, int b, int length) {
+        return hash(a, a + length) == other.hash(b, b + length);
+    }
+    
+    /**
+     * Checks the substring by the reversed text.
+     * @param from the first index of the substring
+     * @param to the index after the last one
+     * @return {@code true} if {@code [from, to)} is a palindrome, but for a collision
+     */
+    public boolean isPalindrome(int from, int to) {
+        return hash(from, to) == reversed().hash(length - to, length - from);
+    }
+    
+    /**
+     * Finds the longest common prefix of suffixes by the binary search
+     * in {@code O(log n)}.
+     *
+     * @param a the start of the first suffix
+     * @param b the start of the second suffix
+     * @return length of the longest common prefix
+     */
+    public int lcp(int a, int b) {
+        return lcp(a, this, b);
+    }
+    
+    /**
+     * Finds the longest common prefix of the suffix and a suffix of another text
+     * by the binary search in {@code O(log n)}.
+     *
+     * @param a the start of the suffix of this text
+     * @param other hasher of another text
+     * @param b the start of the suffix of another text
+     * @return length of the longest common prefix
+     */
+    public int lcp(int a, SubstringHasher other, int b) {
+        if (a < 0 || length < a || b < 0 || other.length < b) {
+            throw new IndexOutOfBoundsException("a=" + a + " b=" + b);
+        }
+        int lo = 0, hi = Math.min(length - a, other.length - b);
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (equal(a, other, b, mid)) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+}
@@ -1,32 +1,27 @@
 package druyaned.alg.yandex.contest2025.attempt01;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import druyaned.alg.util.t04io.FastInput;
+import druyaned.alg.util.t04io.FastOutput;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.io.PrintStream;
 import java.io.UncheckedIOException;
-import static java.lang.Character.isWhitespace;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 
 public class Task03 {
     
     public static void main(String[] args) {
-        try {
-            solve(new Sio("input.txt", "output.txt"));
-        } catch (IOException ex) {
-            throw new UncheckedIOException(ex);
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
+                FastOutput out = new FastOutput(Paths.get("output.txt"))) {
+            solve(in, out);
+        } catch (IOException exc) {
+            throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(Sio sio) throws IOException {
-        int n = sio.readInt();
-        int l = sio.readInt();
-        int s = sio.readInt();
+    private static void solve(FastInput in, FastOutput out) throws IOException {
+        int n = in.readInt();
+        int l = in.readInt();
+        int s = in.readInt();
         int[] ids = new int[n];
         int idCount = 0;
         // [0] -> timestamp, [1] -> pos
@@ -34,20 +29,20 @@ public class Task03 {
         int[] result = new int[5];
         int size;
         for (int i = 0; i < n; i++) {
-            String type = sio.readToken();
+            String type = in.readToken();
             if (type.equals("TAXI")) {
-                long timestamp = sio.readLong();
-                int id = sio.readInt();
-                int pos = sio.readInt();
+                long timestamp = in.readLong();
+                int id = in.readInt();
+                int pos = in.readInt();
                 if (idToEntry[id] == null)
                     ids[idCount++] = id;
                 idToEntry[id] = new long[] { timestamp, pos };
             }
             if (type.equals("ORDER")) {
-                long orderTimestamp = sio.readLong();
-                sio.readInt(); // orderId
-                int orderPos = sio.readInt();
-                int orderTime = sio.readInt();
+                long orderTimestamp = in.readLong();
+                in.readInt(); // orderId
+                int orderPos = in.readInt();
+                int orderTime = in.readInt();
                 Arrays.fill(result, 0);
                 size = 0;
                 for (int j = 0; j < idCount && size < 5; j++) {
@@ -64,142 +59,15 @@ public class Task03 {
                         result[size++] = id;
                 }
                 if (size == 0) {
-                    sio.writeln(Integer.toString(-1));
+                    out.writeln(Integer.toString(-1));
                 } else {
-                    sio.write(Integer.toString(result[0]));
+                    out.write(Integer.toString(result[0]));
                     for (int j = 1; j < size; j++)
-                        sio.write(" " + result[j]);
-                    sio.writeln();
+                        out.write(" " + result[j]);
+                    out.writeln();
                 }
             }
         }
-        sio.writerFlush();
-    }
-    
-    private static class Sio {
-        public static final int BUFFER_SIZE = 1 << 23;
-        private final char[] buffer = new char[BUFFER_SIZE];
-        private final BufferedReader reader;
-        private final BufferedWriter writer;
-        public Sio(BufferedReader reader, BufferedWriter writer) {
-            this.reader = reader;
-            this.writer = writer;
-        }
-        public Sio(InputStream in, PrintStream out) {
-            reader = new BufferedReader(new InputStreamReader(System.in));
-            writer = new BufferedWriter(new OutputStreamWriter(System.out));
-        }
-        public Sio(String fileIn, String fileOut) throws IOException {
-            Path fin = Path.of(fileIn);
-            Path fout = Path.of(fileOut);
-            reader = Files.newBufferedReader(fin);
-            writer = Files.newBufferedWriter(fout);
-        }
-        public int readInt() throws IOException {
-            int bufferLength = putNextTokenToBuffer();
-            return Integer.parseInt(new String(buffer, 0, bufferLength));
-        }
-        public long readLong() throws IOException {
-            int bufferLength = putNextTokenToBuffer();
-            return Long.parseLong(new String(buffer, 0, bufferLength));
-        }
-        public double readDouble() throws IOException {
-            int bufferLength = putNextTokenToBuffer();
-            return Double.parseDouble(new String(buffer, 0, bufferLength));
-        }
-        public String readToken() throws IOException {
-            int bufferLength = putNextTokenToBuffer();
-            return (bufferLength != 0) ? new String(buffer, 0, bufferLength) : null;
-        }
-        public String readLine() throws IOException {
-            int bufferLength = putNextLineToBuffer();
-            return (bufferLength != 0) ? new String(buffer, 0, bufferLength) : "";
-        }
-        public String[] readLineTokens() throws IOException {
-            int bufferLength = putNextLineToBuffer();
-            // find begin and end
-            int begin = 0;
-            while (begin < bufferLength && isWhitespace(buffer[begin])) {
-                begin++;
-            }
-            int end = bufferLength;
-            while (end > 0 && isWhitespace(buffer[end - 1])) {
-                end--;
-            }
-            // count tokens
-            int tokenCount = 0;
-            for (int i = begin; i < end;) {
-                while (i < end && !isWhitespace(buffer[i])) {
-                    i++;
-                }
-                tokenCount++;
-                while (i < end && isWhitespace(buffer[i])) {
-                    i++;
-                }
-            }
-            // make tokens
-            String[] tokens = new String[tokenCount];
-            for (int i = begin, k = 0; i < end; k++) {
-                int offset = i;
-                while (i < end && !isWhitespace(buffer[i])) {
-                    i++;
-                }
-                tokens[k] = new String(buffer, offset, i - offset);
-                while (i < end && isWhitespace(buffer[i])) {
-                    i++;
-                }
-            }
-            return tokens;
-        }
-        public void write(char ch) throws IOException {
-            writer.write(ch);
-        }
-        public void write(String s) throws IOException {
-            writer.write(s);
-        }
-        public void write(Object obj) throws IOException {
-            writer.write(obj.toString());
-        }
-        public void writeln() throws IOException {
-            writer.write('\n');
-        }
-        public void writeln(String s) throws IOException {
-            writer.write(s + '\n');
-        }
-        public void writeln(Object obj) throws IOException {
-            writer.write(obj.toString() + '\n');
-        }
-        public void writef(String format, Object... args) throws IOException {
-            writer.write(String.format(format, args));
-        }
-        public void writerFlush() throws IOException {
-            writer.flush();
-        }
-        // following after the token whitespace is also read
-        private int putNextTokenToBuffer() throws IOException {
-            int ch;
-            // skip whitespaces
-            while ((ch = reader.read()) != -1 && isWhitespace(ch)) {}
-            if (ch == -1) {
-                return 0;
-            }
-            // putting the token
-            buffer[0] = (ch == '\u2013') ? '-' : (char)ch;
-            int bufferLength = 1;
-            while ((ch = reader.read()) != -1 && !isWhitespace(ch)) {
-                buffer[bufferLength++] = (char)ch;
-            }
-            return bufferLength;
-        }
-        // following after the line '\n' is also read
-        private int putNextLineToBuffer() throws IOException {
-            int ch;
-            int bufferLength = 0;
-            while ((ch = reader.read()) != -1 && ch != '\n') {
-                buffer[bufferLength++] = (char)ch;
-            }
-            return bufferLength;
-        }
     }
     
 }
@@ -1,6 +1,6 @@
 package druyaned.alg.yandex.train2.diva.lesson2;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -9,27 +9,10 @@ import java.nio.file.Paths;
 
 public class HW3ChessBoard {
     
-    private static final char[] buf = new char[16];
-    
-    private static int readInt(BufferedReader reader) throws IOException {
-        int chVal = reader.read();
-        while (chVal != -1 && chVal != '-' && (chVal < '0' || '9' < chVal)) {
-            chVal = reader.read();
-        }
-        int l = 0;
-        buf[l++] = (char)chVal;
-        chVal = reader.read();
-        while ('0' <= chVal && chVal <= '9') {
-            buf[l++] = (char)chVal;
-            chVal = reader.read();
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
@@ -65,13 +48,13 @@ public class HW3ChessBoard {
         return cnt;
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader);
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int n = in.readInt();
         final int SIDE_SIZE = 8;
         boolean[][] board = new boolean[SIDE_SIZE + 2][SIDE_SIZE + 2];
         for (int i = 0; i < n; ++i) {
-            int y = readInt(reader);
-            int x = readInt(reader);
+            int y = in.readInt();
+            int x = in.readInt();
             board[y][x] = true;
         }
         int p = 0;
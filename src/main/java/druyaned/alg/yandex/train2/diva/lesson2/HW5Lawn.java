@@ -1,6 +1,6 @@
 package druyaned.alg.yandex.train2.diva.lesson2;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -9,40 +9,23 @@ import java.nio.file.Paths;
 
 public class HW5Lawn {
     
-    private static final char[] buf = new char[16];
-    
-    private static int readInt(BufferedReader reader) throws IOException {
-        int chVal = reader.read();
-        while (chVal != -1 && chVal != '-' && (chVal < '0' || '9' < chVal)) {
-            chVal = reader.read();
-        }
-        int l = 0;
-        buf[l++] = (char)chVal;
-        chVal = reader.read();
-        while ('0' <= chVal && chVal <= '9') {
-            buf[l++] = (char)chVal;
-            chVal = reader.read();
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        long x1 = readInt(reader);
-        long y1 = readInt(reader);
-        long x2 = readInt(reader);
-        long y2 = readInt(reader);
-        long x3 = readInt(reader);
-        long y3 = readInt(reader);
-        long r = readInt(reader);
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        long x1 = in.readInt();
+        long y1 = in.readInt();
+        long x2 = in.readInt();
+        long y2 = in.readInt();
+        long x3 = in.readInt();
+        long y3 = in.readInt();
+        long r = in.readInt();
         long cnt = 0;
         long yStart = y1 > y3 - r ? y1 : y3 - r;
         long yLimit = y2 < y3 + r ? y2 : y3 + r;
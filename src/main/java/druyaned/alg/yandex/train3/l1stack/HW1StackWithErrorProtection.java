@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train3.l1stack;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -13,31 +12,15 @@ import java.util.Map;
 public class HW1StackWithErrorProtection {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static final char[] buf = new char[16];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
         Stack stack = new Stack();
         Executor executor = new Executor();
         executor.add("push", new Push());
@@ -46,7 +29,7 @@ public class HW1StackWithErrorProtection {
         executor.add("size", new Size());
         executor.add("clear", new Clear());
         executor.add("exit", new Exit());
-        executor.run(stack, reader, writer);
+        executor.run(stack, in, writer);
     }
     
 }
@@ -171,9 +154,9 @@ class Executor {
         commandMap.put(name, command);
     }
     
-    public void run(Stack stack, BufferedReader reader, BufferedWriter writer) throws IOException {
+    public void run(Stack stack, FastInput in, BufferedWriter writer) throws IOException {
         String line;
-        while ((line = reader.readLine()) != null) {
+        while ((line = in.readLine()) != null) {
             String[] elems = line.split(" ");
             String name = elems[0];
             Command command = commandMap.get(name);
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train3.l2dequesandheaps;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,39 +10,23 @@ import java.nio.file.Paths;
 public class HW2DrunkardGame {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static final char[] buf = new char[16];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
         final int CAPACITY = 10;
         Deque player1 = new Deque(CAPACITY);
         Deque player2 = new Deque(CAPACITY);
         for (int i = 0; i < CAPACITY / 2; ++i) {
-            player1.addLast(readInt(reader));
+            player1.addLast(in.readInt());
         }
         for (int i = 0; i < CAPACITY / 2; ++i) {
-            player2.addLast(readInt(reader));
+            player2.addLast(in.readInt());
         }
         int moves = 0;
         int moveLimit = (int)1e6;
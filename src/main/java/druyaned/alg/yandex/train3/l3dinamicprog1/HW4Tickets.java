@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train3.l3dinamicprog1;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,40 +10,24 @@ import java.nio.file.Paths;
 public class HW4Tickets {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static final char[] buf = new char[16];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader);
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int n = in.readInt();
         int[] a = n < 4 ? new int[4] : new int[n + 1];
         int[] b = n < 4 ? new int[4] : new int[n + 1];
         int[] c = n < 4 ? new int[4] : new int[n + 1];
         int[] dp = n < 4 ? new int[4] : new int[n + 1];
         for (int i = 1; i <= n; ++i) {
-            a[i] = readInt(reader);
-            b[i] = readInt(reader);
-            c[i] = readInt(reader);
+            a[i] = in.readInt();
+            b[i] = in.readInt();
+            c[i] = in.readInt();
         }
         dp[1] = a[1];
         dp[2] = a[2] + dp[1];
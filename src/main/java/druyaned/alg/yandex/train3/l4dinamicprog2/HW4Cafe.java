@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train3.l4dinamicprog2;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,30 +10,14 @@ import java.nio.file.Paths;
 public class HW4Cafe {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static final char[] buf = new char[15];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     private static void show(final int INF, int n, int overpay, int[] costs, int[][] sum) {
         System.out.print("OY='дни'; OX='использованные купоны'\n");
         for (int d = 1; d <= n; ++d) {
@@ -70,9 +53,9 @@ public class HW4Cafe {
         System.out.println();
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
         final int INF = -1;
-        int n = readInt(reader);
+        int n = in.readInt();
         if (n == 0) {
             writer.write("0\n0 0\n");
             return;
@@ -80,7 +63,7 @@ public class HW4Cafe {
         int[] costs = new int[n + 1];
         int overpay = 0;
         for (int i = 1; i <= n; ++i) {
-            costs[i] = readInt(reader);
+            costs[i] = in.readInt();
             if (costs[i] > 100) {
                 ++overpay;
             }
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train3.l4dinamicprog2;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,30 +10,14 @@ import java.nio.file.Paths;
 public class HW5GreatestCommonSubsequence {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static final char[] buf = new char[15];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     private static String asString(int n, int[] a) {
         StringBuilder builder = new StringBuilder(n * 2);
         if (n > 1) {
@@ -71,16 +54,16 @@ public class HW5GreatestCommonSubsequence {
         return builder.toString();
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n1 = readInt(reader);
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int n1 = in.readInt();
         int[] a1 = new int[n1 + 1];
         for (int i = 1; i <= n1; ++i) {
-            a1[i] = readInt(reader);
+            a1[i] = in.readInt();
         }
-        int n2 = readInt(reader);
+        int n2 = in.readInt();
         int[] a2 = new int[n2 + 1];
         for (int i = 1; i <= n2; ++i) {
-            a2[i] = readInt(reader);
+            a2[i] = in.readInt();
         }
         int[][] dp = new int[n1 + 1][n2 + 1];
         for (int i1 = 1; i1 <= n1; ++i1) {
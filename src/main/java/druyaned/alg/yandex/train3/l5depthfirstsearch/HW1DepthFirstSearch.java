@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train3.l5depthfirstsearch;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -13,41 +12,25 @@ import java.util.List;
 public class HW1DepthFirstSearch {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static final char[] buf = new char[15];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader);
-        int m = readInt(reader);
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int n = in.readInt();
+        int m = in.readInt();
         List<List<Integer>> graph = new ArrayList(n + 1);
         graph.add(null);
         for (int i = 1; i <= n; ++i) {
             graph.add(new ArrayList());
         }
         for (int i = 0; i < m; ++i) {
-            int vertex1 = readInt(reader);
-            int vertex2 = readInt(reader);
+            int vertex1 = in.readInt();
+            int vertex2 = in.readInt();
             graph.get(vertex1).add(vertex2);
             if (vertex1 != vertex2) {
                 graph.get(vertex2).add(vertex1);
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train3.l6breadthfirstsearch;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -13,30 +12,14 @@ import java.util.List;
 public class HW1ShortestPathLength {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static final char[] buf = new char[15];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     private static void show(int n, List<List<Integer>> graph) {
         System.out.print("\ngraph:\n");
         for (int v = 1; v <= n; ++v) {
@@ -56,21 +39,21 @@ public class HW1ShortestPathLength {
         System.out.println();
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader);
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int n = in.readInt();
         List<List<Integer>> graph = new ArrayList(n + 1);
         for (int i = 0; i <= n; ++i) {
             graph.add(new ArrayList());
         }
         for (int i = 1; i <= n; ++i) {
             for (int j = 1; j <= n; ++j) {
-                if (readInt(reader) == 1) {
+                if (in.readInt() == 1) {
                     graph.get(i).add(j);
                 }
             }
         }
-        int v1 = readInt(reader);
-        int v2 = readInt(reader);
+        int v1 = in.readInt();
+        int v2 = in.readInt();
         if (v1 == v2) {
             writer.write("0\n");
             return;
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train3.l6breadthfirstsearch;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -13,30 +12,14 @@ import java.util.List;
 public class HW3Fleas {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static final char[] buf = new char[15];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     private static class Point {
         public final int r, c;
         public Point(int row, int column) {
@@ -98,15 +81,15 @@ public class HW3Fleas {
         System.out.println();
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
         final int MAX_DIST = 250;
-        int n = readInt(reader);
-        int m = readInt(reader);
-        Point feeder = new Point(readInt(reader), readInt(reader));
-        int q = readInt(reader);
+        int n = in.readInt();
+        int m = in.readInt();
+        Point feeder = new Point(in.readInt(), in.readInt());
+        int q = in.readInt();
         Point[] feals = new Point[q];
         for (int i = 0; i < q; ++i) {
-            feals[i] = new Point(readInt(reader), readInt(reader));
+            feals[i] = new Point(in.readInt(), in.readInt());
         }
         Table table = new Table(n, m);
         table.set(feeder, -1);
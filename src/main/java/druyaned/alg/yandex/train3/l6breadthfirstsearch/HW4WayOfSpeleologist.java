@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train3.l6breadthfirstsearch;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -13,30 +12,14 @@ import java.util.List;
 public class HW4WayOfSpeleologist {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static final char[] buf = new char[15];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     private static class Point {
         public final int i, j, k;
         public Point(int i, int j, int k) {
@@ -81,21 +64,21 @@ public class HW4WayOfSpeleologist {
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
         final int MAX_D = 30 * 30 * 30;
         final int MOVE_N = 6;
         final int[] moveI = {+1, +0, +0, -1, +0, +0};
         final int[] moveJ = {+0, +1, +0, +0, -1, +0};
         final int[] moveK = {+0, +0, +1, +0, +0, -1};
-        int n = readInt(reader);
+        int n = in.readInt();
         int[][][] cave = new int[n + 2][n + 2][n + 2];
         prepareCave(n, cave);
         Point start = null;
         for (int i = 1; i <= n; ++i) {
-            reader.read();
+            in.read();
             for (int j = 1; j <= n; ++j) {
                 for (int k = 1; k <= n; ++k) {
-                    char ch = (char)reader.read();
+                    char ch = (char)in.read();
                     if (ch == '#') {
                         cave[i][j][k] = -1;
                     }
@@ -104,7 +87,7 @@ public class HW4WayOfSpeleologist {
                         cave[i][j][k] = -1;
                     }
                 }
-                reader.read();
+                in.read();
             }
         }
         if (start != null) {
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train3.l6breadthfirstsearch;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -17,30 +16,14 @@ import java.util.Set;
 public class HW5Subway {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static final char[] buf = new char[15];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     private static List<Set<Integer>> newList(int n) {
         List<Set<Integer>> list = new ArrayList(n + 1);
         list.add(null);
@@ -70,19 +53,19 @@ public class HW5Subway {
         System.out.println();
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader);
-        int m = readInt(reader);
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int n = in.readInt();
+        int m = in.readInt();
         List<Set<Integer>> linesOfVertex = newList(n);
         for (int i = 1; i <= m; ++i) {
-            int len = readInt(reader);
+            int len = in.readInt();
             for (int j = 0; j < len; ++j) {
-                int v = readInt(reader);
+                int v = in.readInt();
                 linesOfVertex.get(v).add(i);
             }
         }
-        int start = readInt(reader);
-        int finish = readInt(reader);
+        int start = in.readInt();
+        int finish = in.readInt();
         List<Set<Integer>> lines = newList(m);
         for (int v = 1; v <= n; ++v) {
             int size = linesOfVertex.get(v).size();
@@ -1,6 +1,6 @@
 package druyaned.alg.yandex.train3.warmup;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -9,35 +9,18 @@ import java.nio.file.Paths;
 
 public class HW02BeautifulString {
     
-    private static final char[] buf = new char[16];
-    
-    private static int readInt(BufferedReader reader) throws IOException {
-        int chVal = reader.read();
-        while (chVal != -1 && chVal != '-' && (chVal < '0' || '9' < chVal)) {
-            chVal = reader.read();
-        }
-        int l = 0;
-        buf[l++] = (char)chVal;
-        chVal = reader.read();
-        while ('0' <= chVal && chVal <= '9') {
-            buf[l++] = (char)chVal;
-            chVal = reader.read();
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int k = readInt(reader);
-        char[] line = reader.readLine().toCharArray();
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int k = in.readInt();
+        char[] line = in.readLine().toCharArray();
         int n = line.length;
         int maxBeauty = 1;
         for (char ch = 'a'; ch <= 'z'; ++ch) {
@@ -1,6 +1,6 @@
 package druyaned.alg.yandex.train3.warmup;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -11,47 +11,30 @@ import java.util.HashSet;
 
 public class HW03CollectorDiego {
     
-    private static final char[] buf = new char[16];
-    
-    private static int readInt(BufferedReader reader) throws IOException {
-        int chVal = reader.read();
-        while (chVal != -1 && chVal != '-' && (chVal < '0' || '9' < chVal)) {
-            chVal = reader.read();
-        }
-        int l = 0;
-        buf[l++] = (char)chVal;
-        chVal = reader.read();
-        while ('0' <= chVal && chVal <= '9') {
-            buf[l++] = (char)chVal;
-            chVal = reader.read();
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader);
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int n = in.readInt();
         int[] numbers = new int[n];
         HashSet<Integer> used = new HashSet();
         int numberCount = 0;
         for (int i = 0; i < n; ++i) {
-            int number = readInt(reader);
+            int number = in.readInt();
             if (used.add(number)) {
                 numbers[numberCount++] = number;
             }
         }
-        int k = readInt(reader);
+        int k = in.readInt();
         int[] minStickers = new int[k];
         for (int i = 0; i < k; ++i) {
-            minStickers[i] = readInt(reader);
+            minStickers[i] = in.readInt();
         }
         if (n == 0) {
             for (int i = 0; i < k; ++i) {
@@ -1,6 +1,6 @@
 package druyaned.alg.yandex.train3.warmup;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -9,26 +9,10 @@ import java.nio.file.Paths;
 
 public class HW06OSLite {
     
-    private static final char[] buf = new char[16];
-    
-    private static int readInt(BufferedReader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
@@ -44,12 +28,12 @@ public class HW06OSLite {
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        readInt(reader); // m
-        int n = readInt(reader);
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        in.readInt(); // m
+        int n = in.readInt();
         Cut[] cuts = new Cut[n];
         for (int i = 0; i < n; ++i) {
-            Cut cut = new Cut(readInt(reader), readInt(reader));
+            Cut cut = new Cut(in.readInt(), in.readInt());
             for (int j = 0; j < i; ++j) {
                 boolean befor = cuts[j].in < cut.in && cuts[j].out < cut.in;
                 boolean after = cuts[j].in > cut.out && cuts[j].out > cut.out;
@@ -1,6 +1,6 @@
 package druyaned.alg.yandex.train3.warmup;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -9,36 +9,20 @@ import java.nio.file.Paths;
 
 public class HW07SNTP {
     
-    private static final char[] buf = new char[16];
-    
-    private static int readInt(BufferedReader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
         final int DAY_SECONDS = 24 * 60 * 60;
-        int a = readInt(reader) * 60 * 60 + readInt(reader) * 60 + readInt(reader);
-        int b = readInt(reader) * 60 * 60 + readInt(reader) * 60 + readInt(reader);
-        int c = readInt(reader) * 60 * 60 + readInt(reader) * 60 + readInt(reader);
+        int a = readSeconds(in);
+        int b = readSeconds(in);
+        int c = readSeconds(in);
         int totalDelay = c >= a ? c - a : DAY_SECONDS - a + c;
         int delay = (totalDelay - 1) / 2 + 1; // round
         int client = (b + delay) % DAY_SECONDS;
@@ -49,6 +33,13 @@ public class HW07SNTP {
         writer.write(clientTime);
     }
     
+    // the time is given as HH:MM:SS
+    private static int readSeconds(FastInput in) throws IOException {
+        String[] time = in.readToken().split(":");
+        return Integer.parseInt(time[0]) * 60 * 60 + Integer.parseInt(time[1]) * 60
+                + Integer.parseInt(time[2]);
+    }
+    
 }
 /*
 Given:
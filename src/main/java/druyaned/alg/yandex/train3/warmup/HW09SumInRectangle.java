@@ -1,6 +1,6 @@
 package druyaned.alg.yandex.train3.warmup;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -9,37 +9,21 @@ import java.nio.file.Paths;
 
 public class HW09SumInRectangle {
     
-    private static final char[] buf = new char[16];
-    
-    private static int readInt(BufferedReader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader), m = readInt(reader), k = readInt(reader);
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int n = in.readInt(), m = in.readInt(), k = in.readInt();
         int[][] field = new int[n + 1][m + 1];
         for (int y = 1; y <= n; ++y) {
             for (int x = 1; x <= m; ++x) {
-                field[y][x] = readInt(reader);
+                field[y][x] = in.readInt();
             }
         }
         int[][] sums = new int[n + 1][m + 1];
@@ -51,8 +35,8 @@ public class HW09SumInRectangle {
             }
         }
         for (int i = 0; i < k; ++i) {
-            int y1 = readInt(reader), x1 = readInt(reader);
-            int y2 = readInt(reader), x2 = readInt(reader);
+            int y1 = in.readInt(), x1 = in.readInt();
+            int y2 = in.readInt(), x2 = in.readInt();
             long sum = sums[y2][x2]
                     - sums[y2][x1 - 1]
                     + sums[y1 - 1][x1 - 1]
@@ -1,42 +1,24 @@
 package druyaned.alg.yandex.train4.l1sort;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import druyaned.alg.util.t04io.FastInput;
+import druyaned.alg.util.t04io.FastOutput;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Random;
 
 public class HW2QuickSort {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
-                BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-//            solve(reader, writer);
-            clearSolve(reader, writer);
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
+                FastOutput out = new FastOutput(Paths.get("output.txt"))) {
+//            solve(in, out);
+            clearSolve(in, out);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static final char[] buf = new char[15];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     private static void swap(int[] arr, int i1, int i2) {
         int toSwap = arr[i1];
         arr[i1] = arr[i2];
@@ -147,11 +129,11 @@ public class HW2QuickSort {
         System.out.println();
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader);
+    public static void solve(FastInput in, FastOutput out) throws IOException {
+        int n = in.readInt();
         int[] arr = new int[n];
         for (int i = 0; i < n; ++i) {
-            arr[i] = readInt(reader);
+            arr[i] = in.readInt();
         }
         if (n == 0) {
             return;
@@ -218,22 +200,19 @@ public class HW2QuickSort {
                 paramLast[size++] = last;
             }
         }
-        writer.write(Integer.toString(arr[0]));
-        for (int i = 1; i < n; ++i) {
-            writer.write(" " + arr[i]);
-        }
-        writer.write('\n');
+        out.writeInts(arr, ' ');
+        out.writeln();
     }
     
-    public static void clearSolve(BufferedReader reader, BufferedWriter writer)
+    public static void clearSolve(FastInput in, FastOutput out)
             throws IOException {
-        int n = readInt(reader);
+        int n = in.readInt();
         if (n == 0) {
             return;
         }
         int[] arr = new int[n];
         for (int i = 0; i < n; ++i) {
-            arr[i] = readInt(reader);
+            arr[i] = in.readInt();
         }
         int[] paramFirst = new int[n];
         int[] paramLast = new int[n];
@@ -292,11 +271,8 @@ public class HW2QuickSort {
                 paramLast[size++] = last;
             }
         }
-        writer.write(Integer.toString(arr[0]));
-        for (int i = 1; i < n; ++i) {
-            writer.write(" " + arr[i]);
-        }
-        writer.write('\n');
+        out.writeInts(arr, ' ');
+        out.writeln();
     }
     
 }
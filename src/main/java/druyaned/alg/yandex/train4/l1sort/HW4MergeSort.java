@@ -1,40 +1,22 @@
 package druyaned.alg.yandex.train4.l1sort;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import druyaned.alg.util.t04io.FastInput;
+import druyaned.alg.util.t04io.FastOutput;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 
 public class HW4MergeSort {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
-                BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
+                FastOutput out = new FastOutput(Paths.get("output.txt"))) {
+            solve(in, out);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static final char[] buf = new char[15];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     private static void show(int n, int[] arr) {
         System.out.print("\narr:");
         for (int i = 0; i < n; ++i) {
@@ -57,14 +39,14 @@ public class HW4MergeSort {
         arr[i2] = toSwap;
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader);
+    public static void solve(FastInput in, FastOutput out) throws IOException {
+        int n = in.readInt();
         if (n == 0) {
             return;
         }
         int[] arr = new int[n];
         for (int i = 0; i < n; ++i) {
-            arr[i] = readInt(reader);
+            arr[i] = in.readInt();
         }
         int[] source = new int[n];
         System.arraycopy(arr, 0, source, 0, n);
@@ -123,11 +105,8 @@ public class HW4MergeSort {
             show(n, arr);//show
             show(paramBegin, paramEnd);//show
         }
-        writer.write(Integer.toString(arr[0]));
-        for (int i = 1; i < n; ++i) {
-            writer.write(" " + arr[i]);
-        }
-        writer.write('\n');
+        out.writeInts(arr, ' ');
+        out.writeln();
     }
     
     private static class IntDeque {
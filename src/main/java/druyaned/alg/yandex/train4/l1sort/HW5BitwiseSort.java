@@ -1,40 +1,22 @@
 package druyaned.alg.yandex.train4.l1sort;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import druyaned.alg.util.t04io.FastInput;
+import druyaned.alg.util.t04io.FastOutput;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 
 public class HW5BitwiseSort {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
-                BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
+                FastOutput out = new FastOutput(Paths.get("output.txt"))) {
+            solve(in, out);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static final char[] buf = new char[16];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     private static void show(int n, String[] arr) {
         System.out.printf("%s", arr[0], 0);
         for (int digit = 1; digit < n; ++digit) {
@@ -57,19 +39,19 @@ public class HW5BitwiseSort {
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    public static void solve(FastInput in, FastOutput out) throws IOException {
         final int ALPHABET_SIZE = 10;
         final String SPACER = "**********\n";
-        int n = readInt(reader);
+        int n = in.readInt();
         String[] arr = new String[n];
         for (int i = 0; i < n; ++i) {
-            arr[i] = reader.readLine();
+            arr[i] = in.readLine();
         }
-        writer.write("Initial array:\n" + arr[0]);
+        out.write("Initial array:\n" + arr[0]);
         for (int i = 1; i < n; ++i) {
-            writer.write(", " + arr[i]);
+            out.write(", " + arr[i]);
         }
-        writer.write('\n');
+        out.writeln();
         int length = arr[0].length();
         String[] copy = new String[n];
         int[] counts = new int[ALPHABET_SIZE];
@@ -78,7 +60,7 @@ public class HW5BitwiseSort {
         for (int phase = 1; phase <= length; ++phase) {
             clear(ALPHABET_SIZE, counts);
             clear(ALPHABET_SIZE, indexes);
-            writer.write(SPACER + "Phase " + phase + "\n");
+            out.write(SPACER + "Phase " + phase + "\n");
             int pos = length - phase;
             for (int i = 0; i < n; ++i) {
                 counts[arr[i].charAt(pos) - '0']++;
@@ -97,9 +79,9 @@ public class HW5BitwiseSort {
                 arr[i] = copy[i];
             }
             for (int digit = 0; digit < ALPHABET_SIZE; ++digit) {
-                writer.write("Bucket " + digit + ": ");
+                out.write("Bucket " + digit + ": ");
                 if (counts[digit] == 0) {
-                    writer.write("empty\n");
+                    out.write("empty\n");
                 } else {
                     int start = indexes[digit] - counts[digit];
                     builder.append(arr[start]);
@@ -107,7 +89,7 @@ public class HW5BitwiseSort {
                         builder.append(", ").append(arr[i]);
                     }
                     builder.append('\n');
-                    writer.write(builder.toString());
+                    out.write(builder.toString());
                     builder.setLength(0);
                 }
             }
@@ -118,11 +100,11 @@ public class HW5BitwiseSort {
             System.out.print("    arr: "); // TODO: debug
             show(n, arr); // TODO: debug
         }
-        writer.write(SPACER + "Sorted array:\n" + arr[0]);
+        out.write(SPACER + "Sorted array:\n" + arr[0]);
         for (int i = 1; i < n; ++i) {
-            writer.write(", " + arr[i]);
+            out.write(", " + arr[i]);
         }
-        writer.write('\n');
+        out.writeln();
     }
     
 }
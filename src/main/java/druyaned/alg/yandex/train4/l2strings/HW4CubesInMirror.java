@@ -1,40 +1,22 @@
 package druyaned.alg.yandex.train4.l2strings;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import druyaned.alg.util.t04io.FastInput;
+import druyaned.alg.util.t04io.FastOutput;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 
 public class HW4CubesInMirror {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
-                BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
+                FastOutput out = new FastOutput(Paths.get("output.txt"))) {
+            solve(in, out);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static final char[] buf = new char[16];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     private static void show(int n, int s[], int r[]) {
         System.out.print(" i:");
         for (int i = 0; i < n; ++i) {
@@ -81,13 +63,13 @@ public class HW4CubesInMirror {
         return (h1[c][i1 + l] + h2[c][i2] * x[c][l]) % MODULO[c] == h2[c][i2 + l];
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader);
-        readInt(reader);
+    public static void solve(FastInput in, FastOutput out) throws IOException {
+        int n = in.readInt();
+        in.readInt();
         int[] s1 = new int[n + 1];
         int[] s2 = new int[n + 1]; // reversed
         for (int i = 0; i < n; ++i) {
-            s1[i] = s2[n - 1 - i] = readInt(reader);
+            s1[i] = s2[n - 1 - i] = in.readInt();
         }
         show(n, s1, s2); // TODO: debug
         long[][] x = makeArguments(n);
@@ -108,13 +90,14 @@ public class HW4CubesInMirror {
                 ans[size++] = n - l;
             }
         }
-        writer.write(Integer.toString(ans[size - 1]));
+        out.writeInt(ans[size - 1]);
         System.out.print(Integer.toString(ans[size - 1])); // TODO: debug
         for (int i = size - 1; i > 0; --i) {
-            writer.write(" " + ans[i - 1]);
+            out.write(' ');
+            out.writeInt(ans[i - 1]);
             System.out.print(" " + ans[i - 1]); // TODO: debug
         }
-        writer.write('\n');
+        out.writeln();
         System.out.print('\n'); // TODO: debug
     }
     
@@ -1,46 +1,29 @@
 package druyaned.alg.yandex.train4.l3dijkstra;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import druyaned.alg.util.t04io.FastInput;
+import druyaned.alg.util.t04io.FastOutput;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Arrays;
 
 public class HW5OnSleigh {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
-                BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
+                FastOutput out = new FastOutput(Paths.get("output.txt"))) {
+            solve(in, out);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader);
-        Vertex[] v = inputVertices(reader, n);
+    public static void solve(FastInput in, FastOutput out) throws IOException {
+        int n = in.readInt();
+        Vertex[] v = inputVertices(in, n);
         int[][] m = makeRangeMatrix(n, v);
         Target[] targets = makeTargets(n, v, m);
-        writeAnswer(writer, n, targets);
-    }
-    
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
+        writeAnswer(out, n, targets);
     }
     
     private static class Vertex {
@@ -73,18 +56,18 @@ public class HW5OnSleigh {
         }
     }
     
-    private static Vertex[] inputVertices(BufferedReader reader, int n) throws IOException {
+    private static Vertex[] inputVertices(FastInput in, int n) throws IOException {
         Vertex[] v = new Vertex[n + 1];
         Edge[] e = new Edge[n];
         for (int i = 1; i <= n; i++) {
-            int t = readInt(reader);
-            int u = readInt(reader);
+            int t = in.readInt();
+            int u = in.readInt();
             v[i] = new Vertex(t, u);
         }
         for (int i = 1; i < n; i++) {
-            int a = readInt(reader);
-            int b = readInt(reader);
-            int r = readInt(reader);
+            int a = in.readInt();
+            int b = in.readInt();
+            int r = in.readInt();
             e[i] = new Edge(a, b, r);
             v[a].l++;
             if (a != b) {
@@ -178,7 +161,7 @@ public class HW5OnSleigh {
         return targets;
     }
     
-    private static void writeAnswer(BufferedWriter writer, int n, Target[] targets)
+    private static void writeAnswer(FastOutput out, int n, Target[] targets)
             throws IOException {
         double maxT = 0d;
         int targetV = 0;
@@ -188,12 +171,14 @@ public class HW5OnSleigh {
                 targetV = i;
             }
         }
-        writer.write(String.format("%.5f\n", maxT));
-        writer.write(Integer.toString(targetV));
+        out.writeDouble(maxT, 5);
+        out.writeln();
+        out.writeInt(targetV);
         for (int i = targets[targetV].p; i != 0; i = targets[i].p) {
-            writer.write(" " + i);
+            out.write(' ');
+            out.writeInt(i);
         }
-        writer.write('\n');
+        out.writeln();
     }
     
 }
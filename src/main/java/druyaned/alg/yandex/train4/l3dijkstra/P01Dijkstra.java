@@ -1,11 +1,9 @@
 package druyaned.alg.yandex.train4.l3dijkstra;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import druyaned.alg.util.t04io.FastInput;
+import druyaned.alg.util.t04io.FastOutput;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,30 +11,30 @@ import java.util.List;
 public class P01Dijkstra {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
-                BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
+                FastOutput out = new FastOutput(Paths.get("output.txt"))) {
+            solve(in, out);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader); // vertex amount
-        int k = readInt(reader); // edge amount
+    public static void solve(FastInput in, FastOutput out) throws IOException {
+        int n = in.readInt(); // vertex amount
+        int k = in.readInt(); // edge amount
         Vertex[] vertices = new Vertex[n + 1];
         for (int i = 1; i <= n; i++) {
             vertices[i] = new Vertex(i);
         }
         for (int i = 1; i <= k; i++) {
-            int v1 = readInt(reader);
-            int v2 = readInt(reader);
-            int w = readInt(reader);
+            int v1 = in.readInt();
+            int v2 = in.readInt();
+            int w = in.readInt();
             vertices[v1].descendants.add(v2);
             vertices[v1].weights.add(w);
         }
-        int start = readInt(reader);
-        int finish = readInt(reader);
+        int start = in.readInt();
+        int finish = in.readInt();
         System.out.printf("start=%d finish=%d\n", start, finish);
         showVertices(n, vertices);
         Destination[] destinations = dijkstra(n, k, vertices, start);
@@ -46,21 +44,6 @@ public class P01Dijkstra {
         showPath(path, destinations);
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     private static class HeapMin<T extends Comparable<T>> {
         private final int capacity;
         private int size;
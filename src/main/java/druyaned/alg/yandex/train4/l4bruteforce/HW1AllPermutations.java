@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train4.l4bruteforce;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,16 +10,16 @@ import java.nio.file.Paths;
 public class HW1AllPermutations {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader); // n in [1, 9]
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int n = in.readInt(); // n in [1, 9]
         int[] a = new int[n];
         for (int i = 0; i < n; i++) {
             a[i] = i + 1;
@@ -63,21 +62,6 @@ public class HW1AllPermutations {
         a[j] = toSwap;
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
 /*
 Задача: вывести все перестановки в лексикографическом порядке.
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train4.l4bruteforce;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,17 +10,17 @@ import java.nio.file.Paths;
 public class HW3MaximumCut {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader); // n in [2, 20];
-        Vertex[] v = readVertices(reader, n);
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int n = in.readInt(); // n in [2, 20];
+        Vertex[] v = readVertices(in, n);
         int maxSum = 0;
         int maxBitMask = 0;
         int lim = 1 << (n - 1);
@@ -56,13 +55,13 @@ public class HW3MaximumCut {
         }
     }
     
-    private static Vertex[] readVertices(BufferedReader reader, int n) throws IOException {
+    private static Vertex[] readVertices(FastInput in, int n) throws IOException {
         Vertex[] v = new Vertex[n + 1];
         int[] inputWeights = new int[n + 1];
         for (int i = 1; i <= n; i++) {
             int l = 0;
             for (int j = 1; j <= n; j++) {
-                inputWeights[j] = readInt(reader);
+                inputWeights[j] = in.readInt();
                 if (inputWeights[j] != 0) {
                     l++;
                 }
@@ -102,21 +101,6 @@ public class HW3MaximumCut {
         writer.write('\n');
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
 /*
 Надо разделить вершины по долям 0 и 1 так, чтобы сумма ребер,
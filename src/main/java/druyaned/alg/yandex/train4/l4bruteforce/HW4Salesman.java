@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train4.l4bruteforce;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,21 +10,21 @@ import java.nio.file.Paths;
 public class HW4Salesman {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader);
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int n = in.readInt();
         if (n == 1) {
             writer.write("0\n");
             return;
         }
-        Vertex[] g = readGraph(reader, n);
+        Vertex[] g = readGraph(in, n);
         int[] v = new int[(int)10e5]; // stack of vertices
         int[] b = new int[(int)10e5]; // bitmasks of visited vertices
         int[] w = new int[(int)10e5]; // sums of weights
@@ -73,13 +72,13 @@ public class HW4Salesman {
         }
     }
     
-    private static Vertex[] readGraph(BufferedReader reader, int n) throws IOException {
+    private static Vertex[] readGraph(FastInput in, int n) throws IOException {
         Vertex[] g = new Vertex[n + 1];
         int[] inputWeights = new int[n + 1];
         for (int i = 1; i <= n; i++) {
             int l = 0;
             for (int j = 1; j <= n; j++) {
-                inputWeights[j] = readInt(reader);
+                inputWeights[j] = in.readInt();
                 if (inputWeights[j] != 0) {
                     l++;
                 }
@@ -95,21 +94,6 @@ public class HW4Salesman {
         return g;
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
 /*
 Найти кратчайший путь через все вершины графа.
@@ -1,40 +1,22 @@
 package druyaned.alg.yandex.train4.sprint;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import druyaned.alg.util.t04io.FastInput;
+import druyaned.alg.util.t04io.FastOutput;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 
 public class P02MirrorZFunction {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
-                BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
+                FastOutput out = new FastOutput(Paths.get("output.txt"))) {
+            solve(in, out);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static final char[] buf = new char[16];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     private static final int CALC_SIZE = 2;
     private static final long MODULO[] = {(int)1e9 + 7, (int)1e9 + 9};
     private static final long ARG[] = {257, 263};
@@ -98,13 +80,13 @@ public class P02MirrorZFunction {
         System.out.println();
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    public static void solve(FastInput in, FastOutput out) throws IOException {
         final int ALPHABET_SIZE = 26;
-        int n = readInt(reader);
+        int n = in.readInt();
         int s[] = new int[n + 1];
         int r[] = new int[n + 1];
         for (int i = 1; i <= n; ++i) {
-            int ch = reader.read();
+            int ch = in.read();
             if ('A' <= ch && ch <= 'Z') {
                 s[i] = ch - 'A' + 1;
             } else {
@@ -139,11 +121,8 @@ public class P02MirrorZFunction {
             z[i] = rightLen;
         }
         showZ(n, z); // TODO: debug
-        writer.write(Integer.toString(z[1]));
-        for (int i = 2; i <= n; ++i) {
-            writer.write(" " + z[i]);
-        }
-        writer.write('\n');
+        out.writeInts(z, 1, n + 1, ' ');
+        out.writeln();
     }
     
 }
@@ -1,6 +1,6 @@
 package druyaned.alg.yandex.train4.warmup;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -9,41 +9,25 @@ import java.nio.file.Paths;
 
 public class HW01NotMinimumOnCut {
     
-    private static final char[] buf = new char[16];
-    
-    private static int readInt(BufferedReader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader); // seq len
-        int m = readInt(reader); // req cnt
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int n = in.readInt(); // seq len
+        int m = in.readInt(); // req cnt
         int[] a = new int[n]; // a[i] in [0, 1000]
         for (int i = 0; i < n; ++i) {
-            a[i] = readInt(reader);
+            a[i] = in.readInt();
         }
         for (int i = 0; i < m; ++i) {
-            int l = readInt(reader);
-            int r = readInt(reader);
+            int l = in.readInt();
+            int r = in.readInt();
             int minElem = a[l];
             for (int j = l; j <= r; ++j) { // 1000 * 100 = 10^5
                 if (minElem > a[j]) {
@@ -1,10 +1,9 @@
 package druyaned.alg.yandex.train4.warmup;
 
+import druyaned.alg.util.t04io.FastInput;
 import static java.lang.Math.*;
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -12,30 +11,14 @@ import java.nio.file.Paths;
 public class HW03TravelAroundMoscow {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static final char[] buf = new char[16];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
     private static double ang(double x, double y) {
         if (x == 0D && y == 0D) {
             return 0D;
@@ -56,9 +39,9 @@ public class HW03TravelAroundMoscow {
         return -1D;
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        double x1 = readInt(reader), y1 = readInt(reader);
-        double x2 = readInt(reader), y2 = readInt(reader);
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        double x1 = in.readInt(), y1 = in.readInt();
+        double x2 = in.readInt(), y2 = in.readInt();
         double r1 = sqrt(x1 * x1 + y1 * y1);
         double r2 = sqrt(x2 * x2 + y2 * y2);
         if (r1 > r2) { // r_min = r1; r_max = r2
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train4.warmup;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,37 +10,21 @@ import java.nio.file.Paths;
 public class HW07RabbitLearnsGeometry {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static final char[] buf = new char[16];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int rows = readInt(reader);
-        int columns = readInt(reader);
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int rows = in.readInt();
+        int columns = in.readInt();
         int[][] bed = new int[rows + 2][columns + 2];
         for (int r = 1; r <= rows; ++r) {
             for (int c = 1; c <= columns; ++c) {
-                bed[r][c] = readInt(reader);
+                bed[r][c] = in.readInt();
             }
         }
         int maxSide = 0;
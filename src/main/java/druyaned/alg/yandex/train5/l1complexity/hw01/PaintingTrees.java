@@ -1,10 +1,9 @@
 // https://contest.yandex.ru/contest/59539/problems/
 package druyaned.alg.yandex.train5.l1complexity.hw01;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -13,19 +12,19 @@ import java.util.Arrays;
 public class PaintingTrees {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int vasyaPosition = readInt(reader);
-        int vasyaDistance = readInt(reader);
-        int mashaPosition = readInt(reader);
-        int mashaDistance = readInt(reader);
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int vasyaPosition = in.readInt();
+        int vasyaDistance = in.readInt();
+        int mashaPosition = in.readInt();
+        int mashaDistance = in.readInt();
         int n = 4;
         Point[] points = new Point[n];
         points[0] = new Point(vasyaPosition - vasyaDistance, 1);
@@ -74,21 +73,6 @@ public class PaintingTrees {
         System.out.println();
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
 /*
 inputs:
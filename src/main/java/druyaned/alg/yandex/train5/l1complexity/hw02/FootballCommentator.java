@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l1complexity.hw02;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,20 +10,22 @@ import java.nio.file.Paths;
 public class FootballCommentator {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int match1Team1 = readInt(reader);
-        int match1Team2 = readInt(reader);
-        int match2Team1 = readInt(reader);
-        int match2Team2 = readInt(reader);
-        int match1Home1 = readInt(reader);
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        String[] match1 = in.readToken().split(":"); // G1:G2
+        String[] match2 = in.readToken().split(":");
+        int match1Team1 = Integer.parseInt(match1[0]);
+        int match1Team2 = Integer.parseInt(match1[1]);
+        int match2Team1 = Integer.parseInt(match2[0]);
+        int match2Team2 = Integer.parseInt(match2[1]);
+        int match1Home1 = in.readInt();
         int total1 = match1Team1 + match2Team1;
         int total2 = match1Team2 + match2Team2;
         int guest1 = match1Home1 == 1 ? match2Team1 : match1Team1;
@@ -41,19 +42,4 @@ public class FootballCommentator {
         writer.write(Integer.toString(team1Needs) + "\n");
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
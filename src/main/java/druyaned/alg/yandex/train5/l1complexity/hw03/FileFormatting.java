@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l1complexity.hw03;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -12,21 +11,21 @@ import java.util.function.IntUnaryOperator;
 public class FileFormatting {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
         final int TYPES = 4;
-        int n = readInt(reader);
+        int n = in.readInt();
         IntUnaryOperator tapsByType = type -> type == 1 || type == 2 ? 2 : 1;
         long taps = 0L;
         for (int i = 0; i < n; i++) {
-            int toAdd = readInt(reader);
+            int toAdd = in.readInt();
             if (toAdd > 0) {
                 int steps = (toAdd - 1) / TYPES;
                 int type = (toAdd - 1) % TYPES;
@@ -36,21 +35,6 @@ public class FileFormatting {
         writer.write(Long.toString(taps) + "\n");
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
 /*
 TASK SOLVING
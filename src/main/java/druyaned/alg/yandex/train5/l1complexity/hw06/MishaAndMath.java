@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l1complexity.hw06;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,21 +10,21 @@ import java.nio.file.Paths;
 public class MishaAndMath {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    public static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    public static void solve(FastInput in, BufferedWriter writer) throws IOException {
         final char PLUS = '\u002b';
         final char MULTIPLY = '\u0078';
-        int n = readInt(reader);
+        int n = in.readInt();
         int[] types = new int[n]; // 0 - zero, 1 - odd, 2 - even
         for (int i = 0; i < n; i++) {
-            int number = readInt(reader);
+            int number = in.readInt();
             if (number == 0) {
                 types[i] = 0;
             } else if (isOdd(number)) {
@@ -71,21 +70,6 @@ public class MishaAndMath {
         return n % 2 != 0;
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
 /*
 input:
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l1complexity.hw07;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,18 +10,18 @@ import java.nio.file.Paths;
 public class DestroyBarracks {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int mySoldiers = readInt(reader);
-        int baracksHP = readInt(reader);
-        int production = readInt(reader);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int mySoldiers = in.readInt();
+        int baracksHP = in.readInt();
+        int production = in.readInt();
         System.out.printf("  b=%d m=%d p=%d\n", baracksHP, mySoldiers , production);//show
         Variables variables = new Variables(baracksHP, mySoldiers, production);
         variables.show();//show
@@ -123,21 +122,6 @@ public class DestroyBarracks {
         }//show
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
 /*
 Задача для меня оказалась сложной потому, что ее трудно понять.
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l1complexity.hw08;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -12,20 +11,20 @@ import java.util.Arrays;
 public class RunningAroundStadium {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int l = readInt(reader);
-        double x1 = readInt(reader);
-        double u1 = readInt(reader);
-        double x2 = readInt(reader);
-        double u2 = readInt(reader);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int l = in.readInt();
+        double x1 = in.readInt();
+        double u1 = in.readInt();
+        double x2 = in.readInt();
+        double u2 = in.readInt();
         if (x1 == x2) {
             writer.write("YES\n");
             writer.write("0.0\n");
@@ -71,19 +70,4 @@ public class RunningAroundStadium {
         }
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
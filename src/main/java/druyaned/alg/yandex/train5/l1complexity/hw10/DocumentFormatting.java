@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l1complexity.t10;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -13,19 +12,19 @@ import java.util.List;
 public class DocumentFormatting {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int textWidth = readInt(reader);
-        int lineHeight = readInt(reader);
-        int charLength = readInt(reader);
-        Text text = new Text(reader, textWidth, lineHeight, charLength);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int textWidth = in.readInt();
+        int lineHeight = in.readInt();
+        int charLength = in.readInt();
+        Text text = new Text(in, textWidth, lineHeight, charLength);
         Cursor cursor = new Cursor(lineHeight);
         Nodes nodes = new Nodes();
         parseText(text, cursor, nodes);
@@ -42,7 +41,7 @@ public class DocumentFormatting {
         private int i = 0;
         private final int width, lineHeight, charLength;
         private final char[] raw;
-        private Text(BufferedReader reader, int width, int lineHeight, int charLength)
+        private Text(FastInput in, int width, int lineHeight, int charLength)
                 throws IOException {
             this.width = width;
             this.lineHeight = lineHeight;
@@ -51,12 +50,11 @@ public class DocumentFormatting {
             firstParagraph.height = lineHeight;
             tokens.add(firstParagraph);
             char[] buffer = new char[MAX_LENGTH];
-            int n = reader.read(buffer);
-            if (n != -1) {
-                raw = new char[n];
-            } else {
-                raw = new char[n = 0];
+            int n = 0; // the text is ASCII, so a byte is a char
+            for (int b; n < MAX_LENGTH && (b = in.read()) != -1; n++) {
+                buffer[n] = (char)b;
             }
+            raw = new char[n];
             System.arraycopy(buffer, 0, raw, 0, n);
         }
     }
@@ -374,19 +372,4 @@ public class DocumentFormatting {
         iter.moveBeforeFirst();
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
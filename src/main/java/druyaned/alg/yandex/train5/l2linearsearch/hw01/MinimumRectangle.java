@@ -1,10 +1,9 @@
 // https://contest.yandex.ru/contest/59540/problems/
 package druyaned.alg.yandex.train5.l2linearsearch.hw01;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -12,21 +11,21 @@ import java.nio.file.Paths;
 public class MinimumRectangle {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int k = readInt(reader);
-        int minX, maxX = minX = readInt(reader);
-        int minY, maxY = minY = readInt(reader);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int k = in.readInt();
+        int minX, maxX = minX = in.readInt();
+        int minY, maxY = minY = in.readInt();
         for (int i = 1; i < k; i++) {
-            int x = readInt(reader);
-            int y = readInt(reader);
+            int x = in.readInt();
+            int y = in.readInt();
             if (minX > x) {
                 minX = x;
             }
@@ -43,19 +42,4 @@ public class MinimumRectangle {
         writer.write(String.format("%d %d %d %d\n", minX, minY, maxX, maxY));
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l2linearsearch.hw03;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,19 +10,19 @@ import java.nio.file.Paths;
 public class Ropes {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int ropeCount = readInt(reader);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int ropeCount = in.readInt();
         int[] ropes = new int[ropeCount];
         for (int i = 0; i < ropeCount; i++) {
-            ropes[i] = readInt(reader);
+            ropes[i] = in.readInt();
         }
         int maxRope = ropes[0];
         int maxRopeIndex = 0;
@@ -43,21 +42,6 @@ public class Ropes {
         writer.write(Integer.toString(mashaTook) + "\n");
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
 /*
 Итак, на столе могут быть какие веревочки?
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l2linearsearch.hw04;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,24 +10,24 @@ import java.nio.file.Paths;
 public class Chessboard {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
         final int MOVE_COUNT = 4;
         final int SIDE_LENGTH = 8;
         final int[] rowMove = { +1, 0, -1, 0 }; // up, right, down, left
         final int[] colMove = { 0, +1, 0, -1 };
-        int cellCount = readInt(reader);
+        int cellCount = in.readInt();
         boolean[][] chessboard = new boolean[SIDE_LENGTH + 2][SIDE_LENGTH + 2];
         for (int i = 0; i < cellCount; i++) {
-            int row = readInt(reader);
-            int column = readInt(reader);
+            int row = in.readInt();
+            int column = in.readInt();
             chessboard[row][column] = true;
         }
         int perimeter = 0;
@@ -46,19 +45,4 @@ public class Chessboard {
         writer.write(Integer.toString(perimeter) + "\n");
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l2linearsearch.hw05;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,22 +10,22 @@ import java.nio.file.Paths;
 public class AmbitiousSnail {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int berryCount = readInt(reader);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int berryCount = in.readInt();
         long[] up = new long[berryCount + 1];
         long[] down = new long[berryCount + 1];
         long[] difference = new long[berryCount + 1];
         for (int i = 1; i <= berryCount; i++) {
-            up[i] = readInt(reader);
-            down[i] = readInt(reader);
+            up[i] = in.readInt();
+            down[i] = in.readInt();
             difference[i] = up[i] - down[i];
         }
         long maxPosAtDayEnd = 0;
@@ -82,21 +81,6 @@ public class AmbitiousSnail {
         writer.write('\n');
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
 /*
 Путь к идее решения:
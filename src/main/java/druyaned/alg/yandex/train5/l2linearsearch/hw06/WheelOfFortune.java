@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l2linearsearch.hw06;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,23 +10,23 @@ import java.nio.file.Paths;
 public class WheelOfFortune {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int sectorCount = readInt(reader);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int sectorCount = in.readInt();
         int[] winnings = new int[sectorCount + 1];
         for (int i = 1; i <= sectorCount; i++) {
-            winnings[i] = readInt(reader);
+            winnings[i] = in.readInt();
         }
-        int velocityFrom = readInt(reader);
-        int velocityTo = readInt(reader);
-        int velocityDecrease = readInt(reader);
+        int velocityFrom = in.readInt();
+        int velocityTo = in.readInt();
+        int velocityDecrease = in.readInt();
         int indexFrom = divUp(velocityFrom, velocityDecrease);
         int indexTo = divUp(velocityTo, velocityDecrease);
         int winning = 0;
@@ -56,19 +55,4 @@ public class WheelOfFortune {
         return (number - 1) / divider + 1;
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
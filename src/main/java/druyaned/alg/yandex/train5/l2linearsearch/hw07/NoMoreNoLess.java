@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l2linearsearch.hw07;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,25 +10,25 @@ import java.nio.file.Paths;
 public class NoMoreNoLess {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
         final int MAX_ARRAY_SIZE = (int)10e5;
-        int testCount = readInt(reader);
+        int testCount = in.readInt();
         int[] a = new int[MAX_ARRAY_SIZE];
         for (int test = 0; test < testCount; test++) {
-            int n = readInt(reader);
+            int n = in.readInt();
             int cutCount = 0;
             int minElementInCut = n;
             int cutLength = 0;
             for (int i = 0; i < n; i++) {
-                int element = readInt(reader);
+                int element = in.readInt();
                 if (minElementInCut > element) {
                     minElementInCut = element;
                 }
@@ -51,19 +50,4 @@ public class NoMoreNoLess {
         }
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
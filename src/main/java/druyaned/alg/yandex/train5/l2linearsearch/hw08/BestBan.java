@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l2linearsearch.hw08;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,22 +10,22 @@ import java.nio.file.Paths;
 public class BestBan {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int rowCount = readInt(reader);
-        int columnCount = readInt(reader);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int rowCount = in.readInt();
+        int columnCount = in.readInt();
         int[][] valueTable = new int[rowCount + 1][columnCount + 1];
         int max1Row = 0, max1Column = 0, max1Value = 0;
         for (int r = 1; r <= rowCount; r++) {
             for (int c = 1; c <= columnCount; c++) {
-                valueTable[r][c] = readInt(reader);
+                valueTable[r][c] = in.readInt();
                 if (max1Value < valueTable[r][c]) {
                     max1Row = r;
                     max1Column = c;
@@ -76,21 +75,6 @@ public class BestBan {
         writer.write(String.format("%d %d\n", rowToRemove, columnToRemove));
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
 /*
 Идея решения:
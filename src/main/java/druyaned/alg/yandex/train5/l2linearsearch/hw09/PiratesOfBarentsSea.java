@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l2linearsearch.hw09;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import static java.lang.Math.abs;
 import java.nio.file.Files;
@@ -12,21 +11,21 @@ import java.nio.file.Paths;
 public class PiratesOfBarentsSea {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int n = in.readInt();
         int[] shipRows = new int[n];
         int[] shipColumns = new int[n];
         for (int i = 0; i < n; i++) {
-            shipRows[i] = readInt(reader);
-            shipColumns[i] = readInt(reader);
+            shipRows[i] = in.readInt();
+            shipColumns[i] = in.readInt();
         }
         int[] columnShipCounts = new int[n + 1];
         int[] rowShipCounts = new int[n + 1];
@@ -53,21 +52,6 @@ public class PiratesOfBarentsSea {
         writer.write(Integer.toString(minRowMoves + columnMoves) + "\n");
     }
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
 /*
 4|1 * * 3
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l2linearsearch.hw10;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,26 +10,26 @@ import java.nio.file.Paths;
 public class TwoRectangles {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int rowCount = readInt(reader);
-        int columnCount = readInt(reader);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int rowCount = in.readInt();
+        int columnCount = in.readInt();
         int[][] field = new int[rowCount + 2][columnCount + 2];
         for (int r = 1; r <= rowCount; r++) {
             for (int c = 1; c <= columnCount; c++) {
-                char ch = (char)reader.read();
+                char ch = (char)in.read();
                 if (ch == '#') {
                     field[r][c] = -1; // -1 => raw cell, 1 => 1st rect, 2 => 2nd rect
                 }
             }
-            reader.read(); // new line
+            in.read(); // new line
         }
         showField(rowCount, columnCount, field);//show
         int rectangleCount = 0;
@@ -165,21 +164,6 @@ public class TwoRectangles {
         }//show
     }//show
     
-    private static final char[] buf = new char[16];
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
 /*
 Ход решения
@@ -1,10 +1,9 @@
 // https://contest.yandex.ru/contest/59541/problems/
 package druyaned.alg.yandex.train5.l3setmap.hw01;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -14,26 +13,26 @@ import java.util.HashMap;
 public class Playlists {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
         final int MAX_SIZE = (int)2e6;
-        int peopleCount = readInt(reader);
+        int peopleCount = in.readInt();
         HashMap<String, Integer> trackToCount = new HashMap(MAX_SIZE);
-        int trackCount = readInt(reader);
+        int trackCount = in.readInt();
         for (int j = 0; j < trackCount; j++) {
-            trackToCount.put(readToken(reader), 1);
+            trackToCount.put(in.readToken(), 1);
         }
         for (int i = 1; i < peopleCount; i++) {
-            trackCount = readInt(reader);
+            trackCount = in.readInt();
             for (int j = 0; j < trackCount; j++) {
-                String track = readToken(reader);
+                String track = in.readToken();
                 Integer count = trackToCount.get(track);
                 if (count != null) {
                     trackToCount.put(track, count + 1);
@@ -57,34 +56,4 @@ public class Playlists {
         writer.write('\n');
     }
     
-    private static final char[] buf = new char[16];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
-    private static String readToken(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && (c == ' ' || c == '\n')) {}
-        if (c == -1) {
-            return null;
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && c != ' ' && c != '\n') {
-            buf[l++] = (char)c;
-        }
-        return new String(buf, 0, l);
-    }
-    
 }
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l3setmap.hw02;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,18 +10,18 @@ import java.nio.file.Paths;
 public class Anagram {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
         final int ALPHABET_SIZE = 26;
-        String first = readToken(reader);
-        String second = readToken(reader);
+        String first = in.readToken();
+        String second = in.readToken();
         if (first == null || second == null) {
             writer.write("NO\n");
             return;
@@ -46,20 +45,4 @@ public class Anagram {
         writer.write("YES\n");
     }
     
-    private static final char[] buf = new char[(int)2e6];
-    
-    private static String readToken(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && (c == ' ' || c == '\n')) {}
-        if (c == -1) {
-            return null;
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && c != ' ' && c != '\n') {
-            buf[l++] = (char)c;
-        }
-        return new String(buf, 0, l);
-    }
-    
 }
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l3setmap.hw03;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,21 +10,21 @@ import java.nio.file.Paths;
 public class DeletingNumbers {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
         final int MAX_NUMBER = (int)1e5;
-        int numberCount = readInt(reader);
+        int numberCount = in.readInt();
         int[] numberToCount = new int[MAX_NUMBER + 1];
         int size = 0;
         for (int i = 0; i < numberCount; i++) {
-            if (numberToCount[readInt(reader)]++ == 0) {
+            if (numberToCount[in.readInt()]++ == 0) {
                 size++;
             }
         }
@@ -49,20 +48,4 @@ public class DeletingNumbers {
         writer.write(Integer.toString(numberCount - maxPairSum) + "\n");
     }
     
-    private static final char[] buf = new char[(int)2e6];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l3setmap.hw04;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -13,20 +12,20 @@ import java.util.List;
 public class RecurringNumber {
     
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader);
-        int k = readInt(reader);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int n = in.readInt();
+        int k = in.readInt();
         HashTable table = new HashTable();
         for (int i = 0; i < n; i++) {
-            int value = readInt(reader);
+            int value = in.readInt();
             Pair pair = table.contains(value);
             if (pair != null) {
                 if (i - pair.p <= k) {
@@ -110,20 +109,4 @@ public class RecurringNumber {
         }
     }
     
-    private static final char[] buf = new char[(int)2e6];
-    
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
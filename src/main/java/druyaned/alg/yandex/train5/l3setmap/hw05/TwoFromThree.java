@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l3setmap.hw05;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -14,32 +13,30 @@ import java.util.function.Consumer;
 
 public class TwoFromThree {
     
-    private static final char[] buf = new char[(int)2e6];
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
         HashTable table1 = new HashTable();
         HashTable table2 = new HashTable();
         HashTable table3 = new HashTable();
-        int n1 = readInt(reader);
+        int n1 = in.readInt();
         for (int i = 0; i < n1; i++) {
-            table1.add(readInt(reader));
+            table1.add(in.readInt());
         }
-        int n2 = readInt(reader);
+        int n2 = in.readInt();
         for (int i = 0; i < n2; i++) {
-            table2.add(readInt(reader));
+            table2.add(in.readInt());
         }
-        int n3 = readInt(reader);
+        int n3 = in.readInt();
         for (int i = 0; i < n3; i++) {
-            table3.add(readInt(reader));
+            table3.add(in.readInt());
         }
         HashTable inTwoTable = new HashTable(); // 1 2; 1 3; 2 3
         table1.forEach(valueObj -> {
@@ -65,20 +62,6 @@ public class TwoFromThree {
         writer.write('\n');
     }
     
-    private static int readInt(Reader reader) throws IOException {
-        int c;
-        while ((c = reader.read()) != -1 && c != '+' && c != '-' && !('0' <= c && c <= '9')) {}
-        if (c == -1) {
-            throw new NumberFormatException("empty input");
-        }
-        buf[0] = (char)c;
-        int l = 1;
-        while ((c = reader.read()) != -1 && '0' <= c && c <= '9') {
-            buf[l++] = (char)c;
-        }
-        return Integer.parseInt(new String(buf, 0, l));
-    }
-    
 }
 
 class HashTable {
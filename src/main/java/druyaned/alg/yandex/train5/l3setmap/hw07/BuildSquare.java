@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l3setmap.hw07;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,25 +10,23 @@ import java.util.HashSet;
 
 public class BuildSquare {
     
-    private static final char[] BUFFER = new char[(int)2e6];
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
         final int CAPACITY = 2000;
-        int pointCount = readInt(reader);
+        int pointCount = in.readInt();
         Point[] points = new Point[CAPACITY];
         HashSet<Point> table = new HashSet(CAPACITY);
         for (int i = 0; i < pointCount; i++) {
-            int x = readInt(reader);
-            int y = readInt(reader);
+            int x = in.readInt();
+            int y = in.readInt();
             points[i] = new Point(x, y);
             table.add(points[i]);
         }
@@ -82,25 +79,6 @@ public class BuildSquare {
         }
     }
     
-    private static int readInt(Reader reader) throws IOException {
-        int bufferLength = nextTokenInBuffer(reader);
-        return Integer.parseInt(new String(BUFFER, 0, bufferLength));
-    }
-    
-    private static int nextTokenInBuffer(Reader reader) throws IOException {
-        int ch;
-        while ((ch = reader.read()) != -1 && Character.isWhitespace(ch)) {}
-        if (ch == -1) {
-            return 0;
-        }
-        BUFFER[0] = (char)ch;
-        int bufferLength = 1;
-        while ((ch = reader.read()) != -1 && !Character.isWhitespace(ch)) {
-            BUFFER[bufferLength++] = (char)ch;
-        }
-        return bufferLength;
-    }
-    
 }
 
 class Point {
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l3setmap.hw08;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -15,33 +14,31 @@ import java.util.Map;
 
 public class MatchPuzzle {
     
-    private static final char[] BUFFER = new char[(int)2e6];
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int n = in.readInt();
         Vector[] a = new Vector[n];
         Vector[] b = new Vector[n];
         for (int i = 0; i < n; i++) {
-            int x1 = readInt(reader);
-            int y1 = readInt(reader);
-            int x2 = readInt(reader);
-            int y2 = readInt(reader);
+            int x1 = in.readInt();
+            int y1 = in.readInt();
+            int x2 = in.readInt();
+            int y2 = in.readInt();
             a[i] = new Vector(-1, i + 1, x1, y1, x2, y2);
         }
         for (int i = 0; i < n; i++) {
-            int x1 = readInt(reader);
-            int y1 = readInt(reader);
-            int x2 = readInt(reader);
-            int y2 = readInt(reader);
+            int x1 = in.readInt();
+            int y1 = in.readInt();
+            int x2 = in.readInt();
+            int y2 = in.readInt();
             b[i] = new Vector(-1, i + 1, x1, y1, x2, y2);
         }
         Map<Vector, Map<Vector, List<Vector>>> basisToMovedMap = new HashMap(n);
@@ -95,25 +92,6 @@ public class MatchPuzzle {
         writer.write(Integer.toString(n - maxCount) + "\n");
     }
     
-    private static int readInt(Reader reader) throws IOException {
-        int bufferLength = nextTokenInBuffer(reader);
-        return Integer.parseInt(new String(BUFFER, 0, bufferLength));
-    }
-    
-    private static int nextTokenInBuffer(Reader reader) throws IOException {
-        int ch;
-        while ((ch = reader.read()) != -1 && Character.isWhitespace(ch)) {}
-        if (ch == -1) {
-            return 0;
-        }
-        BUFFER[0] = (char)ch;
-        int bufferLength = 1;
-        while ((ch = reader.read()) != -1 && !Character.isWhitespace(ch)) {
-            BUFFER[bufferLength++] = (char)ch;
-        }
-        return bufferLength;
-    }
-    
 }
 
 class Vector {
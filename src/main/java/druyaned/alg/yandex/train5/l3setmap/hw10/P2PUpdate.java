@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l3setmap.hw10;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -14,44 +13,23 @@ import java.util.function.Consumer;
 
 public class P2PUpdate {
     
-    private static final char[] BUFFER = new char[(int)2e6];
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int deviceCount = readInt(reader);
-        int partCount = readInt(reader);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int deviceCount = in.readInt();
+        int partCount = in.readInt();
         TimeslotManager timeslotManager = new TimeslotManager(deviceCount, partCount);
         timeslotManager.run();
         timeslotManager.writeTimeslotIds(writer);
     }
     
-    private static int readInt(Reader reader) throws IOException {
-        int bufferLength = nextTokenInBuffer(reader);
-        return Integer.parseInt(new String(BUFFER, 0, bufferLength));
-    }
-    
-    private static int nextTokenInBuffer(Reader reader) throws IOException {
-        int ch;
-        while ((ch = reader.read()) != -1 && Character.isWhitespace(ch)) {}
-        if (ch == -1) {
-            return 0;
-        }
-        BUFFER[0] = (char)ch;
-        int bufferLength = 1;
-        while ((ch = reader.read()) != -1 && !Character.isWhitespace(ch)) {
-            BUFFER[bufferLength++] = (char)ch;
-        }
-        return bufferLength;
-    }
-    
 }
 
 class Device {
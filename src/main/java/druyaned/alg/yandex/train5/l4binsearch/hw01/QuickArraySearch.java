@@ -1,45 +1,42 @@
 // https://contest.yandex.ru/contest/59542/problems/
 package druyaned.alg.yandex.train5.l4binsearch.hw01;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
 public class QuickArraySearch {
     
-    private static final char[] BUFFER = new char[(int)2e6];
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int n = readInt(reader);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int n = in.readInt();
         int[] a = new int[n];
         for (int i = 0; i < n; i++) {
-            a[i] = readInt(reader);
+            a[i] = in.readInt();
         }
         a = heapSort(a, n);
-        int k = readInt(reader);
+        int k = in.readInt();
         {
-            int leftKey = readInt(reader);
-            int rightKey = readInt(reader);
+            int leftKey = in.readInt();
+            int rightKey = in.readInt();
             int il = rightBinsearch(a, leftKey);
             int ir = leftBinsearch(a, rightKey);
             writer.write(Integer.toString(ir - il - 1));
         }
         for (int i = 1; i < k; i++) {
-            int leftKey = readInt(reader);
-            int rightKey = readInt(reader);
+            int leftKey = in.readInt();
+            int rightKey = in.readInt();
             int il = rightBinsearch(a, leftKey);
             int ir = leftBinsearch(a, rightKey);
             writer.write(" " + (ir - il - 1));
@@ -91,25 +88,6 @@ public class QuickArraySearch {
         return a;
     }
     
-    private static int readInt(Reader reader) throws IOException {
-        int bufferLength = nextTokenInBuffer(reader);
-        return Integer.parseInt(new String(BUFFER, 0, bufferLength));
-    }
-    
-    private static int nextTokenInBuffer(Reader reader) throws IOException {
-        int ch;
-        while ((ch = reader.read()) != -1 && Character.isWhitespace(ch)) {}
-        if (ch == -1) {
-            return 0;
-        }
-        BUFFER[0] = (char)ch;
-        int bufferLength = 1;
-        while ((ch = reader.read()) != -1 && !Character.isWhitespace(ch)) {
-            BUFFER[bufferLength++] = (char)ch;
-        }
-        return bufferLength;
-    }
-    
 }
 
 class IntHeapMin {
@@ -1,31 +1,28 @@
 package druyaned.alg.yandex.train5.l4binsearch.hw02;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
 public class OneDimensionalNavalBattle {
     
-    private static final char[] BUFFER = new char[(int)2e6];
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
         final long MAX_SHIP = 2000000L;
         final long MIN_SHIP = 0L;
         // rightBinsearch
-        long capacity = readLong(reader);
+        long capacity = in.readLong();
         long leftShip = MIN_SHIP, rightShip = MAX_SHIP;
         while (leftShip < rightShip) {
             long mid = (leftShip + rightShip + 1) / 2; // (l r)=(0 1) => mid=1
@@ -47,25 +44,6 @@ public class OneDimensionalNavalBattle {
         return space - 1;
     }
     
-    private static long readLong(Reader reader) throws IOException {
-        int bufferLength = nextTokenInBuffer(reader);
-        return Long.parseLong(new String(BUFFER, 0, bufferLength));
-    }
-    
-    private static int nextTokenInBuffer(Reader reader) throws IOException {
-        int ch;
-        while ((ch = reader.read()) != -1 && Character.isWhitespace(ch)) {}
-        if (ch == -1) {
-            return 0;
-        }
-        BUFFER[0] = (char)ch;
-        int bufferLength = 1;
-        while ((ch = reader.read()) != -1 && !Character.isWhitespace(ch)) {
-            BUFFER[bufferLength++] = (char)ch;
-        }
-        return bufferLength;
-    }
-    
 }
 /*
 1: 1*(1+1) - 1 = 1
@@ -1,37 +1,34 @@
 package druyaned.alg.yandex.train5.l4binsearch.hw04;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
 public class Report {
     
-    private static final char[] buffer = new char[(int)2e6];
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int w = readInt(reader);
-        int n = readInt(reader);
-        int m = readInt(reader);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int w = in.readInt();
+        int n = in.readInt();
+        int m = in.readInt();
         int[] a = new int[n + 1];
         int[] b = new int[m + 1];
         for (int i = 1; i <= n; i++) {
-            a[i] = readInt(reader);
+            a[i] = in.readInt();
         }
         for (int i = 1; i <= m; i++) {
-            b[i] = readInt(reader);
+            b[i] = in.readInt();
         }
         int left = 1;
         int right = w - 1;
@@ -96,23 +93,4 @@ public class Report {
         return h;
     }
     
-    private static int readInt(Reader reader) throws IOException {
-        int bufferLength = nextTokenInBuffer(reader);
-        return Integer.parseInt(new String(buffer, 0, bufferLength));
-    }
-    
-    private static int nextTokenInBuffer(Reader reader) throws IOException {
-        int ch;
-        while ((ch = reader.read()) != -1 && Character.isWhitespace(ch)) {}
-        if (ch == -1) {
-            return 0;
-        }
-        buffer[0] = (char)ch;
-        int bufferLength = 1;
-        while ((ch = reader.read()) != -1 && !Character.isWhitespace(ch)) {
-            buffer[bufferLength++] = (char)ch;
-        }
-        return bufferLength;
-    }
-    
 }
@@ -1,29 +1,26 @@
 package druyaned.alg.yandex.train5.l4binsearch.hw05;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
 public class FractionNumbering {
     
-    private static final char[] buffer = new char[(int)2e6];
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
         final long MAX_RANK = (int)2e9;
-        long elemNumber = readLong(reader);
+        long elemNumber = in.readLong();
         long leftRank = 1L;
         long rightRank = MAX_RANK;
         while (leftRank < rightRank) {
@@ -47,25 +44,6 @@ public class FractionNumbering {
         return rank * (rank + 1) / 2;
     }
     
-    private static long readLong(Reader reader) throws IOException {
-        int bufferLength = nextTokenInBuffer(reader);
-        return Long.parseLong(new String(buffer, 0, bufferLength));
-    }
-    
-    private static int nextTokenInBuffer(Reader reader) throws IOException {
-        int ch;
-        while ((ch = reader.read()) != -1 && Character.isWhitespace(ch)) {}
-        if (ch == -1) {
-            return 0;
-        }
-        buffer[0] = (char)ch;
-        int bufferLength = 1;
-        while ((ch = reader.read()) != -1 && !Character.isWhitespace(ch)) {
-            buffer[bufferLength++] = (char)ch;
-        }
-        return bufferLength;
-    }
-    
 }
 /*
 From fraction matrix:
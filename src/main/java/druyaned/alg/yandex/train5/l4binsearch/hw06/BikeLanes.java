@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l4binsearch.hw06;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,25 +10,23 @@ import java.util.Arrays;
 
 public class BikeLanes {
     
-    private static final char[] buffer = new char[(int)2e6];
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int width = readInt(reader);
-        int height = readInt(reader);
-        int tileCount = readInt(reader);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int width = in.readInt();
+        int height = in.readInt();
+        int tileCount = in.readInt();
         Tile[] tiles = new Tile[tileCount];
         for (int i = 0; i < tileCount; i++) {
-            int x = readInt(reader);
-            int y = readInt(reader);
+            int x = in.readInt();
+            int y = in.readInt();
             tiles[i] = new Tile(x, y);
         }
         Arrays.sort(tiles, (t1, t2) -> t1.x == t2.x ? t1.y - t2.y : t1.x - t2.x);
@@ -129,25 +126,6 @@ public class BikeLanes {
         return projs[lst].x - projs[fst].x + 1;
     }
     
-    private static int readInt(Reader reader) throws IOException {
-        int bufferLength = nextTokenInBuffer(reader);
-        return Integer.parseInt(new String(buffer, 0, bufferLength));
-    }
-    
-    private static int nextTokenInBuffer(Reader reader) throws IOException {
-        int ch;
-        while ((ch = reader.read()) != -1 && Character.isWhitespace(ch)) {}
-        if (ch == -1) {
-            return 0;
-        }
-        buffer[0] = (char)ch;
-        int bufferLength = 1;
-        while ((ch = reader.read()) != -1 && !Character.isWhitespace(ch)) {
-            buffer[bufferLength++] = (char)ch;
-        }
-        return bufferLength;
-    }
-    
 }
 
 class Tile {
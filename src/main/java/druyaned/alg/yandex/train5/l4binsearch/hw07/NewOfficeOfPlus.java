@@ -1,30 +1,27 @@
 package druyaned.alg.yandex.train5.l4binsearch.hw07;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
 public class NewOfficeOfPlus {
     
-    private static final char[] buffer = new char[(int)2e6];
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int height = readInt(reader);
-        int width = readInt(reader);
-        int[][] field = readField(reader, width, height);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int height = in.readInt();
+        int width = in.readInt();
+        int[][] field = readField(in, width, height);
         int leftRank = 1;
         int rightRank = Integer.min(width, height) / 3;
         while (leftRank < rightRank) {
@@ -63,40 +60,21 @@ public class NewOfficeOfPlus {
         return false;
     }
     
-    private static int[][] readField(Reader reader, int width, int height) throws IOException {
+    private static int[][] readField(FastInput in, int width, int height) throws IOException {
         int[][] f = new int[height + 2][width + 2];
         for (int r = 1; r <= height; r++) {
             for (int c = 1; c <= width; c++) {
-                if (reader.read() == '#') {
+                if (in.read() == '#') {
                     f[r][c] = f[r][c - 1] + 1 + f[r - 1][c] - f[r - 1][c - 1];
                 } else {
                     f[r][c] = f[r][c - 1] + f[r - 1][c] - f[r - 1][c - 1];
                 }
             }
-            reader.read(); // new line
+            in.read(); // new line
         }
         return f;
     }
     
-    private static int readInt(Reader reader) throws IOException {
-        int bufferLength = nextTokenInBuffer(reader);
-        return Integer.parseInt(new String(buffer, 0, bufferLength));
-    }
-    
-    private static int nextTokenInBuffer(Reader reader) throws IOException {
-        int ch;
-        while ((ch = reader.read()) != -1 && Character.isWhitespace(ch)) {}
-        if (ch == -1) {
-            return 0;
-        }
-        buffer[0] = (char)ch;
-        int bufferLength = 1;
-        while ((ch = reader.read()) != -1 && !Character.isWhitespace(ch)) {
-            buffer[bufferLength++] = (char)ch;
-        }
-        return bufferLength;
-    }
-    
 }
 /*
 height=9 width=12
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l4binsearch.hw08;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -11,24 +10,22 @@ import java.util.Arrays;
 
 public class Election {
     
-    private static final char[] buffer = new char[(int)2e6];
-    
     public static void main(String[] args) {
-        try (BufferedReader reader = Files.newBufferedReader(Paths.get("input.txt"));
+        try (FastInput in = new FastInput(Paths.get("input.txt"));
                 BufferedWriter writer = Files.newBufferedWriter(Paths.get("output.txt"))) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer) throws IOException {
-        int partyCount = readInt(reader);
+    private static void solve(FastInput in, BufferedWriter writer) throws IOException {
+        int partyCount = in.readInt();
         Party[] sources = new Party[partyCount];
         Party[] parties = new Party[partyCount];
         for (int i = 0; i < partyCount; i++) {
-            int ctz = readInt(reader);
-            int brb = readInt(reader);
+            int ctz = in.readInt();
+            int brb = in.readInt();
             sources[i] = parties[i] = new Party(i, ctz, brb);
         }
         Arrays.sort(parties, (p1, p2) -> p2.ctz - p1.ctz);
@@ -181,25 +178,6 @@ public class Election {
         return citizens;
     }
     
-    private static int readInt(Reader reader) throws IOException {
-        int bufferLength = nextTokenInBuffer(reader);
-        return Integer.parseInt(new String(buffer, 0, bufferLength));
-    }
-    
-    private static int nextTokenInBuffer(Reader reader) throws IOException {
-        int ch;
-        while ((ch = reader.read()) != -1 && Character.isWhitespace(ch)) {}
-        if (ch == -1) {
-            return 0;
-        }
-        buffer[0] = (char)ch;
-        int bufferLength = 1;
-        while ((ch = reader.read()) != -1 && !Character.isWhitespace(ch)) {
-            buffer[bufferLength++] = (char)ch;
-        }
-        return bufferLength;
-    }
-    
 }
 
 class Party {
@@ -1,9 +1,8 @@
 package druyaned.alg.yandex.train5.l4binsearch.hw09;
 
-import java.io.BufferedReader;
+import druyaned.alg.util.t04io.FastInput;
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -11,7 +10,6 @@ import java.nio.file.Paths;
 
 public class Lapta {
     
-    private static final char[] buffer = new char[(int)2e6];
     private static final double P = 1d / (1 << 20);
     private static int d, n, x[], y[], v[];
     private static double targetX, targetY;
@@ -20,27 +18,27 @@ public class Lapta {
         Path fin = Paths.get("input.txt");
         Path fout = Paths.get("output.txt");
         try (
-                BufferedReader reader = Files.newBufferedReader(fin);
+                FastInput in = new FastInput(fin);
                 BufferedWriter writer = Files.newBufferedWriter(fout);
         ) {
-            solve(reader, writer);
+            solve(in, writer);
         } catch (IOException exc) {
             throw new UncheckedIOException(exc);
         }
     }
     
-    private static void solve(BufferedReader reader, BufferedWriter writer)
+    private static void solve(FastInput in, BufferedWriter writer)
     throws IOException {
         // input
-        d = readInt(reader);
-        n = readInt(reader);
+        d = in.readInt();
+        n = in.readInt();
         x = new int[n];
         y = new int[n];
         v = new int[n];
         for (int i = 0; i < n; i++) {
-            x[i] = readInt(reader);
-            y[i] = readInt(reader);
-            v[i] = readInt(reader);
+            x[i] = in.readInt();
+            y[i] = in.readInt();
+            v[i] = in.readInt();
         }
         double leftTime = 0d, rightTime = 4 * d;    
         while (rightTime - leftTime > P) {
@@ -78,25 +76,6 @@ public class Lapta {
         return false;
     }
     
-    private static int readInt(Reader reader) throws IOException {
-        int bufferLength = nextTokenInBuffer(reader);
-        return Integer.parseInt(new String(buffer, 0, bufferLength));
-    }
-    
-    private static int nextTokenInBuffer(Reader reader) throws IOException {
-        int ch;
-        while ((ch = reader.read()) != -1 && Character.isWhitespace(ch)) {}
-        if (ch == -1) {
-            return 0;
-        }
-        buffer[0] = (char)ch;
-        int bufferLength = 1;
-        while ((ch = reader.read()) != -1 && !Character.isWhitespace(ch)) {
-            buffer[bufferLength++] = (char)ch;
-        }
-        return bufferLength;
-    }
-    
 }
 
 class Rectangle {
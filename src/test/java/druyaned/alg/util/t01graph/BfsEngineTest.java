@@ -0,0 +1,73 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class BfsEngineTest {
+    
+    private final Random random = new Random();
+    
+    @Test public void matchesDijkstraEngine() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int bottomUpLevels = 0;
+            for (int test = 0; test < 100; test++) {
+                int n = 1 + random.nextInt(3_000);
+                int m = random.nextInt(1 + random.nextInt(20) * n);
+                int[] from = new int[m], to = new int[m];
+                for (int i = 0; i < m; i++) {
+                    from[i] = random.nextInt(n);
+                    to[i] = random.nextInt(n);
+                }
+                CsrGraph graph = random.nextBoolean()
+                        ? CsrGraph.directed(n, from, to, null)
+                        : CsrGraph.undirected(n, from, to, null);
+                DijkstraEngine expected = new DijkstraEngine(graph);
+                // the tiny grain splits each level into many tasks
+                BfsEngine bfs = new BfsEngine(graph, pool, 1 + random.nextInt(8));
+                for (int run = 0; run < 3; run++) {
+                    int source = random.nextInt(n);
+                    expected.run(source);
+                    int eccentricity = bfs.run(source);
+                    bottomUpLevels += bfs.bottomUpLevels();
+                    long greatest = 0L, reached = 0L;
+                    for (int v = 0; v < n; v++) {
+                        long dist = expected.distance(v);
+                        if (dist == CsrGraph.INFINITY) {
+                            assertEquals(BfsEngine.UNREACHED, bfs.distance(v));
+                            assertTrue(!bfs.isReached(v));
+                        } else {
+                            assertEquals(dist, bfs.distance(v));
+                            greatest = Math.max(greatest, dist);
+                            reached++;
+                        }
+                    }
+                    assertEquals(greatest, eccentricity);
+                    assertEquals(reached, bfs.reachedCount());
+                    int target = random.nextInt(n);
+                    long dist = expected.distance(target);
+                    assertEquals(dist == CsrGraph.INFINITY ? BfsEngine.UNREACHED : dist,
+                            bfs.run(source, target));
+                }
+            }
+            assertTrue(bottomUpLevels > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test public void worksInCommonPool() {
+        CsrGraph path = CsrGraph.of(4, new int[][] {{0, 1}, {1, 2}, {2, 3}}, true);
+        BfsEngine bfs = new BfsEngine(path);
+        assertEquals(3, bfs.run(0));
+        assertEquals(2, bfs.distance(2));
+        assertEquals(BfsEngine.UNREACHED, bfs.run(3, 0));
+        assertEquals(0, bfs.run(3, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> bfs.run(4));
+    }
+
+}
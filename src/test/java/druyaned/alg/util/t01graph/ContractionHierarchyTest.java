@@ -0,0 +1,95 @@
+package druyaned.alg.util.t01graph;
+
+import druyaned.alg.util.t04io.FastInput;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ContractionHierarchyTest {
+    
+    private final Random random = new Random();
+    
+    @Test public void matchesDijkstraEngine() throws IOException {
+        for (int test = 0; test < 30; test++) {
+            CsrGraph graph = RandomGraphs.any(random, 1 + random.nextInt(150), 5, 100);
+            final int n = graph.vertexCount();
+            ContractionHierarchy ch = ContractionHierarchy.build(graph);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ch.write(bytes);
+            ContractionHierarchy read = ContractionHierarchy.read(
+                    new ByteArrayInputStream(bytes.toByteArray()));
+            assertEquals(ch.arcCount(), read.arcCount());
+            DijkstraEngine engine = new DijkstraEngine(graph);
+            for (int s = 0; s < n; s++) {
+                engine.run(s);
+                for (int t = 0; t < n; t++) {
+                    assertEquals(engine.distance(t), ch.distance(s, t));
+                    assertEquals(engine.distance(t), read.distance(s, t));
+                }
+            }
+            int[] sources = randomVertices(n), targets = randomVertices(n);
+            long[][] table = ch.distanceTable(sources, targets);
+            for (int i = 0; i < sources.length; i++) {
+                engine.run(sources[i]);
+                for (int j = 0; j < targets.length; j++) {
+                    assertEquals(engine.distance(targets[j]), table[i][j]);
+                }
+            }
+        }
+    }
+    
+    @Test public void savesAndLoads(@TempDir Path dir) throws IOException {
+        CsrGraph graph = CsrGraph.read(new FastInput("4 4\n1 2 5\n2 3 1\n1 3 7\n3 4 2\n"), true);
+        ContractionHierarchy ch = ContractionHierarchy.build(graph);
+        Path path = dir.resolve("graph.ch");
+        ch.save(path);
+        ContractionHierarchy loaded = ContractionHierarchy.load(path);
+        assertEquals(8L, loaded.distance(0, 3));
+        assertEquals(CsrGraph.INFINITY, loaded.distance(3, 0));
+        for (int v = 0; v < 4; v++) {
+            assertEquals(ch.rank(v), loaded.rank(v));
+        }
+        assertThrows(IOException.class, () -> ContractionHierarchy.read(
+                new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8})));
+        assertThrows(IllegalArgumentException.class, () -> ContractionHierarchy.build(
+                CsrGraph.directed(2, new int[] {0}, new int[] {1}, new long[] {-1L})));
+    }
+    
+    @Test public void rejectsBrokenStreams() throws IOException {
+        CsrGraph graph = CsrGraph.read(new FastInput("4 4\n1 2 5\n2 3 1\n1 3 7\n3 4 2\n"), true);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ContractionHierarchy.build(graph).write(bytes);
+        bytes.write(42);
+        byte[] written = bytes.toByteArray();
+        ByteArrayInputStream in = new ByteArrayInputStream(written);
+        assertEquals(4, ContractionHierarchy.read(in).vertexCount());
+        assertEquals(42, in.read()); // the stream is read up to the end of the hierarchy
+        int[] offsets = {
+            4, // n
+            8, // the first rank
+            24, // m of the upward graph
+            28 // the first arc
+        };
+        for (int offset : offsets) {
+            byte[] broken = written.clone();
+            broken[offset] = (byte)0x80;
+            assertThrows(IOException.class, () -> ContractionHierarchy.read(
+                    new ByteArrayInputStream(broken)), "offset=" + offset);
+        }
+    }
+    
+    private int[] randomVertices(int n) {
+        int[] vertices = new int[1 + random.nextInt(20)];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = random.nextInt(n);
+        }
+        return vertices;
+    }
+
+}
@@ -0,0 +1,88 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class CsrGraphTest {
+    
+    @Test public void keepsArcsInEdgeOrder() {
+        int[][] edges = {{0, 2, 5}, {1, 0, 7}, {0, 1, 3}, {2, 2, 1}};
+        CsrGraph directed = CsrGraph.of(3, edges, true);
+        assertTrue(directed.isDirected());
+        assertTrue(directed.isWeighted());
+        assertEquals(4, directed.arcCount());
+        assertArrayEquals(new int[] {0, 2, 3, 4}, directed.offsets());
+        assertArrayEquals(new int[] {2, 1, 0, 2}, directed.targets());
+        assertArrayEquals(new long[] {5L, 3L, 7L, 1L}, directed.weights());
+        CsrGraph undirected = CsrGraph.of(3, edges, false);
+        assertEquals(8, undirected.arcCount());
+        assertEquals(3, undirected.degree(0));
+        assertArrayEquals(new int[] {2, 1, 1, 0, 0, 0, 2, 2}, undirected.targets());
+        assertSame(undirected, undirected.reverse());
+        CsrGraph unweighted = CsrGraph.directed(2, new int[] {0}, new int[] {1}, null);
+        assertFalse(unweighted.isWeighted());
+        assertNull(unweighted.weights());
+        assertEquals(1L, unweighted.weight(0));
+        assertEquals(0, CsrGraph.of(0, new int[0][], true).arcCount());
+    }
+    
+    @Test public void matchesAdjacencyLists() {
+        Random random = new Random();
+        int n = 1_000, m = 20_000;
+        int[] from = new int[m], to = new int[m];
+        long[] weights = new long[m];
+        List<List<long[]>> expected = new ArrayList<>();
+        List<List<long[]>> reversed = new ArrayList<>();
+        for (int v = 0; v < n; v++) {
+            expected.add(new ArrayList<>());
+            reversed.add(new ArrayList<>());
+        }
+        for (int i = 0; i < m; i++) {
+            from[i] = random.nextInt(n);
+            to[i] = random.nextInt(n);
+            weights[i] = random.nextLong();
+            expected.get(from[i]).add(new long[] {to[i], weights[i]});
+        }
+        // the reversed arcs are ordered by their tails
+        for (int v = 0; v < n; v++) {
+            for (long[] arc : expected.get(v)) {
+                reversed.get((int)arc[0]).add(new long[] {v, arc[1]});
+            }
+        }
+        CsrGraph graph = CsrGraph.directed(n, from, to, weights);
+        assertArcs(expected, graph);
+        assertArcs(reversed, graph.reverse());
+    }
+    
+    @Test public void rejectsBadEdges() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CsrGraph.directed(2, new int[] {0, 1}, new int[] {1}, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> CsrGraph.undirected(2, new int[] {0}, new int[] {2}, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> CsrGraph.directed(2, new int[] {-1}, new int[] {0}, new long[1]));
+    }
+    
+    private static void assertArcs(List<List<long[]>> expected, CsrGraph graph) {
+        assertEquals(expected.size(), graph.vertexCount());
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            List<long[]> arcs = expected.get(v);
+            assertEquals(arcs.size(), graph.degree(v));
+            for (int i = 0; i < arcs.size(); i++) {
+                int arc = graph.begin(v) + i;
+                assertEquals(arcs.get(i)[0], graph.target(arc));
+                assertEquals(arcs.get(i)[1], graph.weight(arc));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class DeltaSteppingTest {
+    
+    private final Random random = new Random();
+    
+    @Test public void matchesDijkstraEngine() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            long[] deltas = {1L, 7L, 50L, 1_000L, Long.MAX_VALUE};
+            for (int test = 0; test < 30; test++) {
+                CsrGraph graph = RandomGraphs.any(random, 1 + random.nextInt(2_000), 6,
+                        1 + random.nextInt(200));
+                DijkstraEngine expected = new DijkstraEngine(graph);
+                for (long delta : deltas) {
+                    // the tiny grain splits each round into many tasks
+                    DeltaStepping sssp = new DeltaStepping(graph, delta, pool, 2);
+                    for (int run = 0; run < 3; run++) {
+                        int source = random.nextInt(graph.vertexCount());
+                        expected.run(source);
+                        sssp.run(source);
+                        for (int v = 0; v < graph.vertexCount(); v++) {
+                            assertEquals(expected.distance(v), sssp.distance(v));
+                        }
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test public void worksInCommonPool() {
+        CsrGraph graph = RandomGraphs.any(random, 20_000, 6, 1 + random.nextInt(200));
+        DijkstraEngine expected = new DijkstraEngine(graph);
+        DeltaStepping sssp = new DeltaStepping(graph, DeltaStepping.defaultDelta(graph));
+        assertTrue(sssp.delta() >= 1L);
+        expected.run(0);
+        sssp.run(0);
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            assertEquals(expected.distance(v), sssp.distance(v));
+        }
+        CsrGraph unweighted = CsrGraph.directed(3, new int[] {0, 1}, new int[] {1, 2}, null);
+        DeltaStepping bfs = new DeltaStepping(unweighted, 1L);
+        bfs.run(0);
+        assertEquals(2L, bfs.distance(2));
+        bfs.run(2);
+        assertEquals(CsrGraph.INFINITY, bfs.distance(0));
+    }
+    
+    @Test public void rejectsBadArguments() {
+        CsrGraph graph = CsrGraph.directed(2, new int[] {0}, new int[] {1}, new long[] {-1L});
+        assertThrows(IllegalArgumentException.class, () -> new DeltaStepping(graph, 1L));
+        CsrGraph positive = CsrGraph.directed(2, new int[] {0}, new int[] {1}, new long[] {1L});
+        assertThrows(IllegalArgumentException.class, () -> new DeltaStepping(positive, 0L));
+    }
+    
+}
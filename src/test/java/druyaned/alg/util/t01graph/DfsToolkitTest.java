@@ -0,0 +1,319 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class DfsToolkitTest {
+    
+    private final Random random = new Random();
+    
+    @Test public void matchesBruteForceOnDirectedGraphs() {
+        for (int test = 0; test < 200; test++) {
+            int n = 1 + random.nextInt(30);
+            int[][] edges = randomEdges(n, random.nextInt(2 * n));
+            CsrGraph graph = CsrGraph.of(n, edges, true);
+            boolean[][] reach = reach(graph);
+            int[] components = DfsToolkit.stronglyConnectedComponents(graph);
+            for (int u = 0; u < n; u++) {
+                for (int v = 0; v < n; v++) {
+                    assertEquals(reach[u][v] && reach[v][u], components[u] == components[v]);
+                }
+            }
+            for (int[] edge : edges) {
+                assertTrue(components[edge[0]] >= components[edge[1]]);
+            }
+            boolean acyclic = isAcyclic(graph);
+            int[] order = DfsToolkit.topologicalOrder(graph);
+            assertEquals(acyclic, order != null);
+            if (order != null) {
+                int[] positions = new int[n];
+                for (int i = 0; i < n; i++) {
+                    positions[order[i]] = i;
+                }
+                for (int[] edge : edges) {
+                    assertTrue(positions[edge[0]] < positions[edge[1]]);
+                }
+            }
+            int[] cycle = DfsToolkit.findCycle(graph);
+            assertEquals(acyclic, cycle.length == 0);
+            for (int i = 0; i < cycle.length; i++) {
+                assertTrue(hasArc(graph, cycle[i], cycle[(i + 1) % cycle.length]));
+            }
+            assertEulerTrail(graph, edges);
+        }
+    }
+    
+    @Test public void matchesBruteForceOnUndirectedGraphs() {
+        for (int test = 0; test < 200; test++) {
+            int n = 1 + random.nextInt(30);
+            int[][] edges = randomEdges(n, random.nextInt(2 * n));
+            CsrGraph graph = CsrGraph.of(n, edges, false);
+            int componentCount = componentCount(n, edges, -1, -1);
+            Set<Long> bridges = new HashSet<>();
+            for (int[] bridge : DfsToolkit.bridges(graph)) {
+                assertTrue(bridges.add(key(bridge[0], bridge[1])));
+            }
+            int bridgeCount = 0;
+            for (int i = 0; i < edges.length; i++) {
+                if (componentCount(n, edges, i, -1) > componentCount) {
+                    bridgeCount++;
+                    assertTrue(bridges.contains(key(edges[i][0], edges[i][1])));
+                }
+            }
+            assertEquals(bridgeCount, bridges.size());
+            boolean[] cut = DfsToolkit.articulationPoints(graph);
+            for (int v = 0; v < n; v++) {
+                // the removed vertex itself is not a component anymore
+                int without = componentCount(n, edges, -1, v) - 1;
+                assertEquals(without > componentCount, cut[v]);
+            }
+            int[] cycle = DfsToolkit.findCycle(graph);
+            assertEquals(edges.length == n - componentCount, cycle.length == 0);
+            if (cycle.length == 1) {
+                assertTrue(hasArc(graph, cycle[0], cycle[0]));
+            } else if (cycle.length == 2) {
+                assertTrue(arcCount(graph, cycle[0], cycle[1]) > 1);
+            } else {
+                for (int i = 0; i < cycle.length; i++) {
+                    assertTrue(hasArc(graph, cycle[i], cycle[(i + 1) % cycle.length]));
+                }
+            }
+            assertEulerTrail(graph, edges);
+        }
+    }
+    
+    @Test public void handlesSmallCases() {
+        CsrGraph triangle = CsrGraph.of(4, new int[][] {{0, 1}, {1, 2}, {2, 0}, {2, 3}}, false);
+        assertArrayEquals(new int[] {2, 3}, DfsToolkit.bridges(triangle)[0]);
+        assertArrayEquals(new boolean[] {false, false, true, false},
+                DfsToolkit.articulationPoints(triangle));
+        assertArrayEquals(new int[] {0, 1, 2}, DfsToolkit.findCycle(triangle));
+        CsrGraph parallel = CsrGraph.of(2, new int[][] {{0, 1}, {1, 0}}, false);
+        assertEquals(0, DfsToolkit.bridges(parallel).length);
+        assertArrayEquals(new int[] {0, 1}, DfsToolkit.findCycle(parallel));
+        CsrGraph dag = CsrGraph.of(3, new int[][] {{2, 1}, {1, 0}}, true);
+        assertArrayEquals(new int[] {2, 1, 0}, DfsToolkit.topologicalOrder(dag));
+        assertArrayEquals(new int[] {2, 1, 0}, DfsToolkit.eulerTrail(dag));
+        assertNull(DfsToolkit.eulerTrail(CsrGraph.of(3, new int[][] {{0, 1}, {0, 2}}, true)));
+        assertThrows(IllegalArgumentException.class, () -> DfsToolkit.topologicalOrder(triangle));
+        assertThrows(IllegalArgumentException.class, () -> DfsToolkit.bridges(dag));
+    }
+    
+    @Test public void walksDeepPathsWithoutRecursion() {
+        final int n = 10_000_000;
+        int[] from = new int[n - 1], to = new int[n - 1];
+        for (int i = 0; i < n - 1; i++) {
+            from[i] = i;
+            to[i] = i + 1;
+        }
+        CsrGraph path = CsrGraph.directed(n, from, to, null);
+        int[] order = DfsToolkit.topologicalOrder(path);
+        assertNotNull(order);
+        assertEquals(0, order[0]);
+        assertEquals(n - 1, order[n - 1]);
+        assertEquals(0, DfsToolkit.findCycle(path).length);
+        int[] components = DfsToolkit.stronglyConnectedComponents(path);
+        assertEquals(n - 1, components[0]);
+        CsrGraph undirected = CsrGraph.undirected(n, from, to, null);
+        assertEquals(n - 1, DfsToolkit.bridges(undirected).length);
+    }
+    
+    private void assertEulerTrail(CsrGraph graph, int[][] edges) {
+        int[] trail = DfsToolkit.eulerTrail(graph);
+        boolean exists = edges.length == 0 || hasEulerDegrees(graph) && edgesAreConnected(graph);
+        assertEquals(exists, trail != null);
+        if (trail == null || edges.length == 0) {
+            return;
+        }
+        assertEquals(edges.length + 1, trail.length);
+        int[][] remaining = new int[graph.vertexCount()][graph.vertexCount()];
+        for (int[] edge : edges) {
+            remaining[edge[0]][edge[1]]++;
+            if (!graph.isDirected() && edge[0] != edge[1]) {
+                remaining[edge[1]][edge[0]]++;
+            }
+        }
+        for (int i = 0; i + 1 < trail.length; i++) {
+            int u = trail[i], v = trail[i + 1];
+            assertTrue(remaining[u][v]-- > 0);
+            if (!graph.isDirected() && u != v) {
+                remaining[v][u]--;
+            }
+        }
+    }
+    
+    private int[][] randomEdges(int n, int m) {
+        int[][] edges = new int[m][];
+        for (int i = 0; i < m; i++) {
+            edges[i] = new int[] {random.nextInt(n), random.nextInt(n)};
+        }
+        return edges;
+    }
+    
+    private static boolean[][] reach(CsrGraph graph) {
+        final int n = graph.vertexCount();
+        boolean[][] reach = new boolean[n][n];
+        for (int s = 0; s < n; s++) {
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            reach[s][s] = true;
+            queue.add(s);
+            while (!queue.isEmpty()) {
+                int v = queue.poll();
+                for (int arc = graph.begin(v); arc < graph.end(v); arc++) {
+                    int w = graph.target(arc);
+                    if (!reach[s][w]) {
+                        reach[s][w] = true;
+                        queue.add(w);
+                    }
+                }
+            }
+        }
+        return reach;
+    }
+    
+    // Kahn's algorithm
+    private static boolean isAcyclic(CsrGraph graph) {
+        final int n = graph.vertexCount();
+        int[] inDegrees = new int[n];
+        for (int target : graph.targets()) {
+            inDegrees[target]++;
+        }
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int v = 0; v < n; v++) {
+            if (inDegrees[v] == 0) {
+                queue.add(v);
+            }
+        }
+        int removed = 0;
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            removed++;
+            for (int arc = graph.begin(v); arc < graph.end(v); arc++) {
+                if (--inDegrees[graph.target(arc)] == 0) {
+                    queue.add(graph.target(arc));
+                }
+            }
+        }
+        return removed == n;
+    }
+    
+    // components of the undirected graph without the edge and the vertex
+    private static int componentCount(int n, int[][] edges, int skippedEdge, int skippedVertex) {
+        int[] roots = new int[n];
+        for (int v = 0; v < n; v++) {
+            roots[v] = v;
+        }
+        int count = n;
+        for (int i = 0; i < edges.length; i++) {
+            int u = edges[i][0], v = edges[i][1];
+            if (i == skippedEdge || u == skippedVertex || v == skippedVertex) {
+                continue;
+            }
+            u = root(roots, u);
+            v = root(roots, v);
+            if (u != v) {
+                roots[u] = v;
+                count--;
+            }
+        }
+        return count;
+    }
+    
+    private static int root(int[] roots, int v) {
+        while (roots[v] != v) {
+            v = roots[v];
+        }
+        return v;
+    }
+    
+    private static boolean hasEulerDegrees(CsrGraph graph) {
+        final int n = graph.vertexCount();
+        int[] balance = new int[n];
+        for (int v = 0; v < n; v++) {
+            balance[v] = graph.degree(v);
+        }
+        if (graph.isDirected()) {
+            for (int target : graph.targets()) {
+                balance[target]--;
+            }
+            int plus = 0, minus = 0;
+            for (int b : balance) {
+                if (b == 1) {
+                    plus++;
+                } else if (b == -1) {
+                    minus++;
+                } else if (b != 0) {
+                    return false;
+                }
+            }
+            return plus == minus && plus <= 1;
+        }
+        int odd = 0;
+        for (int b : balance) {
+            odd += b & 1;
+        }
+        return odd == 0 || odd == 2;
+    }
+    
+    // vertices with arcs are in one weakly connected component
+    private static boolean edgesAreConnected(CsrGraph graph) {
+        final int n = graph.vertexCount();
+        int[] roots = new int[n];
+        for (int v = 0; v < n; v++) {
+            roots[v] = v;
+        }
+        for (int v = 0; v < n; v++) {
+            for (int arc = graph.begin(v); arc < graph.end(v); arc++) {
+                roots[root(roots, v)] = root(roots, graph.target(arc));
+            }
+        }
+        int root = -1;
+        for (int v = 0; v < n; v++) {
+            if (graph.degree(v) > 0 || hasIncomingArc(graph, v)) {
+                if (root == -1) {
+                    root = root(roots, v);
+                } else if (root != root(roots, v)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    private static boolean hasIncomingArc(CsrGraph graph, int v) {
+        for (int target : graph.targets()) {
+            if (target == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean hasArc(CsrGraph graph, int u, int v) {
+        return arcCount(graph, u, v) > 0;
+    }
+    
+    private static int arcCount(CsrGraph graph, int u, int v) {
+        int count = 0;
+        for (int arc = graph.begin(u); arc < graph.end(u); arc++) {
+            if (graph.target(arc) == v) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    private static long key(int u, int v) {
+        return (long)Math.min(u, v) << 32 | Math.max(u, v);
+    }
+
+}
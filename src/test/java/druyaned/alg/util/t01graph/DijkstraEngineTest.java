@@ -0,0 +1,90 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+public class DijkstraEngineTest {
+    
+    @Test public void matchesBellmanFord() {
+        Random random = new Random();
+        for (int test = 0; test < 30; test++) {
+            int n = 1 + random.nextInt(60);
+            CsrGraph graph = RandomGraphs.any(random, n, 4, 100);
+            DijkstraEngine engine = new DijkstraEngine(graph);
+            for (int source = 0; source < n; source++) {
+                long[] expected = bellmanFord(graph, source);
+                engine.run(source);
+                for (int v = 0; v < n; v++) {
+                    assertEquals(expected[v], engine.distance(v));
+                    assertPath(graph, engine, source, v);
+                }
+                int target = random.nextInt(n);
+                assertEquals(expected[target], engine.run(source, target));
+                assertPath(graph, engine, source, target);
+            }
+        }
+    }
+    
+    @Test public void rejectsNegativeWeights() {
+        assertThrows(IllegalArgumentException.class, () -> new DijkstraEngine(
+                CsrGraph.directed(2, new int[] {0}, new int[] {1}, new long[] {-1L})));
+    }
+    
+    @Test public void countsUnweightedArcs() {
+        CsrGraph graph = CsrGraph.directed(4, new int[] {0, 1, 2}, new int[] {1, 2, 3}, null);
+        DijkstraEngine engine = new DijkstraEngine(graph);
+        assertEquals(3L, engine.run(0, 3));
+        assertArrayEquals(new int[] {0, 1, 2, 3}, engine.path(3));
+        assertEquals(CsrGraph.INFINITY, engine.run(3, 0));
+        assertArrayEquals(new int[0], engine.path(0));
+    }
+    
+    private static long[] bellmanFord(CsrGraph graph, int source) {
+        long[] dist = new long[graph.vertexCount()];
+        Arrays.fill(dist, CsrGraph.INFINITY);
+        dist[source] = 0L;
+        for (boolean changed = true; changed; ) {
+            changed = false;
+            for (int v = 0; v < graph.vertexCount(); v++) {
+                if (dist[v] == CsrGraph.INFINITY) {
+                    continue;
+                }
+                for (int arc = graph.begin(v); arc < graph.end(v); arc++) {
+                    int next = graph.target(arc);
+                    if (dist[v] + graph.weight(arc) < dist[next]) {
+                        dist[next] = dist[v] + graph.weight(arc);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return dist;
+    }
+    
+    // the path must consist of arcs and have the found length
+    private static void assertPath(CsrGraph graph, DijkstraEngine engine, int source, int target) {
+        int[] path = engine.path(target);
+        if (engine.distance(target) == CsrGraph.INFINITY) {
+            assertEquals(0, path.length);
+            return;
+        }
+        assertEquals(source, path[0]);
+        assertEquals(target, path[path.length - 1]);
+        long length = 0L;
+        for (int i = 1; i < path.length; i++) {
+            long best = Long.MAX_VALUE;
+            for (int arc = graph.begin(path[i - 1]); arc < graph.end(path[i - 1]); arc++) {
+                if (graph.target(arc) == path[i]) {
+                    best = Math.min(best, graph.weight(arc));
+                }
+            }
+            length += best;
+        }
+        assertEquals(engine.distance(target), length);
+    }
+
+}
@@ -0,0 +1,68 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.Test;
+
+public class DistanceOracleTest {
+    
+    private final Random random = new Random();
+    
+    @Test public void matchesDijkstraEngine() {
+        for (int test = 0; test < 30; test++) {
+            int n = 1 + random.nextInt(200);
+            CsrGraph graph = RandomGraphs.any(random, n, 4, 100);
+            DijkstraEngine engine = new DijkstraEngine(graph);
+            DistanceOracle oracle = new DistanceOracle(graph, 1 + random.nextInt(5));
+            for (int query = 0; query < 50; query++) {
+                int s = random.nextInt(Math.min(n, 8)), t = random.nextInt(n);
+                engine.run(s);
+                assertEquals(engine.distance(t), oracle.distance(s, t));
+                assertArrayEquals(engine.path(t), oracle.path(s, t));
+            }
+            assertEquals(100L, oracle.hitCount() + oracle.missCount());
+            int[] sources = new int[1 + random.nextInt(5)];
+            for (int i = 0; i < sources.length; i++) {
+                sources[i] = random.nextInt(n);
+            }
+            DistanceOracle.Tree nearest = oracle.nearest(sources);
+            for (int v = 0; v < n; v++) {
+                long expected = CsrGraph.INFINITY;
+                for (int source : sources) {
+                    expected = Math.min(expected, oracle.distance(source, v));
+                }
+                assertEquals(expected, nearest.distance(v));
+                int origin = nearest.origin(v);
+                if (expected == CsrGraph.INFINITY) {
+                    assertEquals(-1, origin);
+                    assertEquals(0, nearest.path(v).length);
+                } else {
+                    assertEquals(expected, oracle.distance(origin, v));
+                    assertEquals(origin, nearest.path(v)[0]);
+                }
+            }
+        }
+    }
+    
+    @Test public void evictsLeastRecentlyUsed() {
+        CsrGraph graph = CsrGraph.of(3, new int[][] {{0, 1, 5}, {1, 2, 7}}, false);
+        DistanceOracle oracle = new DistanceOracle(graph, 2);
+        assertEquals(12L, oracle.distance(0, 2));
+        DistanceOracle.Tree tree = oracle.tree(1);
+        assertEquals(12L, oracle.distance(0, 2)); // the only hit
+        assertEquals(7L, oracle.distance(2, 1)); // evicts 1
+        assertEquals(5L, oracle.distance(1, 0)); // evicts 0
+        assertEquals(1L, oracle.hitCount());
+        assertEquals(4L, oracle.missCount());
+        assertEquals(2L, oracle.evictionCount());
+        assertEquals(2, oracle.size());
+        assertEquals(0.2, oracle.hitRate(), 1e-9);
+        assertSame(oracle.tree(1), oracle.tree(1));
+        oracle.clear();
+        assertEquals(0, oracle.size());
+        assertEquals(tree.distance(2), oracle.tree(1).distance(2));
+    }
+    
+}
@@ -0,0 +1,106 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class GridBfsTest {
+    
+    private final Random random = new Random();
+    
+    @Test public void matchesQueueBfs() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int[][][] moveSets = {
+                GridBfs.knightMoves(),
+                GridBfs.faceMoves(2),
+                GridBfs.faceMoves(3),
+                {{1, 0}, {0, 2}, {-3, -1}} // not symmetric
+            };
+            int bottomUpLevels = 0;
+            for (int test = 0; test < 60; test++) {
+                int[][] moves = moveSets[random.nextInt(moveSets.length)];
+                int sizeX = 1 + random.nextInt(40), sizeY = 1 + random.nextInt(40);
+                int sizeZ = moves[0].length > 2 ? 1 + random.nextInt(10) : 1;
+                GridBfs bfs = new GridBfs(sizeX, sizeY, sizeZ, moves, pool, 1 + random.nextInt(8));
+                final int n = bfs.vertexCount();
+                boolean[] blocked = new boolean[n];
+                double density = 0.4 * random.nextDouble();
+                for (int cell = 0; cell < n; cell++) {
+                    if (random.nextDouble() < density) {
+                        blocked[cell] = true;
+                        bfs.block(cell);
+                    }
+                }
+                for (int run = 0; run < 3; run++) {
+                    int source = random.nextInt(n);
+                    int[] expected = queueBfs(sizeX, sizeY, sizeZ, moves, blocked, source);
+                    int greatest = blocked[source] ? GridBfs.UNREACHED : 0;
+                    for (int cell = 0; cell < n; cell++) {
+                        greatest = Math.max(greatest, expected[cell]);
+                    }
+                    assertEquals(greatest, bfs.run(source));
+                    bottomUpLevels += bfs.bottomUpLevels();
+                    for (int cell = 0; cell < n; cell++) {
+                        assertEquals(expected[cell] != GridBfs.UNREACHED, bfs.isReached(cell));
+                    }
+                    int target = random.nextInt(n);
+                    assertEquals(expected[target], bfs.run(source, target));
+                }
+            }
+            assertTrue(bottomUpLevels > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test public void searchesLargeGrids() {
+        final int size = 2_000;
+        GridBfs bfs = new GridBfs(size, size, GridBfs.faceMoves(2));
+        for (int y = 0; y < size - 1; y++) {
+            bfs.block(bfs.cell(size / 2, y)); // a wall with a gap at the bottom
+        }
+        int corner = bfs.cell(0, 0);
+        int opposite = bfs.cell(size - 1, 0);
+        assertEquals(size - 1 + 2 * (size - 1), bfs.run(corner, opposite));
+        bfs.run(corner);
+        assertEquals((long)size * size - (size - 1), bfs.reachedCount());
+        assertThrows(IllegalArgumentException.class, () -> new GridBfs(1 << 16, 1 << 16, 1,
+                GridBfs.knightMoves()));
+        assertThrows(IndexOutOfBoundsException.class, () -> bfs.cell(size, 0));
+    }
+    
+    private static int[] queueBfs(int sizeX, int sizeY, int sizeZ, int[][] moves,
+            boolean[] blocked, int source) {
+        int[] dist = new int[blocked.length];
+        Arrays.fill(dist, GridBfs.UNREACHED);
+        if (blocked[source]) {
+            return dist;
+        }
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        dist[source] = 0;
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            int x = cell % sizeX, y = cell / sizeX % sizeY, z = cell / sizeX / sizeY;
+            for (int[] move : moves) {
+                int nx = x + move[0], ny = y + move[1], nz = z + (move.length > 2 ? move[2] : 0);
+                if (nx < 0 || sizeX <= nx || ny < 0 || sizeY <= ny || nz < 0 || sizeZ <= nz) {
+                    continue;
+                }
+                int next = nx + sizeX * (ny + sizeY * nz);
+                if (!blocked[next] && dist[next] == GridBfs.UNREACHED) {
+                    dist[next] = dist[cell] + 1;
+                    queue.add(next);
+                }
+            }
+        }
+        return dist;
+    }
+
+}
@@ -0,0 +1,117 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class ImplicitBfsTest {
+    
+    private final Random random = new Random();
+    
+    @Test public void solvesFleas() {
+        // the example of HW3Fleas: a 6x7 board, the feeder at (1, 6)
+        final int n = 6, m = 7;
+        int[][] knight = GridBfs.knightMoves();
+        ImplicitBfs bfs = ImplicitBfs.sparse((state, out) -> {
+            int r = ImplicitBfs.packedX(state), c = ImplicitBfs.packedY(state);
+            for (int[] move : knight) {
+                int nr = r + move[0], nc = c + move[1];
+                if (1 <= nr && nr <= n && 1 <= nc && nc <= m) {
+                    out.accept(ImplicitBfs.pack(nr, nc));
+                }
+            }
+        }, ImplicitBfs.Record.DISTANCES, n * m);
+        bfs.run(ImplicitBfs.pack(1, 6));
+        int[][] fleas = {{2, 2}, {3, 2}, {3, 4}, {4, 7}, {5, 5}, {5, 6}, {6, 1}, {6, 5}};
+        long sum = 0L;
+        for (int[] flea : fleas) {
+            sum += bfs.distance(ImplicitBfs.pack(flea[0], flea[1]));
+        }
+        assertEquals(24L, sum);
+        assertEquals(n * m, bfs.visitedCount());
+    }
+    
+    @Test public void matchesGridBfs() {
+        for (int test = 0; test < 40; test++) {
+            final int sizeX = 1 + random.nextInt(20), sizeY = 1 + random.nextInt(20);
+            final int sizeZ = 1 + random.nextInt(8);
+            final int cellCount = sizeX * sizeY * sizeZ;
+            final boolean[] blocked = new boolean[cellCount];
+            GridBfs grid = new GridBfs(sizeX, sizeY, sizeZ, GridBfs.faceMoves(3));
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (random.nextInt(4) == 0) {
+                    blocked[cell] = true;
+                    grid.block(cell);
+                }
+            }
+            int[][] faces = GridBfs.faceMoves(3);
+            ImplicitBfs.Moves moves = (state, out) -> {
+                int cell = (int)state;
+                int x = cell % sizeX, y = cell / sizeX % sizeY, z = cell / sizeX / sizeY;
+                for (int[] move : faces) {
+                    int nx = x + move[0], ny = y + move[1], nz = z + move[2];
+                    if (0 <= nx && nx < sizeX && 0 <= ny && ny < sizeY && 0 <= nz && nz < sizeZ) {
+                        int next = nx + sizeX * (ny + sizeY * nz);
+                        if (!blocked[next]) {
+                            out.accept(next);
+                        }
+                    }
+                }
+            };
+            ImplicitBfs[] searches = {
+                ImplicitBfs.dense(cellCount, moves, ImplicitBfs.Record.DISTANCES),
+                ImplicitBfs.dense(cellCount, moves, ImplicitBfs.Record.PARENTS),
+                ImplicitBfs.sparse(moves, ImplicitBfs.Record.DISTANCES, cellCount),
+                ImplicitBfs.sparse(moves, ImplicitBfs.Record.PARENTS, cellCount),
+            };
+            ImplicitBfs bare = ImplicitBfs.sparse(moves, ImplicitBfs.Record.NOTHING, cellCount);
+            for (int run = 0; run < 3; run++) {
+                int source = random.nextInt(cellCount);
+                if (blocked[source]) {
+                    continue;
+                }
+                int target = random.nextInt(cellCount);
+                long[] expected = new long[cellCount];
+                for (int cell = 0; cell < cellCount; cell++) {
+                    expected[cell] = grid.run(source, cell);
+                }
+                for (ImplicitBfs bfs : searches) {
+                    assertEquals(grid.run(source), bfs.run(source));
+                    assertEquals(grid.reachedCount(), bfs.visitedCount());
+                    for (int cell = 0; cell < cellCount; cell++) {
+                        assertEquals(expected[cell] != ImplicitBfs.UNREACHED, bfs.isVisited(cell));
+                        assertEquals(expected[cell], bfs.distance(cell));
+                    }
+                    if (bfs.record() == ImplicitBfs.Record.PARENTS) {
+                        long[] path = bfs.path(target);
+                        assertEquals(bfs.distance(target) + 1, path.length);
+                        for (int i = 0; i + 1 < path.length; i++) {
+                            int a = (int)path[i], b = (int)path[i + 1];
+                            assertTrue(Math.abs(a - b) == 1 || Math.abs(a - b) == sizeX
+                                    || Math.abs(a - b) == sizeX * sizeY);
+                        }
+                    }
+                }
+                assertEquals(grid.run(source, target), bare.run(source, target));
+            }
+        }
+    }
+    
+    @Test public void boundsMemory() {
+        ImplicitBfs infinite = ImplicitBfs.sparse((state, out) -> {
+            out.accept(state + 1);
+            out.accept(state - 1);
+        }, ImplicitBfs.Record.PARENTS, 1_000);
+        assertEquals(7L, infinite.run(0L, -7L));
+        assertArrayEquals(new long[] {0L, -1L, -2L}, infinite.path(-2L));
+        assertThrows(IllegalStateException.class, () -> infinite.run(0L));
+        assertThrows(IllegalStateException.class, () -> ImplicitBfs.sparse(
+                (state, out) -> {}, ImplicitBfs.Record.NOTHING, 1).distance(0L));
+        assertThrows(IndexOutOfBoundsException.class, () -> ImplicitBfs.dense(
+                4, (state, out) -> out.accept(state + 1), ImplicitBfs.Record.NOTHING).run(0L));
+    }
+
+}
@@ -0,0 +1,76 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class IndexedLongHeapTest {
+    
+    @Test public void matchesOrderedSet() {
+        Random random = new Random();
+        int capacity = 1_000;
+        IndexedLongHeap heap = new IndexedLongHeap(capacity);
+        long[] priorities = new long[capacity];
+        // pairs of (priority, item) ordered like in the heap
+        TreeSet<long[]> expected = new TreeSet<>((a, b) -> a[0] != b[0]
+                ? Long.compare(a[0], b[0])
+                : Long.compare(a[1], b[1]));
+        for (int i = 0; i < 200_000; i++) {
+            int item = random.nextInt(capacity);
+            long priority = random.nextInt(10_000) - 5_000;
+            int operation = random.nextInt(3);
+            if (operation == 0 && !heap.isEmpty()) {
+                long[] least = expected.pollFirst();
+                assertEquals(least[0], heap.peekPriority());
+                int popped = heap.pop();
+                assertEquals(least[0], priorities[popped]);
+                if (popped != least[1]) { // equal priorities
+                    assertTrue(expected.remove(new long[] {least[0], popped}));
+                    expected.add(least);
+                }
+                assertFalse(heap.contains(popped));
+            } else if (heap.contains(item)) {
+                boolean decreased = priority < priorities[item];
+                assertEquals(decreased, heap.pushOrDecrease(item, priority));
+                if (decreased) {
+                    expected.remove(new long[] {priorities[item], item});
+                    expected.add(new long[] {priority, item});
+                    priorities[item] = priority;
+                }
+                assertEquals(priorities[item], heap.priority(item));
+            } else {
+                heap.push(item, priority);
+                priorities[item] = priority;
+                expected.add(new long[] {priority, item});
+            }
+            assertEquals(expected.size(), heap.size());
+        }
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        for (int item = 0; item < capacity; item++) {
+            assertFalse(heap.contains(item));
+        }
+    }
+    
+    @Test public void rejectsMisuse() {
+        IndexedLongHeap heap = new IndexedLongHeap(4);
+        assertThrows(NoSuchElementException.class, heap::pop);
+        assertThrows(NoSuchElementException.class, heap::peekPriority);
+        assertThrows(NoSuchElementException.class, () -> heap.priority(1));
+        heap.push(1, 10L);
+        assertThrows(IllegalArgumentException.class, () -> heap.push(1, 5L));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(1, 11L));
+        heap.decreaseKey(1, 3L);
+        heap.push(2, 4L);
+        assertEquals(1, heap.peek());
+        assertEquals(3L, heap.priority(1));
+        assertEquals(1, heap.pop());
+        assertEquals(2, heap.pop());
+    }
+
+}
@@ -0,0 +1,100 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class PointToPointEngineTest {
+    
+    private final Random random = new Random();
+    
+    @Test public void matchesDijkstraEngine() {
+        for (int test = 0; test < 20; test++) {
+            int n = 1 + random.nextInt(200);
+            // points on the plane with arcs not shorter than the Euclidean distance
+            int[] x = new int[n], y = new int[n];
+            for (int v = 0; v < n; v++) {
+                x[v] = random.nextInt(1_000);
+                y[v] = random.nextInt(1_000);
+            }
+            int m = random.nextInt(4 * n);
+            int[] from = new int[m], to = new int[m];
+            long[] weights = new long[m];
+            for (int i = 0; i < m; i++) {
+                from[i] = random.nextInt(n);
+                to[i] = random.nextInt(n);
+                weights[i] = (long)Math.ceil(Math.hypot(x[from[i]] - x[to[i]],
+                        y[from[i]] - y[to[i]])) + random.nextInt(10);
+            }
+            CsrGraph graph = random.nextBoolean()
+                    ? CsrGraph.directed(n, from, to, weights)
+                    : CsrGraph.undirected(n, from, to, weights);
+            DijkstraEngine expected = new DijkstraEngine(graph);
+            DijkstraEngine toTarget = new DijkstraEngine(graph.reverse());
+            PointToPointEngine engine = new PointToPointEngine(graph);
+            for (int query = 0; query < 50; query++) {
+                int s = random.nextInt(n), t = random.nextInt(n);
+                expected.run(s);
+                long dist = expected.distance(t);
+                assertEquals(dist, engine.bidirectional(s, t));
+                assertPath(graph, engine, s, t);
+                assertEquals(dist, engine.aStar(s, t, v -> 0L));
+                assertPath(graph, engine, s, t);
+                assertEquals(dist, engine.aStar(s, t,
+                        v -> (long)Math.hypot(x[v] - x[t], y[v] - y[t])));
+                assertPath(graph, engine, s, t);
+                assertTrue(engine.settledCount() <= n);
+                // an admissible but inconsistent heuristic reopens vertices
+                toTarget.run(t);
+                long[] h = new long[n];
+                for (int v = 0; v < n; v++) {
+                    long bound = toTarget.distance(v);
+                    h[v] = bound == CsrGraph.INFINITY ? 0L : random.nextInt((int)bound + 1);
+                }
+                assertEquals(dist, engine.aStar(s, t, v -> h[v]));
+                assertPath(graph, engine, s, t);
+            }
+        }
+    }
+    
+    @Test public void handlesTrivialQueries() {
+        CsrGraph graph = CsrGraph.directed(3, new int[] {0, 1}, new int[] {1, 2}, null);
+        PointToPointEngine engine = new PointToPointEngine(graph);
+        assertEquals(0L, engine.bidirectional(1, 1));
+        assertArrayEquals(new int[] {1}, engine.path());
+        assertEquals(2L, engine.bidirectional(0, 2));
+        assertArrayEquals(new int[] {0, 1, 2}, engine.path());
+        assertEquals(CsrGraph.INFINITY, engine.bidirectional(2, 0));
+        assertArrayEquals(new int[0], engine.path());
+        assertEquals(CsrGraph.INFINITY, engine.aStar(2, 0, v -> 0L));
+        assertEquals(2L, engine.aStar(0, 2, v -> 2 - v));
+        assertEquals(3, engine.settledCount());
+        assertThrows(IllegalArgumentException.class, () -> new PointToPointEngine(
+                CsrGraph.directed(2, new int[] {0}, new int[] {1}, new long[] {-1L})));
+    }
+    
+    private static void assertPath(CsrGraph graph, PointToPointEngine engine, int s, int t) {
+        int[] path = engine.path();
+        if (engine.distance() == CsrGraph.INFINITY) {
+            assertEquals(0, path.length);
+            return;
+        }
+        assertEquals(s, path[0]);
+        assertEquals(t, path[path.length - 1]);
+        long length = 0L;
+        for (int i = 1; i < path.length; i++) {
+            long best = Long.MAX_VALUE;
+            for (int arc = graph.begin(path[i - 1]); arc < graph.end(path[i - 1]); arc++) {
+                if (graph.target(arc) == path[i]) {
+                    best = Math.min(best, graph.weight(arc));
+                }
+            }
+            length += best;
+        }
+        assertEquals(engine.distance(), length);
+    }
+
+}
@@ -0,0 +1,35 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Random;
+
+// random weighted graphs for the tests of the engines
+final class RandomGraphs {
+    
+    private RandomGraphs() {}
+    
+    // up to degree * n edges of weights [0, maxWeight), zero weights too
+    static CsrGraph directed(Random random, int n, int degree, int maxWeight) {
+        return build(random, n, degree, maxWeight, true);
+    }
+    
+    // directed or undirected one by a coin
+    static CsrGraph any(Random random, int n, int degree, int maxWeight) {
+        return build(random, n, degree, maxWeight, random.nextBoolean());
+    }
+    
+    private static CsrGraph build(Random random, int n, int degree, int maxWeight,
+            boolean directed) {
+        int m = random.nextInt(degree * n);
+        int[] from = new int[m], to = new int[m];
+        long[] weights = new long[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = random.nextInt(n);
+            to[i] = random.nextInt(n);
+            weights[i] = random.nextInt(maxWeight);
+        }
+        return directed
+                ? CsrGraph.directed(n, from, to, weights)
+                : CsrGraph.undirected(n, from, to, weights);
+    }
+
+}
@@ -0,0 +1,178 @@
+package druyaned.alg.util.t01graph;
+
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+public class ShortestPathEngineTest {
+    
+    private final Random random = new Random();
+    
+    @Test public void minPlusFromSeveralSources() {
+        for (int test = 0; test < 20; test++) {
+            CsrGraph graph = RandomGraphs.directed(random, 1 + random.nextInt(50), 4, 100);
+            final int n = graph.vertexCount();
+            ShortestPathEngine single = new ShortestPathEngine(graph, PathAlgebra.minPlus());
+            ShortestPathEngine engine = new ShortestPathEngine(graph,
+                    PathAlgebra.minPlus(), 1, true);
+            int[] sources = new int[1 + random.nextInt(4)];
+            long[] expected = new long[n];
+            Arrays.fill(expected, CsrGraph.INFINITY);
+            for (int i = 0; i < sources.length; i++) {
+                sources[i] = random.nextInt(n);
+                single.run(sources[i]);
+                for (int v = 0; v < n; v++) {
+                    expected[v] = Math.min(expected[v], single.value(v));
+                }
+            }
+            engine.run(sources);
+            for (int v = 0; v < n; v++) {
+                assertEquals(expected[v], engine.value(v));
+                int[] path = engine.path(v);
+                if (expected[v] != CsrGraph.INFINITY) {
+                    assertEquals(v, path[path.length - 1]);
+                    assertEquals(expected[v], single.run(path[0], v));
+                }
+            }
+        }
+    }
+    
+    @Test public void maxMinFindsWidestPaths() {
+        for (int test = 0; test < 20; test++) {
+            CsrGraph graph = RandomGraphs.directed(random, 1 + random.nextInt(30), 4, 20);
+            ShortestPathEngine engine = new ShortestPathEngine(graph, PathAlgebra.maxMin());
+            for (int source = 0; source < graph.vertexCount(); source++) {
+                engine.run(source);
+                for (int v = 0; v < graph.vertexCount(); v++) {
+                    assertEquals(widest(graph, source, v), engine.value(v));
+                }
+            }
+        }
+    }
+    
+    @Test public void earliestArrivalFollowsTimetable() {
+        for (int test = 0; test < 20; test++) {
+            int n = 1 + random.nextInt(30), m = random.nextInt(5 * n);
+            int[] from = new int[m], to = new int[m];
+            long[] departures = new long[m], arrivals = new long[m];
+            for (int i = 0; i < m; i++) {
+                from[i] = random.nextInt(n);
+                to[i] = random.nextInt(n);
+                departures[i] = random.nextInt(100);
+                arrivals[i] = departures[i] + random.nextInt(20);
+            }
+            CsrGraph graph = CsrGraph.directed(n, from, to, arrivals);
+            long[] arcDepartures = graph.arcValues(from, departures);
+            ShortestPathEngine engine = new ShortestPathEngine(graph,
+                    PathAlgebra.earliestArrival(arcDepartures, 0L));
+            engine.run(0);
+            // the timetable is relaxed until nothing changes
+            long[] expected = new long[n];
+            Arrays.fill(expected, Long.MAX_VALUE);
+            expected[0] = 0L;
+            for (boolean changed = true; changed; ) {
+                changed = false;
+                for (int i = 0; i < m; i++) {
+                    if (expected[from[i]] <= departures[i] && arrivals[i] < expected[to[i]]) {
+                        expected[to[i]] = arrivals[i];
+                        changed = true;
+                    }
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                assertEquals(expected[v], engine.value(v));
+            }
+        }
+    }
+    
+    @Test public void layersGiveFreeArcs() {
+        for (int test = 0; test < 20; test++) {
+            CsrGraph graph = RandomGraphs.directed(random, 2 + random.nextInt(30), 4, 100);
+            final int n = graph.vertexCount();
+            ShortestPathEngine engine = new ShortestPathEngine(graph,
+                    PathAlgebra.minPlusWithFreeArcs(), 2, true);
+            DijkstraEngine forward = new DijkstraEngine(graph);
+            DijkstraEngine backward = new DijkstraEngine(graph.reverse());
+            int source = random.nextInt(n), target = random.nextInt(n);
+            forward.run(source);
+            backward.run(target);
+            // the best of all paths with one arc for free
+            long expected = forward.distance(target);
+            for (int v = 0; v < n; v++) {
+                for (int arc = graph.begin(v); arc < graph.end(v); arc++) {
+                    long head = forward.distance(v), tail = backward.distance(graph.target(arc));
+                    if (head != Long.MAX_VALUE && tail != Long.MAX_VALUE) {
+                        expected = Math.min(expected, head + tail);
+                    }
+                }
+            }
+            assertEquals(expected, engine.run(source, target));
+            int[] path = engine.path(target);
+            if (expected != Long.MAX_VALUE) {
+                assertEquals(source, path[0]);
+                assertEquals(target, path[path.length - 1]);
+            }
+        }
+    }
+    
+    @Test public void rejectsMisuse() {
+        CsrGraph negative = CsrGraph.directed(2, new int[] {0}, new int[] {1}, new long[] {-1L});
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShortestPathEngine(negative, PathAlgebra.minPlus()));
+        CsrGraph graph = CsrGraph.directed(2, new int[] {0}, new int[] {1}, new long[] {3L});
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShortestPathEngine(graph, PathAlgebra.minPlus(), 0, false));
+        assertThrows(IllegalArgumentException.class, () -> new ShortestPathEngine(graph,
+                PathAlgebra.earliestArrival(new long[] {4L}, 0L)));
+        ShortestPathEngine engine = new ShortestPathEngine(graph, PathAlgebra.minPlus());
+        assertNull(engine.parents());
+        assertThrows(IllegalStateException.class, () -> engine.path(1));
+        assertEquals(Long.MAX_VALUE, engine.run(1, 0));
+        assertEquals(3L, engine.run(0, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> engine.value(1, 1));
+        assertEquals(0L, engine.value(0));
+        assertArrayEquals(new long[] {2L}, graph.arcValues(new int[] {0}, new long[] {2L}));
+        CsrGraph undirected = CsrGraph.of(2, new int[][] {{0, 1}}, false);
+        assertThrows(IllegalStateException.class,
+                () -> undirected.arcValues(new int[] {0}, new long[] {2L}));
+    }
+    
+    // the greatest width, that still connects the vertices
+    private static long widest(CsrGraph graph, int source, int target) {
+        if (source == target) {
+            return Long.MAX_VALUE;
+        }
+        long best = Long.MIN_VALUE;
+        for (int arc = 0; arc < graph.arcCount(); arc++) {
+            long width = graph.weight(arc);
+            if (width > best && connected(graph, source, target, width)) {
+                best = width;
+            }
+        }
+        return best;
+    }
+    
+    private static boolean connected(CsrGraph graph, int source, int target, long width) {
+        boolean[] visited = new boolean[graph.vertexCount()];
+        int[] stack = new int[graph.vertexCount()];
+        int size = 0;
+        stack[size++] = source;
+        visited[source] = true;
+        while (size > 0) {
+            int v = stack[--size];
+            for (int arc = graph.begin(v); arc < graph.end(v); arc++) {
+                int next = graph.target(arc);
+                if (graph.weight(arc) >= width && !visited[next]) {
+                    visited[next] = true;
+                    stack[size++] = next;
+                }
+            }
+        }
+        return visited[target];
+    }
+
+}
@@ -0,0 +1,110 @@
+package druyaned.alg.util.t02arithm;
+
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+public class LinearSieveTest {
+    
+    private final Random random = new Random();
+    
+    @Test public void factorsMatchTrialDivision() {
+        final int limit = 300_000 + random.nextInt(1000);
+        LinearSieve sieve = new LinearSieve(limit);
+        assertArrayEquals(new PrimeSieve().primes(0, limit), sieve.primes());
+        int[] factors = new int[LinearSieve.MAX_DISTINCT_PRIMES];
+        int[] exponents = new int[LinearSieve.MAX_DISTINCT_PRIMES];
+        int[] expectedFactors = new int[LinearSieve.MAX_DISTINCT_PRIMES];
+        int[] expectedExponents = new int[LinearSieve.MAX_DISTINCT_PRIMES];
+        for (int n = 1; n <= limit; n++) {
+            int expectedCount = trialDivision(n, expectedFactors, expectedExponents);
+            int count = sieve.factorize(n, factors, exponents);
+            assertEquals(expectedCount, count, "n=" + n);
+            for (int i = 0; i < count; i++) {
+                assertEquals(expectedFactors[i], factors[i], "n=" + n);
+                assertEquals(expectedExponents[i], exponents[i], "n=" + n);
+            }
+            if (n > 1) {
+                assertEquals(expectedFactors[0], sieve.smallestFactor(n));
+                assertEquals(count == 1 && exponents[0] == 1, sieve.isPrime(n));
+            }
+        }
+    }
+    
+    @Test public void multiplicativeTables() {
+        final int limit = 100_000 + random.nextInt(1000);
+        LinearSieve sieve = new LinearSieve(limit);
+        int[] phi = sieve.phiTable();
+        byte[] mu = sieve.mobiusTable();
+        int[] divisors = sieve.divisorCountTable();
+        assertEquals(0, phi[0]);
+        assertEquals(0, mu[0]);
+        assertEquals(0, divisors[0]);
+        int[] factors = new int[LinearSieve.MAX_DISTINCT_PRIMES];
+        int[] exponents = new int[LinearSieve.MAX_DISTINCT_PRIMES];
+        for (int n = 1; n <= limit; n++) {
+            int count = trialDivision(n, factors, exponents);
+            int expectedPhi = n;
+            int expectedMu = (count & 1) == 0 ? 1 : -1;
+            int expectedDivisors = 1;
+            for (int i = 0; i < count; i++) {
+                expectedPhi = expectedPhi / factors[i] * (factors[i] - 1);
+                expectedMu = exponents[i] > 1 ? 0 : expectedMu;
+                expectedDivisors *= exponents[i] + 1;
+            }
+            assertEquals(expectedPhi, phi[n], "n=" + n);
+            assertEquals(expectedMu, mu[n], "n=" + n);
+            assertEquals(expectedDivisors, divisors[n], "n=" + n);
+        }
+    }
+    
+    @Test public void smallLimits() {
+        for (int limit = 0; limit < 40; limit++) {
+            LinearSieve sieve = new LinearSieve(limit);
+            assertArrayEquals(new PrimeSieve().primes(0, limit), sieve.primes());
+            assertEquals(limit + 1, sieve.phiTable().length);
+        }
+        LinearSieve sieve = new LinearSieve(10);
+        assertThrows(IndexOutOfBoundsException.class, () -> sieve.isPrime(11));
+        assertThrows(IllegalArgumentException.class, () -> sieve.smallestFactor(1));
+        assertThrows(IllegalArgumentException.class, () -> new LinearSieve(-1));
+    }
+    
+    @Test public void mostDistinctFactors() {
+        final int n = 2 * 3 * 5 * 7 * 11 * 13 * 17 * 19 * 23;
+        LinearSieve sieve = new LinearSieve(n);
+        int[] factors = new int[LinearSieve.MAX_DISTINCT_PRIMES];
+        int[] exponents = new int[LinearSieve.MAX_DISTINCT_PRIMES];
+        assertEquals(LinearSieve.MAX_DISTINCT_PRIMES, sieve.factorize(n, factors, exponents));
+        assertArrayEquals(new int[] {2, 3, 5, 7, 11, 13, 17, 19, 23}, factors);
+        long product = 1L;
+        for (int i = sieve.factorize(n - 1, factors, exponents) - 1; i >= 0; i--) {
+            product *= (long)Math.pow(factors[i], exponents[i]);
+        }
+        assertEquals(n - 1, product);
+        assertEquals(new PrimeSieve().count(0, n), sieve.primeCount());
+    }
+    
+    private static int trialDivision(int n, int[] factors, int[] exponents) {
+        int count = 0;
+        for (int p = 2; p * p <= n; p++) {
+            if (n % p == 0) {
+                int exponent = 0;
+                while (n % p == 0) {
+                    n /= p;
+                    exponent++;
+                }
+                factors[count] = p;
+                exponents[count++] = exponent;
+            }
+        }
+        if (n > 1) {
+            factors[count] = n;
+            exponents[count++] = 1;
+        }
+        return count;
+    }
+
+}
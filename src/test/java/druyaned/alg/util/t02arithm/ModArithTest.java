@@ -0,0 +1,113 @@
+package druyaned.alg.util.t02arithm;
+
+import java.math.BigInteger;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+public class ModArithTest {
+    
+    private final Random random = new Random();
+    
+    @Test public void matchesBigInteger() {
+        long[] moduli = {
+            2L, 3L, 4L, 1_000_000_007L, 1_000_000_009L, 998_244_353L, (1L << 32) - 1L,
+            (1L << 32) - 5L, (1L << 31), 1L << 31 | 1L, ModArith.MERSENNE_61
+        };
+        for (long m : moduli) {
+            check(ModArith.of(m));
+            if ((m & 1L) == 1L && m < (1L << 32)) {
+                check(ModArith.montgomery(m));
+            }
+        }
+        for (int test = 0; test < 50; test++) {
+            long m = 2L + (random.nextLong() >>> 1) % ((1L << 32) - 2L);
+            check(ModArith.barrett(m));
+            check(ModArith.montgomery(m | 1L));
+        }
+    }
+    
+    @Test public void inverses() {
+        ModArith mod = ModArith.montgomery(1_000_000_007L);
+        for (int test = 0; test < 1000; test++) {
+            long a = mod.toForm(1L + random.nextInt(1_000_000_006));
+            assertEquals(mod.one(), mod.mul(a, mod.inverse(a)));
+        }
+        ModArith composite = ModArith.barrett(1L << 20);
+        assertEquals(1L, composite.fromForm(composite.mul(3L, composite.inverse(3L))));
+        assertThrows(ArithmeticException.class, () -> composite.inverse(6L));
+        assertThrows(ArithmeticException.class, () -> mod.inverse(mod.zero()));
+    }
+    
+    @Test public void batches() {
+        ModArith mod = ModArith.mersenne61();
+        final int n = 1000;
+        long[] a = new long[n], b = new long[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = random.nextLong();
+            b[i] = random.nextLong();
+        }
+        long[] aForms = a.clone(), bForms = b.clone();
+        mod.toForms(aForms);
+        mod.toForms(bForms);
+        long[] products = new long[n], sums = new long[n];
+        mod.mul(aForms, bForms, products);
+        mod.add(aForms, bForms, sums);
+        mod.fromForms(products);
+        mod.fromForms(sums);
+        BigInteger m = BigInteger.valueOf(mod.modulus());
+        for (int i = 0; i < n; i++) {
+            BigInteger x = BigInteger.valueOf(a[i]), y = BigInteger.valueOf(b[i]);
+            assertEquals(x.multiply(y).mod(m).longValue(), products[i]);
+            assertEquals(x.add(y).mod(m).longValue(), sums[i]);
+        }
+        ModArith montgomery = ModArith.montgomery(1_000_000_007L);
+        long[] powers = montgomery.powers(montgomery.toForm(257L), 100);
+        montgomery.fromForms(powers);
+        for (int i = 0; i < powers.length; i++) {
+            assertEquals(BigInteger.valueOf(257L).modPow(BigInteger.valueOf(i),
+                    BigInteger.valueOf(1_000_000_007L)).longValue(), powers[i]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> mod.mul(a, new long[1], a));
+    }
+    
+    @Test public void binaryExponentiation() {
+        assertEquals(177147L, BinaryExponentiation.power(3L, 11L));
+        assertEquals(1L, BinaryExponentiation.power(5L, 0L));
+        BigInteger m = BigInteger.valueOf(BinaryExponentiation.MOD);
+        for (int test = 0; test < 100; test++) {
+            long base = random.nextInt(Integer.MAX_VALUE), exp = random.nextLong() >>> 1;
+            assertEquals(BigInteger.valueOf(base).modPow(BigInteger.valueOf(exp), m).longValue(),
+                    BinaryExponentiation.power(base, exp));
+        }
+    }
+    
+    @Test public void unsupportedModuli() {
+        assertThrows(IllegalArgumentException.class, () -> ModArith.of(1L));
+        assertThrows(IllegalArgumentException.class, () -> ModArith.of(1L << 32));
+        assertThrows(IllegalArgumentException.class, () -> ModArith.montgomery(10L));
+        assertThrows(IllegalArgumentException.class, () -> ModArith.barrett(-7L));
+    }
+    
+    private void check(ModArith mod) {
+        BigInteger m = BigInteger.valueOf(mod.modulus());
+        for (int test = 0; test < 2000; test++) {
+            long x = test < 10 ? mod.modulus() - 1L - test % 2 : random.nextLong();
+            long y = test < 10 ? mod.modulus() - 1L : random.nextLong();
+            long e = random.nextInt(1000);
+            BigInteger bx = BigInteger.valueOf(x), by = BigInteger.valueOf(y);
+            long a = mod.toForm(x), b = mod.toForm(y);
+            String message = "m=" + mod.modulus() + " x=" + x + " y=" + y;
+            assertEquals(bx.mod(m).longValue(), mod.fromForm(a), message);
+            assertEquals(bx.multiply(by).mod(m).longValue(), mod.fromForm(mod.mul(a, b)), message);
+            assertEquals(bx.add(by).mod(m).longValue(), mod.fromForm(mod.add(a, b)), message);
+            assertEquals(bx.subtract(by).mod(m).longValue(), mod.fromForm(mod.sub(a, b)), message);
+            assertEquals(bx.negate().mod(m).longValue(), mod.fromForm(mod.neg(a)), message);
+            assertEquals(bx.modPow(BigInteger.valueOf(e), m).longValue(),
+                    mod.fromForm(mod.pow(a, e)), message);
+        }
+        assertEquals(1L % mod.modulus(), mod.fromForm(mod.one()));
+    }
+
+}
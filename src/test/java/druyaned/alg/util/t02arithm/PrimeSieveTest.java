@@ -0,0 +1,74 @@
+package druyaned.alg.util.t02arithm;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class PrimeSieveTest {
+    
+    private final Random random = new Random();
+    
+    @Test public void matchesPlainSieve() {
+        final int limit = 2_000_000;
+        boolean[] composite = new boolean[limit + 1];
+        composite[0] = composite[1] = true;
+        for (int p = 2; (long)p * p <= limit; p++) {
+            if (!composite[p]) {
+                for (int f = p * p; f <= limit; f += p) {
+                    composite[f] = true;
+                }
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // tiny segments make many boundaries
+            PrimeSieve[] sieves = {
+                new PrimeSieve(pool), new PrimeSieve(1 + random.nextInt(50), pool)
+            };
+            for (PrimeSieve sieve : sieves) {
+                for (int test = 0; test < 50; test++) {
+                    int from = random.nextInt(limit + 1) - 10, to = random.nextInt(limit + 1);
+                    if (test < 10) {
+                        from = random.nextInt(40) - 5;
+                        to = random.nextInt(200);
+                    }
+                    int[] expected = plainPrimes(composite, from, to);
+                    assertArrayEquals(expected, sieve.primes(from, to));
+                    assertEquals(expected.length, sieve.count(from, to));
+                    int[] streamed = new int[expected.length];
+                    int[] size = {0};
+                    sieve.forEachPrime(from, to, p -> streamed[size[0]++] = p);
+                    assertArrayEquals(expected, streamed);
+                }
+                for (int test = 0; test < 100_000; test++) {
+                    int n = test < 1_000 ? test : random.nextInt(limit + 1);
+                    assertEquals(!composite[n], sieve.isPrime(n));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test public void coversAllInts() {
+        PrimeSieve sieve = new PrimeSieve();
+        assertEquals(664_579L, sieve.count(0, 10_000_000));
+        assertTrue(sieve.isPrime(Integer.MAX_VALUE));
+        assertTrue(sieve.isPrime(2_147_483_629));
+        assertFalse(sieve.isPrime(2_147_483_631));
+        assertFalse(sieve.isPrime(-7));
+        assertArrayEquals(new int[] {2_147_483_587, 2_147_483_629, 2_147_483_647},
+                sieve.primes(2_147_483_580, Integer.MAX_VALUE));
+        assertEquals(0, sieve.primes(8, 10).length);
+    }
+    
+    private static int[] plainPrimes(boolean[] composite, int from, int to) {
+        return IntStream.rangeClosed(Math.max(from, 0), to).filter(n -> !composite[n]).toArray();
+    }
+
+}
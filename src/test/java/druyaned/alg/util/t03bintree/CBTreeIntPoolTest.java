@@ -0,0 +1,126 @@
+package druyaned.alg.util.t03bintree;
+
+import druyaned.alg.util.t03bintree.cbt.CBTreeInt;
+import druyaned.alg.util.t03bintree.cbt.CBTreeInt.CBMTreeInt;
+import druyaned.alg.util.t03bintree.cbt.CBTreeInt.CBSTreeInt;
+import druyaned.alg.util.t03bintree.cbt.CBTreeInt.IteratorInt;
+import druyaned.alg.util.t03bintree.cbt.CBTreeIntPool;
+import druyaned.alg.util.t03bintree.cbt.CBTreeIntPool.CBMTreeIntPool;
+import druyaned.alg.util.t03bintree.cbt.CBTreeIntPool.CBSTreeIntPool;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class CBTreeIntPoolTest {
+    
+    @Test public void assertionsOfEmptyTrees() {
+        CBTreeIntPool tree = new CBSTreeIntPool(Integer::compare, 0);
+        assertEquals(CBTreeIntPool.NIL, tree.root());
+        assertEquals(0, tree.size());
+        assertTrue(tree.isEmpty());
+        assertFalse(tree.contains(0));
+        assertEquals(CBTreeIntPool.NIL, tree.getNodeFirst());
+        assertEquals(CBTreeIntPool.NIL, tree.getNodeLess(0));
+        assertEquals(-1, tree.getIndexLess(0));
+        assertEquals(0, tree.getIndexGreater(0));
+        assertFalse(tree.iterator().hasNext());
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.getNodeAt(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.removeAt(0));
+        assertEquals("{}", tree.toString());
+    }
+    
+    @Test public void behavesLikeCBTreeInt() {
+        Random random = new Random();
+        assertSameBehavior(new CBSTreeInt(Integer::compare),
+                new CBSTreeIntPool(Integer::compare), random);
+        assertSameBehavior(new CBMTreeInt(Integer::compare),
+                new CBMTreeIntPool(Integer::compare), random);
+    }
+    
+    @Test public void reusesRemovedNodes() {
+        CBTreeIntPool tree = new CBMTreeIntPool(Integer::compare, 4);
+        for (int i = 0; i < 4; i++) {
+            tree.add(i);
+        }
+        int removed = tree.getNode(3);
+        assertEquals(3, tree.removeAt(3));
+        tree.add(7);
+        assertEquals(removed, tree.getNode(7));
+        tree.clear();
+        assertTrue(tree.isEmpty());
+        tree.add(5);
+        assertEquals(0, tree.root());
+        assertEquals("{5}", tree.toString());
+    }
+    
+    @Test public void fromSorted() {
+        int[] values = new int[1_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i / 3;
+        }
+        CBMTreeInt expected = CBMTreeInt.fromSorted(values, Integer::compare);
+        CBMTreeIntPool actual = CBMTreeIntPool.fromSorted(values, Integer::compare);
+        assertArrayEquals(values, expected.toArray());
+        assertArrayEquals(values, actual.toArray());
+        assertBalanced(actual, actual.root());
+        assertThrows(IllegalArgumentException.class,
+                () -> CBSTreeInt.fromSorted(values, Integer::compare));
+        assertThrows(IllegalArgumentException.class,
+                () -> CBSTreeIntPool.fromSorted(values, Integer::compare));
+        assertSameBehavior(expected, actual, new Random());
+    }
+    
+    private static void assertSameBehavior(CBTreeInt expected, CBTreeIntPool actual, Random random) {
+        int maxVal = 1_024;
+        int n = 16 * maxVal;
+        for (int i = 0; i < n; i++) {
+            int value = random.nextInt(maxVal);
+            int operation = random.nextInt(4);
+            if (operation < 2) {
+                assertEquals(expected.add(value), actual.add(value));
+            } else if (operation == 2) {
+                assertEquals(expected.remove(value), actual.remove(value));
+            } else if (!expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                int removed = expected.getNodeAt(index).value();
+                expected.removeAt(index);
+                assertEquals(removed, actual.removeAt(index));
+            }
+            assertEquals(expected.size(), actual.size());
+            assertEquals(expected.getIndexLess(value), actual.getIndexLess(value));
+            assertEquals(expected.getIndexGreater(value), actual.getIndexGreater(value));
+            assertEquals(expected.getIndexLessEq(value), actual.getIndexLessEq(value));
+            assertEquals(expected.getIndexGreaterEq(value), actual.getIndexGreaterEq(value));
+            if (!expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.getNodeAt(index).value(), actual.getAt(index));
+            }
+        }
+        assertArrayEquals(expected.toArray(), actual.toArray());
+        IteratorInt iter = actual.iterator();
+        for (int value : expected.toArray()) {
+            assertEquals(value, iter.next());
+        }
+        assertFalse(iter.hasNext());
+        assertEquals(expected.toString(), actual.toString());
+        assertBalanced(actual, actual.root());
+    }
+    
+    private static int assertBalanced(CBTreeIntPool tree, int node) {
+        if (node == CBTreeIntPool.NIL) {
+            return 0;
+        }
+        int leftCount = assertBalanced(tree, tree.left(node));
+        int rightCount = assertBalanced(tree, tree.right(node));
+        assertEquals(leftCount, tree.leftCount(node));
+        assertEquals(rightCount, tree.rightCount(node));
+        assertFalse(CBTreeInt.unbalanced(leftCount, rightCount));
+        assertFalse(CBTreeInt.unbalanced(rightCount, leftCount));
+        return leftCount + 1 + rightCount;
+    }
+    
+}
@@ -0,0 +1,141 @@
+package druyaned.alg.util.t03bintree;
+
+import druyaned.alg.util.t03bintree.cbt.CBTreeInt;
+import druyaned.alg.util.t03bintree.cbt.CBTreeInt.CBMTreeInt;
+import druyaned.alg.util.t03bintree.cbt.CBTreeInt.CBSTreeInt;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class CBTreeIntTest {
+    
+    @Test public void splitAndJoin() {
+        Random random = new Random();
+        for (int n : new int[] {0, 1, 2, 7, 1_000, 30_000}) {
+            int[] values = new int[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = random.nextInt(n / 2 + 1);
+            }
+            Arrays.sort(values);
+            CBMTreeInt multi = CBMTreeInt.fromSorted(values, Integer::compare);
+            int index = random.nextInt(n + 1);
+            CBTreeInt tail = multi.splitAt(index);
+            assertArrayEquals(Arrays.copyOfRange(values, 0, index), multi.toArray());
+            assertArrayEquals(Arrays.copyOfRange(values, index, n), tail.toArray());
+            assertCounts(multi.root());
+            assertCounts(tail.root());
+            multi.join(tail);
+            assertTrue(tail.isEmpty());
+            assertArrayEquals(values, multi.toArray());
+            int value = random.nextInt(n / 2 + 1);
+            tail = multi.splitGreaterEq(value);
+            assertEquals(multi.getIndexGreaterEq(value), multi.size());
+            assertEquals(0, tail.getIndexLess(value) + 1);
+            assertCounts(multi.root());
+            assertCounts(tail.root());
+            multi.join(tail);
+            assertArrayEquals(values, multi.toArray());
+            assertCounts(multi.root());
+        }
+        CBSTreeInt set = CBSTreeInt.fromSorted(new int[] {1, 2}, Integer::compare);
+        assertThrows(IllegalArgumentException.class,
+                () -> set.join(CBSTreeInt.fromSorted(new int[] {2, 3}, Integer::compare)));
+    }
+    
+    @Test public void setOperations() {
+        Random random = new Random();
+        int[][] sizes = {{0, 0}, {0, 10}, {10, 0}, {1, 100_000}, {100_000, 1},
+            {1_000, 1_000}, {100_000, 1_000}};
+        for (int[] nm : sizes) {
+            TreeSet<Integer> expectedA = new TreeSet<>(), expectedB = new TreeSet<>();
+            int range = 2 * (nm[0] + nm[1]) + 1;
+            while (expectedA.size() < nm[0]) {
+                expectedA.add(random.nextInt(range));
+            }
+            while (expectedB.size() < nm[1]) {
+                expectedB.add(random.nextInt(range));
+            }
+            CBSTreeInt b = CBSTreeInt.fromSorted(toArray(expectedB), Integer::compare);
+            TreeSet<Integer> expected = new TreeSet<>(expectedA);
+            CBSTreeInt a = CBSTreeInt.fromSorted(toArray(expectedA), Integer::compare);
+            assertEquals(expected.addAll(expectedB), a.union(b));
+            assertArrayEquals(toArray(expected), a.toArray());
+            assertCounts(a.root());
+            expected = new TreeSet<>(expectedA);
+            a = CBSTreeInt.fromSorted(toArray(expectedA), Integer::compare);
+            assertEquals(expected.retainAll(expectedB), a.intersection(b));
+            assertArrayEquals(toArray(expected), a.toArray());
+            assertCounts(a.root());
+            expected = new TreeSet<>(expectedA);
+            a = CBSTreeInt.fromSorted(toArray(expectedA), Integer::compare);
+            assertEquals(expected.removeAll(expectedB), a.difference(b));
+            assertArrayEquals(toArray(expected), a.toArray());
+            assertCounts(a.root());
+            assertArrayEquals(toArray(expectedB), b.toArray());
+        }
+    }
+    
+    @Test public void rangeIterators() {
+        Random random = new Random();
+        int n = 2_000;
+        int[] values = new int[n];
+        CBMTreeInt multi = new CBMTreeInt(Integer::compare);
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextInt(500);
+            multi.add(values[i]);
+        }
+        Arrays.sort(values);
+        assertArrayEquals(values, toArray(multi.iterator()));
+        assertArrayEquals(reversed(values), toArray(multi.descendingIterator()));
+        assertThrows(IndexOutOfBoundsException.class, () -> multi.iterator(n + 1));
+        for (int i = 0; i < 200; i++) {
+            int index = random.nextInt(n + 1);
+            assertArrayEquals(Arrays.copyOfRange(values, index, n), toArray(multi.iterator(index)));
+            int from = random.nextInt(520) - 10, to = random.nextInt(520) - 10;
+            int[] expected = Arrays.stream(values).filter(v -> from <= v && v < to).toArray();
+            assertArrayEquals(expected, toArray(multi.iterator(from, to)));
+            assertArrayEquals(reversed(expected), toArray(multi.descendingIterator(from, to)));
+        }
+    }
+    
+    private static int[] toArray(CBTreeInt.IteratorInt iter) {
+        int[] array = new int[0];
+        while (iter.hasNext()) {
+            array = Arrays.copyOf(array, array.length + 1);
+            array[array.length - 1] = iter.next();
+        }
+        return array;
+    }
+    
+    private static int[] reversed(int[] array) {
+        int[] result = new int[array.length];
+        for (int i = 0; i < array.length; i++) {
+            result[i] = array[array.length - 1 - i];
+        }
+        return result;
+    }
+    
+    private static int[] toArray(TreeSet<Integer> set) {
+        return set.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    private static int assertCounts(CBTreeInt.Node node) {
+        if (node == null) {
+            return 0;
+        }
+        int leftCount = assertCounts(node.left());
+        int rightCount = assertCounts(node.right());
+        assertEquals(leftCount, node.leftCount());
+        assertEquals(rightCount, node.rightCount());
+        assertFalse(CBTreeInt.unbalanced(leftCount, rightCount));
+        assertFalse(CBTreeInt.unbalanced(rightCount, leftCount));
+        return leftCount + 1 + rightCount;
+    }
+
+}
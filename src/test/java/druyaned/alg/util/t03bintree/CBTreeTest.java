@@ -4,9 +4,12 @@ import druyaned.alg.util.t03bintree.cbt.CBTree;
 import druyaned.alg.util.t02arithm.BinarySearch;
 import druyaned.alg.util.t03bintree.cbt.CBTree.CBMTree;
 import druyaned.alg.util.t03bintree.cbt.CBTree.CBSTree;
+import druyaned.alg.util.t03bintree.cbt.Monoid;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.TreeSet;
 import java.util.function.IntSupplier;
@@ -369,4 +372,254 @@ public class CBTreeTest {
         assertionsOfEmptyTrees();
     }
     
+    @Test public void fromSorted() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            values.add(i / 2);
+        }
+        CBMTree<Integer> multi = CBMTree.fromSorted(values, Integer::compare);
+        assertEquals(values.size(), multi.size());
+        assertEquals(values, new ArrayList<>(multi));
+        assertEquals(2, multi.getFirstIndexOf(1));
+        assertEquals(3, multi.getLastIndexOf(1));
+        assertCounts(multi.root());
+        assertThrows(IllegalArgumentException.class,
+                () -> CBSTree.fromSorted(values, Integer::compare));
+        Integer[] distinct = new Integer[1_000];
+        for (int i = 0; i < distinct.length; i++) {
+            distinct[i] = 3 * i;
+        }
+        CBSTree<Integer> set = CBSTree.fromSorted(distinct, Integer::compare);
+        for (int i = 0; i < distinct.length; i++) {
+            assertEquals(distinct[i], set.getAt(i));
+        }
+        assertTrue(set.add(1));
+        assertTrue(set.remove(0));
+        assertEquals(distinct.length, set.size());
+        assertCounts(set.root());
+        assertTrue(CBSTree.fromSorted(new Integer[0], Integer::compare).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> CBSTree.fromSorted(new Integer[] {2, 1}, Integer::compare));
+    }
+    
+    @Test public void splitAndJoin() {
+        Random random = new Random();
+        for (int n : new int[] {0, 1, 2, 7, 1_000, 30_000}) {
+            List<Integer> values = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                values.add(random.nextInt(n / 2 + 1));
+            }
+            values.sort(Integer::compare);
+            CBMTree<Integer> multi = CBMTree.fromSorted(values, Integer::compare);
+            int index = random.nextInt(n + 1);
+            CBTree<Integer> tail = multi.splitAt(index);
+            assertEquals(values.subList(0, index), new ArrayList<>(multi));
+            assertEquals(values.subList(index, n), new ArrayList<>(tail));
+            assertCounts(multi.root());
+            assertCounts(tail.root());
+            multi.join(tail);
+            assertTrue(tail.isEmpty());
+            assertEquals(values, new ArrayList<>(multi));
+            assertCounts(multi.root());
+            int value = random.nextInt(n / 2 + 1);
+            tail = multi.splitGreaterEq(value);
+            int lessCount = multi.size();
+            assertTrue(multi.isEmpty() || multi.getLast() < value);
+            assertTrue(tail.isEmpty() || tail.getFirst() >= value);
+            assertEquals(n, lessCount + tail.size());
+            assertCounts(multi.root());
+            assertCounts(tail.root());
+            if (!multi.isEmpty() && !tail.isEmpty()) {
+                CBTree<Integer> wrongOrder = tail;
+                assertThrows(IllegalArgumentException.class, () -> wrongOrder.join(multi));
+            }
+            multi.join(tail);
+            assertEquals(values, new ArrayList<>(multi));
+        }
+        CBSTree<Integer> small = CBSTree.fromSorted(new Integer[] {1}, Integer::compare);
+        CBSTree<Integer> big = new CBSTree<>(Integer::compare);
+        for (int i = 2; i < 100_000; i++) {
+            big.add(i);
+        }
+        small.join(big);
+        assertEquals(99_999, small.size());
+        assertCounts(small.root());
+        assertThrows(IllegalArgumentException.class,
+                () -> small.join(CBSTree.fromSorted(new Integer[] {99_999}, Integer::compare)));
+    }
+    
+    @Test public void setOperations() {
+        Random random = new Random();
+        int[][] sizes = {{0, 0}, {0, 10}, {10, 0}, {1, 100_000}, {100_000, 1},
+            {1_000, 1_000}, {100_000, 1_000}, {3, 50_000}};
+        for (int[] nm : sizes) {
+            TreeSet<Integer> expectedA = new TreeSet<>(), expectedB = new TreeSet<>();
+            int range = 2 * (nm[0] + nm[1]) + 1;
+            while (expectedA.size() < nm[0]) {
+                expectedA.add(random.nextInt(range));
+            }
+            while (expectedB.size() < nm[1]) {
+                expectedB.add(random.nextInt(range));
+            }
+            CBSTree<Integer> b = CBSTree.fromSorted(new ArrayList<>(expectedB), Integer::compare);
+            TreeSet<Integer> expected = new TreeSet<>(expectedA);
+            CBSTree<Integer> a = CBSTree.fromSorted(new ArrayList<>(expectedA), Integer::compare);
+            assertEquals(expected.addAll(expectedB), a.union(b));
+            assertEquals(new ArrayList<>(expected), new ArrayList<>(a));
+            assertCounts(a.root());
+            expected = new TreeSet<>(expectedA);
+            a = CBSTree.fromSorted(new ArrayList<>(expectedA), Integer::compare);
+            assertEquals(expected.retainAll(expectedB), a.intersection(b));
+            assertEquals(new ArrayList<>(expected), new ArrayList<>(a));
+            assertCounts(a.root());
+            expected = new TreeSet<>(expectedA);
+            a = CBSTree.fromSorted(new ArrayList<>(expectedA), Integer::compare);
+            assertEquals(expected.removeAll(expectedB), a.difference(b));
+            assertEquals(new ArrayList<>(expected), new ArrayList<>(a));
+            assertCounts(a.root());
+            assertEquals(new ArrayList<>(expectedB), new ArrayList<>(b));
+            assertCounts(b.root());
+        }
+    }
+    
+    @Test public void rangeAggregates() {
+        Random random = new Random();
+        Monoid<Integer, Long> sum = Monoid.of(0L, Integer::longValue, Long::sum);
+        Monoid<Integer, String> concat = Monoid.of("", v -> v + ",", String::concat);
+        CBMTree<Integer> sums = new CBMTree<>(Integer::compare, sum);
+        CBSTree<Integer> concats = new CBSTree<>(Integer::compare, concat);
+        List<Integer> expectedSums = new ArrayList<>();
+        TreeSet<Integer> expectedConcats = new TreeSet<>();
+        for (int i = 0; i < 3_000; i++) {
+            int value = random.nextInt(500);
+            if (random.nextInt(3) != 0) {
+                sums.add(value);
+                concats.add(value);
+                expectedSums.add(value);
+                expectedConcats.add(value);
+            } else if (!sums.isEmpty()) {
+                int index = random.nextInt(sums.size());
+                expectedSums.remove(sums.removeAt(index));
+                concats.remove(value);
+                expectedConcats.remove(value);
+            }
+            if (i % 10 == 0) {
+                expectedSums.sort(Integer::compare);
+                assertAggregates(sums, sum, expectedSums, random);
+                assertAggregates(concats, concat, new ArrayList<>(expectedConcats), random);
+            }
+        }
+        // value ranges
+        for (int i = 0; i < 1_000; i++) {
+            int lo = random.nextInt(520) - 10, hi = random.nextInt(520) - 10;
+            long expected = 0L;
+            for (int value : expectedSums) {
+                expected += lo <= value && value <= hi ? value : 0;
+            }
+            assertEquals(expected, sums.aggregate(sum, lo, hi));
+            assertEquals(String.join("", expectedConcats.subSet(lo, true, Math.max(lo, hi), hi >= lo)
+                    .stream().map(v -> v + ",").toList()), concats.aggregate(concat, lo, hi));
+        }
+        // fromSorted, split and join
+        List<Integer> values = new ArrayList<>(expectedConcats);
+        CBSTree<Integer> sorted = CBSTree.fromSorted(values, Integer::compare, concat);
+        assertAggregates(sorted, concat, values, random);
+        CBTree<Integer> tail = sorted.splitAt(values.size() / 3);
+        assertAggregates(sorted, concat, values.subList(0, values.size() / 3), random);
+        assertAggregates(tail, concat, values.subList(values.size() / 3, values.size()), random);
+        sorted.join(tail);
+        assertAggregates(sorted, concat, values, random);
+        // set operations
+        List<Integer> evens = new ArrayList<>();
+        for (int value = 0; value < 600; value += 2) {
+            evens.add(value);
+        }
+        sorted.union(CBSTree.fromSorted(evens, Integer::compare));
+        TreeSet<Integer> united = new TreeSet<>(values);
+        united.addAll(evens);
+        assertAggregates(sorted, concat, new ArrayList<>(united), random);
+        // misuse
+        assertThrows(IllegalArgumentException.class, () -> sums.aggregate(concat));
+        assertThrows(IllegalArgumentException.class, () -> tree.aggregateAt(sum, 0, 0));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> sums.aggregateAt(sum, 0, sums.size() + 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> sums.aggregateAt(sum, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> tree.join(sorted));
+    }
+    
+    @Test public void rangeIterators() {
+        Random random = new Random();
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int value = random.nextInt(500);
+            treeRep.add(value);
+            values.add(value);
+        }
+        values.sort(Integer::compare);
+        List<Integer> reversed = new ArrayList<>(values);
+        Collections.reverse(reversed);
+        assertEquals(values, toList(treeRep.iterator()));
+        assertEquals(reversed, toList(treeRep.descendingIterator()));
+        assertEquals(values.subList(values.size(), values.size()),
+                toList(treeRep.iterator(values.size())));
+        assertThrows(IndexOutOfBoundsException.class, () -> treeRep.iterator(values.size() + 1));
+        for (int i = 0; i < 200; i++) {
+            int index = random.nextInt(values.size() + 1);
+            assertEquals(values.subList(index, values.size()), toList(treeRep.iterator(index)));
+            int from = random.nextInt(520) - 10, to = random.nextInt(520) - 10;
+            List<Integer> expected = new ArrayList<>();
+            for (int value : values) {
+                if (from <= value && value < to) {
+                    expected.add(value);
+                }
+            }
+            assertEquals(expected, toList(treeRep.iterator(from, to)));
+            Collections.reverse(expected);
+            assertEquals(expected, toList(treeRep.descendingIterator(from, to)));
+        }
+        Iterator<Integer> empty = tree.descendingIterator();
+        assertFalse(empty.hasNext());
+        assertThrows(NoSuchElementException.class, empty::next);
+    }
+    
+    private static List<Integer> toList(Iterator<Integer> iter) {
+        List<Integer> list = new ArrayList<>();
+        while (iter.hasNext()) {
+            list.add(iter.next());
+        }
+        return list;
+    }
+    
+    private static <A> void assertAggregates(CBTree<Integer> tree, Monoid<Integer, A> monoid,
+            List<Integer> values, Random random) {
+        assertEquals(values, new ArrayList<>(tree));
+        A all = monoid.identity();
+        for (int value : values) {
+            all = monoid.combine(all, monoid.lift(value));
+        }
+        assertEquals(all, tree.aggregate(monoid));
+        for (int i = 0; i < 20; i++) {
+            int from = random.nextInt(values.size() + 1);
+            int to = from + random.nextInt(values.size() - from + 1);
+            A expected = monoid.identity();
+            for (int value : values.subList(from, to)) {
+                expected = monoid.combine(expected, monoid.lift(value));
+            }
+            assertEquals(expected, tree.aggregateAt(monoid, from, to));
+        }
+    }
+    
+    private static int assertCounts(CBTree.Node<Integer> node) {
+        if (node == null) {
+            return 0;
+        }
+        int leftCount = assertCounts(node.left());
+        int rightCount = assertCounts(node.right());
+        assertEquals(leftCount, node.leftCount());
+        assertEquals(rightCount, node.rightCount());
+        assertFalse(CBTree.unbalanced(leftCount, rightCount));
+        assertFalse(CBTree.unbalanced(rightCount, leftCount));
+        return leftCount + 1 + rightCount;
+    }
+
 }
@@ -0,0 +1,117 @@
+package druyaned.alg.util.t03bintree;
+
+import druyaned.alg.util.t03bintree.cbt.CBTree.CBMTree;
+import druyaned.alg.util.t03bintree.cbt.CBTree.CBSTree;
+import druyaned.alg.util.t03bintree.cbt.ConcurrentCBTree;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentCBTreeTest {
+    
+    @Test public void sameAnswersAsTheTree() {
+        Random random = new Random();
+        CBMTree<Integer> expected = new CBMTree<>(Integer::compare);
+        ConcurrentCBTree<Integer> tree = new ConcurrentCBTree<>(new CBMTree<>(Integer::compare));
+        assertNull(tree.getFirst());
+        assertNull(tree.getLast());
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.getAt(0));
+        for (int i = 0; i < 5_000; i++) {
+            int value = random.nextInt(1_000);
+            if (random.nextInt(4) != 0) {
+                assertEquals(expected.add(value), tree.add(value));
+            } else {
+                assertEquals(expected.remove(value), tree.remove(value));
+            }
+            int key = random.nextInt(1_100) - 50;
+            assertEquals(expected.contains(key), tree.contains(key));
+            assertEquals(expected.getIndexLess(key), tree.getIndexLess(key));
+            assertEquals(expected.getIndexLessEq(key), tree.getIndexLessEq(key));
+            assertEquals(expected.getIndexGreater(key), tree.getIndexGreater(key));
+            assertEquals(expected.getIndexGreaterEq(key), tree.getIndexGreaterEq(key));
+            assertEquals(expected.size(), tree.size());
+            if (!expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.getAt(index), tree.getAt(index));
+                assertEquals(expected.getFirst(), tree.getFirst());
+                assertEquals(expected.getLast(), tree.getLast());
+            }
+        }
+        assertEquals(new ArrayList<>(expected), tree.snapshot());
+        assertEquals(expected.toString(), tree.toString());
+        tree.clear();
+        assertTrue(tree.isEmpty());
+    }
+    
+    @Test public void readsDuringWrites() throws Exception {
+        // multiples of 4 stay, 4k+1 come and go, 4k+2 never appear
+        int n = 20_000;
+        List<Integer> stable = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            stable.add(4 * i);
+        }
+        ConcurrentCBTree<Integer> tree = new ConcurrentCBTree<>(
+                CBSTree.fromSorted(stable, Integer::compare));
+        AtomicBoolean stop = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < 2; w++) {
+                writers.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 100_000; i++) {
+                        int value = 4 * random.nextInt(n) + 1;
+                        if (random.nextBoolean()) {
+                            tree.add(value);
+                        } else {
+                            tree.remove(value);
+                        }
+                    }
+                    tree.write(t -> {
+                        for (int i = 0; i < n; i++) {
+                            t.remove(4 * i + 1);
+                        }
+                        return null;
+                    });
+                }));
+            }
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                readers.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (!stop.get()) {
+                        int i = random.nextInt(n);
+                        assertTrue(tree.contains(4 * i));
+                        assertFalse(tree.contains(4 * i + 2));
+                        int less = tree.getIndexLess(4 * i);
+                        assertTrue(i - 1 <= less && less <= 2 * i - 1);
+                        int index = random.nextInt(n);
+                        assertTrue(tree.getAt(index) <= 4 * index);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            stop.set(true);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(stable, tree.snapshot());
+    }
+
+}
@@ -3,6 +3,7 @@ package druyaned.alg.util.t03bintree;
 import druyaned.alg.util.t03bintree.rbt.RBTree;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
@@ -181,4 +182,113 @@ public class RBTreeTest {
         }
     }
     
+    @Test public void fromSortedKeepsProperties() {
+        for (int n = 0; n <= 130; n++) {
+            Integer[] values = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = 2 * i;
+            }
+            RBTree<Integer> built = RBTree.fromSorted(values, Integer::compare);
+            assertEquals(n, built.size());
+            assertEquals(Arrays.toString(values).replace('[', '{').replace(']', '}'),
+                    built.toString());
+            blackHeight(built.root());
+            if (n > 0) {
+                assertEquals(RBTree.Color.BLACK, built.root().color());
+                built.add(-1);
+                built.remove(0);
+                assertEquals(n, built.size());
+                blackHeight(built.root());
+            }
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> RBTree.fromSorted(new Integer[] {1, 1}, Integer::compare));
+    }
+    
+    private static int blackHeight(RBTree.Node<Integer> node) {
+        if (node == null) {
+            return 1;
+        }
+        if (node.color() == RBTree.Color.RED) {
+            assertTrue(node.left() == null || node.left().color() == RBTree.Color.BLACK);
+            assertTrue(node.right() == null || node.right().color() == RBTree.Color.BLACK);
+        }
+        int left = blackHeight(node.left());
+        assertEquals(left, blackHeight(node.right()));
+        return left + (node.color() == RBTree.Color.BLACK ? 1 : 0);
+    }
+
+    @Test public void rankQueriesAfterModifications() {
+        Random random = new Random();
+        TreeSet<Integer> expected = new TreeSet<>();
+        int maxVal = 2_048;
+        for (int i = 0; i < 16 * maxVal; i++) {
+            int value = random.nextInt(maxVal);
+            if (random.nextInt(3) < 2) {
+                assertEquals(expected.add(value), tree.add(value));
+            } else {
+                assertEquals(expected.remove(value), tree.remove(value));
+            }
+            int lo = random.nextInt(maxVal);
+            int hi = random.nextInt(maxVal);
+            assertEquals(expected.headSet(value).size(), tree.countLess(value));
+            assertEquals(lo <= hi ? expected.subSet(lo, true, hi, true).size() : 0,
+                    tree.countInRange(lo, hi));
+            assertEquals(expected.contains(value) ? expected.headSet(value).size() : -1,
+                    tree.indexOf(value));
+        }
+        assertCounts(tree.root());
+        int index = 0;
+        for (int value : expected) {
+            assertEquals(value, tree.getAt(index));
+            assertEquals(index++, tree.indexOf(value));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.getAt(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.getAt(tree.size()));
+        RBTree<Integer> built = RBTree.fromSorted(expected.toArray(Integer[]::new), Integer::compare);
+        assertCounts(built.root());
+        assertEquals(expected.size() / 2, built.countLess(built.getAt(expected.size() / 2)));
+    }
+    
+    @Test public void rangeIterators() {
+        Random random = new Random();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 2_000; i++) {
+            int value = random.nextInt(5_000);
+            tree.add(value);
+            expected.add(value);
+        }
+        assertIterableEquals(expected, tree);
+        assertIterableEquals(expected.descendingSet(), toList(tree.descendingIterator()));
+        assertEquals(expected.toString().replace('[', '{').replace(']', '}'), tree.toString());
+        List<Integer> values = new ArrayList<>(expected);
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.iterator(-1));
+        for (int i = 0; i < 200; i++) {
+            int index = random.nextInt(values.size() + 1);
+            assertEquals(values.subList(index, values.size()), toList(tree.iterator(index)));
+            int from = random.nextInt(5_200) - 100, to = random.nextInt(5_200) - 100;
+            List<Integer> range = from < to
+                    ? new ArrayList<>(expected.subSet(from, to))
+                    : new ArrayList<>();
+            assertEquals(range, toList(tree.iterator(from, to)));
+            Collections.reverse(range);
+            assertEquals(range, toList(tree.descendingIterator(from, to)));
+        }
+    }
+    
+    private static List<Integer> toList(Iterator<Integer> iter) {
+        List<Integer> list = new ArrayList<>();
+        iter.forEachRemaining(list::add);
+        return list;
+    }
+    
+    private static int assertCounts(RBTree.Node<Integer> node) {
+        if (node == null) {
+            return 0;
+        }
+        int count = assertCounts(node.left()) + 1 + assertCounts(node.right());
+        assertEquals(count, node.count());
+        return count;
+    }
+
 }
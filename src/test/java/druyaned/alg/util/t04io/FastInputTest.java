@@ -0,0 +1,96 @@
+package druyaned.alg.util.t04io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FastInputTest {
+    
+    @Test public void readsNumbersAndTokens() throws IOException {
+        FastInput in = new FastInput(" 12 -7\r\n+5 9223372036854775807 -9223372036854775808\n"
+                + "3.25 -1e-3 0.1 123456789012345678901 word\n");
+        assertTrue(in.hasNext());
+        assertEquals(12, in.readInt());
+        assertEquals(-7, in.readInt());
+        assertEquals(5L, in.readLong());
+        assertEquals(Long.MAX_VALUE, in.readLong());
+        assertEquals(Long.MIN_VALUE, in.readLong());
+        assertEquals(3.25, in.readDouble());
+        assertEquals(-1e-3, in.readDouble());
+        assertEquals(0.1, in.readDouble());
+        assertEquals(123456789012345678901.0, in.readDouble());
+        assertEquals("word", in.readToken());
+        assertFalse(in.hasNext());
+        assertNull(in.readToken());
+        assertThrows(NumberFormatException.class, in::readInt);
+    }
+    
+    @Test public void readsLinesAfterNumbers() throws IOException {
+        FastInput in = new FastInput("2\r\nabc\n\nxyz");
+        assertEquals(2, in.readInt());
+        assertEquals("abc", in.readLine());
+        byte[] line = new byte[8];
+        assertEquals(0, in.readLine(line));
+        assertEquals(3, in.readLine(line));
+        assertEquals("xyz", new String(line, 0, 3, StandardCharsets.US_ASCII));
+        assertEquals(-1, in.readLine(line));
+        assertNull(in.readLine());
+    }
+    
+    @Test public void rejectsOverflow() {
+        assertThrows(NumberFormatException.class,
+                () -> new FastInput("2147483648").readInt());
+        assertThrows(NumberFormatException.class,
+                () -> new FastInput("9223372036854775808").readLong());
+        assertThrows(NumberFormatException.class,
+                () -> new FastInput("-").readLong());
+    }
+    
+    @Test public void readsStreamsAndFiles(@TempDir Path dir) throws IOException {
+        Random random = new Random();
+        int n = 3 * FastInput.BUFFER_SIZE;
+        long[] values = new long[n];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextLong();
+            sb.append(values[i]).append(i % 10 == 9 ? '\n' : ' ');
+        }
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.US_ASCII);
+        Path file = dir.resolve("input.txt");
+        Files.write(file, bytes);
+        try (FastInput fromStream = new FastInput(new ByteArrayInputStream(bytes));
+                FastInput fromFile = new FastInput(file)) {
+            for (int i = 0; i < n; i++) {
+                assertEquals(values[i], fromStream.readLong());
+                assertEquals(values[i], fromFile.readLong());
+            }
+            assertFalse(fromStream.hasNext());
+            assertFalse(fromFile.hasNext());
+        }
+    }
+    
+    @Test public void leavesStreamOpen() throws IOException {
+        boolean[] closed = {false};
+        InputStream stream = new ByteArrayInputStream("42\n".getBytes(StandardCharsets.US_ASCII)) {
+            @Override public void close() {
+                closed[0] = true;
+            }
+        };
+        try (FastInput in = new FastInput(stream)) {
+            assertEquals(42, in.readInt());
+        }
+        assertFalse(closed[0]);
+    }
+
+}
@@ -0,0 +1,123 @@
+package druyaned.alg.util.t04io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Random;
+import java.util.StringJoiner;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+public class FastOutputTest {
+    
+    @Test public void writesPrimitives() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (FastOutput out = new FastOutput(bytes)) {
+            out.writeInt(0);
+            out.write(' ');
+            out.writeInt(Integer.MIN_VALUE);
+            out.write(' ');
+            out.writeLong(Long.MIN_VALUE);
+            out.write(' ');
+            out.writeLong(Long.MAX_VALUE);
+            out.writeln();
+            out.writeDouble(3.14159, 3);
+            out.write(' ');
+            out.writeDouble(-0.0004, 3);
+            out.write(' ');
+            out.writeDouble(-2.5, 0);
+            out.write(' ');
+            out.writeDouble(1.05, 5);
+            out.writeln("é");
+            out.writeInts(new int[] {1, -2, 3}, ',');
+            out.write(';');
+            out.writeLongs(new long[] {7L, 8L, 9L}, 1, 3, ' ');
+            assertThrows(IllegalArgumentException.class, () -> out.writeDouble(1.0, 19));
+        }
+        assertEquals("0 -2147483648 -9223372036854775808 9223372036854775807\n"
+                + "3.142 -0.000 -3 1.05000é\n"
+                + "1,-2,3;8 9", bytes.toString(StandardCharsets.UTF_8));
+    }
+    
+    @Test public void flushesLargeOutput() throws IOException {
+        Random random = new Random();
+        int n = FastOutput.BUFFER_SIZE;
+        int[] values = new int[n];
+        StringJoiner expected = new StringJoiner(" ");
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextInt();
+            expected.add(Integer.toString(values[i]));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (FastOutput out = new FastOutput(bytes)) {
+            out.writeInts(values, ' ');
+        }
+        assertEquals(expected.toString(), bytes.toString(StandardCharsets.US_ASCII));
+    }
+    
+    @Test public void roundsDoublesAsFormatter() throws IOException {
+        double[] values = {
+            1.005, 2.675, 0.125, 0.5, 1.5, 2.5, 1.0E-5, 0.045, 1.115, 8.345, 0.0, -0.0,
+            -0.0004, -0.0005, -1.005, -2.675, -1.0E-9, 123456789.125, 1.0E17, 1.0E300,
+            Double.MIN_VALUE, Double.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY
+        };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (FastOutput out = new FastOutput(bytes)) {
+            out.writeDouble(1.005, 2);
+            out.write(' ');
+            out.writeDouble(2.675, 2);
+            out.write(' ');
+            out.writeDouble(-0.0001, 3);
+            out.write(' ');
+            out.writeDouble(-0.4, 0);
+        }
+        assertEquals("1.01 2.68 -0.000 -0", bytes.toString(StandardCharsets.US_ASCII));
+        Random random = new Random();
+        for (int precision = 0; precision <= FastOutput.MAX_PRECISION; precision++) {
+            for (double value : values) {
+                assertDouble(value, precision);
+            }
+            for (int test = 0; test < 300; test++) {
+                double value = random.nextInt(2_000_000) / 1000.0 - 1000.0; // many halves
+                assertDouble(value, precision);
+                assertDouble(value + 0.0005, precision);
+                assertDouble(random.nextGaussian() * Math.pow(10.0, random.nextInt(12) - 4),
+                        precision);
+            }
+        }
+    }
+    
+    @Test public void leavesStreamOpen() throws IOException {
+        boolean[] closed = {false};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OutputStream stream = new OutputStream() {
+            @Override public void write(int b) {
+                bytes.write(b);
+            }
+            @Override public void close() {
+                closed[0] = true;
+            }
+        };
+        try (FastOutput out = new FastOutput(stream)) {
+            out.writeInt(42);
+        }
+        assertFalse(closed[0]);
+        assertEquals("42", bytes.toString(StandardCharsets.US_ASCII));
+    }
+    
+    private static void assertDouble(double value, int precision) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (FastOutput out = new FastOutput(bytes)) {
+            out.writeDouble(value, precision);
+        }
+        String expected = String.format(Locale.ROOT, "%." + precision + "f", value);
+        assertEquals(expected, bytes.toString(StandardCharsets.US_ASCII),
+                "value=" + value + " precision=" + precision);
+    }
+
+}
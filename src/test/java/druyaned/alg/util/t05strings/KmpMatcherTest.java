@@ -0,0 +1,83 @@
+package druyaned.alg.util.t05strings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+public class KmpMatcherTest {
+    
+    private final Random random = new Random();
+    
+    @Test public void chunksMatchIndexOf() {
+        for (int test = 0; test < 200; test++) {
+            final int n = random.nextInt(500);
+            final int alphabet = 1 + random.nextInt(3);
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < n; i++) {
+                builder.append((char)('a' + random.nextInt(alphabet)));
+            }
+            String text = builder.toString();
+            String pattern = randomString(1 + random.nextInt(5), alphabet);
+            if (n > 0 && random.nextBoolean()) { // a piece of the text
+                int from = random.nextInt(n);
+                pattern = text.substring(from, Math.min(n, from + 1 + random.nextInt(8)));
+            }
+            List<Long> expected = new ArrayList<>();
+            for (int i = text.indexOf(pattern); i != -1; i = text.indexOf(pattern, i + 1)) {
+                expected.add((long)i);
+            }
+            KmpMatcher byBytes = new KmpMatcher(pattern.getBytes());
+            KmpMatcher byChars = new KmpMatcher(pattern);
+            KmpMatcher byInts = new KmpMatcher(pattern.chars().toArray());
+            List<Long> bytesFound = new ArrayList<>();
+            List<Long> charsFound = new ArrayList<>();
+            List<Long> intsFound = new ArrayList<>();
+            byte[] bytes = text.getBytes();
+            char[] chars = text.toCharArray();
+            int[] ints = text.chars().toArray();
+            for (int from = 0; from < n; ) {
+                int to = Math.min(n, from + random.nextInt(7));
+                byBytes.feed(bytes, from, to, bytesFound::add);
+                byChars.feed(chars, from, to, charsFound::add);
+                byInts.feed(ints, from, to, intsFound::add);
+                from = to;
+            }
+            assertEquals(expected, bytesFound, text + " " + pattern);
+            assertEquals(expected, charsFound);
+            assertEquals(expected, intsFound);
+            assertEquals(expected.size(), byBytes.matchCount());
+            assertEquals(n, byBytes.position());
+        }
+    }
+    
+    @Test public void longStream() {
+        KmpMatcher matcher = new KmpMatcher("aab");
+        byte[] chunk = "baabaa".getBytes(); // a match crosses each boundary
+        long count = 0L;
+        for (int i = 0; i < 1_000_000; i++) {
+            count += matcher.feed(chunk, 0, chunk.length, null);
+        }
+        assertEquals(2 * 1_000_000 - 1, count);
+        assertEquals(count, matcher.matchCount());
+        long[] last = {-1L};
+        matcher.feed(chunk, 0, 3, start -> last[0] = start);
+        assertEquals(6_000_000L - 2, last[0]);
+        matcher.reset();
+        assertEquals(0L, matcher.position());
+        assertEquals(1, matcher.feed(chunk, 1, 4, null));
+        assertThrows(IllegalArgumentException.class, () -> new KmpMatcher(""));
+        assertThrows(IndexOutOfBoundsException.class, () -> matcher.feed(chunk, 4, 2, null));
+    }
+    
+    private String randomString(int length, int alphabet) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append((char)('a' + random.nextInt(alphabet)));
+        }
+        return builder.toString();
+    }
+
+}
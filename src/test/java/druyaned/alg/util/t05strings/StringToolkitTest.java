@@ -0,0 +1,136 @@
+package druyaned.alg.util.t05strings;
+
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+public class StringToolkitTest {
+    
+    private final Random random = new Random();
+    
+    @Test public void examples() {
+        assertArrayEquals(new int[] {0, 0, 1, 0, 3, 0, 1},
+                StringToolkit.zFunction("abacaba".toCharArray()));
+        assertArrayEquals(new int[] {0, 0, 1, 0, 1, 2, 3},
+                StringToolkit.prefixFunction("abacaba".toCharArray()));
+        assertEquals(27L, StringToolkit.countPalindromes("abccbaabcdcdcba".toCharArray()));
+        assertArrayEquals(new int[] {1, 0, 1, 4, 1, 0, 1},
+                StringToolkit.palindromeLengths("abba".getBytes()));
+        assertArrayEquals(new int[0], StringToolkit.zFunction(new int[0]));
+        assertArrayEquals(new int[0], StringToolkit.palindromeLengths(new int[0]));
+        assertEquals(0L, StringToolkit.countPalindromes(new byte[0]));
+    }
+    
+    @Test public void matchesNaive() {
+        for (int test = 0; test < 300; test++) {
+            final int n = random.nextInt(60);
+            final int alphabet = 1 + random.nextInt(3);
+            int[] ints = new int[n];
+            byte[] bytes = new byte[n];
+            char[] chars = new char[n];
+            for (int i = 0; i < n; i++) {
+                ints[i] = random.nextInt(alphabet);
+                bytes[i] = (byte)(ints[i] - 128);
+                chars[i] = (char)('a' + ints[i]);
+            }
+            int[] z = naiveZ(ints), pi = naivePrefix(ints), lengths = naivePalindromes(ints);
+            long count = 0L;
+            for (int from = 0; from < n; from++) {
+                for (int to = from + 1; to <= n; to++) {
+                    count += isPalindrome(ints, from, to) ? 1 : 0;
+                }
+            }
+            assertArrayEquals(z, StringToolkit.zFunction(ints));
+            assertArrayEquals(z, StringToolkit.zFunction(bytes));
+            assertArrayEquals(z, StringToolkit.zFunction(chars));
+            assertArrayEquals(pi, StringToolkit.prefixFunction(ints));
+            assertArrayEquals(pi, StringToolkit.prefixFunction(bytes));
+            assertArrayEquals(pi, StringToolkit.prefixFunction(chars));
+            assertArrayEquals(lengths, StringToolkit.palindromeLengths(ints));
+            assertArrayEquals(lengths, StringToolkit.palindromeLengths(bytes));
+            assertArrayEquals(lengths, StringToolkit.palindromeLengths(chars));
+            assertEquals(count, StringToolkit.countPalindromes(ints));
+            assertEquals(count, StringToolkit.countPalindromes(bytes));
+            assertEquals(count, StringToolkit.countPalindromes(chars));
+        }
+    }
+    
+    @Test public void longPeriodicText() {
+        final int n = 10_000_000;
+        byte[] text = new byte[n];
+        for (int i = 0; i < n; i++) {
+            text[i] = (byte)(i % 3 == 2 ? 'b' : 'a'); // aab aab ...
+        }
+        int[] z = StringToolkit.zFunction(text);
+        assertEquals(n - 3, z[3]);
+        assertEquals(1, z[1]);
+        int[] pi = StringToolkit.prefixFunction(text);
+        assertEquals(n - 3, pi[n - 1]);
+        Arrays.fill(text, (byte)'a');
+        int[] lengths = StringToolkit.palindromeLengths(text);
+        for (int c = 0; c < lengths.length; c++) {
+            assertEquals(Math.min(c + 1, 2 * n - 1 - c), lengths[c]);
+        }
+        assertEquals((long)n * (n + 1) / 2, StringToolkit.countPalindromes(text));
+    }
+    
+    private static int[] naiveZ(int[] s) {
+        int[] z = new int[s.length];
+        for (int i = 1; i < s.length; i++) {
+            while (i + z[i] < s.length && s[z[i]] == s[i + z[i]]) {
+                z[i]++;
+            }
+        }
+        return z;
+    }
+    
+    private static int[] naivePrefix(int[] s) {
+        int[] pi = new int[s.length];
+        for (int i = 0; i < s.length; i++) {
+            for (int k = i; k > 0; k--) {
+                if (regionEquals(s, 0, i - k + 1, k)) {
+                    pi[i] = k;
+                    break;
+                }
+            }
+        }
+        return pi;
+    }
+    
+    private static int[] naivePalindromes(int[] s) {
+        int[] lengths = new int[Math.max(2 * s.length - 1, 0)];
+        for (int c = 0; c < lengths.length; c++) {
+            int best = 0;
+            for (int k = 0; ; k++) {
+                int l = c / 2 - k, r = (c + 1) / 2 + k; // [l, r] around the center
+                if (l < 0 || r >= s.length || !isPalindrome(s, l, r + 1)) {
+                    break;
+                }
+                best = r + 1 - l;
+            }
+            lengths[c] = best;
+        }
+        return lengths;
+    }
+    
+    private static boolean isPalindrome(int[] s, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            if (s[i] != s[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean regionEquals(int[] s, int a, int b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (s[a + i] != s[b + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
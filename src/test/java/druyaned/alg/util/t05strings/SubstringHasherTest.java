@@ -0,0 +1,85 @@
+package druyaned.alg.util.t05strings;
+
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class SubstringHasherTest {
+    
+    private final Random random = new Random();
+    
+    @Test public void example() {
+        SubstringHasher hasher = new SubstringHasher("abcababc");
+        assertTrue(hasher.equal(0, 5, 3));
+        assertFalse(hasher.equal(0, 3, 3));
+        assertEquals(2, hasher.lcp(0, 3));
+        assertEquals(3, hasher.lcp(0, 5));
+        assertFalse(hasher.isPalindrome(1, 6));
+        assertTrue(hasher.isPalindrome(3, 6));
+        assertEquals(hasher.hash(0, 0), hasher.hash(4, 4));
+    }
+    
+    @Test public void matchesNaiveComparison() {
+        for (int test = 0; test < 30; test++) {
+            final int n = 1 + random.nextInt(300);
+            final int alphabet = 1 + random.nextInt(3);
+            byte[] bytes = new byte[n];
+            int[] values = new int[n + random.nextInt(5)];
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < n; i++) {
+                bytes[i] = (byte)('a' + random.nextInt(alphabet));
+                values[i] = bytes[i];
+                builder.append((char)bytes[i]);
+            }
+            String text = builder.toString();
+            SubstringHasher[] hashers = {
+                new SubstringHasher(text),
+                new SubstringHasher(bytes),
+                new SubstringHasher(n, values)
+            };
+            for (int q = 0; q < 500; q++) {
+                int a = random.nextInt(n + 1), b = random.nextInt(n + 1);
+                int length = random.nextInt(n + 1 - Math.max(a, b));
+                boolean equal = text.regionMatches(a, text, b, length);
+                int lcp = 0;
+                while (a + lcp < n && b + lcp < n && text.charAt(a + lcp) == text.charAt(b + lcp)) {
+                    lcp++;
+                }
+                int from = Math.min(a, b), to = Math.max(a, b);
+                boolean palindrome = new StringBuilder(text.substring(from, to)).reverse()
+                        .toString().equals(text.substring(from, to));
+                for (SubstringHasher hasher : hashers) {
+                    assertEquals(equal, hasher.equal(a, b, length), text + " " + a + " " + b);
+                    assertEquals(lcp, hasher.lcp(a, b));
+                    assertEquals(palindrome, hasher.isPalindrome(from, to));
+                }
+                assertEquals(hashers[0].hash(a, a + length), hashers[1].hash(a, a + length));
+                assertEquals(hashers[0].hash(a, a + length), hashers[2].hash(a, a + length));
+            }
+        }
+    }
+    
+    @Test public void reversedAndOtherTexts() {
+        String text = "abacabadabacaba-xyz";
+        SubstringHasher hasher = new SubstringHasher(text);
+        SubstringHasher reversed = hasher.reversed();
+        SubstringHasher expected = new SubstringHasher(new StringBuilder(text).reverse());
+        for (int from = 0; from <= text.length(); from++) {
+            for (int to = from; to <= text.length(); to++) {
+                assertEquals(expected.hash(from, to), reversed.hash(from, to));
+            }
+        }
+        assertTrue(reversed.reversed() == hasher);
+        SubstringHasher other = new SubstringHasher("cabadab");
+        assertTrue(hasher.equal(3, other, 0, 7));
+        assertEquals(7, hasher.lcp(3, other, 0));
+        assertEquals(0, hasher.lcp(0, other, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> hasher.hash(3, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> hasher.equal(10, 15, 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> new SubstringHasher(3, new int[2]));
+    }
+
+}